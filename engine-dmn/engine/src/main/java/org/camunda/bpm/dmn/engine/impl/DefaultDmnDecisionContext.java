@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -28,7 +29,9 @@ import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionLogicEvaluationEvent;
+import org.camunda.bpm.dmn.engine.delegate.DmnDecisionTableEvaluationListener;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnDecisionEvaluationEventImpl;
+import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluationDetailAware;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionLiteralExpressionEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionTableEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DmnDecisionLogicEvaluationHandler;
@@ -49,11 +52,13 @@ public class DefaultDmnDecisionContext {
   protected static final HitPolicyEntry RULE_ORDER_HIT_POLICY = new HitPolicyEntry(HitPolicy.RULE_ORDER, null);
 
   protected final List<DmnDecisionEvaluationListener> evaluationListeners;
+  protected final List<DmnDecisionTableEvaluationListener> decisionTableEvaluationListeners;
 
   protected final Map<Class<? extends DmnDecisionLogic>, DmnDecisionLogicEvaluationHandler> evaluationHandlers;
 
   public DefaultDmnDecisionContext(DefaultDmnEngineConfiguration configuration) {
     evaluationListeners = configuration.getDecisionEvaluationListeners();
+    decisionTableEvaluationListeners = configuration.getDecisionTableEvaluationListeners();
 
     evaluationHandlers = new HashMap<Class<? extends DmnDecisionLogic>, DmnDecisionLogicEvaluationHandler>();
     evaluationHandlers.put(DmnDecisionTableImpl.class, new DecisionTableEvaluationHandler(configuration));
@@ -74,8 +79,11 @@ public class DefaultDmnDecisionContext {
     }
     VariableMap variableMap = buildVariableMapFromVariableContext(variableContext);
 
-    List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
-    buildDecisionTree(decision, requiredDecisions);
+    List<DmnDecision> requiredDecisions = getEvaluationOrder(decision);
+
+    if (isLeanEvaluation(decision)) {
+      return evaluateDecisionLean(decision, requiredDecisions, variableMap);
+    }
 
     List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = new ArrayList<DmnDecisionLogicEvaluationEvent>();
     DmnDecisionResult evaluatedResult = null;
@@ -95,6 +103,64 @@ public class DefaultDmnDecisionContext {
     return evaluatedResult;
   }
 
+  /**
+   * Evaluates the decision without collecting the evaluated inputs and the events of
+   * the required decisions. The listeners are notified with the root event and the number of
+   * executed decision instances and elements only.
+   */
+  protected DmnDecisionResult evaluateDecisionLean(DmnDecision decision, List<DmnDecision> requiredDecisions, VariableMap variableMap) {
+    DmnDecisionLogicEvaluationEvent evaluatedEvent = null;
+    DmnDecisionResult evaluatedResult = null;
+    long executedDecisionElements = 0L;
+
+    for (DmnDecision evaluateDecision : requiredDecisions) {
+      DmnDecisionLogicEvaluationHandler handler = getDecisionEvaluationHandler(evaluateDecision);
+      if (handler instanceof DecisionTableEvaluationHandler) {
+        evaluatedEvent = ((DecisionTableEvaluationHandler) handler).evaluate(evaluateDecision, variableMap.asVariableContext(), false);
+      }
+      else {
+        evaluatedEvent = handler.evaluate(evaluateDecision, variableMap.asVariableContext());
+      }
+      executedDecisionElements += evaluatedEvent.getExecutedDecisionElements();
+
+      evaluatedResult = handler.generateDecisionResult(evaluatedEvent);
+      if(decision != evaluateDecision) {
+        addResultToVariableContext(evaluatedResult, variableMap, evaluateDecision);
+      }
+    }
+
+    DmnDecisionEvaluationEventImpl decisionEvaluationEvent = new DmnDecisionEvaluationEventImpl();
+    decisionEvaluationEvent.setDecisionResult(evaluatedEvent);
+    decisionEvaluationEvent.setRequiredDecisionResults(Collections.<DmnDecisionLogicEvaluationEvent>emptyList());
+    decisionEvaluationEvent.setExecutedDecisionInstances(requiredDecisions.size());
+    decisionEvaluationEvent.setExecutedDecisionElements(executedDecisionElements);
+
+    for (DmnDecisionEvaluationListener evaluationListener : evaluationListeners) {
+      evaluationListener.notify(decisionEvaluationEvent);
+    }
+
+    return evaluatedResult;
+  }
+
+  /**
+   * @return true if no listener needs the details of the evaluation of the given decision
+   * @see DmnEvaluationDetailAware
+   */
+  protected boolean isLeanEvaluation(DmnDecision decision) {
+    if (!decisionTableEvaluationListeners.isEmpty()) {
+      return false;
+    }
+
+    for (DmnDecisionEvaluationListener evaluationListener : evaluationListeners) {
+      if (!(evaluationListener instanceof DmnEvaluationDetailAware)
+          || ((DmnEvaluationDetailAware) evaluationListener).isEvaluationDetailRequired(decision)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   protected VariableMap buildVariableMapFromVariableContext(VariableContext variableContext) {
 
     VariableMap variableMap = Variables.createVariables();
@@ -107,6 +173,21 @@ public class DefaultDmnDecisionContext {
     return variableMap;
   }
 
+  /**
+   * @return the decision and its required decisions in the order they have to be evaluated
+   */
+  protected List<DmnDecision> getEvaluationOrder(DmnDecision decision) {
+    if (decision instanceof DmnDecisionImpl) {
+      // precomputed on transformation and reused for all evaluations
+      return ((DmnDecisionImpl) decision).getEvaluationOrder();
+    }
+    else {
+      List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
+      buildDecisionTree(decision, requiredDecisions);
+      return requiredDecisions;
+    }
+  }
+
   protected void buildDecisionTree(DmnDecision decision, List<DmnDecision> requiredDecisions) {
     if (requiredDecisions.contains(decision)) {
       return;
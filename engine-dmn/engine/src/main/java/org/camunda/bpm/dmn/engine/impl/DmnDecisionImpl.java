@@ -18,7 +18,10 @@ package org.camunda.bpm.dmn.engine.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
@@ -32,6 +35,9 @@ public class DmnDecisionImpl implements DmnDecision {
 
   protected Collection<DmnDecision> requiredDecision = new ArrayList<DmnDecision>();
 
+  /** the required decisions and this decision in the order they have to be evaluated */
+  protected volatile List<DmnDecision> evaluationOrder;
+
   public String getKey() {
     return key;
   }
@@ -58,6 +64,35 @@ public class DmnDecisionImpl implements DmnDecision {
 
   public void setRequiredDecision(List<DmnDecision> requiredDecision) {
     this.requiredDecision = requiredDecision;
+    this.evaluationOrder = null;
+  }
+
+  /**
+   * Returns this decision and all its (transitively) required decisions in topological order,
+   * i.e. every decision appears after the decisions it requires and each decision appears exactly
+   * once, also if it is required via multiple paths. The order is computed once and reused for
+   * all evaluations of the decision.
+   */
+  public List<DmnDecision> getEvaluationOrder() {
+    List<DmnDecision> order = evaluationOrder;
+    if (order == null) {
+      order = Collections.unmodifiableList(new ArrayList<DmnDecision>(collectEvaluationOrder(this, new LinkedHashSet<DmnDecision>())));
+      evaluationOrder = order;
+    }
+    return order;
+  }
+
+  protected static Set<DmnDecision> collectEvaluationOrder(DmnDecision decision, Set<DmnDecision> evaluationOrder) {
+    if (evaluationOrder.contains(decision)) {
+      return evaluationOrder;
+    }
+
+    for (DmnDecision requiredDecision : decision.getRequiredDecisions()) {
+      collectEvaluationOrder(requiredDecision, evaluationOrder);
+    }
+
+    evaluationOrder.add(decision);
+    return evaluationOrder;
   }
 
   @Override
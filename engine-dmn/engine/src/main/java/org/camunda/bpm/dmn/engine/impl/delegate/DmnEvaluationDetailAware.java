@@ -0,0 +1,43 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.delegate;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
+
+/**
+ * <p>Implemented by {@link DmnDecisionEvaluationListener}s which do not always
+ * need the details of an evaluation, i.e. the evaluated inputs of the decision tables
+ * and the evaluation events of the required decisions.</p>
+ *
+ * <p>If all decision evaluation listeners implement this interface and none of them requires
+ * the details for an evaluation (and no decision table evaluation listener is registered),
+ * the decision is evaluated in lean mode: the details are not collected and the
+ * listeners only receive the result of the evaluated decision and the number of
+ * executed decision instances and elements. Listeners which do not implement this
+ * interface always get the full evaluation event.</p>
+ */
+public interface DmnEvaluationDetailAware {
+
+  /**
+   * @param decision the decision which is evaluated
+   * @return true if the listener needs the evaluated inputs or the results
+   * of the required decisions of the given decision's evaluation
+   */
+  boolean isEvaluationDetailRequired(DmnDecision decision);
+
+}
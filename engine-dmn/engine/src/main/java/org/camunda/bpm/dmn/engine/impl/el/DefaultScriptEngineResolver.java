@@ -58,4 +58,8 @@ public class DefaultScriptEngineResolver implements DmnScriptEngineResolver {
     return scriptEngine;
   }
 
+  public void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+    // script engines are cached and shared, nothing to release
+  }
+
 }
@@ -72,13 +72,21 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
 
   @Override
   public DmnDecisionLogicEvaluationEvent evaluate(DmnDecision decision, VariableContext variableContext) {
+    return evaluate(decision, variableContext, true);
+  }
+
+  /**
+   * @param recordEvaluatedInputs if false, the evaluated inputs are not added to the
+   *   evaluation event, e.g. if no listener reads them
+   */
+  public DmnDecisionLogicEvaluationEvent evaluate(DmnDecision decision, VariableContext variableContext, boolean recordEvaluatedInputs) {
     DmnDecisionTableEvaluationEventImpl evaluationResult = new DmnDecisionTableEvaluationEventImpl();
     evaluationResult.setDecisionTable(decision);
 
     DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) decision.getDecisionLogic();
     evaluationResult.setExecutedDecisionElements(calculateExecutedDecisionElements(decisionTable));
 
-    evaluateDecisionTable(decisionTable, variableContext, evaluationResult);
+    evaluateDecisionTable(decisionTable, variableContext, evaluationResult, recordEvaluatedInputs);
 
     // apply hit policy
     decisionTable.getHitPolicyHandler().apply(evaluationResult);
@@ -96,16 +104,24 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    evaluateDecisionTable(decisionTable, variableContext, evaluationResult, true);
+  }
+
+  protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult, boolean recordEvaluatedInputs) {
     int inputSize = decisionTable.getInputs().size();
     List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
     for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
       // evaluate input
       DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
-      DmnEvaluatedInput evaluatedInput = evaluateInput(input, variableContext);
-      evaluationResult.getInputs().add(evaluatedInput);
+      TypedValue inputValue = evaluateInputValue(input, variableContext);
+      if (recordEvaluatedInputs) {
+        DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
+        evaluatedInput.setValue(inputValue);
+        evaluationResult.getInputs().add(evaluatedInput);
+      }
 
       // compose local variable context out of global variable context enhanced with the value of the current input.
-      VariableContext localVariableContext = getLocalVariableContext(input, evaluatedInput, variableContext);
+      VariableContext localVariableContext = getLocalVariableContext(input, inputValue, variableContext);
 
       // filter rules applicable with this input
       matchingRules = evaluateInputForAvailableRules(inputIdx, input, matchingRules, localVariableContext);
@@ -116,18 +132,20 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
 
   protected DmnEvaluatedInput evaluateInput(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
+    evaluatedInput.setValue(evaluateInputValue(input, variableContext));
+
+    return evaluatedInput;
+  }
 
+  protected TypedValue evaluateInputValue(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnExpressionImpl expression = input.getExpression();
     if (expression != null) {
       Object value = evaluateInputExpression(expression, variableContext);
-      TypedValue typedValue = expression.getTypeDefinition().transform(value);
-      evaluatedInput.setValue(typedValue);
+      return expression.getTypeDefinition().transform(value);
     }
     else {
-      evaluatedInput.setValue(Variables.untypedNullValue());
+      return Variables.untypedNullValue();
     }
-
-    return evaluatedInput;
   }
 
   protected List<DmnDecisionTableRuleImpl> evaluateInputForAvailableRules(int conditionIdx, DmnDecisionTableInputImpl input, List<DmnDecisionTableRuleImpl> availableRules, VariableContext variableContext) {
@@ -166,13 +184,17 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected VariableContext getLocalVariableContext(DmnDecisionTableInputImpl input, DmnEvaluatedInput evaluatedInput, VariableContext variableContext) {
+    return getLocalVariableContext(input, evaluatedInput.getValue(), variableContext);
+  }
+
+  protected VariableContext getLocalVariableContext(DmnDecisionTableInputImpl input, TypedValue inputValue, VariableContext variableContext) {
     if (isNonEmptyExpression(input.getExpression())) {
-      String inputVariableName = evaluatedInput.getInputVariable();
+      String inputVariableName = input.getInputVariable();
 
       return CompositeVariableContext.compose(
         Variables.createVariables()
             .putValue("inputVariableName", inputVariableName)
-            .putValueTyped(inputVariableName, evaluatedInput.getValue())
+            .putValueTyped(inputVariableName, inputValue)
             .asVariableContext(),
         variableContext
       );
@@ -71,12 +71,13 @@ public class ExpressionEvaluationHandler {
 
   protected Object evaluateScriptExpression(String expressionLanguage, VariableContext variableContext, String expressionText, CachedCompiledScriptSupport cachedCompiledScriptSupport) {
     ScriptEngine scriptEngine = getScriptEngineForName(expressionLanguage);
-    // wrap script engine bindings + variable context and pass enhanced
-    // bindings to the script engine.
-    Bindings bindings = VariableContextScriptBindings.wrap(scriptEngine.createBindings(), variableContext);
-    bindings.put("variableContext", variableContext);
 
     try {
+      // wrap script engine bindings + variable context and pass enhanced
+      // bindings to the script engine.
+      Bindings bindings = VariableContextScriptBindings.wrap(scriptEngine.createBindings(), variableContext);
+      bindings.put("variableContext", variableContext);
+
       if (scriptEngine instanceof Compilable) {
 
         CompiledScript compiledScript = cachedCompiledScriptSupport.getCachedCompiledScript();
@@ -102,6 +103,9 @@ public class ExpressionEvaluationHandler {
     catch (ScriptException e) {
       throw LOG.unableToEvaluateExpression(expressionText, scriptEngine.getFactory().getLanguageName(), e);
     }
+    finally {
+      scriptEngineResolver.releaseScriptEngine(expressionLanguage, scriptEngine);
+    }
   }
 
   protected Object evaluateElExpression(String expressionLanguage, String expressionText, VariableContext variableContext, CachedExpressionSupport cachedExpressionSupport) {
@@ -18,12 +18,14 @@ package org.camunda.bpm.dmn.engine.impl.metrics;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationEvent;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionTableEvaluationEvent;
+import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluationDetailAware;
 import org.camunda.bpm.dmn.engine.spi.DmnEngineMetricCollector;
 
-public class DefaultEngineMetricCollector implements DmnEngineMetricCollector, DmnDecisionEvaluationListener {
+public class DefaultEngineMetricCollector implements DmnEngineMetricCollector, DmnDecisionEvaluationListener, DmnEvaluationDetailAware {
 
   protected AtomicLong executedDecisionInstances = new AtomicLong();
   protected AtomicLong executedDecisionElements = new AtomicLong();
@@ -39,6 +41,11 @@ public class DefaultEngineMetricCollector implements DmnEngineMetricCollector, D
     this.executedDecisionElements.getAndAdd(executedDecisionElements);
   }
 
+  public boolean isEvaluationDetailRequired(DmnDecision decision) {
+    // only the number of executed decision instances and elements is collected
+    return false;
+  }
+
   @Override
   public long getExecutedDecisionInstances() {
     return executedDecisionInstances.get();
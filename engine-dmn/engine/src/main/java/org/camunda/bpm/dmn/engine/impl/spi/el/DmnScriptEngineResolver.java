@@ -31,5 +31,15 @@ public interface DmnScriptEngineResolver {
    */
   ScriptEngine getScriptEngineForLanguage(String language);
 
+  /**
+   * Hands back a script engine obtained from {@link #getScriptEngineForLanguage(String)}
+   * once the evaluation is done, e.g. to return it to a pool. Does nothing by default.
+   *
+   * @param language the language the script engine was looked up for
+   * @param scriptEngine the script engine to release
+   */
+  default void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+  }
+
 }
 
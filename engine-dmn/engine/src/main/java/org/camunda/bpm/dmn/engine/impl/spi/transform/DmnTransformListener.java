@@ -29,6 +29,11 @@ import org.camunda.bpm.model.dmn.instance.Rule;
 
 /**
  * Listener for a DMN transformation
+ *
+ * <p>A DMN engine may transform multiple resources at the same time, e.g. if the Camunda
+ * process engine parses the resources of deployments in parallel. A listener is then invoked
+ * concurrently and must be thread-safe; it must not keep state of a single resource in its
+ * fields.</p>
  */
 public interface DmnTransformListener {
 
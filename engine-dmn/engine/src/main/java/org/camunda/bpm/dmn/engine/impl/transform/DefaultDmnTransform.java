@@ -184,6 +184,7 @@ public class DefaultDmnTransform implements DmnTransform, DmnElementTransformCon
       notifyTransformListeners(decision, dmnDecision);
     }
     ensureNoLoopInDecisions(dmnDecisionList);
+    buildEvaluationOrder(dmnDecisions.values());
 
     return dmnDecisionList;
   }
@@ -211,6 +212,13 @@ public class DefaultDmnTransform implements DmnTransform, DmnElementTransformCon
     }
   }
 
+  protected void buildEvaluationOrder(Collection<DmnDecisionImpl> dmnDecisions) {
+    // compute the evaluation plan of each decision once, instead of on every evaluation
+    for (DmnDecisionImpl dmnDecision : dmnDecisions) {
+      dmnDecision.getEvaluationOrder();
+    }
+  }
+
   protected void ensureNoLoopInDecisions(List<DmnDecision> dmnDecisionList) {
     List<String> visitedDecisions = new ArrayList<String>();
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.delegate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluationDetailAware;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.camunda.commons.utils.IoUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DmnLeanDecisionEvaluationTest extends DmnEngineTest {
+
+  public static final String DMN_FILE = "org/camunda/bpm/dmn/engine/delegate/DrdDishDecisionExampleWithInsufficientRules.dmn";
+
+  public TestDetailAwareDecisionEvaluationListener listener;
+
+  @Override
+  public DmnEngineConfiguration getDmnEngineConfiguration() {
+    return new TestDetailAwareListenerConfiguration();
+  }
+
+  @Before
+  public void initListener() {
+    TestDetailAwareListenerConfiguration configuration = (TestDetailAwareListenerConfiguration) dmnEngine.getConfiguration();
+    listener = configuration.testDecisionListener;
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldNotCollectEvaluationDetailsIfNotRequired() {
+    // given
+    listener.evaluationDetailRequired = false;
+
+    // when
+    DmnDecisionTableResult result = evaluateDecision(35, "Weekend");
+
+    // then
+    assertThat((String) result.getSingleEntry()).isEqualTo("Light salad");
+
+    DmnDecisionEvaluationEvent evaluationEvent = listener.evaluationEvent;
+    assertThat(evaluationEvent.getExecutedDecisionInstances()).isEqualTo(3L);
+    assertThat(evaluationEvent.getExecutedDecisionElements()).isEqualTo(24L);
+    assertThat(evaluationEvent.getRequiredDecisionResults()).isEmpty();
+
+    DmnDecisionTableEvaluationEvent decisionResult = (DmnDecisionTableEvaluationEvent) evaluationEvent.getDecisionResult();
+    assertThat(decisionResult.getDecision().getKey()).isEqualTo("Dish");
+    assertThat(decisionResult.getInputs()).isEmpty();
+    assertThat(decisionResult.getMatchingRules()).hasSize(1);
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldCollectEvaluationDetailsIfRequired() {
+    // given
+    listener.evaluationDetailRequired = true;
+
+    // when
+    DmnDecisionTableResult result = evaluateDecision(35, "Weekend");
+
+    // then
+    assertThat((String) result.getSingleEntry()).isEqualTo("Light salad");
+
+    DmnDecisionEvaluationEvent evaluationEvent = listener.evaluationEvent;
+    assertThat(evaluationEvent.getExecutedDecisionInstances()).isEqualTo(3L);
+    assertThat(evaluationEvent.getExecutedDecisionElements()).isEqualTo(24L);
+    assertThat(evaluationEvent.getRequiredDecisionResults()).hasSize(2);
+
+    DmnDecisionTableEvaluationEvent decisionResult = (DmnDecisionTableEvaluationEvent) evaluationEvent.getDecisionResult();
+    assertThat(decisionResult.getInputs()).hasSize(2);
+  }
+
+  protected DmnDecisionTableResult evaluateDecision(Object temperature, Object dayType) {
+    variables.put("temperature", temperature);
+    variables.put("dayType", dayType);
+    return dmnEngine.evaluateDecisionTable("Dish", IoUtil.fileAsStream(DMN_FILE), variables);
+  }
+
+  public static class TestDetailAwareListenerConfiguration extends DefaultDmnEngineConfiguration {
+
+    public TestDetailAwareDecisionEvaluationListener testDecisionListener = new TestDetailAwareDecisionEvaluationListener();
+
+    public TestDetailAwareListenerConfiguration() {
+      customPostDecisionEvaluationListeners.add(testDecisionListener);
+    }
+
+  }
+
+  public static class TestDetailAwareDecisionEvaluationListener implements DmnDecisionEvaluationListener, DmnEvaluationDetailAware {
+
+    public boolean evaluationDetailRequired;
+    public DmnDecisionEvaluationEvent evaluationEvent;
+
+    public void notify(DmnDecisionEvaluationEvent evaluationEvent) {
+      this.evaluationEvent = evaluationEvent;
+    }
+
+    public boolean isEvaluationDetailRequired(DmnDecision decision) {
+      return evaluationDetailRequired;
+    }
+  }
+
+}
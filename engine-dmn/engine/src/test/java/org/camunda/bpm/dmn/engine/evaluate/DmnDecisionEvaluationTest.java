@@ -20,15 +20,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.camunda.bpm.dmn.engine.test.asserts.DmnEngineTestAssertions.assertThat;
 import static org.camunda.bpm.engine.variable.Variables.createVariables;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionRequirementsGraph;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
 import org.camunda.bpm.dmn.engine.DmnEngineException;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnDecisionContext;
 import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionImpl;
 import org.camunda.bpm.dmn.engine.impl.DmnEvaluationException;
 import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
 import org.camunda.commons.utils.IoUtil;
@@ -186,6 +190,45 @@ public class DmnDecisionEvaluationTest extends DmnEngineTest {
       .containsEntry("aa", "aa");
   }
 
+  @Test
+  public void shouldEvaluateSharedRequiredDecisionOnce() {
+    // given
+    DmnDecisionImpl decision = (DmnDecisionImpl) parseDecisionFromFile("A", DMN_SHARED_DECISIONS);
+
+    // when
+    List<DmnDecision> evaluationOrder = decision.getEvaluationOrder();
+
+    // then
+    assertThat(evaluationOrder).hasSize(4).doesNotHaveDuplicates();
+    assertThat(evaluationOrder.get(0).getKey()).isEqualTo("D");
+    assertThat(evaluationOrder.get(3)).isSameAs(decision);
+  }
+
+  @Test
+  public void shouldReuseEvaluationOrderForEveryEvaluation() {
+    // given
+    DmnDecisionImpl decision = (DmnDecisionImpl) parseDecisionFromFile("A", DMN_SHARED_DECISIONS);
+    DefaultDmnEngineConfiguration configuration = (DefaultDmnEngineConfiguration) dmnEngine.getConfiguration();
+    final List<List<DmnDecision>> usedEvaluationOrders = new ArrayList<List<DmnDecision>>();
+
+    // when
+    for (int i = 0; i < 2; i++) {
+      new DefaultDmnDecisionContext(configuration) {
+        @Override
+        protected List<DmnDecision> getEvaluationOrder(DmnDecision decision) {
+          List<DmnDecision> evaluationOrder = super.getEvaluationOrder(decision);
+          usedEvaluationOrders.add(evaluationOrder);
+          return evaluationOrder;
+        }
+      }.evaluateDecision(decision, createVariables().putValue("ff", "ff").asVariableContext());
+    }
+
+    // then
+    assertThat(usedEvaluationOrders).hasSize(2);
+    assertThat(usedEvaluationOrders.get(0)).isSameAs(decision.getEvaluationOrder());
+    assertThat(usedEvaluationOrders.get(1)).isSameAs(decision.getEvaluationOrder());
+  }
+
   @Test
   public void shouldEvaluateDecisionsWithDifferentInputAndOutputTypes() {
     DmnDecisionTableResult results = dmnEngine.evaluateDecisionTable(parseDecisionFromFile("A", DMN_DECISIONS_WITH_DIFFERENT_INPUT_OUTPUT_TYPES) , createVariables()
@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.impl;
+
+import org.camunda.bpm.engine.impl.runtime.DefaultDeserializationTypeValidator;
+import org.camunda.bpm.engine.runtime.DeserializationTypeValidator;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * Validates types with the {@link DeserializationTypeValidator} of a process engine and
+ * remembers the decisions per type name, since the same types are validated again and again
+ * when variables are deserialized.
+ *
+ * <p>Decisions are only remembered for the built-in {@link DefaultDeserializationTypeValidator},
+ * whose decisions depend on the type name and the configured allowed classes and packages only.
+ * Custom validators may decide differently for the same type name over time and are always
+ * asked.</p>
+ */
+public class CachingDeserializationTypeValidator implements DeserializationTypeValidator {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected final DeserializationTypeValidator delegate;
+  protected final Cache<String, Boolean> decisions;
+
+  public CachingDeserializationTypeValidator(DeserializationTypeValidator delegate) {
+    this(delegate, DEFAULT_CAPACITY);
+  }
+
+  public CachingDeserializationTypeValidator(DeserializationTypeValidator delegate, int capacity) {
+    this.delegate = delegate;
+    this.decisions = isCacheable(delegate) ? new ConcurrentLruCache<String, Boolean>(capacity) : null;
+  }
+
+  @Override
+  public boolean validate(String type) {
+    if (decisions == null) {
+      return delegate.validate(type);
+    }
+
+    Boolean valid = decisions.get(type);
+    if (valid == null) {
+      valid = delegate.validate(type);
+      decisions.put(type, valid);
+    }
+    return valid;
+  }
+
+  public DeserializationTypeValidator getDelegate() {
+    return delegate;
+  }
+
+  public boolean isCaching() {
+    return decisions != null;
+  }
+
+  protected boolean isCacheable(DeserializationTypeValidator validator) {
+    return validator != null && validator.getClass() == DefaultDeserializationTypeValidator.class;
+  }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.impl;
+
+import org.camunda.spin.DeserializationTypeValidator;
+
+/**
+ * Remembers how the object type names of a data format are resolved, so that they are not
+ * resolved again for every deserialized value.
+ */
+public interface DataFormatTypeCache {
+
+  /**
+   * Maps the internal representation of a value to a java object of the given type.
+   */
+  Object mapInternalToJava(Object parameter, String typeIdentifier, DeserializationTypeValidator validator);
+
+  /**
+   * Removes the types which were resolved with the given class loader.
+   */
+  void purge(ClassLoader classLoader);
+
+}
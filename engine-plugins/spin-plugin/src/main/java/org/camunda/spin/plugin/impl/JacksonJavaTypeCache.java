@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.impl;
+
+import java.util.ArrayList;
+
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+import org.camunda.spin.DeserializationTypeValidator;
+import org.camunda.spin.impl.json.jackson.format.JacksonJsonDataFormat;
+import org.camunda.spin.impl.json.jackson.format.JacksonJsonDataFormatMapper;
+import org.camunda.spin.spi.DataFormat;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * Remembers the Jackson {@link JavaType} of each object type name of JSON object values.
+ * Otherwise the type name is resolved for every deserialized value, by loading it as a class
+ * and, for generic types, by parsing it as a canonical type name.
+ *
+ * <p>Types are resolved the same way as by the {@link JacksonJsonDataFormatMapper} and remembered
+ * per type name and context class loader, since the same type name can resolve to different
+ * classes in different process applications. Deserializers are already cached per
+ * {@link JavaType} by the data format's object mapper.</p>
+ *
+ * <p>Only loaded by the {@link SpinObjectValueSerializer} after it checked by class name that the
+ * data format is a {@link JacksonJsonDataFormat}, so that the plugin does not require the Jackson
+ * data format to be present.</p>
+ */
+public class JacksonJavaTypeCache implements DataFormatTypeCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected final JacksonJsonDataFormat dataFormat;
+  protected final Cache<TypeKey, JavaType> javaTypes;
+
+  public JacksonJavaTypeCache(DataFormat<?> dataFormat) {
+    this(dataFormat, DEFAULT_CAPACITY);
+  }
+
+  public JacksonJavaTypeCache(DataFormat<?> dataFormat, int capacity) {
+    this.dataFormat = (JacksonJsonDataFormat) dataFormat;
+    this.javaTypes = new ConcurrentLruCache<TypeKey, JavaType>(capacity);
+  }
+
+  @Override
+  public Object mapInternalToJava(Object parameter, String typeIdentifier, DeserializationTypeValidator validator) {
+    JavaType javaType = getJavaType(typeIdentifier);
+    JacksonJsonDataFormatMapper mapper = (JacksonJsonDataFormatMapper) dataFormat.getMapper();
+    return mapper.mapInternalToJava(parameter, javaType, validator);
+  }
+
+  @Override
+  public void purge(ClassLoader classLoader) {
+    for (TypeKey key : new ArrayList<TypeKey>(javaTypes.keySet())) {
+      if (key.classLoader == classLoader) {
+        javaTypes.remove(key);
+      }
+    }
+  }
+
+  public JavaType getJavaType(String typeIdentifier) {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    TypeKey key = new TypeKey(typeIdentifier, classLoader);
+
+    JavaType javaType = javaTypes.get(key);
+    if (javaType == null) {
+      javaType = resolveJavaType(typeIdentifier, classLoader);
+      javaTypes.put(key, javaType);
+    }
+    return javaType;
+  }
+
+  protected JavaType resolveJavaType(String typeIdentifier, ClassLoader classLoader) {
+    try {
+      // the type identifier is a class name unless the type is generic
+      Class<?> type = Class.forName(typeIdentifier, true, classLoader);
+      return dataFormat.getObjectMapper().getTypeFactory().constructType(type);
+    }
+    catch (ClassNotFoundException e) {
+      return dataFormat.constructJavaTypeFromCanonicalString(typeIdentifier);
+    }
+  }
+
+  protected static class TypeKey {
+
+    protected final String typeIdentifier;
+    protected final ClassLoader classLoader;
+
+    public TypeKey(String typeIdentifier, ClassLoader classLoader) {
+      this.typeIdentifier = typeIdentifier;
+      this.classLoader = classLoader;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * typeIdentifier.hashCode() + System.identityHashCode(classLoader);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof TypeKey)) {
+        return false;
+      }
+      TypeKey other = (TypeKey) obj;
+      return typeIdentifier.equals(other.typeIdentifier) && classLoader == other.classLoader;
+    }
+  }
+
+}
@@ -44,14 +44,32 @@ import org.camunda.spin.spi.DataFormatWriter;
  */
 public class SpinObjectValueSerializer extends AbstractObjectValueSerializer {
 
+  public static final String JACKSON_JSON_DATA_FORMAT_CLASS_NAME = "org.camunda.spin.impl.json.jackson.format.JacksonJsonDataFormat";
+
   protected String name;
   protected DataFormat<?> dataFormat;
   protected DeserializationTypeValidator validator;
+  protected volatile CachingDeserializationTypeValidator cachingValidator;
+  protected DataFormatTypeCache typeCache;
 
   public SpinObjectValueSerializer(String name, DataFormat<?> dataFormat) {
     super(dataFormat.getName());
     this.name = name;
     this.dataFormat = dataFormat;
+    this.typeCache = createTypeCache(dataFormat);
+  }
+
+  /**
+   * The data format is checked by class name, so that the Jackson classes referenced by the
+   * {@link JacksonJavaTypeCache} are only loaded if the Jackson data format is present.
+   *
+   * @return the type cache for the data format or null if its types are not cached
+   */
+  protected DataFormatTypeCache createTypeCache(DataFormat<?> dataFormat) {
+    if (JACKSON_JSON_DATA_FORMAT_CLASS_NAME.equals(dataFormat.getClass().getName())) {
+      return new JacksonJavaTypeCache(dataFormat);
+    }
+    return null;
   }
 
   public String getName() {
@@ -98,6 +116,9 @@ public class SpinObjectValueSerializer extends AbstractObjectValueSerializer {
 
     try {
       Object mappedObject = reader.readInput(bufferedReader);
+      if (typeCache != null) {
+        return typeCache.mapInternalToJava(mappedObject, objectTypeName, getValidator(processEngineConfiguration));
+      }
       return mapper.mapInternalToJava(mappedObject, objectTypeName, getValidator(processEngineConfiguration));
     }
     finally{
@@ -107,6 +128,13 @@ public class SpinObjectValueSerializer extends AbstractObjectValueSerializer {
     }
   }
 
+  @Override
+  public void purgeClasses(ClassLoader classLoader) {
+    if (typeCache != null) {
+      typeCache.purge(classLoader);
+    }
+  }
+
   protected boolean canSerializeValue(Object value) {
     return dataFormat.getMapper().canMap(value);
   }
@@ -116,11 +144,24 @@ public class SpinObjectValueSerializer extends AbstractObjectValueSerializer {
       validator = new DeserializationTypeValidator() {
           @Override
           public boolean validate(String type) {
-            return processEngineConfiguration.getDeserializationTypeValidator().validate(type);
+            return getCachingValidator(processEngineConfiguration).validate(type);
           }
       };
     }
     return validator;
   }
 
+  /**
+   * @return a validator which remembers the decisions of the process engine's current validator,
+   * replaced once another validator is configured
+   */
+  protected CachingDeserializationTypeValidator getCachingValidator(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    CachingDeserializationTypeValidator currentValidator = cachingValidator;
+    if (currentValidator == null || currentValidator.getDelegate() != processEngineConfiguration.getDeserializationTypeValidator()) {
+      currentValidator = new CachingDeserializationTypeValidator(processEngineConfiguration.getDeserializationTypeValidator());
+      cachingValidator = currentValidator;
+    }
+    return currentValidator;
+  }
+
 }
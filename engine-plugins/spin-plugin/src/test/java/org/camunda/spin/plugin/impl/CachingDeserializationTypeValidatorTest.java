@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.camunda.bpm.engine.impl.runtime.DefaultDeserializationTypeValidator;
+import org.camunda.bpm.engine.runtime.DeserializationTypeValidator;
+import org.junit.Test;
+
+public class CachingDeserializationTypeValidatorTest {
+
+  @Test
+  public void shouldRememberDecisionsOfDefaultValidator() {
+    // given
+    DefaultDeserializationTypeValidator defaultValidator = new DefaultDeserializationTypeValidator();
+    CachingDeserializationTypeValidator validator = new CachingDeserializationTypeValidator(defaultValidator);
+
+    // when
+    boolean allowed = validator.validate("java.util.ArrayList");
+    boolean notAllowed = validator.validate("org.camunda.Foo");
+
+    // then
+    assertThat(validator.isCaching()).isTrue();
+    assertThat(allowed).isTrue();
+    assertThat(notAllowed).isFalse();
+    assertThat(validator.decisions.get("java.util.ArrayList")).isTrue();
+    assertThat(validator.decisions.get("org.camunda.Foo")).isFalse();
+  }
+
+  @Test
+  public void shouldAskCustomValidatorEveryTime() {
+    // given
+    DeserializationTypeValidator customValidator = mock(DeserializationTypeValidator.class);
+    when(customValidator.validate(anyString())).thenReturn(true, false);
+    CachingDeserializationTypeValidator validator = new CachingDeserializationTypeValidator(customValidator);
+
+    // when
+    boolean first = validator.validate("java.util.ArrayList");
+    boolean second = validator.validate("java.util.ArrayList");
+
+    // then
+    assertThat(validator.isCaching()).isFalse();
+    assertThat(first).isTrue();
+    assertThat(second).isFalse();
+    verify(customValidator, times(2)).validate("java.util.ArrayList");
+  }
+
+  @Test
+  public void shouldAskSubclassOfDefaultValidatorEveryTime() {
+    // given
+    DefaultDeserializationTypeValidator subclassValidator = spy(new DefaultDeserializationTypeValidator() {});
+    CachingDeserializationTypeValidator validator = new CachingDeserializationTypeValidator(subclassValidator);
+
+    // when
+    validator.validate("java.util.ArrayList");
+    validator.validate("java.util.ArrayList");
+
+    // then
+    assertThat(validator.isCaching()).isFalse();
+    verify(subclassValidator, times(2)).validate("java.util.ArrayList");
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+
+import org.camunda.spin.DataFormats;
+import org.junit.After;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+public class JacksonJavaTypeCacheTest {
+
+  protected ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+  @After
+  public void resetContextClassLoader() {
+    Thread.currentThread().setContextClassLoader(contextClassLoader);
+  }
+
+  @Test
+  public void shouldCacheTypesOfJsonDataFormatOnly() {
+    // when
+    SpinObjectValueSerializer jsonSerializer = new SpinObjectValueSerializer("spin://application/json", DataFormats.json());
+    SpinObjectValueSerializer xmlSerializer = new SpinObjectValueSerializer("spin://application/xml", DataFormats.xml());
+
+    // then
+    assertThat(jsonSerializer.typeCache).isInstanceOf(JacksonJavaTypeCache.class);
+    assertThat(xmlSerializer.typeCache).isNull();
+  }
+
+  @Test
+  public void shouldResolveTypeOnce() {
+    // given
+    JacksonJavaTypeCache cache = new JacksonJavaTypeCache(DataFormats.json());
+
+    // when
+    JavaType first = cache.getJavaType("java.util.ArrayList<java.lang.String>");
+    JavaType second = cache.getJavaType("java.util.ArrayList<java.lang.String>");
+
+    // then
+    assertThat(first.getRawClass()).isEqualTo(ArrayList.class);
+    assertThat(first.getContentType().getRawClass()).isEqualTo(String.class);
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  public void shouldResolveTypePerContextClassLoader() {
+    // given
+    JacksonJavaTypeCache cache = new JacksonJavaTypeCache(DataFormats.json());
+    JavaType javaType = cache.getJavaType(JacksonJavaTypeCacheTest.class.getName());
+
+    // when
+    Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[0], contextClassLoader));
+    JavaType otherJavaType = cache.getJavaType(JacksonJavaTypeCacheTest.class.getName());
+
+    // then
+    assertThat(otherJavaType.getRawClass()).isEqualTo(javaType.getRawClass());
+    assertThat(cache.javaTypes.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldPurgeTypesOfClassLoader() {
+    // given
+    JacksonJavaTypeCache cache = new JacksonJavaTypeCache(DataFormats.json());
+    cache.getJavaType(JacksonJavaTypeCacheTest.class.getName());
+
+    ClassLoader processApplicationClassLoader = new URLClassLoader(new URL[0], contextClassLoader);
+    Thread.currentThread().setContextClassLoader(processApplicationClassLoader);
+    cache.getJavaType(JacksonJavaTypeCacheTest.class.getName());
+
+    // when
+    cache.purge(processApplicationClassLoader);
+
+    // then
+    assertThat(cache.javaTypes.size()).isEqualTo(1);
+    assertThat(cache.javaTypes.keySet()).extracting("classLoader").containsOnly(contextClassLoader);
+  }
+
+}
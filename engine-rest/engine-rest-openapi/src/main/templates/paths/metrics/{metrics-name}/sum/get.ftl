@@ -25,7 +25,13 @@
                 "history-cleanup-removed-process-instances",
                 "history-cleanup-removed-case-instances",
                 "history-cleanup-removed-decision-instances",
-                "history-cleanup-removed-batch-operations"]
+                "history-cleanup-removed-batch-operations",
+                "deployment-cache-hit",
+                "deployment-cache-miss",
+                "deployment-cache-eviction",
+                "compiled-script-cache-hit",
+                "compiled-script-cache-miss",
+                "compiled-script-cache-eviction"]
         desc = "The name of the metric." />
 
     <@lib.parameter
@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 /**
  * @author Christopher Zell <christopher.zell@camunda.com>
@@ -50,7 +51,9 @@ public class VariableResponseProvider {
     if (fileValue.getEncoding() != null) {
       type += "; charset=" + fileValue.getEncoding();
     }
-    Object value = fileValue.getValue() == null ? "" : fileValue.getValue();
+    // the content of the file may be fetched lazily, so it is accessed only once
+    InputStream content = fileValue.getValue();
+    Object value = content == null ? "" : content;
     return Response.ok(value, type).header("Content-Disposition", "attachment; filename=\"" + fileValue.getFilename() + "\"").build();
   }
 
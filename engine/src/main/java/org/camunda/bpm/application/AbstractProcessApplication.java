@@ -200,6 +200,13 @@ public abstract class AbstractProcessApplication implements ProcessApplicationIn
     return getProcessApplicationScriptEnvironment().getScriptEngineForName(name, cache);
   }
 
+  /**
+   * see {@link ProcessApplicationScriptEnvironment#releaseScriptEngine(String, ScriptEngine)}
+   */
+  public void releaseScriptEngine(String name, ScriptEngine scriptEngine) {
+    getProcessApplicationScriptEnvironment().releaseScriptEngine(name, scriptEngine);
+  }
+
   /**
    * see {@link ProcessApplicationScriptEnvironment#getEnvironmentScripts()}
    */
@@ -219,4 +219,10 @@ public class ProcessApplicationLogger extends ProcessEngineLogger {
             ((CaseDefinitionEntity)execution.getCaseDefinition()).getDeploymentId(),
             processApplicationManager.getRegistrationSummary());
   }
+
+  public void couldNotPurgeProcessApplicationClasses(Throwable t) {
+    logWarn(
+        "025",
+        "Unregistering process application for deployment but could not remove its classes from engine caches: {}", t.getMessage(), t);
+  }
 }
@@ -24,6 +24,8 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 
 import org.camunda.bpm.application.ProcessApplicationInterface;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 
@@ -58,13 +60,35 @@ public class ProcessApplicationScriptEnvironment {
     if(processApplicationScriptEngineResolver == null) {
       synchronized (this) {
         if(processApplicationScriptEngineResolver == null) {
-          processApplicationScriptEngineResolver = new ScriptEngineResolver(new ScriptEngineManager(getProcessApplicationClassloader()));
+          processApplicationScriptEngineResolver = createScriptEngineResolver();
         }
       }
     }
     return processApplicationScriptEngineResolver.getScriptEngine(scriptEngineName, cache);
   }
 
+  /**
+   * <p>Hands back a {@link ScriptEngine} obtained from {@link #getScriptEngineForName(String, boolean)}.
+   * Pooled engines are returned to their pool, for all other engines this has no effect.</p>
+   */
+  public void releaseScriptEngine(String scriptEngineName, ScriptEngine scriptEngine) {
+    if (processApplicationScriptEngineResolver != null) {
+      processApplicationScriptEngineResolver.releaseScriptEngine(scriptEngineName, scriptEngine);
+    }
+  }
+
+  protected ScriptEngineResolver createScriptEngineResolver() {
+    ScriptEngineResolver scriptEngineResolver = new ScriptEngineResolver(new ScriptEngineManager(getProcessApplicationClassloader()));
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      scriptEngineResolver.setScriptEnginePoolSize(processEngineConfiguration.getScriptEnginePoolSize());
+      scriptEngineResolver.setScriptEnginePoolMaxWaitMillis(processEngineConfiguration.getScriptEnginePoolMaxWaitMillis());
+    }
+
+    return scriptEngineResolver;
+  }
+
   /**
    * Returns a map of cached environment scripts per script language.
    */
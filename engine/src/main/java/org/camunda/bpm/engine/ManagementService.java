@@ -1363,4 +1363,27 @@ public interface ManagementService {
    */
   Boolean isTelemetryEnabled();
 
+  /**
+   * Rebuilds the variable value index of the process variables whose names are configured
+   * as indexed (see <code>ProcessEngineConfigurationImpl#setIndexedVariableNames</code>).
+   * The variables are processed in batches, each in its own transaction. Queries only look up
+   * a variable name in the index once a rebuild has completed after the name was configured.
+   *
+   * <p>All process engines of a cluster must configure the same indexed variable names, since
+   * each engine only maintains the index entries of the names it is configured with. An engine
+   * which starts without a name stops queries from using the index for that name until the
+   * index is rebuilt again. Queries also do not use the index while the registered names of
+   * the running engines differ.</p>
+   *
+   * <p>Variables updated concurrently with the rebuild fail with an
+   * {@link org.camunda.bpm.engine.OptimisticLockingException}, so that no index entry keeps an
+   * outdated value.</p>
+   *
+   * @return the number of indexed variables
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  int rebuildVariableValueIndex();
+
 }
@@ -141,4 +141,33 @@ public interface DelegateExecution extends BaseDelegateExecution, BpmnModelExecu
    * @param incidentId
    */
   void resolveIncident(String incidentId);
+
+  /**
+   * Returns a value of the in-memory context of the process instance. In-memory values
+   * are never persisted, serialized or written to the history and are only available
+   * until the current transaction ends.
+   *
+   * <p>Implementations that do not support in-memory values return <code>null</code>.</p>
+   *
+   * @param name the name of the value
+   * @return the value or <code>null</code> if no value with the given name exists
+   */
+  default Object getInMemoryValue(String name) {
+    return null;
+  }
+
+  /**
+   * Sets a value in the in-memory context of the process instance, making it available
+   * to all subsequent activities of the process instance within the current transaction.
+   *
+   * <p>Implementations that do not support in-memory values throw an
+   * {@link UnsupportedOperationException}.</p>
+   *
+   * @param name the name of the value
+   * @param value the value
+   * @see #getInMemoryValue(String)
+   */
+  default void setInMemoryValue(String name, Object value) {
+    throw new UnsupportedOperationException("In-memory values are not supported by " + getClass().getName());
+  }
 }
@@ -22,7 +22,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -33,6 +38,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 
@@ -67,16 +73,130 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   }
 
   protected List<DefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
-    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    List<ResourceEntity> handledResources = new ArrayList<ResourceEntity>();
     for (ResourceEntity resource : deployment.getResources().values()) {
       LOG.debugProcessingResource(resource.getName());
       if (isResourceHandled(resource)) {
-        definitions.addAll(transformResource(deployment, resource, properties));
+        handledResources.add(resource);
+      }
+    }
+
+    ExecutorService executor = getProcessEngineConfiguration().getDeploymentParseExecutor();
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    if (executor != null && handledResources.size() > 1 && isParallelTransformationSupported()) {
+      for (Collection<DefinitionEntity> resourceDefinitions : transformResourcesInParallel(deployment, handledResources, properties, executor)) {
+        definitions.addAll(resourceDefinitions);
+      }
+    }
+    else {
+      for (ResourceEntity resource : handledResources) {
+        definitions.addAll(transformResourceAndLogDuration(deployment, resource, properties));
       }
     }
     return definitions;
   }
 
+  /**
+   * @return true if {@link #transformDefinitions(DeploymentEntity, ResourceEntity, Properties)} can be invoked
+   * for multiple resources of a deployment at the same time
+   */
+  protected boolean isParallelTransformationSupported() {
+    return false;
+  }
+
+  /**
+   * Transforms the given resources with the deployment parse executor of the process engine.
+   * The returned definitions are in the order of the given resources, so that all subsequent
+   * steps of the deployment, like assigning versions and persisting the definitions, happen
+   * in the same order as if the resources were transformed one after another.
+   */
+  protected List<Collection<DefinitionEntity>> transformResourcesInParallel(final DeploymentEntity deployment,
+      List<ResourceEntity> resources, final Properties properties, ExecutorService executor) {
+
+    final ProcessEngineConfigurationImpl processEngineConfiguration = getProcessEngineConfiguration();
+    final ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+    List<Future<Collection<DefinitionEntity>>> transformations = new ArrayList<Future<Collection<DefinitionEntity>>>();
+    try {
+      for (final ResourceEntity resource : resources) {
+        transformations.add(executor.submit(new Callable<Collection<DefinitionEntity>>() {
+          public Collection<DefinitionEntity> call() {
+            return transformResourceInWorkerThread(deployment, resource, properties, processEngineConfiguration,
+                processApplication, contextClassLoader);
+          }
+        }));
+      }
+
+      List<Collection<DefinitionEntity>> definitions = new ArrayList<Collection<DefinitionEntity>>();
+      for (Future<Collection<DefinitionEntity>> transformation : transformations) {
+        definitions.add(getTransformationResult(transformation));
+      }
+      return definitions;
+
+    } finally {
+      // the executor is shared, so only the remaining transformations of this deployment are stopped
+      for (Future<Collection<DefinitionEntity>> transformation : transformations) {
+        transformation.cancel(true);
+      }
+    }
+  }
+
+  protected Collection<DefinitionEntity> transformResourceInWorkerThread(DeploymentEntity deployment, ResourceEntity resource,
+      Properties properties, ProcessEngineConfigurationImpl processEngineConfiguration,
+      ProcessApplicationReference processApplication, ClassLoader contextClassLoader) {
+
+    Thread currentThread = Thread.currentThread();
+    ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+
+    // the command context is deliberately not propagated since it must not be used concurrently
+    Context.setProcessEngineConfiguration(processEngineConfiguration);
+    if (processApplication != null) {
+      Context.setCurrentProcessApplication(processApplication);
+    }
+    currentThread.setContextClassLoader(contextClassLoader);
+    try {
+      return transformResourceAndLogDuration(deployment, resource, properties);
+
+    } finally {
+      currentThread.setContextClassLoader(previousClassLoader);
+      if (processApplication != null) {
+        Context.removeCurrentProcessApplication();
+      }
+      Context.removeProcessEngineConfiguration();
+    }
+  }
+
+  protected Collection<DefinitionEntity> getTransformationResult(Future<Collection<DefinitionEntity>> transformation) {
+    try {
+      return transformation.get();
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      else {
+        throw new ProcessEngineException(cause);
+      }
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while parsing the resources of the deployment", e);
+    }
+  }
+
+  protected Collection<DefinitionEntity> transformResourceAndLogDuration(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
+    long start = System.nanoTime();
+    Collection<DefinitionEntity> definitions = transformResource(deployment, resource, properties);
+    LOG.debugResourceTransformed(resource.getName(), (System.nanoTime() - start) / 1_000_000);
+    return definitions;
+  }
+
   protected boolean isResourceHandled(ResourceEntity resource) {
     String resourceName = resource.getName();
 
@@ -208,6 +328,8 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   }
 
   protected void persistDefinitions(DeploymentEntity deployment, List<DefinitionEntity> definitions, Properties properties) {
+    acquireDeploymentLocks(deployment, definitions);
+
     for (DefinitionEntity definition : definitions) {
       String definitionKey = definition.getKey();
       String tenantId = deployment.getTenantId();
@@ -221,6 +343,45 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
     }
   }
 
+  /**
+   * If the deployment lock is acquired per definition key, locks the keys of the given
+   * definitions before their versions are determined. Deployers without a
+   * {@link #getDeploymentLockType() lock type} acquire the global deployment lock instead.
+   */
+  protected void acquireDeploymentLocks(DeploymentEntity deployment, List<DefinitionEntity> definitions) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = getProcessEngineConfiguration();
+    if (processEngineConfiguration.isDeploymentLockUsed() && processEngineConfiguration.isDeploymentLockPerDefinitionKey()) {
+      PropertyManager propertyManager = getCommandContext().getPropertyManager();
+      String lockType = getDeploymentLockType();
+
+      if (lockType != null) {
+        propertyManager.acquireExclusiveDeploymentLocks(lockType, deployment.getTenantId(), getDeploymentLockKeys(definitions));
+      } else {
+        propertyManager.acquireExclusiveLock();
+      }
+    }
+  }
+
+  /**
+   * @return the type of the deployment lock properties of this deployer, which must be
+   * unique among the deployers, or <code>null</code> if the deployer acquires the global
+   * deployment lock
+   */
+  public String getDeploymentLockType() {
+    return null;
+  }
+
+  /**
+   * @return the keys to lock before the given definitions are persisted
+   */
+  protected Set<String> getDeploymentLockKeys(List<DefinitionEntity> definitions) {
+    Set<String> lockKeys = new HashSet<>();
+    for (DefinitionEntity definition : definitions) {
+      lockKeys.add(definition.getKey());
+    }
+    return lockKeys;
+  }
+
   protected void updateDefinitionByLatestDefinition(DeploymentEntity deployment, DefinitionEntity definition, DefinitionEntity latestDefinition) {
     definition.setVersion(getNextVersion(deployment, definition, latestDefinition));
     definition.setId(generateDefinitionId(deployment, definition, latestDefinition));
@@ -16,10 +16,13 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 import org.camunda.bpm.engine.ProcessEngineBootstrapCommand;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.DeployCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
@@ -27,6 +30,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingResult;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.entity.EverLivingJobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
@@ -55,12 +59,15 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
     initializeInstallationId(commandContext);
 
     checkDeploymentLockExists(commandContext);
+    createDeploymentLockProperties(commandContext);
 
     if (isHistoryCleanupEnabled(commandContext)) {
       checkHistoryCleanupLockExists(commandContext);
       createHistoryCleanupJob(commandContext);
     }
 
+    deleteVariableValueIndexCompletions(commandContext);
+
     initializeTelemetryProperty(commandContext);
     // installationId needs to be updated in the telemetry data
     updateTelemetryData(commandContext);
@@ -97,6 +104,44 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
     }
   }
 
+  /**
+   * Creates the lock properties for the deployment lock per definition key, see
+   * {@link ProcessEngineConfigurationImpl#isDeploymentLockPerDefinitionKey()}.
+   */
+  public void createDeploymentLockProperties(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isDeploymentLockUsed() || !processEngineConfiguration.isDeploymentLockPerDefinitionKey()) {
+      return;
+    }
+
+    Set<String> lockTypes = new HashSet<>();
+    lockTypes.add(DeployCmd.DEPLOYMENT_NAME_LOCK_TYPE);
+    for (Deployer deployer : processEngineConfiguration.getDeployers()) {
+      if (deployer instanceof AbstractDefinitionDeployer) {
+        String lockType = ((AbstractDefinitionDeployer<?>) deployer).getDeploymentLockType();
+        if (lockType != null) {
+          lockTypes.add(lockType);
+        }
+      }
+    }
+
+    commandContext.getPropertyManager()
+      .createDeploymentLockProperties(lockTypes, processEngineConfiguration.getDeploymentLockStripes());
+  }
+
+  /**
+   * Queries must not use the variable value index for names which this process engine is not
+   * configured with, since it does not maintain their entries, see
+   * {@link ProcessEngineConfigurationImpl#getIndexedVariableNames()}. The configuration is
+   * registered, so that queries only use the index if all process engines share it.
+   */
+  public void deleteVariableValueIndexCompletions(CommandContext commandContext) {
+    if (commandContext.getDbSqlSession().isTablePresent("ACT_RU_VAR_INDEX")) {
+      commandContext.getVariableValueIndexManager().deleteCompletionsOfNotIndexedNames();
+      commandContext.getVariableValueIndexManager().registerConfiguration();
+    }
+  }
+
   public void checkHistoryCleanupLockExists(CommandContext commandContext) {
     PropertyEntity historyCleanupLockProperty = commandContext.getPropertyManager().findPropertyById("history.cleanup.job.lock");
     if (historyCleanupLockProperty == null) {
@@ -512,4 +512,8 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return commandExecutor.execute(new IsTelemetryEnabledCmd());
   }
 
+  public int rebuildVariableValueIndex() {
+    return commandExecutor.execute(new RebuildVariableValueIndexCmd());
+  }
+
 }
@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
@@ -58,6 +59,7 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
   protected VariableMap correlationLocalVariables;
   protected VariableMap payloadProcessInstanceVariables;
   protected VariableMap payloadProcessInstanceVariablesLocal;
+  protected Map<String, Object> inMemoryValues;
 
   protected String tenantId = null;
   protected boolean isTenantIdSet = false;
@@ -173,6 +175,16 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     return this;
   }
 
+  @Override
+  public MessageCorrelationBuilder setInMemoryValue(String name, Object value) {
+    ensureNotNull("name", name);
+    if (inMemoryValues == null) {
+      inMemoryValues = new HashMap<>();
+    }
+    inMemoryValues.put(name, value);
+    return this;
+  }
+
   protected void ensurePayloadProcessInstanceVariablesInitialized() {
     if (payloadProcessInstanceVariables == null) {
       payloadProcessInstanceVariables = new VariableMapImpl();
@@ -358,6 +370,10 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     return payloadProcessInstanceVariablesLocal;
   }
 
+  public Map<String, Object> getInMemoryValues() {
+    return inMemoryValues;
+  }
+
   public boolean isExclusiveCorrelation() {
     return isExclusiveCorrelation;
   }
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.AuthorizationService;
@@ -34,7 +35,10 @@ import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StartupProfiler;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.CacheDefinitionsCmd;
+import org.camunda.bpm.engine.impl.cmd.FindLatestDefinitionVersionsCmd;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
@@ -43,9 +47,11 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheCoordinator;
 import org.camunda.bpm.engine.impl.telemetry.reporter.TelemetryReporter;
 import org.camunda.bpm.engine.impl.util.CompositeCondition;
 import org.camunda.bpm.engine.impl.util.DatabaseUtil;
+import org.camunda.bpm.engine.repository.ResourceDefinition;
 
 /**
  * @author Tom Baeyens
@@ -108,7 +114,8 @@ public class ProcessEngineImpl implements ProcessEngine {
     this.historyLevel = processEngineConfiguration.getHistoryLevel();
     this.transactionContextFactory = processEngineConfiguration.getTransactionContextFactory();
 
-    executeSchemaOperations();
+    StartupProfiler startupProfiler = processEngineConfiguration.getStartupProfiler();
+    startupProfiler.profile("executeSchemaOperations", this::executeSchemaOperations);
 
     if (name == null) {
       LOG.processEngineCreated(ProcessEngines.NAME_DEFAULT);
@@ -142,6 +149,34 @@ public class ProcessEngineImpl implements ProcessEngine {
         dbMetricsReporter.start();
       }
     }
+
+    if (processEngineConfiguration.getDeploymentCacheWarmUpVersions() > 0) {
+      startupProfiler.profile("warmUpDeploymentCache", this::warmUpDeploymentCache);
+    }
+
+    DeploymentCacheCoordinator deploymentCacheCoordinator = processEngineConfiguration.getDeploymentCacheCoordinator();
+    if (deploymentCacheCoordinator != null) {
+      deploymentCacheCoordinator.start(processEngineConfiguration);
+    }
+  }
+
+  /**
+   * Loads the latest versions of all definitions into the deployment cache, in one
+   * transaction per deployment. Definitions which cannot be loaded are loaded on their
+   * first use instead.
+   */
+  protected void warmUpDeploymentCache() {
+    Map<String, List<ResourceDefinition>> definitionsByDeploymentId = commandExecutor
+        .execute(new FindLatestDefinitionVersionsCmd(processEngineConfiguration.getDeploymentCacheWarmUpVersions()));
+
+    for (Map.Entry<String, List<ResourceDefinition>> deploymentDefinitions : definitionsByDeploymentId.entrySet()) {
+      try {
+        commandExecutor.execute(new CacheDefinitionsCmd(deploymentDefinitions.getValue()));
+      }
+      catch (Exception e) {
+        ProcessEngineLogger.PERSISTENCE_LOGGER.deploymentCacheWarmUpFailure(deploymentDefinitions.getKey(), e);
+      }
+    }
   }
 
   protected void executeSchemaOperations() {
@@ -177,11 +212,18 @@ public class ProcessEngineImpl implements ProcessEngine {
       telemetryReporter.stop();
     }
 
+    DeploymentCacheCoordinator deploymentCacheCoordinator = processEngineConfiguration.getDeploymentCacheCoordinator();
+    if (deploymentCacheCoordinator != null) {
+      deploymentCacheCoordinator.stop();
+    }
+
     if ((jobExecutor != null)) {
       // unregister process engine with Job Executor
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    unregisterVariableValueIndexConfiguration();
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
@@ -189,6 +231,24 @@ public class ProcessEngineImpl implements ProcessEngine {
     LOG.processEngineClosed(name);
   }
 
+  /**
+   * Other process engines may use the variable value index once the indexed variable names of
+   * this process engine are not registered anymore.
+   */
+  protected void unregisterVariableValueIndexConfiguration() {
+    try {
+      commandExecutor.execute(commandContext -> {
+        if (commandContext.getDbSqlSession().isTablePresent("ACT_RU_VAR_INDEX")) {
+          commandContext.getVariableValueIndexManager().unregisterConfiguration();
+        }
+        return null;
+      });
+    }
+    catch (Exception e) {
+      ProcessEngineLogger.PERSISTENCE_LOGGER.variableValueIndexUnregistrationFailure(e);
+    }
+  }
+
   @Override
   public String getName() {
     return name;
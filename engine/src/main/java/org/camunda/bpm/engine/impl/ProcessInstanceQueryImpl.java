@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexManager;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -355,15 +356,22 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
       ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
       VariableSerializers variableSerializers = processEngineConfiguration.getVariableSerializers();
       String dbType = processEngineConfiguration.getDatabaseType();
+      VariableValueIndexManager variableValueIndexManager = getVariableValueIndexManager();
 
       for (ProcessInstanceQueryImpl orQuery: queries) {
         for (QueryVariableValue var : orQuery.queryVariableValues) {
           var.initialize(variableSerializers, dbType);
+          var.initializeIndexed(variableValueIndexManager);
         }
       }
     }
   }
 
+  protected VariableValueIndexManager getVariableValueIndexManager() {
+    CommandContext commandContext = Context.getCommandContext();
+    return commandContext != null ? commandContext.getVariableValueIndexManager() : null;
+  }
+
   //getters /////////////////////////////////////////////////////////////////
 
   public String getProcessInstanceId() {
@@ -16,8 +16,10 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
@@ -52,6 +54,8 @@ public class ProcessInstantiationBuilderImpl implements ProcessInstantiationBuil
 
   protected ProcessInstanceModificationBuilderImpl modificationBuilder;
 
+  protected Map<String, Object> inMemoryValues;
+
   protected ProcessInstantiationBuilderImpl(CommandExecutor commandExecutor) {
     modificationBuilder = new ProcessInstanceModificationBuilderImpl();
 
@@ -107,6 +111,15 @@ public class ProcessInstantiationBuilderImpl implements ProcessInstantiationBuil
     return this;
   }
 
+  public ProcessInstantiationBuilder setInMemoryValue(String name, Object value) {
+    ensureNotNull("name", name);
+    if (inMemoryValues == null) {
+      inMemoryValues = new HashMap<>();
+    }
+    inMemoryValues.put(name, value);
+    return this;
+  }
+
   public ProcessInstantiationBuilder tenantId(String tenantId) {
     this.tenantId = tenantId;
     return this;
@@ -186,6 +199,10 @@ public class ProcessInstantiationBuilderImpl implements ProcessInstantiationBuil
     return caseInstanceId;
   }
 
+  public Map<String, Object> getInMemoryValues() {
+    return inMemoryValues;
+  }
+
   public Map<String, Object> getVariables() {
     return modificationBuilder.getProcessVariables();
   }
@@ -19,8 +19,11 @@ package org.camunda.bpm.engine.impl;
 import java.io.Serializable;
 import java.util.List;
 
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexManager;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.type.ValueType;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
 
@@ -41,6 +44,8 @@ public class QueryVariableValue implements Serializable {
   protected boolean variableNameIgnoreCase;
   protected boolean variableValueIgnoreCase;
 
+  protected boolean indexed;
+
   public QueryVariableValue(String name, Object value, QueryOperator operator, boolean local) {
     this(name, value, operator, local, false, false);
   }
@@ -64,6 +69,27 @@ public class QueryVariableValue implements Serializable {
     valueCondition.initializeValue(serializers, dbType);
   }
 
+  /**
+   * Determines whether this value can be looked up in the variable value index
+   * instead of the variable table, i.e. whether it is an equals comparison of a
+   * process variable with an indexable string value and the index is complete for its name.
+   */
+  public void initializeIndexed(VariableValueIndexManager variableValueIndexManager) {
+    indexed = variableValueIndexManager != null
+        && isIndexable()
+        && VariableValueIndexEntity.isIndexableValue((String) value.getValue())
+        && variableValueIndexManager.isQueryable(name);
+  }
+
+  protected boolean isIndexable() {
+    return !local
+        && !variableNameIgnoreCase
+        && !variableValueIgnoreCase
+        && getOperator() == QueryOperator.EQUALS
+        && (value.getType() == null || value.getType() == ValueType.STRING)
+        && value.getValue() instanceof String;
+  }
+
   public List<SingleQueryVariableValueCondition> getValueConditions() {
     return valueCondition.getDisjunctiveConditions();
   }
@@ -111,4 +137,8 @@ public class QueryVariableValue implements Serializable {
   public void setVariableValueIgnoreCase(boolean variableValueIgnoreCase) {
     this.variableValueIgnoreCase = variableValueIgnoreCase;
   }
+
+  public boolean isIndexed() {
+    return indexed;
+  }
 }
@@ -38,6 +38,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexManager;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.task.DelegationState;
@@ -1138,19 +1139,27 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
     VariableSerializers variableSerializers = processEngineConfiguration.getVariableSerializers();
     String dbType = processEngineConfiguration.getDatabaseType();
+    VariableValueIndexManager variableValueIndexManager = getVariableValueIndexManager();
     for(QueryVariableValue var : variables) {
       var.initialize(variableSerializers, dbType);
+      var.initializeIndexed(variableValueIndexManager);
     }
 
     if (!queries.isEmpty()) {
       for (TaskQueryImpl orQuery: queries) {
         for (QueryVariableValue var : orQuery.variables) {
           var.initialize(variableSerializers, dbType);
+          var.initializeIndexed(variableValueIndexManager);
         }
       }
     }
   }
 
+  protected VariableValueIndexManager getVariableValueIndexManager() {
+    CommandContext commandContext = Context.getCommandContext();
+    return commandContext != null ? commandContext.getVariableValueIndexManager() : null;
+  }
+
   public void addVariable(String name, Object value, QueryOperator operator, boolean isTaskVariable, boolean isProcessInstanceVariable) {
     ensureNotNull("name", name);
 
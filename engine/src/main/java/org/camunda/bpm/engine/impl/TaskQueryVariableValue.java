@@ -54,4 +54,10 @@ public class TaskQueryVariableValue extends QueryVariableValue {
   public boolean isProcessInstanceVariable() {
     return isProcessInstanceVariable;
   }
+
+  @Override
+  protected boolean isIndexable() {
+    // case instance variables are not indexed
+    return isProcessInstanceVariable && super.isIndexable();
+  }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.application;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,11 +32,16 @@ import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionManager;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentFailListener;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 
@@ -92,6 +98,8 @@ public class ProcessApplicationManager {
   }
 
   protected void removeProcessApplicationRegistration(final Set<String> deploymentIds, boolean removeProcessesFromCache) {
+    purgeProcessApplicationClasses(deploymentIds);
+
     for (String deploymentId : deploymentIds) {
       try {
         if(removeProcessesFromCache) {
@@ -111,6 +119,50 @@ public class ProcessApplicationManager {
     }
   }
 
+  /**
+   * Classes of the process application must not be retained by engine-wide caches
+   * (shared bean properties of the expression manager, compiled scripts, types resolved
+   * by object value serializers) after the process application was undeployed.
+   */
+  protected void purgeProcessApplicationClasses(Set<String> deploymentIds) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    VariableSerializers variableSerializers = processEngineConfiguration.getVariableSerializers();
+
+    Set<ProcessApplicationReference> references = new HashSet<ProcessApplicationReference>();
+    for (String deploymentId : deploymentIds) {
+      DefaultProcessApplicationRegistration registration = registrationsByDeploymentId.get(deploymentId);
+      if (registration != null) {
+        references.add(registration.getReference());
+      }
+    }
+
+    for (ProcessApplicationReference reference : references) {
+      try {
+        ClassLoader classLoader = reference.getProcessApplication().getProcessApplicationClassloader();
+        if (classLoader != null) {
+          if (expressionManager != null) {
+            expressionManager.purgeBeanClasses(classLoader);
+          }
+          if (compiledScriptCache != null) {
+            compiledScriptCache.purge(classLoader);
+          }
+          if (variableSerializers != null) {
+            for (TypedValueSerializer<?> serializer : variableSerializers.getSerializers()) {
+              if (serializer instanceof AbstractObjectValueSerializer) {
+                ((AbstractObjectValueSerializer) serializer).purgeClasses(classLoader);
+              }
+            }
+          }
+        }
+      }
+      catch (Throwable t) {
+        LOG.couldNotPurgeProcessApplicationClasses(t);
+      }
+    }
+  }
+
   protected void createJobExecutorRegistrations(Set<String> deploymentIds) {
     try {
       final DeploymentFailListener deploymentFailListener = new DeploymentFailListener(deploymentIds,
@@ -68,6 +68,11 @@ public class BatchSetVariablesHandler extends AbstractBatchJobHandler<BatchConfi
     commandContext.setRestrictUserOperationLogToAuthenticatedUsers(true);
 
     try {
+      // load the chunk's process instances and their variables up front, so that
+      // setting the variables per instance does not query them one by one
+      commandContext.getExecutionManager()
+          .prefetchProcessInstancesWithVariables(processInstanceIds);
+
       for (String processInstanceId : processInstanceIds) {
           commandContext.getProcessEngineConfiguration()
               .getRuntimeService()
@@ -87,6 +87,34 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return BPMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  public String getDeploymentLockType() {
+    return "process";
+  }
+
+  /**
+   * Also locks the names of message start events, since they must be unique among the
+   * latest process definitions.
+   */
+  @Override
+  protected Set<String> getDeploymentLockKeys(List<ProcessDefinitionEntity> processDefinitions) {
+    Set<String> lockKeys = super.getDeploymentLockKeys(processDefinitions);
+    for (ProcessDefinitionEntity processDefinition : processDefinitions) {
+      Map<String, EventSubscriptionDeclaration> eventDefinitions = processDefinition.getProperties().get(BpmnProperties.EVENT_SUBSCRIPTION_DECLARATIONS);
+      for (EventSubscriptionDeclaration eventDefinition : eventDefinitions.values()) {
+        if (eventDefinition.isStartEvent() && EventType.MESSAGE.name().equals(eventDefinition.getEventType())) {
+          lockKeys.add("message:" + eventDefinition.getUnresolvedEventName());
+        }
+      }
+    }
+    return lockKeys;
+  }
+
+  @Override
+  protected boolean isParallelTransformationSupported() {
+    return true;
+  }
+
   @Override
   protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     byte[] bytes = resource.getBytes();
@@ -104,10 +132,13 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
 
     bpmnParse.execute();
 
-    if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
-      properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+    // resources may be transformed in parallel
+    synchronized (properties) {
+      if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
+        properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+      }
+      properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
     }
-    properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
 
     return bpmnParse.getProcessDefinitions();
   }
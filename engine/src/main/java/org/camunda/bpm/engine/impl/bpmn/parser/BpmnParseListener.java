@@ -31,6 +31,11 @@ import org.camunda.bpm.engine.impl.variable.VariableDeclaration;
  * the {@link AbstractBpmnParseListener}, which contains an empty implementation for all methods
  * and makes your implementation easier and more robust to future changes.
  *
+ * <p>If the process engine parses the resources of deployments in parallel (see
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setDeploymentParseParallelism(int)}),
+ * a listener is invoked concurrently for different resources and must be thread-safe. It must
+ * not keep state of a single resource in its fields and cannot access the command context.</p>
+ *
  * @author Tom Baeyens
  * @author Falko Menge
  * @author Joram Barrez
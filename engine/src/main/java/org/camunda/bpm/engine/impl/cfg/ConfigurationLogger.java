@@ -114,4 +114,15 @@ public class ConfigurationLogger extends ProcessEngineLogger {
     logError("015", "Exception while reading configuration property: {}", e.getMessage());
   }
 
+  public void logStartupProfile(String processEngineName, long duration, StartupProfiler startupProfiler) {
+    logDebug(
+        "016", "Process engine '{}' started in {}ms, steps: {}", processEngineName, duration, startupProfiler);
+  }
+
+  public ProcessEngineException parallelInitializationFailed(Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "017",
+        "Exception while initializing the process engine in parallel: {}", cause.getMessage()), cause);
+  }
+
 }
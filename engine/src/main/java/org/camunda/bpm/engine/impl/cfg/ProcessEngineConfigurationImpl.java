@@ -38,12 +38,19 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.ibatis.builder.xml.XMLConfigBuilder;
 import org.apache.ibatis.datasource.pooled.PooledDataSource;
@@ -144,6 +151,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.db.sql.SharedConfigurationSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
 import org.camunda.bpm.engine.impl.digest.Default16ByteSaltGenerator;
 import org.camunda.bpm.engine.impl.digest.PasswordEncryptor;
@@ -282,6 +290,7 @@ import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheCoordinator;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
@@ -323,12 +332,14 @@ import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexManager;
 import org.camunda.bpm.engine.impl.repository.DefaultDeploymentHandlerFactory;
 import org.camunda.bpm.engine.impl.runtime.ConditionHandler;
 import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultConditionHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
 import org.camunda.bpm.engine.impl.runtime.DefaultDeserializationTypeValidator;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.BeansResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.ResolverFactory;
@@ -344,11 +355,13 @@ import org.camunda.bpm.engine.impl.telemetry.dto.Internals;
 import org.camunda.bpm.engine.impl.telemetry.dto.Jdk;
 import org.camunda.bpm.engine.impl.telemetry.dto.Product;
 import org.camunda.bpm.engine.impl.telemetry.reporter.TelemetryReporter;
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ParseUtil;
 import org.camunda.bpm.engine.impl.util.ProcessEngineDetails;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.impl.variable.ValueTypeResolverImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.BinaryObjectSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.BooleanValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.ByteArrayValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.DateValueSerializer;
@@ -364,6 +377,9 @@ import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializerFactory;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.DeflateVariableCompressionCodec;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.SerializedValueCompressor;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.VariableCompressionCodec;
 import org.camunda.bpm.engine.impl.variable.serializer.jpa.EntityManagerSession;
 import org.camunda.bpm.engine.impl.variable.serializer.jpa.EntityManagerSessionFactory;
 import org.camunda.bpm.engine.impl.variable.serializer.jpa.JPAVariableSerializer;
@@ -412,6 +428,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public static SqlSessionFactory cachedSqlSessionFactory;
 
+  /**
+   * parsed MyBatis configurations shared by process engines, see {@link #isUseSharedMyBatisConfiguration};
+   * a configuration is removed when the last process engine using it is closed
+   */
+  private static final Map<String, Configuration> cachedMyBatisConfigurations = new HashMap<>();
+  private static final Map<String, Integer> cachedMyBatisConfigurationUsages = new HashMap<>();
+
   // SERVICES /////////////////////////////////////////////////////////////////
 
   protected RepositoryService repositoryService = new RepositoryServiceImpl();
@@ -491,12 +514,50 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> deployers;
   protected DeploymentCache deploymentCache;
 
+  /**
+   * The number of threads used to parse the resources of deployments. If greater than 1,
+   * BPMN, CMMN and DMN resources are parsed in parallel; custom parse listeners must
+   * then be thread-safe and cannot access the command context.
+   */
+  protected int deploymentParseParallelism = 1;
+
+  /**
+   * The executor that parses the resources of deployments in parallel. If not set and
+   * {@link #deploymentParseParallelism} is greater than 1, the process engine creates a pool
+   * with that number of threads, which is shared by all deployments and shut down when the
+   * process engine is closed. A custom executor is used regardless of
+   * {@link #deploymentParseParallelism} and is not shut down by the process engine.
+   */
+  protected ExecutorService deploymentParseExecutor;
+  protected boolean closeDeploymentParseExecutor = false;
+
   // CACHE ////////////////////////////////////////////////////////////////////
 
   protected CacheFactory cacheFactory;
   protected int cacheCapacity = 1000;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * If true, definitions evicted from the deployment cache are kept softly reachable and
+   * restored on the next cache miss instead of parsing their resources again. The definitions
+   * are only retained in the memory of this process engine: nothing is persisted, so they are
+   * still parsed on the first access after a restart and on every other cluster node.
+   */
+  protected boolean retainEvictedDefinitions = false;
+
+  /**
+   * Informs the deployment caches of the other nodes of a cluster about created and
+   * deleted deployments. If not set, the other nodes load new definitions on their first
+   * use only.
+   */
+  protected DeploymentCacheCoordinator deploymentCacheCoordinator;
+
+  /**
+   * Number of the latest versions per definition key that are loaded into the deployment
+   * cache when the process engine is built. Disabled if 0.
+   */
+  protected int deploymentCacheWarmUpVersions = 0;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -583,6 +644,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean enableScriptCompilation = true;
   protected boolean enableScriptEngineCaching = true;
   protected boolean enableFetchScriptEngineFromProcessApplication = true;
+  protected CompiledScriptCache compiledScriptCache;
+  protected int compiledScriptCacheCapacity = CompiledScriptCache.DEFAULT_CAPACITY;
+  protected boolean enableScriptPrecompilation = false;
+  protected int scriptEnginePoolSize = 0;
+  protected long scriptEnginePoolMaxWaitMillis = 1000;
 
   /**
    * When set to false, the following behavior changes:
@@ -630,7 +696,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   // dmn
   protected DefaultDmnEngineConfiguration dmnEngineConfiguration;
-  protected DmnEngine dmnEngine;
+  protected volatile DmnEngine dmnEngine;
 
   /**
    * a list of DMN FEEL custom function providers
@@ -742,6 +808,50 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If true, reading single variables of an execution, task or case execution only
+   * fetches the requested variables from the database instead of all variables of the scope.
+   * All variables are still fetched once they are needed, e.g. to get all variables of the scope.
+   */
+  protected boolean isVariableLoadingByNameEnabled = false;
+
+  /**
+   * If true, the content of file variables which are read without deserializing their values
+   * (e.g. when listing variables) is only fetched from the database once it is accessed.
+   * If the value is accessed after the reading command has completed, the content is fetched
+   * in a separate command: it reflects the state at the time of access and is null if the
+   * variable has been deleted in the meantime. Once fetched, the content stays cached in the
+   * value (and in the variable entity that holds it) like an eagerly fetched one.
+   * Disabled by default, i.e. the content is fetched together with the variable.
+   */
+  protected boolean isLazyFileValueFetchingEnabled = false;
+
+  /**
+   * The minimal size in bytes of serialized object values (e.g. JSON or Java serialized objects)
+   * which are compressed before they are stored in the database. Compression is disabled
+   * if the threshold is negative. Compressed values are always read, independent of this setting.
+   */
+  protected int variableCompressionThreshold = -1;
+
+  /**
+   * The codec used to compress serialized object values.
+   */
+  protected VariableCompressionCodec variableCompressionCodec;
+
+  protected SerializedValueCompressor serializedValueCompressor;
+
+  /**
+   * Names of process variables whose string values are additionally kept in the variable
+   * value index (<code>ACT_RU_VAR_INDEX</code>). Process instance and task queries which
+   * filter process variables with these names by equality with a string value look the
+   * variable up in the index instead of the variable table, but only once the index was
+   * rebuilt with {@link ManagementService#rebuildVariableValueIndex()} after the name was
+   * added. All process engines sharing a database must configure the same names: each process
+   * engine registers its names on startup, and queries do not use the index while registered
+   * process engines differ.
+   */
+  protected Set<String> indexedVariableNames = Collections.emptySet();
+
   /**
    * If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
@@ -753,6 +863,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDeploymentSynchronized = true;
 
+  /**
+   * <p>If true, a deployment does not acquire the global deployment lock but only locks the
+   * keys of its definitions (and its name, if duplicate filtering is enabled), so that
+   * deployments of different definitions do not block each other. To deploy in parallel
+   * within one process engine, {@link #isDeploymentSynchronized} must be disabled as well.</p>
+   *
+   * <p>Process engines which lock per definition key and process engines which acquire the
+   * global deployment lock do not exclude each other. All process engines sharing a database
+   * must therefore use the same setting, and the setting must not be changed by a rolling
+   * restart while deployments are created. A process engine which locks per definition key
+   * fails to deploy if the lock properties are missing or if the process engine started last
+   * uses a different {@link #deploymentLockStripes number of lock properties}.</p>
+   */
+  protected boolean deploymentLockPerDefinitionKey = false;
+
+  /**
+   * Number of lock properties per definition type the definition keys are mapped to if
+   * the deployment lock is acquired per definition key. Must be the same on all nodes,
+   * the process engines which use a different value than the process engine started last
+   * fail to deploy.
+   */
+  protected int deploymentLockStripes = 64;
+
   /**
    * Allows setting whether the process engine should try reusing the first level entity cache.
    * Default setting is false, enabling it improves performance of asynchronous continuations.
@@ -850,6 +983,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isUseSharedSqlSessionFactory = false;
 
+  /**
+   * If enabled, the MyBatis mappings are only parsed by the first process engine of the
+   * JVM and reused by all engines of the same database type (and batch processing and
+   * statement timeout settings). In contrast to {@link #isUseSharedSqlSessionFactory},
+   * every engine keeps its own data source and transaction factory. The table prefix is
+   * resolved per statement execution.
+   */
+  protected boolean isUseSharedMyBatisConfiguration = false;
+
+  /** the key of the shared MyBatis configuration used by this process engine, if any */
+  protected String sharedMyBatisConfigurationKey;
+
   //History cleanup configuration
   protected String historyCleanupBatchWindowStartTime;
   protected String historyCleanupBatchWindowEndTime = "00:00";
@@ -964,83 +1109,181 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    *  default: 15 seconds */
   protected int telemetryRequestTimeout = 15 * 1000;
 
+  // startup //////////////////////////////////////////////////////////////////
+
+  /** records the duration of the startup steps, see {@link #getStartupProfiler()} */
+  protected StartupProfiler startupProfiler = new StartupProfiler();
+
+  /**
+   * If enabled, independent subsystems (the DMN engine and the MyBatis mappings) are
+   * initialized in parallel to the remaining steps of {@link #init()}.
+   */
+  protected boolean parallelInitialization = false;
+
+  /**
+   * If enabled, the DMN engine is built and the available script engines are discovered
+   * on first use instead of during the startup of the process engine.
+   */
+  protected boolean lazyInitialization = false;
+
+  protected ExecutorService initializationExecutor;
+
 
   // buildProcessEngine ///////////////////////////////////////////////////////
 
   @Override
   public ProcessEngine buildProcessEngine() {
     init();
-    processEngine = new ProcessEngineImpl(this);
-    invokePostProcessEngineBuild(processEngine);
+    startupProfiler.profile("createProcessEngine", () -> processEngine = new ProcessEngineImpl(this));
+    startupProfiler.profile("invokePostProcessEngineBuild", () -> invokePostProcessEngineBuild(processEngine));
+    startupProfiler.finish();
+    LOG.logStartupProfile(processEngine.getName(), startupProfiler.getTotalDuration(), startupProfiler);
     return processEngine;
   }
 
   // init /////////////////////////////////////////////////////////////////////
 
   protected void init() {
-    invokePreInit();
-    initDefaultCharset();
-    initHistoryLevel();
-    initHistoryEventProducer();
-    initCmmnHistoryEventProducer();
-    initDmnHistoryEventProducer();
-    initHistoryEventHandler();
-    initExpressionManager();
-    initBeans();
-    initArtifactFactory();
-    initFormEngines();
-    initFormTypes();
-    initFormFieldValidators();
-    initScripting();
-    initDmnEngine();
-    initBusinessCalendarManager();
-    initCommandContextFactory();
-    initTransactionContextFactory();
+    startupProfiler = new StartupProfiler();
+    if (parallelInitialization) {
+      initializationExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "Camunda Process Engine Initialization");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    try {
+      doInit();
+    }
+    finally {
+      if (initializationExecutor != null) {
+        initializationExecutor.shutdownNow();
+        initializationExecutor = null;
+      }
+    }
+  }
+
+  protected void doInit() {
+    initStep("invokePreInit", this::invokePreInit);
+    initStep("initDefaultCharset", this::initDefaultCharset);
+    initStep("initHistoryLevel", this::initHistoryLevel);
+    initStep("initHistoryEventProducer", this::initHistoryEventProducer);
+    initStep("initCmmnHistoryEventProducer", this::initCmmnHistoryEventProducer);
+    initStep("initDmnHistoryEventProducer", this::initDmnHistoryEventProducer);
+    initStep("initHistoryEventHandler", this::initHistoryEventHandler);
+    initStep("initExpressionManager", this::initExpressionManager);
+    initStep("initBeans", this::initBeans);
+    initStep("initArtifactFactory", this::initArtifactFactory);
+    initStep("initFormEngines", this::initFormEngines);
+    initStep("initFormTypes", this::initFormTypes);
+    initStep("initFormFieldValidators", this::initFormFieldValidators);
+    initStep("initScripting", this::initScripting);
+    Future<?> dmnEngineInitialization = initStepInParallel("initDmnEngine", this::initDmnEngine);
+    initStep("initBusinessCalendarManager", this::initBusinessCalendarManager);
+    initStep("initCommandContextFactory", this::initCommandContextFactory);
+    initStep("initTransactionContextFactory", this::initTransactionContextFactory);
 
     // Database type needs to be detected before CommandExecutors are initialized
-    initDataSource();
-
-    initCommandExecutors();
-    initServices();
-    initIdGenerator();
-    initFailedJobCommandFactory();
-    initDeployers();
-    initJobProvider();
-    initExternalTaskPriorityProvider();
-    initBatchHandlers();
-    initJobExecutor();
-    initTransactionFactory();
-    initSqlSessionFactory();
-    initIdentityProviderSessionFactory();
-    initSessionFactories();
-    initValueTypeResolver();
-    initTypeValidator();
-    initSerialization();
-    initJpa();
-    initDelegateInterceptor();
-    initEventHandlers();
-    initProcessApplicationManager();
-    initCorrelationHandler();
-    initConditionHandler();
-    initIncidentHandlers();
-    initPasswordDigest();
-    initDeploymentRegistration();
-    initDeploymentHandlerFactory();
-    initResourceAuthorizationProvider();
-    initPermissionProvider();
-    initHostName();
-    initMetrics();
-    initTelemetry();
-    initMigration();
-    initCommandCheckers();
-    initDefaultUserPermissionForTask();
-    initHistoryRemovalTime();
-    initHistoryCleanup();
-    initInvocationsPerBatchJobByBatchType();
-    initAdminUser();
-    initAdminGroups();
-    initPasswordPolicy();
-    invokePostInit();
+    initStep("initDataSource", this::initDataSource);
+
+    Future<?> sqlSessionFactoryInitialization = null;
+    if (parallelInitialization) {
+      // parsing the MyBatis mappings only depends on the data source and the transaction factory
+      initStep("initTransactionFactory", this::initTransactionFactory);
+      sqlSessionFactoryInitialization = initStepInParallel("initSqlSessionFactory", this::initSqlSessionFactory);
+    }
+
+    initStep("initCommandExecutors", this::initCommandExecutors);
+    initStep("initServices", this::initServices);
+    initStep("initIdGenerator", this::initIdGenerator);
+    initStep("initFailedJobCommandFactory", this::initFailedJobCommandFactory);
+    awaitInitStep(dmnEngineInitialization);
+    initStep("initDeployers", this::initDeployers);
+    initStep("initDeploymentParseExecutor", this::initDeploymentParseExecutor);
+    initStep("initJobProvider", this::initJobProvider);
+    initStep("initExternalTaskPriorityProvider", this::initExternalTaskPriorityProvider);
+    initStep("initBatchHandlers", this::initBatchHandlers);
+    initStep("initJobExecutor", this::initJobExecutor);
+    if (sqlSessionFactoryInitialization == null) {
+      initStep("initTransactionFactory", this::initTransactionFactory);
+      initStep("initSqlSessionFactory", this::initSqlSessionFactory);
+    }
+    else {
+      awaitInitStep(sqlSessionFactoryInitialization);
+    }
+    initStep("initIdentityProviderSessionFactory", this::initIdentityProviderSessionFactory);
+    initStep("initSessionFactories", this::initSessionFactories);
+    initStep("initValueTypeResolver", this::initValueTypeResolver);
+    initStep("initTypeValidator", this::initTypeValidator);
+    initStep("initSerialization", this::initSerialization);
+    initStep("initJpa", this::initJpa);
+    initStep("initDelegateInterceptor", this::initDelegateInterceptor);
+    initStep("initEventHandlers", this::initEventHandlers);
+    initStep("initProcessApplicationManager", this::initProcessApplicationManager);
+    initStep("initCorrelationHandler", this::initCorrelationHandler);
+    initStep("initConditionHandler", this::initConditionHandler);
+    initStep("initIncidentHandlers", this::initIncidentHandlers);
+    initStep("initPasswordDigest", this::initPasswordDigest);
+    initStep("initDeploymentRegistration", this::initDeploymentRegistration);
+    initStep("initDeploymentHandlerFactory", this::initDeploymentHandlerFactory);
+    initStep("initResourceAuthorizationProvider", this::initResourceAuthorizationProvider);
+    initStep("initPermissionProvider", this::initPermissionProvider);
+    initStep("initHostName", this::initHostName);
+    initStep("initMetrics", this::initMetrics);
+    initStep("initTelemetry", this::initTelemetry);
+    initStep("initMigration", this::initMigration);
+    initStep("initCommandCheckers", this::initCommandCheckers);
+    initStep("initDefaultUserPermissionForTask", this::initDefaultUserPermissionForTask);
+    initStep("initHistoryRemovalTime", this::initHistoryRemovalTime);
+    initStep("initHistoryCleanup", this::initHistoryCleanup);
+    initStep("initInvocationsPerBatchJobByBatchType", this::initInvocationsPerBatchJobByBatchType);
+    initStep("initAdminUser", this::initAdminUser);
+    initStep("initAdminGroups", this::initAdminGroups);
+    initStep("initPasswordPolicy", this::initPasswordPolicy);
+    initStep("invokePostInit", this::invokePostInit);
+  }
+
+  /**
+   * Runs a single step of {@link #init()} and records its duration in the {@link StartupProfiler}.
+   */
+  protected void initStep(String stepName, Runnable step) {
+    startupProfiler.profile(stepName, step);
+  }
+
+  /**
+   * Runs a step of {@link #init()} which does not depend on the steps up to the matching
+   * {@link #awaitInitStep(Future)} in parallel if {@link #parallelInitialization} is enabled,
+   * otherwise right away.
+   */
+  protected Future<?> initStepInParallel(String stepName, Runnable step) {
+    if (initializationExecutor != null) {
+      return startupProfiler.profileAsync(stepName, step, initializationExecutor);
+    }
+    else {
+      initStep(stepName, step);
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  protected void awaitInitStep(Future<?> step) {
+    try {
+      step.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw LOG.parallelInitializationFailed(e);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw LOG.parallelInitializationFailed(cause);
+    }
   }
 
   protected void initTypeValidator() {
@@ -1653,51 +1896,114 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
       if (sqlSessionFactory == null) {
-        InputStream inputStream = null;
-        try {
-          inputStream = getMyBatisXmlConfigurationSteam();
-
-          // update the jdbc parameters to the configured ones...
-          Environment environment = new Environment("default", transactionFactory, dataSource);
-          Reader reader = new InputStreamReader(inputStream);
+        // update the jdbc parameters to the configured ones...
+        Environment environment = new Environment("default", transactionFactory, dataSource);
+
+        if (isUseSharedMyBatisConfiguration && !isUseSharedSqlSessionFactory) {
+          String configurationKey = getSharedMyBatisConfigurationKey();
+          Configuration configuration = cachedMyBatisConfigurations.get(configurationKey);
+          if (configuration == null) {
+            // the environment of this process engine must not be shared with other process engines
+            configuration = parseMyBatisConfiguration(null, true);
+            cachedMyBatisConfigurations.put(configurationKey, configuration);
+          }
+          cachedMyBatisConfigurationUsages.merge(configurationKey, 1, Integer::sum);
+          sharedMyBatisConfigurationKey = configurationKey;
+          sqlSessionFactory = new SharedConfigurationSqlSessionFactory(configuration, environment);
 
-          Properties properties = new Properties();
+        } else {
+          sqlSessionFactory = new DefaultSqlSessionFactory(parseMyBatisConfiguration(environment, isUseSharedSqlSessionFactory));
 
           if (isUseSharedSqlSessionFactory) {
-            properties.put("prefix", "${@org.camunda.bpm.engine.impl.context.Context@getProcessEngineConfiguration().databaseTablePrefix}");
-          } else {
-            properties.put("prefix", databaseTablePrefix);
+            cachedSqlSessionFactory = sqlSessionFactory;
           }
+        }
+      }
+    }
+  }
+
+  /**
+   * Releases the shared MyBatis configuration used by this process engine and removes it once
+   * no other process engine uses it anymore.
+   */
+  protected void releaseSharedMyBatisConfiguration() {
+    synchronized (ProcessEngineConfigurationImpl.class) {
+      if (sharedMyBatisConfigurationKey != null) {
+        Integer usages = cachedMyBatisConfigurationUsages.merge(sharedMyBatisConfigurationKey, -1, Integer::sum);
+        if (usages == null || usages <= 0) {
+          cachedMyBatisConfigurationUsages.remove(sharedMyBatisConfigurationKey);
+          cachedMyBatisConfigurations.remove(sharedMyBatisConfigurationKey);
+        }
+        sharedMyBatisConfigurationKey = null;
+      }
+    }
+  }
+
+  /**
+   * @return the number of parsed MyBatis configurations which are currently shared by process engines
+   */
+  public static int getCachedMyBatisConfigurationCount() {
+    synchronized (ProcessEngineConfigurationImpl.class) {
+      return cachedMyBatisConfigurations.size();
+    }
+  }
 
-          initSqlSessionFactoryProperties(properties, databaseTablePrefix, databaseType);
+  /**
+   * Parses the MyBatis configuration with all mappings of the engine.
+   *
+   * @param environment the environment to open sessions with, <code>null</code> if the configuration
+   * is shared and the sessions are opened by a {@link SharedConfigurationSqlSessionFactory}
+   * @param resolveTablePrefixAtRuntime if true, the table prefix is taken from the configuration of the
+   * process engine which executes a statement instead of this configuration
+   */
+  protected Configuration parseMyBatisConfiguration(Environment environment, boolean resolveTablePrefixAtRuntime) {
+    InputStream inputStream = null;
+    try {
+      inputStream = getMyBatisXmlConfigurationSteam();
 
-          XMLConfigBuilder parser = new XMLConfigBuilder(reader, "", properties);
-          Configuration configuration = parser.getConfiguration();
-          configuration.setEnvironment(environment);
-          configuration = parser.parse();
+      Reader reader = new InputStreamReader(inputStream);
 
-          configuration.setDefaultStatementTimeout(jdbcStatementTimeout);
+      Properties properties = new Properties();
 
-          if (isJdbcBatchProcessing()) {
-            configuration.setDefaultExecutorType(ExecutorType.BATCH);
-          }
+      if (resolveTablePrefixAtRuntime) {
+        properties.put("prefix", "${@org.camunda.bpm.engine.impl.context.Context@getProcessEngineConfiguration().databaseTablePrefix}");
+      } else {
+        properties.put("prefix", databaseTablePrefix);
+      }
 
-          sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
+      initSqlSessionFactoryProperties(properties, databaseTablePrefix, databaseType);
 
-          if (isUseSharedSqlSessionFactory) {
-            cachedSqlSessionFactory = sqlSessionFactory;
-          }
+      XMLConfigBuilder parser = new XMLConfigBuilder(reader, "", properties);
+      Configuration configuration = parser.getConfiguration();
+      configuration.setEnvironment(environment);
+      configuration = parser.parse();
 
+      configuration.setDefaultStatementTimeout(jdbcStatementTimeout);
 
-        } catch (Exception e) {
-          throw new ProcessEngineException("Error while building ibatis SqlSessionFactory: " + e.getMessage(), e);
-        } finally {
-          IoUtil.closeSilently(inputStream);
-        }
+      if (isJdbcBatchProcessing()) {
+        configuration.setDefaultExecutorType(ExecutorType.BATCH);
       }
+
+      return configuration;
+
+    } catch (Exception e) {
+      throw new ProcessEngineException("Error while building ibatis SqlSessionFactory: " + e.getMessage(), e);
+    } finally {
+      IoUtil.closeSilently(inputStream);
     }
   }
 
+  /**
+   * @return the key under which the parsed MyBatis configuration is shared with other process engines,
+   * it covers all settings which are applied while parsing except for the table prefix
+   */
+  protected String getSharedMyBatisConfigurationKey() {
+    return getClass().getName()
+        + "|" + databaseType
+        + "|" + isJdbcBatchProcessing()
+        + "|" + jdbcStatementTimeout;
+  }
+
   public static void initSqlSessionFactoryProperties(Properties properties, String databaseTablePrefix, String databaseType) {
 
     if (databaseType != null) {
@@ -1797,6 +2103,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(TaskManager.class));
       addSessionFactory(new GenericManagerFactory(TaskReportManager.class));
       addSessionFactory(new GenericManagerFactory(VariableInstanceManager.class));
+      addSessionFactory(new GenericManagerFactory(VariableValueIndexManager.class));
       addSessionFactory(new GenericManagerFactory(EventSubscriptionManager.class));
       addSessionFactory(new GenericManagerFactory(StatisticsManager.class));
       addSessionFactory(new GenericManagerFactory(IncidentManager.class));
@@ -1975,6 +2282,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       initCacheFactory();
       deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
       deploymentCache.setDeployers(deployers);
+      deploymentCache.setRetainEvictedDefinitions(retainEvictedDefinitions);
+      if (metricsRegistry != null) {
+        deploymentCache.setMetricsRegistry(metricsRegistry);
+      }
+    }
+  }
+
+  protected void initDeploymentParseExecutor() {
+    if (deploymentParseExecutor == null && deploymentParseParallelism > 1) {
+      AtomicInteger threadCount = new AtomicInteger();
+      deploymentParseExecutor = Executors.newFixedThreadPool(deploymentParseParallelism, runnable -> {
+        Thread thread = new Thread(runnable, "Camunda Deployment Parser " + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+      closeDeploymentParseExecutor = true;
     }
   }
 
@@ -2089,6 +2412,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public DmnEngine getDmnEngine() {
+    if (dmnEngine == null && lazyInitialization && dmnEngineConfiguration != null) {
+      synchronized (this) {
+        if (dmnEngine == null) {
+          dmnEngine = dmnEngineConfiguration.buildEngine();
+        }
+      }
+    }
     return dmnEngine;
   }
 
@@ -2294,6 +2624,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       initDefaultMetrics(metricsRegistry);
 
+      if (deploymentCache != null) {
+        deploymentCache.setMetricsRegistry(metricsRegistry);
+      }
+
+      if (compiledScriptCache != null) {
+        compiledScriptCache.setMetricsRegistry(metricsRegistry);
+      }
+
       if (dbMetricsReporter == null) {
         dbMetricsReporter = new DbMetricsReporter(metricsRegistry, commandExecutorTxRequired);
       }
@@ -2325,6 +2663,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_INSTANCES);
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_HIT);
+    metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_MISS);
+    metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_EVICTION);
+    metricsRegistry.createDbMeter(Metrics.COMPILED_SCRIPT_CACHE_HIT);
+    metricsRegistry.createDbMeter(Metrics.COMPILED_SCRIPT_CACHE_MISS);
+    metricsRegistry.createDbMeter(Metrics.COMPILED_SCRIPT_CACHE_EVICTION);
   }
 
   protected void initSerialization() {
@@ -2348,6 +2693,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       variableSerializers.addSerializer(new DoubleValueSerializer());
       variableSerializers.addSerializer(new ByteArrayValueSerializer());
       variableSerializers.addSerializer(new JavaObjectSerializer());
+      variableSerializers.addSerializer(new BinaryObjectSerializer());
       variableSerializers.addSerializer(new FileValueSerializer());
 
       if (customPostVariableSerializers != null) {
@@ -2357,6 +2703,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
     }
+
+    if (serializedValueCompressor == null) {
+      if (variableCompressionCodec == null) {
+        variableCompressionCodec = new DeflateVariableCompressionCodec();
+      }
+      serializedValueCompressor = new SerializedValueCompressor(variableCompressionCodec, variableCompressionThreshold);
+    }
   }
 
   protected void initFormEngines() {
@@ -2418,8 +2771,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       resolverFactories.add(new BeansResolverFactory());
     }
     if (scriptingEngines == null) {
-      scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(resolverFactories));
+      ScriptBindingsFactory scriptBindingsFactory = new ScriptBindingsFactory(resolverFactories);
+      if (lazyInitialization) {
+        scriptingEngines = new ScriptingEngines(scriptBindingsFactory, ClassLoaderUtil.getContextClassloader());
+      }
+      else {
+        scriptingEngines = new ScriptingEngines(scriptBindingsFactory);
+      }
       scriptingEngines.setEnableScriptEngineCaching(enableScriptEngineCaching);
+      scriptingEngines.setScriptEnginePoolSize(scriptEnginePoolSize);
+      scriptingEngines.setScriptEnginePoolMaxWaitMillis(scriptEnginePoolMaxWaitMillis);
     }
     if (scriptFactory == null) {
       scriptFactory = new ScriptFactory();
@@ -2430,6 +2791,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEnvironment == null) {
       scriptingEnvironment = new ScriptingEnvironment(scriptFactory, scriptEnvResolvers, scriptingEngines);
     }
+    if (compiledScriptCache == null) {
+      compiledScriptCache = new CompiledScriptCache(compiledScriptCacheCapacity);
+    }
   }
 
   protected void initDmnEngine() {
@@ -2447,7 +2811,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           .enableFeelLegacyBehavior(dmnFeelEnableLegacyBehavior)
           .build();
 
-      dmnEngine = dmnEngineConfiguration.buildEngine();
+      if (!lazyInitialization) {
+        dmnEngine = dmnEngineConfiguration.buildEngine();
+      }
+      // otherwise the engine is built on first access, see getDmnEngine()
 
     } else if (dmnEngineConfiguration == null) {
       dmnEngineConfiguration = (DefaultDmnEngineConfiguration) dmnEngine.getConfiguration();
@@ -3122,6 +3489,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getDeploymentParseParallelism() {
+    return deploymentParseParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseParallelism(int deploymentParseParallelism) {
+    this.deploymentParseParallelism = deploymentParseParallelism;
+    return this;
+  }
+
+  public ExecutorService getDeploymentParseExecutor() {
+    return deploymentParseExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseExecutor(ExecutorService deploymentParseExecutor) {
+    this.deploymentParseExecutor = deploymentParseExecutor;
+    return this;
+  }
+
   public void setCacheFactory(CacheFactory cacheFactory) {
     this.cacheFactory = cacheFactory;
   }
@@ -3130,6 +3515,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheCapacity = cacheCapacity;
   }
 
+  public boolean isRetainEvictedDefinitions() {
+    return retainEvictedDefinitions;
+  }
+
+  public ProcessEngineConfigurationImpl setRetainEvictedDefinitions(boolean retainEvictedDefinitions) {
+    this.retainEvictedDefinitions = retainEvictedDefinitions;
+    return this;
+  }
+
+  public DeploymentCacheCoordinator getDeploymentCacheCoordinator() {
+    return deploymentCacheCoordinator;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheCoordinator(DeploymentCacheCoordinator deploymentCacheCoordinator) {
+    this.deploymentCacheCoordinator = deploymentCacheCoordinator;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmUpVersions() {
+    return deploymentCacheWarmUpVersions;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpVersions(int deploymentCacheWarmUpVersions) {
+    this.deploymentCacheWarmUpVersions = deploymentCacheWarmUpVersions;
+    return this;
+  }
+
   public void setEnableFetchProcessDefinitionDescription(boolean enableFetchProcessDefinitionDescription){
     this.enableFetchProcessDefinitionDescription = enableFetchProcessDefinitionDescription;
   }
@@ -3895,6 +4307,65 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public boolean isVariableLoadingByNameEnabled() {
+    return isVariableLoadingByNameEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableLoadingByNameEnabled(boolean isVariableLoadingByNameEnabled) {
+    this.isVariableLoadingByNameEnabled = isVariableLoadingByNameEnabled;
+    return this;
+  }
+
+  public boolean isLazyFileValueFetchingEnabled() {
+    return isLazyFileValueFetchingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setLazyFileValueFetchingEnabled(boolean isLazyFileValueFetchingEnabled) {
+    this.isLazyFileValueFetchingEnabled = isLazyFileValueFetchingEnabled;
+    return this;
+  }
+
+  public int getVariableCompressionThreshold() {
+    return variableCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableCompressionThreshold(int variableCompressionThreshold) {
+    this.variableCompressionThreshold = variableCompressionThreshold;
+    return this;
+  }
+
+  public VariableCompressionCodec getVariableCompressionCodec() {
+    return variableCompressionCodec;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableCompressionCodec(VariableCompressionCodec variableCompressionCodec) {
+    this.variableCompressionCodec = variableCompressionCodec;
+    return this;
+  }
+
+  public SerializedValueCompressor getSerializedValueCompressor() {
+    return serializedValueCompressor;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedValueCompressor(SerializedValueCompressor serializedValueCompressor) {
+    this.serializedValueCompressor = serializedValueCompressor;
+    return this;
+  }
+
+  public Set<String> getIndexedVariableNames() {
+    return indexedVariableNames;
+  }
+
+  public ProcessEngineConfigurationImpl setIndexedVariableNames(Set<String> indexedVariableNames) {
+    if (indexedVariableNames == null || indexedVariableNames.isEmpty()) {
+      this.indexedVariableNames = Collections.emptySet();
+    }
+    else {
+      this.indexedVariableNames = new HashSet<>(indexedVariableNames);
+    }
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -3930,6 +4401,73 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return enableScriptCompilation;
   }
 
+  public CompiledScriptCache getCompiledScriptCache() {
+    return compiledScriptCache;
+  }
+
+  /**
+   * Sets the cache for compiled scripts. The same instance can be set on the configurations
+   * of several process engines to share compiled scripts between them.
+   */
+  public ProcessEngineConfigurationImpl setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+    return this;
+  }
+
+  public int getCompiledScriptCacheCapacity() {
+    return compiledScriptCacheCapacity;
+  }
+
+  /**
+   * Sets the maximum number of compiled scripts kept in the default compiled script cache.
+   */
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheCapacity(int compiledScriptCacheCapacity) {
+    this.compiledScriptCacheCapacity = compiledScriptCacheCapacity;
+    return this;
+  }
+
+  public boolean isEnableScriptPrecompilation() {
+    return enableScriptPrecompilation;
+  }
+
+  /**
+   * If set to true, the process engine compiles script sources when a process or case definition
+   * is parsed instead of on their first execution. Requires script compilation and
+   * script engine caching to be enabled.
+   */
+  public ProcessEngineConfigurationImpl setEnableScriptPrecompilation(boolean enableScriptPrecompilation) {
+    this.enableScriptPrecompilation = enableScriptPrecompilation;
+    return this;
+  }
+
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  /**
+   * Sets the maximum number of script engines pooled per script language for engines which
+   * are not thread-safe and can therefore not be cached. Pooled engines are reused for subsequent
+   * script evaluations instead of creating a new engine per evaluation. A value of zero (default)
+   * disables pooling. Only takes effect if script engine caching is enabled.
+   */
+  public ProcessEngineConfigurationImpl setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+    return this;
+  }
+
+  public long getScriptEnginePoolMaxWaitMillis() {
+    return scriptEnginePoolMaxWaitMillis;
+  }
+
+  /**
+   * Sets the maximum time to wait for a pooled script engine when all engines of the pool are in use.
+   * When it elapses, a new script engine is created which is not pooled.
+   */
+  public ProcessEngineConfigurationImpl setScriptEnginePoolMaxWaitMillis(long scriptEnginePoolMaxWaitMillis) {
+    this.scriptEnginePoolMaxWaitMillis = scriptEnginePoolMaxWaitMillis;
+    return this;
+  }
+
   public boolean isEnableGracefulDegradationOnContextSwitchFailure() {
     return enableGracefulDegradationOnContextSwitchFailure;
   }
@@ -3963,6 +4501,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isDeploymentLockUsed = isDeploymentLockUsed;
   }
 
+  public boolean isDeploymentLockPerDefinitionKey() {
+    return deploymentLockPerDefinitionKey;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentLockPerDefinitionKey(boolean deploymentLockPerDefinitionKey) {
+    this.deploymentLockPerDefinitionKey = deploymentLockPerDefinitionKey;
+    return this;
+  }
+
+  public int getDeploymentLockStripes() {
+    return deploymentLockStripes;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentLockStripes(int deploymentLockStripes) {
+    this.deploymentLockStripes = deploymentLockStripes;
+    return this;
+  }
+
   /**
    * @return true if deployment processing must be synchronized
    */
@@ -4109,6 +4665,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    releaseSharedMyBatisConfiguration();
+
+    if (closeDeploymentParseExecutor) {
+      deploymentParseExecutor.shutdownNow();
+      deploymentParseExecutor = null;
+      closeDeploymentParseExecutor = false;
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -4418,6 +4982,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isUseSharedSqlSessionFactory;
   }
 
+  public ProcessEngineConfigurationImpl setUseSharedMyBatisConfiguration(boolean isUseSharedMyBatisConfiguration) {
+    this.isUseSharedMyBatisConfiguration = isUseSharedMyBatisConfiguration;
+    return this;
+  }
+
+  public boolean isUseSharedMyBatisConfiguration() {
+    return isUseSharedMyBatisConfiguration;
+  }
+
   public boolean getDisableStrictCallActivityValidation() {
     return disableStrictCallActivityValidation;
   }
@@ -4934,4 +5507,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return new CrdbTransactionRetryInterceptor(commandRetries);
   }
 
+  /**
+   * @return the durations of the steps of the last startup of the process engine
+   */
+  public StartupProfiler getStartupProfiler() {
+    return startupProfiler;
+  }
+
+  public boolean isParallelInitialization() {
+    return parallelInitialization;
+  }
+
+  public ProcessEngineConfigurationImpl setParallelInitialization(boolean parallelInitialization) {
+    this.parallelInitialization = parallelInitialization;
+    return this;
+  }
+
+  public boolean isLazyInitialization() {
+    return lazyInitialization;
+  }
+
+  public ProcessEngineConfigurationImpl setLazyInitialization(boolean lazyInitialization) {
+    this.lazyInitialization = lazyInitialization;
+    return this;
+  }
+
 }
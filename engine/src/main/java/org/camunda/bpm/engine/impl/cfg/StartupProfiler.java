@@ -0,0 +1,164 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cfg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
+
+/**
+ * Records how long the individual steps of building a process engine take. The steps
+ * are kept in the order in which they finished; steps which are run in parallel
+ * are measured on the thread executing them.
+ *
+ * <p>A step which is profiled while another step runs on the same thread is recorded as
+ * a child of that step, named <code>parent/child</code>. The duration of a step does not
+ * include the durations of its children, so that no time is counted twice.</p>
+ */
+public class StartupProfiler {
+
+  protected final Map<String, Long> stepDurations = Collections.synchronizedMap(new LinkedHashMap<String, Long>());
+
+  protected long startTime = System.nanoTime();
+  protected long endTime = -1;
+
+  /** the step which currently runs on a thread */
+  protected final ThreadLocal<ProfiledStep> currentStep = new ThreadLocal<ProfiledStep>();
+
+  /**
+   * Runs the given step on the current thread and records its duration, excluding the
+   * durations of the steps nested in it.
+   */
+  public void profile(String stepName, Runnable step) {
+    ProfiledStep parentStep = currentStep.get();
+    ProfiledStep profiledStep = new ProfiledStep(parentStep != null ? parentStep.name + "/" + stepName : stepName);
+    currentStep.set(profiledStep);
+
+    long stepStartTime = System.nanoTime();
+    try {
+      step.run();
+    }
+    finally {
+      long duration = System.nanoTime() - stepStartTime;
+
+      if (parentStep != null) {
+        parentStep.nestedDuration += duration;
+        currentStep.set(parentStep);
+      }
+      else {
+        currentStep.remove();
+      }
+
+      stepDurations.put(profiledStep.name, duration - profiledStep.nestedDuration);
+    }
+  }
+
+  /**
+   * Submits the given step to the executor and records its duration once it has
+   * finished. The step is run with the context class loader of the calling thread.
+   */
+  public Future<?> profileAsync(String stepName, Runnable step, ExecutorService executor) {
+    ClassLoader contextClassLoader = ClassLoaderUtil.getContextClassloader();
+    return executor.submit(() -> {
+      ClassLoader previousClassLoader = ClassLoaderUtil.getContextClassloader();
+      ClassLoaderUtil.setContextClassloader(contextClassLoader);
+      try {
+        profile(stepName, step);
+      }
+      finally {
+        ClassLoaderUtil.setContextClassloader(previousClassLoader);
+      }
+    });
+  }
+
+  public void finish() {
+    endTime = System.nanoTime();
+  }
+
+  /**
+   * @return the duration of the whole startup in milliseconds, up to now if the
+   * startup has not finished yet
+   */
+  public long getTotalDuration() {
+    long end = endTime >= 0 ? endTime : System.nanoTime();
+    return TimeUnit.NANOSECONDS.toMillis(end - startTime);
+  }
+
+  /**
+   * @return the durations of the recorded steps in milliseconds, excluding the durations of
+   * their children, in the order the steps finished
+   */
+  public Map<String, Long> getStepDurations() {
+    Map<String, Long> durations = new LinkedHashMap<String, Long>();
+    synchronized (stepDurations) {
+      for (Entry<String, Long> stepDuration : stepDurations.entrySet()) {
+        durations.put(stepDuration.getKey(), TimeUnit.NANOSECONDS.toMillis(stepDuration.getValue()));
+      }
+    }
+    return durations;
+  }
+
+  /**
+   * @return the names of the given number of steps which took the longest, the slowest first
+   */
+  public List<String> getSlowestSteps(int numberOfSteps) {
+    List<Entry<String, Long>> steps;
+    synchronized (stepDurations) {
+      steps = new ArrayList<Entry<String, Long>>(stepDurations.entrySet());
+    }
+    Collections.sort(steps, (first, second) -> Long.compare(second.getValue(), first.getValue()));
+
+    List<String> slowestSteps = new ArrayList<String>();
+    for (int i = 0; i < numberOfSteps && i < steps.size(); i++) {
+      slowestSteps.add(steps.get(i).getKey());
+    }
+    return slowestSteps;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder report = new StringBuilder();
+    for (Entry<String, Long> stepDuration : getStepDurations().entrySet()) {
+      if (report.length() > 0) {
+        report.append(", ");
+      }
+      report.append(stepDuration.getKey()).append('=').append(stepDuration.getValue()).append("ms");
+    }
+    return report.toString();
+  }
+
+  protected static class ProfiledStep {
+
+    protected final String name;
+
+    /** total duration of the steps nested in this step, in nanoseconds */
+    protected long nestedDuration;
+
+    public ProfiledStep(String name) {
+      this.name = name;
+    }
+  }
+
+}
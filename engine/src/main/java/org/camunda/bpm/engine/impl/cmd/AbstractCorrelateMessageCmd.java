@@ -64,7 +64,9 @@ public abstract class AbstractCorrelateMessageCmd {
   }
 
   protected void triggerExecution(CommandContext commandContext, CorrelationHandlerResult correlationResult) {
-    String executionId = correlationResult.getExecutionEntity().getId();
+    ExecutionEntity execution = correlationResult.getExecutionEntity();
+    execution.setInMemoryValues(builder.getInMemoryValues());
+    String executionId = execution.getId();
 
     MessageEventReceivedCmd command = new MessageEventReceivedCmd(messageName, executionId, builder.getPayloadProcessInstanceVariables(), builder.getPayloadProcessInstanceVariablesLocal(), builder.isExclusiveCorrelation());
     command.execute(commandContext);
@@ -75,6 +77,7 @@ public abstract class AbstractCorrelateMessageCmd {
 
     ActivityImpl messageStartEvent = processDefinitionEntity.findActivity(correlationResult.getStartEventActivityId());
     ExecutionEntity processInstance = processDefinitionEntity.createProcessInstance(builder.getBusinessKey(), messageStartEvent);
+    processInstance.setInMemoryValues(builder.getInMemoryValues());
 
     if (variablesEnabled) {
       variablesListener = new ExecutionVariableSnapshotObserver(processInstance, false, deserializeVariableValues);
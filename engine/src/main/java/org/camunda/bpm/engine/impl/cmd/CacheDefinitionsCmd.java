@@ -0,0 +1,68 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.repository.CaseDefinition;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.repository.ResourceDefinition;
+
+/**
+ * Adds the given process, case and decision definitions to the deployment cache. Only the
+ * resources of the definitions are parsed, not the whole deployment.
+ */
+public class CacheDefinitionsCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<ResourceDefinition> definitions;
+
+  public CacheDefinitionsCmd(List<ResourceDefinition> definitions) {
+    this.definitions = definitions;
+  }
+
+  @Override
+  public Void execute(CommandContext commandContext) {
+    final DeploymentCache deploymentCache = commandContext
+        .getProcessEngineConfiguration()
+        .getDeploymentCache();
+
+    commandContext.runWithoutAuthorization(() -> {
+      for (ResourceDefinition definition : definitions) {
+        if (definition instanceof ProcessDefinition) {
+          deploymentCache.findDeployedProcessDefinitionById(definition.getId());
+        }
+        else if (definition instanceof CaseDefinition) {
+          deploymentCache.findDeployedCaseDefinitionById(definition.getId());
+        }
+        else if (definition instanceof DecisionDefinition) {
+          deploymentCache.findDeployedDecisionDefinitionById(definition.getId());
+        }
+      }
+      return null;
+    });
+
+    return null;
+  }
+
+}
@@ -308,4 +308,9 @@ public class CommandLogger extends ProcessEngineLogger {
       cause.getMessage());
   }
 
+  public void debugResourceTransformed(String name, long durationInMillis) {
+    logDebug(
+        "046", "Transformed resource {} in {} ms", name, durationInMillis);
+  }
+
 }
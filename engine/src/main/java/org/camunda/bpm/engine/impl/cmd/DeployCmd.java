@@ -37,6 +37,7 @@ import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionLogger;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.deployer.CmmnDeployer;
@@ -84,6 +85,9 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
   private static final CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
   private static final TransactionLogger TX_LOG = ProcessEngineLogger.TX_LOGGER;
 
+  /** type of the deployment lock properties of the deployment names, see {@link #acquireExclusiveLock(CommandContext)} */
+  public static final String DEPLOYMENT_NAME_LOCK_TYPE = "name";
+
   protected DeploymentBuilderImpl deploymentBuilder;
   protected DeploymentHandler deploymentHandler;
 
@@ -186,7 +190,17 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
   }
 
   protected void acquireExclusiveLock(CommandContext commandContext) {
-    if (commandContext.getProcessEngineConfiguration().isDeploymentLockUsed()) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isDeploymentLockUsed() && processEngineConfiguration.isDeploymentLockPerDefinitionKey()) {
+      // The deployers lock the keys of the deployed definitions, see AbstractDefinitionDeployer.
+      // Duplicate filtering compares the resources with the latest deployment of the same
+      // name, so that deployments with the same name must not be created concurrently.
+      DeploymentEntity deployment = deploymentBuilder.getDeployment();
+      if (deploymentBuilder.isDuplicateFilterEnabled() && deployment.getName() != null) {
+        commandContext.getPropertyManager()
+          .acquireExclusiveDeploymentLocks(DEPLOYMENT_NAME_LOCK_TYPE, deployment.getTenantId(), Collections.singleton(deployment.getName()));
+      }
+    } else if (processEngineConfiguration.isDeploymentLockUsed()) {
       // Acquire global exclusive lock: this ensures that there can be only one
       // transaction in the cluster which is allowed to perform deployments.
       // This is important to ensure that duplicate filtering works correctly
@@ -0,0 +1,115 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.repository.CaseDefinitionQuery;
+import org.camunda.bpm.engine.repository.DecisionDefinitionQuery;
+import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
+import org.camunda.bpm.engine.repository.ResourceDefinition;
+
+/**
+ * Finds the latest versions of all process, case and decision definitions, e.g. to load
+ * them into the deployment cache when the process engine is built. Returns the found
+ * definitions by the id of their deployment.
+ */
+public class FindLatestDefinitionVersionsCmd implements Command<Map<String, List<ResourceDefinition>>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected int versionsPerKey;
+
+  /**
+   * @param versionsPerKey the number of the latest versions to find per definition key and tenant
+   */
+  public FindLatestDefinitionVersionsCmd(int versionsPerKey) {
+    this.versionsPerKey = versionsPerKey;
+  }
+
+  @Override
+  public Map<String, List<ResourceDefinition>> execute(final CommandContext commandContext) {
+    return commandContext.runWithoutAuthorization(() -> collectDefinitions(commandContext));
+  }
+
+  protected Map<String, List<ResourceDefinition>> collectDefinitions(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    Map<String, List<ResourceDefinition>> definitionsByDeploymentId = new LinkedHashMap<>();
+
+    collectDefinitions(definitionsByDeploymentId, new ProcessDefinitionQueryImpl().latestVersion().list(),
+        (key, tenantId) -> {
+          ProcessDefinitionQuery query = new ProcessDefinitionQueryImpl().processDefinitionKey(key);
+          query = tenantId != null ? query.tenantIdIn(tenantId) : query.withoutTenantId();
+          return query.orderByProcessDefinitionVersion().desc().listPage(0, versionsPerKey);
+        });
+
+    if (processEngineConfiguration.isCmmnEnabled()) {
+      collectDefinitions(definitionsByDeploymentId, new CaseDefinitionQueryImpl().latestVersion().list(),
+          (key, tenantId) -> {
+            CaseDefinitionQuery query = new CaseDefinitionQueryImpl().caseDefinitionKey(key);
+            query = tenantId != null ? query.tenantIdIn(tenantId) : query.withoutTenantId();
+            return query.orderByCaseDefinitionVersion().desc().listPage(0, versionsPerKey);
+          });
+    }
+
+    if (processEngineConfiguration.isDmnEnabled()) {
+      collectDefinitions(definitionsByDeploymentId, new DecisionDefinitionQueryImpl().latestVersion().list(),
+          (key, tenantId) -> {
+            DecisionDefinitionQuery query = new DecisionDefinitionQueryImpl().decisionDefinitionKey(key);
+            query = tenantId != null ? query.tenantIdIn(tenantId) : query.withoutTenantId();
+            return query.orderByDecisionDefinitionVersion().desc().listPage(0, versionsPerKey);
+          });
+    }
+
+    return definitionsByDeploymentId;
+  }
+
+  protected void collectDefinitions(Map<String, List<ResourceDefinition>> definitionsByDeploymentId,
+                                    List<? extends ResourceDefinition> latestDefinitions,
+                                    BiFunction<String, String, List<? extends ResourceDefinition>> latestVersionsByKeyAndTenantId) {
+
+    for (ResourceDefinition latestDefinition : latestDefinitions) {
+      if (versionsPerKey > 1 && latestDefinition.getVersion() > 1) {
+        List<? extends ResourceDefinition> definitions = latestVersionsByKeyAndTenantId.apply(latestDefinition.getKey(), latestDefinition.getTenantId());
+        for (ResourceDefinition definition : definitions) {
+          addDefinition(definitionsByDeploymentId, definition);
+        }
+      }
+      else {
+        addDefinition(definitionsByDeploymentId, latestDefinition);
+      }
+    }
+  }
+
+  protected void addDefinition(Map<String, List<ResourceDefinition>> definitionsByDeploymentId, ResourceDefinition definition) {
+    definitionsByDeploymentId
+        .computeIfAbsent(definition.getDeploymentId(), deploymentId -> new ArrayList<>())
+        .add(definition);
+  }
+
+}
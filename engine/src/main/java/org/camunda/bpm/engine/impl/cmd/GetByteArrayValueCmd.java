@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+
+/**
+ * Fetches the bytes of a {@link ByteArrayEntity}, e.g. the content of a lazily fetched file variable.
+ */
+public class GetByteArrayValueCmd implements Command<byte[]>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  protected String byteArrayId;
+
+  public GetByteArrayValueCmd(String byteArrayId) {
+    this.byteArrayId = byteArrayId;
+  }
+
+  public byte[] execute(CommandContext commandContext) {
+    if (byteArrayId == null) {
+      return null;
+    }
+
+    ByteArrayEntity byteArray = commandContext
+      .getByteArrayManager()
+      .findByteArrayById(byteArrayId);
+
+    return byteArray != null ? byteArray.getBytes() : null;
+  }
+
+}
@@ -70,4 +70,10 @@ public class GetExecutionVariableCmd implements Command<Object>, Serializable {
       checker.checkReadProcessInstanceVariable(execution);
     }
   }
+
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
@@ -73,4 +73,10 @@ public class GetExecutionVariableTypedCmd<T extends TypedValue> implements Comma
       checker.checkReadProcessInstanceVariable(execution);
     }
   }
+
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
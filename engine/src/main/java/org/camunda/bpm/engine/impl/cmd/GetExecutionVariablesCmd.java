@@ -72,4 +72,10 @@ public class GetExecutionVariablesCmd implements Command<VariableMap>, Serializa
       checker.checkReadProcessInstanceVariable(execution);
     }
   }
+
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
@@ -72,4 +72,10 @@ public class GetTaskVariableCmd implements Command<Object>, Serializable {
       checker.checkReadTaskVariable(task);
     }
   }
+
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
@@ -75,4 +75,10 @@ public class GetTaskVariableCmdTyped implements Command<TypedValue>, Serializabl
       checker.checkReadTaskVariable(task);
     }
   }
+
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
@@ -74,4 +74,10 @@ public class GetTaskVariablesCmd implements Command<VariableMap>, Serializable {
       checker.checkReadTaskVariable(task);
     }
   }
+
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Brings the variable value index in line with the existing process variables and the
+ * currently configured indexed variable names.
+ *
+ * <p>The rebuild runs in separate transactions: the first one stops queries from using the
+ * index and deletes stale entries, then the variables with indexed names are processed in
+ * batches ordered by id, and the last one records that the index is complete, so that queries
+ * start using it again. If the rebuild fails in between, queries keep using the variable table
+ * until the index has been rebuilt successfully.</p>
+ *
+ * <p>The first transaction also registers the indexed variable names this process engine is
+ * currently configured with. A batch fails if one of its variables is updated concurrently and
+ * is retried up to {@value #MAX_BATCH_ATTEMPTS} times with the current values.</p>
+ *
+ * @see org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getIndexedVariableNames()
+ */
+public class RebuildVariableValueIndexCmd implements Command<Integer> {
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  public static final int MAX_BATCH_ATTEMPTS = 3;
+
+  protected int batchSize;
+
+  public RebuildVariableValueIndexCmd() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  public RebuildVariableValueIndexCmd(int batchSize) {
+    ensureGreaterThanOrEqual("batchSize", batchSize, 1);
+    this.batchSize = batchSize;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().checkCamundaAdmin();
+
+    CommandExecutor commandExecutor = commandContext.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew();
+
+    commandExecutor.execute(context -> {
+      context.getVariableValueIndexManager().registerConfiguration();
+      context.getVariableValueIndexManager().resetIndex();
+      return null;
+    });
+
+    int indexSize = 0;
+    String lastVariableId = null;
+    List<String> variableIds;
+    do {
+      variableIds = rebuildIndexEntries(commandExecutor, lastVariableId);
+
+      if (!variableIds.isEmpty()) {
+        indexSize += variableIds.size();
+        lastVariableId = variableIds.get(variableIds.size() - 1);
+      }
+    } while (variableIds.size() == batchSize);
+
+    commandExecutor.execute(context -> {
+      context.getVariableValueIndexManager().completeIndex();
+      return null;
+    });
+
+    return indexSize;
+  }
+
+  protected List<String> rebuildIndexEntries(CommandExecutor commandExecutor, String lastVariableId) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return commandExecutor.execute(context -> context
+            .getVariableValueIndexManager()
+            .rebuildIndexEntries(lastVariableId, batchSize));
+      }
+      catch (OptimisticLockingException e) {
+        if (attempt >= MAX_BATCH_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+  }
+
+}
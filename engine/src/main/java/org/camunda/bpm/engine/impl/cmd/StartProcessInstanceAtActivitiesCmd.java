@@ -80,6 +80,7 @@ public class StartProcessInstanceAtActivitiesCmd implements Command<ProcessInsta
     }
 
     processInstance.setSkipCustomListeners(modificationBuilder.isSkipCustomListeners());
+    processInstance.setInMemoryValues(instantiationBuilder.getInMemoryValues());
     VariableMap variables = modificationBuilder.getProcessVariables();
 
     final ExecutionVariableSnapshotObserver variablesListener = new ExecutionVariableSnapshotObserver(processInstance);
@@ -61,6 +61,8 @@ public class StartProcessInstanceCmd implements Command<ProcessInstanceWithVaria
       processInstance.setTenantId(instantiationBuilder.getTenantId());
     }
 
+    processInstance.setInMemoryValues(instantiationBuilder.getInMemoryValues());
+
     final ExecutionVariableSnapshotObserver variablesListener = new ExecutionVariableSnapshotObserver(processInstance);
 
     processInstance.start(instantiationBuilder.getVariables());
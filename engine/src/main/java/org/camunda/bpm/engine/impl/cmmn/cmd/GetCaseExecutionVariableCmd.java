@@ -69,4 +69,9 @@ public class GetCaseExecutionVariableCmd implements Command<Object>, Serializabl
     return value;
   }
 
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
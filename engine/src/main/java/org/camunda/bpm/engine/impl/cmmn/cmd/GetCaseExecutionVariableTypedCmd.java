@@ -73,4 +73,9 @@ public class GetCaseExecutionVariableTypedCmd implements Command<TypedValue>, Se
     return value;
   }
 
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
@@ -69,4 +69,9 @@ public class GetCaseExecutionVariablesCmd implements Command<VariableMap>, Seria
     return result;
   }
 
+  @Override
+  public boolean isVariableReadOnly() {
+    return true;
+  }
+
 }
@@ -49,6 +49,16 @@ public class CmmnDeployer extends AbstractDefinitionDeployer<CaseDefinitionEntit
     return CMMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  public String getDeploymentLockType() {
+    return "case";
+  }
+
+  @Override
+  protected boolean isParallelTransformationSupported() {
+    return true;
+  }
+
   @Override
   protected List<CaseDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     return transformer.createTransform().deployment(deployment).resource(resource).transform();
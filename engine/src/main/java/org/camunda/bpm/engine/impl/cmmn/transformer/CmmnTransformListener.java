@@ -41,6 +41,11 @@ import org.camunda.bpm.model.cmmn.instance.Task;
  * the {@link AbstractCmmnTransformListener}, which contains an empty implementation for all methods
  * and makes your implementation easier and more robust to future changes.
  *
+ * <p>If the process engine parses the resources of deployments in parallel (see
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setDeploymentParseParallelism(int)}),
+ * a listener is invoked concurrently for different resources and must be thread-safe. It must
+ * not keep state of a single resource in its fields and cannot access the command context.</p>
+ *
  * @author Sebastian Menski
  *
  */
@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializerFactory;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
 import org.camunda.bpm.engine.variable.value.SerializableValue;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
@@ -78,7 +79,11 @@ public class VariableUtil {
     if (variables != null) {
       for (String variableName : variables.keySet()) {
         Object value = null;
-        if (variables instanceof VariableMap) {
+        if (variables instanceof VariableMapImpl) {
+          // the set variable functions create the untyped value wrapper themselves
+          value = ((VariableMapImpl) variables).getStoredValue(variableName);
+
+        } else if (variables instanceof VariableMap) {
           value = ((VariableMap) variables).getValueTyped(variableName);
 
         } else {
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.core.variable.scope;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -27,6 +28,8 @@ import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 
 /**
@@ -38,6 +41,14 @@ public class VariableStore<T extends CoreVariableInstance> {
   protected VariablesProvider<T> variablesProvider;
   protected Map<String, T> variables;
 
+  /**
+   * Variables which were loaded (or added) by name while the store is not initialized,
+   * see {@link ProcessEngineConfigurationImpl#isVariableLoadingByNameEnabled()}.
+   */
+  protected Map<String, T> variablesByName;
+  /** the names of all variables which were requested from the provider, whether they exist or not */
+  protected Set<String> loadedVariableNames;
+
   protected Map<String, T> removedVariables = new HashMap<String, T>();
 
   protected List<VariableStoreObserver<T>> observers;
@@ -86,6 +97,14 @@ public class VariableStore<T extends CoreVariableInstance> {
         }
       }
     }
+    else if (isVariableLoadingByNameEnabled()) {
+      Map<String, T> loadedVariables = loadVariablesByName(variableNames);
+      for (String variableName : variableNames) {
+        if (loadedVariables.containsKey(variableName)) {
+          result.put(variableName, loadedVariables.get(variableName));
+        }
+      }
+    }
     else {
       // in this case we don't initialize the variables map,
       // otherwise it would most likely contain only a subset
@@ -103,6 +122,9 @@ public class VariableStore<T extends CoreVariableInstance> {
   }
 
   public T getVariable(String name) {
+    if (!isInitialized() && isVariableLoadingByNameEnabled()) {
+      return loadVariablesByName(Collections.singleton(name)).get(name);
+    }
 
     return getVariablesMap().get(name);
   }
@@ -121,7 +143,13 @@ public class VariableStore<T extends CoreVariableInstance> {
       throw ProcessEngineLogger.CORE_LOGGER.duplicateVariableInstanceException(value);
     }
 
-    getVariablesMap().put(value.getName(), value);
+    if (!isInitialized() && variablesByName != null && loadedVariableNames.contains(value.getName())) {
+      // keep the store partially initialized, the variable is merged on initialization
+      variablesByName.put(value.getName(), value);
+    }
+    else {
+      getVariablesMap().put(value.getName(), value);
+    }
 
     for (VariableStoreObserver<T> listener : observers) {
       listener.onAdd(value);
@@ -149,6 +177,10 @@ public class VariableStore<T extends CoreVariableInstance> {
   }
 
   public boolean containsKey(String key) {
+    if (!isInitialized() && isVariableLoadingByNameEnabled()) {
+      return loadVariablesByName(Collections.singleton(key)).containsKey(key);
+    }
+
     return getVariablesMap().containsKey(key);
   }
 
@@ -167,9 +199,59 @@ public class VariableStore<T extends CoreVariableInstance> {
       for (T variable : variablesProvider.provideVariables()) {
         variables.put(variable.getName(), variable);
       }
+
+      if (variablesByName != null) {
+        // variables which were loaded by name may already be changed or
+        // not yet be flushed, so they take precedence
+        variables.putAll(variablesByName);
+        variablesByName = null;
+        loadedVariableNames = null;
+      }
     }
   }
 
+  /**
+   * Loads the variables with the given names, unless they were already requested before.
+   * Does not initialize the store, so that variables which are not requested are not loaded.
+   *
+   * @return all variables which were loaded by name so far
+   */
+  protected Map<String, T> loadVariablesByName(Collection<String> variableNames) {
+    if (variablesByName == null) {
+      variablesByName = new HashMap<String, T>();
+      loadedVariableNames = new HashSet<String>();
+    }
+
+    List<String> missingVariableNames = new ArrayList<String>();
+    for (String variableName : variableNames) {
+      if (!loadedVariableNames.contains(variableName)) {
+        missingVariableNames.add(variableName);
+      }
+    }
+
+    if (!missingVariableNames.isEmpty()) {
+      for (T variable : variablesProvider.provideVariables(missingVariableNames)) {
+        variablesByName.put(variable.getName(), variable);
+      }
+      loadedVariableNames.addAll(missingVariableNames);
+    }
+
+    return variablesByName;
+  }
+
+  /**
+   * Variables are only loaded by name from a provider which queries the database, i.e.
+   * not if the variables of the scope are already in memory.
+   */
+  protected boolean isVariableLoadingByNameEnabled() {
+    if (variablesProvider instanceof VariableCollectionProvider) {
+      return false;
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null && processEngineConfiguration.isVariableLoadingByNameEnabled();
+  }
+
   public T removeVariable(String variableName) {
 
     if (!getVariablesMap().containsKey(variableName)) {
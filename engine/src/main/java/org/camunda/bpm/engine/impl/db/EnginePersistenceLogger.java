@@ -844,4 +844,47 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
       + "It is not returned by the current fetch and lock command.",
       taskId);
   }
+
+  public void deploymentCacheWarmUpFailure(String deploymentId, Exception e) {
+    logWarn("109",
+        "Could not add the definitions of deployment '{}' to the deployment cache: {}. "
+        + "They are loaded on their first use instead.",
+        deploymentId, e.getMessage(), e);
+  }
+
+  public void deploymentCachePollingFailure(Exception e) {
+    logWarn("110", "Could not poll the deployments of other nodes: {}", e.getMessage(), e);
+  }
+
+  public ProcessEngineException missingDeploymentLockProperty(String lockName) {
+    return new ProcessEngineException(exceptionMessage(
+        "111",
+        "The deployment lock property '{}' does not exist. The deployment lock properties are created "
+        + "when a process engine with the engine configuration property 'deploymentLockPerDefinitionKey' starts.",
+        lockName));
+  }
+
+  public ProcessEngineException deploymentLockStripesMismatch(int stripes, String lockedStripes) {
+    return new ProcessEngineException(exceptionMessage(
+        "112",
+        "This process engine locks deployments with {} deployment lock properties per definition type, "
+        + "but the process engine started last on this database uses {}. All process engines sharing a "
+        + "database must use the same value for the engine configuration property 'deploymentLockStripes'.",
+        stripes, lockedStripes));
+  }
+
+  public void deploymentLockStripesChanged(String previousStripes, int stripes) {
+    logWarn("113",
+        "Changing the number of deployment lock properties per definition type from {} to {}. Process engines "
+        + "which still use {} fail to deploy until they are restarted with the new value.",
+        previousStripes, stripes, previousStripes);
+  }
+
+  public void variableValueIndexUnregistrationFailure(Exception e) {
+    logWarn("114",
+        "Could not remove the variable value index configuration of this process engine: {}. Queries do not "
+        + "use the variable value index if other process engines are configured with different indexed variable "
+        + "names, until this process engine is started again.",
+        e.getMessage(), e);
+  }
 }
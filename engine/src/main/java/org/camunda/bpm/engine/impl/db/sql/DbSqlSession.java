@@ -56,6 +56,8 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation.State;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexManager;
 import org.camunda.bpm.engine.impl.util.DatabaseUtil;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
@@ -263,6 +265,9 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
     if (isVariableIntegrityViolation) {
 
+      return true;
+    } else if (isVariableValueIndexConflict(failedOperation, cause)) {
+
       return true;
     } else if (
       isConstraintViolation
@@ -285,6 +290,17 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     return false;
   }
 
+  /**
+   * The entry of a variable in the variable value index is inserted concurrently by an update of
+   * the variable and a rebuild of the index, see {@link VariableValueIndexManager#rebuildIndexEntries(String, int)}.
+   */
+  protected boolean isVariableValueIndexConflict(DbOperation failedOperation, Exception cause) {
+    return failedOperation instanceof DbEntityOperation
+        && ((DbEntityOperation) failedOperation).getEntity() instanceof VariableValueIndexEntity
+        && DbOperationType.INSERT.equals(failedOperation.getOperationType())
+        && ExceptionUtil.checkIntegrityConstraintViolation(cause);
+  }
+
   /**
    * In cases where CockroachDB is used, and a failed operation is detected,
    * the method checks if the exception was caused by a CockroachDB
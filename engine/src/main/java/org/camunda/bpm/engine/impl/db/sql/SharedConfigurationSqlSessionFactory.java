@@ -0,0 +1,143 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * {@link SqlSessionFactory} which opens its sessions on the data source and with the
+ * transaction factory of its own {@link Environment} while the mapped statements come
+ * from a {@link Configuration} that is shared with the process engines of other data
+ * sources. The shared configuration has no environment, so that it does not reference the
+ * data source of any process engine.
+ */
+public class SharedConfigurationSqlSessionFactory implements SqlSessionFactory {
+
+  protected final Configuration configuration;
+  protected final Environment environment;
+
+  public SharedConfigurationSqlSessionFactory(Configuration configuration, Environment environment) {
+    this.configuration = configuration;
+    this.environment = environment;
+  }
+
+  public SqlSession openSession() {
+    return openSessionFromDataSource(configuration.getDefaultExecutorType(), null, false);
+  }
+
+  public SqlSession openSession(boolean autoCommit) {
+    return openSessionFromDataSource(configuration.getDefaultExecutorType(), null, autoCommit);
+  }
+
+  public SqlSession openSession(ExecutorType executorType) {
+    return openSessionFromDataSource(executorType, null, false);
+  }
+
+  public SqlSession openSession(TransactionIsolationLevel level) {
+    return openSessionFromDataSource(configuration.getDefaultExecutorType(), level, false);
+  }
+
+  public SqlSession openSession(ExecutorType executorType, TransactionIsolationLevel level) {
+    return openSessionFromDataSource(executorType, level, false);
+  }
+
+  public SqlSession openSession(ExecutorType executorType, boolean autoCommit) {
+    return openSessionFromDataSource(executorType, null, autoCommit);
+  }
+
+  public SqlSession openSession(Connection connection) {
+    return openSessionFromConnection(configuration.getDefaultExecutorType(), connection);
+  }
+
+  public SqlSession openSession(ExecutorType executorType, Connection connection) {
+    return openSessionFromConnection(executorType, connection);
+  }
+
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
+  public Environment getEnvironment() {
+    return environment;
+  }
+
+  protected SqlSession openSessionFromDataSource(ExecutorType executorType, TransactionIsolationLevel level, boolean autoCommit) {
+    Transaction transaction = null;
+    try {
+      transaction = environment.getTransactionFactory().newTransaction(environment.getDataSource(), level, autoCommit);
+      return createSqlSession(transaction, executorType, autoCommit);
+    }
+    catch (Exception e) {
+      closeTransaction(transaction);
+      throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+    }
+    finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  protected SqlSession openSessionFromConnection(ExecutorType executorType, Connection connection) {
+    try {
+      boolean autoCommit;
+      try {
+        autoCommit = connection.getAutoCommit();
+      }
+      catch (SQLException e) {
+        // failover to true, as most poor drivers or databases won't support transactions
+        autoCommit = true;
+      }
+      Transaction transaction = environment.getTransactionFactory().newTransaction(connection);
+      return createSqlSession(transaction, executorType, autoCommit);
+    }
+    catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+    }
+    finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  protected SqlSession createSqlSession(Transaction transaction, ExecutorType executorType, boolean autoCommit) {
+    Executor executor = configuration.newExecutor(transaction, executorType);
+    return new DefaultSqlSession(configuration, executor, autoCommit);
+  }
+
+  protected void closeTransaction(Transaction transaction) {
+    if (transaction != null) {
+      try {
+        transaction.close();
+      }
+      catch (SQLException e) {
+        // ignore, the exception that caused the close is rethrown
+      }
+    }
+  }
+
+}
@@ -53,6 +53,11 @@ public class DecisionDefinitionDeployer extends AbstractDefinitionDeployer<Decis
     return DMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  public String getDeploymentLockType() {
+    return "decision";
+  }
+
   @Override
   protected List<DecisionDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     List<DecisionDefinitionEntity> decisions = new ArrayList<DecisionDefinitionEntity>();
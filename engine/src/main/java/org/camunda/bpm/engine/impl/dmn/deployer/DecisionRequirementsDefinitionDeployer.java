@@ -50,6 +50,16 @@ public class DecisionRequirementsDefinitionDeployer extends AbstractDefinitionDe
     return DecisionDefinitionDeployer.DMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  public String getDeploymentLockType() {
+    return "decision.requirements";
+  }
+
+  @Override
+  protected boolean isParallelTransformationSupported() {
+    return true;
+  }
+
   @Override
   protected List<DecisionRequirementsDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     byte[] bytes = resource.getBytes();
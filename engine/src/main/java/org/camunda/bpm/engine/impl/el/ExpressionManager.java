@@ -62,6 +62,7 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ProcessEngineElContext(functionMappers);
   protected Map<Object, Object> beans;
   protected volatile ELResolver elResolver; // why volatile? => https://jira.camunda.com/browse/CAM-12106
+  protected ProcessApplicationBeanElResolverDelegate processApplicationBeanElResolver;
 
   public ExpressionManager() {
     this(null);
@@ -148,11 +149,22 @@ public class ExpressionManager {
     elResolver.add(new ArrayELResolver());
     elResolver.add(new ListELResolver());
     elResolver.add(new MapELResolver());
-    elResolver.add(new ProcessApplicationBeanElResolverDelegate());
+    processApplicationBeanElResolver = new ProcessApplicationBeanElResolverDelegate();
+    elResolver.add(processApplicationBeanElResolver);
 
     return elResolver;
   }
 
+  /**
+   * Removes all classes loaded by the given class loader from the cached bean
+   * properties of this expression manager, e.g. when a process application is undeployed.
+   */
+  public void purgeBeanClasses(ClassLoader classLoader) {
+    if (processApplicationBeanElResolver != null) {
+      processApplicationBeanElResolver.purgeBeanClasses(classLoader);
+    }
+  }
+
   /**
    * @param elFunctionMapper
    */
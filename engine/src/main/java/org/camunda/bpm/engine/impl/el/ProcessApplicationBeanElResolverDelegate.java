@@ -26,17 +26,21 @@ import org.camunda.bpm.engine.impl.javax.el.ELResolver;
 
 /**
  * <p>Resolves a {@link BeanELResolver} from the current process application.
- * This allows to cache resolvers on the process application level. Such a resolver
- * cannot be cached globally as {@link BeanELResolver} keeps a cache of classes
- * involved in expressions.</p>
+ * This allows to cache resolvers on the process application level.</p>
  *
  * <p>If resolution is attempted outside the context of a process application,
- * then always a new resolver instance is returned (i.e. no caching in these cases).</p>
+ * then a resolver shared by all such evaluations is returned, so that the bean
+ * properties it has introspected are reused. As {@link BeanELResolver} keeps a cache
+ * of classes involved in expressions, classes of a process application are purged
+ * from this resolver via {@link #purgeBeanClasses(ClassLoader)} when the process
+ * application is undeployed.</p>
  *
  * @author Thorben Lindhauer
  */
 public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolverDelegate {
 
+  protected final BeanELResolver beanElResolver = new BeanELResolver();
+
   protected ELResolver getElResolverDelegate() {
 
     ProcessApplicationReference processApplicationReference = Context.getCurrentProcessApplication();
@@ -51,8 +55,12 @@ public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolver
       }
 
     } else {
-      return new BeanELResolver();
+      return beanElResolver;
     }
 
   }
+
+  public void purgeBeanClasses(ClassLoader classLoader) {
+    beanElResolver.purgeBeanClasses(classLoader);
+  }
 }
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.history.parser;
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationEvent;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
+import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluationDetailAware;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.CoreExecutionContext;
@@ -30,7 +31,7 @@ import org.camunda.bpm.engine.impl.history.producer.DmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 
-public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationListener {
+public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationListener, DmnEvaluationDetailAware {
 
   protected DmnHistoryEventProducer eventProducer;
   protected HistoryLevel historyLevel;
@@ -49,12 +50,14 @@ public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationL
     }
   }
 
+  public boolean isEvaluationDetailRequired(DmnDecision decision) {
+    // the inputs and required decisions are only needed to produce the history event
+    return isHistoryEventProduced(decision);
+  }
+
   protected HistoryEvent createHistoryEvent(DmnDecisionEvaluationEvent evaluationEvent) {
-    if (historyLevel == null) {
-      historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
-    }
     DmnDecision decisionTable = evaluationEvent.getDecisionResult().getDecision();
-    if(isDeployedDecisionTable(decisionTable) && historyLevel.isHistoryEventProduced(HistoryEventTypes.DMN_DECISION_EVALUATE, decisionTable)) {
+    if(isHistoryEventProduced(decisionTable)) {
 
       CoreExecutionContext<? extends CoreExecution> executionContext = Context.getCoreExecutionContext();
       if (executionContext != null) {
@@ -78,6 +81,13 @@ public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationL
     }
   }
 
+  protected boolean isHistoryEventProduced(DmnDecision decision) {
+    if (historyLevel == null) {
+      historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
+    }
+    return isDeployedDecisionTable(decision) && historyLevel.isHistoryEventProduced(HistoryEventTypes.DMN_DECISION_EVALUATE, decision);
+  }
+
   protected boolean isDeployedDecisionTable(DmnDecision decision) {
     if(decision instanceof DecisionDefinition) {
       return ((DecisionDefinition) decision).getId() != null;
@@ -33,4 +33,15 @@ public interface Command <T> {
   default boolean isRetryable() {
     return false;
   }
+
+  /**
+   * @return true if the command does not change variables but only reads
+   *   them for its caller. Variables which are read by such a command are not checked
+   *   for implicit updates when the command context is closed. A nested command which
+   *   reuses the command context and does not return true here turns the check on again
+   *   for the variables it reads.
+   */
+  default boolean isVariableReadOnly() {
+    return false;
+  }
 }
@@ -97,6 +97,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexManager;
 
 /**
  * @author Tom Baeyens
@@ -111,6 +112,7 @@ public class CommandContext {
   protected boolean userOperationLogEnabled = true;
   protected boolean tenantCheckEnabled = true;
   protected boolean restrictUserOperationLogToAuthenticatedUsers;
+  protected boolean implicitVariableUpdateDetectionEnabled = true;
 
   protected TransactionContext transactionContext;
   protected Map<Class< ? >, SessionFactory> sessionFactories;
@@ -345,6 +347,10 @@ public class CommandContext {
     return getSession(VariableInstanceManager.class);
   }
 
+  public VariableValueIndexManager getVariableValueIndexManager() {
+    return getSession(VariableValueIndexManager.class);
+  }
+
   public HistoricProcessInstanceManager getHistoricProcessInstanceManager() {
     return getSession(HistoricProcessInstanceManager.class);
   }
@@ -623,6 +629,29 @@ public class CommandContext {
     return tenantCheckEnabled;
   }
 
+  public void enableImplicitVariableUpdateDetection() {
+    implicitVariableUpdateDetectionEnabled = true;
+  }
+
+  /**
+   * Variable values which are read while the detection is disabled are not checked for
+   * implicit updates on close of the command context, unless they are read again
+   * after the detection is enabled.
+   *
+   * @see Command#isVariableReadOnly()
+   */
+  public void disableImplicitVariableUpdateDetection() {
+    implicitVariableUpdateDetectionEnabled = false;
+  }
+
+  public void setImplicitVariableUpdateDetectionEnabled(boolean implicitVariableUpdateDetectionEnabled) {
+    this.implicitVariableUpdateDetectionEnabled = implicitVariableUpdateDetectionEnabled;
+  }
+
+  public boolean isImplicitVariableUpdateDetectionEnabled() {
+    return implicitVariableUpdateDetectionEnabled;
+  }
+
   public JobEntity getCurrentJob() {
     return currentJob;
   }
@@ -89,6 +89,7 @@ public class CommandContextInterceptor extends CommandInterceptor {
     // only create a new command context on the current command level (CAM-10002)
     boolean isNew = ProcessEngineContextImpl.consume();
     boolean openNew = (context == null || isNew);
+    boolean restoreImplicitVariableUpdateDetection = false;
 
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command, processEngineConfiguration);
     Context.setCommandInvocationContext(commandInvocationContext);
@@ -98,9 +99,20 @@ public class CommandContextInterceptor extends CommandInterceptor {
         LOG.debugOpeningNewCommandContext();
         context = commandContextFactory.createCommandContext();
 
+        if (command.isVariableReadOnly()) {
+          // the returned values are not changed within the command
+          context.disableImplicitVariableUpdateDetection();
+        }
+
       } else {
         LOG.debugReusingExistingCommandContext();
 
+        if (!command.isVariableReadOnly() && !context.isImplicitVariableUpdateDetectionEnabled()) {
+          // a nested command may change the values it reads
+          restoreImplicitVariableUpdateDetection = true;
+          context.enableImplicitVariableUpdateDetection();
+        }
+
       }
 
       Context.setCommandContext(context);
@@ -118,6 +130,9 @@ public class CommandContextInterceptor extends CommandInterceptor {
           LOG.closingCommandContext();
           context.close(commandInvocationContext);
         } else {
+          if (restoreImplicitVariableUpdateDetection) {
+            context.disableImplicitVariableUpdateDetection();
+          }
           commandInvocationContext.rethrow();
         }
       } finally {
@@ -68,6 +68,12 @@ public class BeanELResolver extends ELResolver {
 	protected static final class BeanProperty {
 		private final PropertyDescriptor descriptor;
 
+		// accessible accessors are resolved once and then reused for every evaluation
+		private volatile boolean readMethodResolved;
+		private volatile Method readMethod;
+		private volatile boolean writeMethodResolved;
+		private volatile Method writeMethod;
+
 		public BeanProperty(PropertyDescriptor descriptor) {
 			this.descriptor = descriptor;
 		}
@@ -77,15 +83,23 @@ public class BeanELResolver extends ELResolver {
 		}
 
 		public Method getReadMethod() {
-			return findAccessibleMethod(descriptor.getReadMethod());
+			if (!readMethodResolved) {
+				readMethod = findAccessibleMethod(descriptor.getReadMethod());
+				readMethodResolved = true;
+			}
+			return readMethod;
 		}
 
 		public Method getWriteMethod() {
-			return findAccessibleMethod(descriptor.getWriteMethod());
+			if (!writeMethodResolved) {
+				writeMethod = findAccessibleMethod(descriptor.getWriteMethod());
+				writeMethodResolved = true;
+			}
+			return writeMethod;
 		}
 
 		public boolean isReadOnly() {
-			return findAccessibleMethod(descriptor.getWriteMethod()) == null;
+			return getWriteMethod() == null;
 		}
 	}
 
@@ -624,8 +638,9 @@ public class BeanELResolver extends ELResolver {
 	}
 
 	/**
-	 * This method is not part of the API, though it can be used (reflectively) by clients of this
-	 * class to remove entries from the cache when the beans are being unloaded.
+	 * This method is not part of the API, though it can be used by clients of this class to remove
+	 * entries from the cache when the beans are being unloaded. The process engine invokes it when
+	 * a process application is undeployed.
 	 * 
 	 * Note: this method is present in the reference implementation, so we're adding it here to ease
 	 * migration.
@@ -633,8 +648,7 @@ public class BeanELResolver extends ELResolver {
 	 * @param classloader
 	 *            The classLoader used to load the beans.
 	 */
-	@SuppressWarnings("unused")
-	private final void purgeBeanClasses(ClassLoader loader) {
+	public final void purgeBeanClasses(ClassLoader loader) {
 		Iterator<Class<?>> classes = cache.keySet().iterator();
 		while (classes.hasNext()) {
 			if (loader == classes.next().getClassLoader()) {
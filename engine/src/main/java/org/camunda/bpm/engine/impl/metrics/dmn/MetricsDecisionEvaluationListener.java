@@ -16,14 +16,16 @@
  */
 package org.camunda.bpm.engine.impl.metrics.dmn;
 
+import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationEvent;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
+import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluationDetailAware;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.management.Metrics;
 
-public class MetricsDecisionEvaluationListener implements DmnDecisionEvaluationListener {
+public class MetricsDecisionEvaluationListener implements DmnDecisionEvaluationListener, DmnEvaluationDetailAware {
 
   public void notify(DmnDecisionEvaluationEvent evaluationEvent) {
     ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
@@ -37,4 +39,8 @@ public class MetricsDecisionEvaluationListener implements DmnDecisionEvaluationL
     }
   }
 
+  public boolean isEvaluationDetailRequired(DmnDecision decision) {
+    return false;
+  }
+
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.CacheDeploymentCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Updates the local deployment cache on the deployment events of other nodes. New
+ * deployments are parsed by the {@link #setExecutor(Executor) executor}, which is a single
+ * background thread by default.
+ */
+public abstract class AbstractDeploymentCacheCoordinator implements DeploymentCacheCoordinator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected DeploymentCache deploymentCache;
+
+  protected Executor executor;
+  protected ExecutorService ownedExecutor;
+
+  @Override
+  public void start(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    deploymentCache = processEngineConfiguration.getDeploymentCache();
+
+    if (executor == null) {
+      ownedExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Camunda Deployment Cache Coordinator");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor = ownedExecutor;
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdownNow();
+      ownedExecutor = null;
+      executor = null;
+    }
+  }
+
+  /**
+   * Parses the deployment in the background and adds its definitions to the cache.
+   */
+  protected void onDeploymentCreated(final String deploymentId) {
+    executor.execute(() -> {
+      try {
+        commandExecutor.execute(new CacheDeploymentCmd(deploymentId));
+      }
+      catch (Exception e) {
+        LOG.deploymentCacheWarmUpFailure(deploymentId, e);
+      }
+    });
+  }
+
+  protected void onDeploymentDeleted(String deploymentId) {
+    deploymentCache.removeCachedDeployment(deploymentId);
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Sets the executor which parses the deployments of other nodes. Must be set before
+   * the coordinator is started.
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+}
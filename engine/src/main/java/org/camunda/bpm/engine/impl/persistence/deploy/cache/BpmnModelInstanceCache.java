@@ -34,7 +34,7 @@ import java.util.concurrent.Callable;
 public class BpmnModelInstanceCache extends ModelInstanceCache<BpmnModelInstance, ProcessDefinitionEntity> {
 
   public BpmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<ProcessDefinitionEntity> definitionCache) {
-    super(factory, cacheCapacity, definitionCache);
+    super(factory, BpmnModelInstance.class, cacheCapacity, definitionCache);
   }
 
   @Override
@@ -0,0 +1,33 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * <p>Estimates the retained size of a deployment cache entry, see {@link WeightedCache}.</p>
+ *
+ * <p>The weight only has to be proportional to the heap consumed by the entry, the unit
+ * is up to the implementation. The weight of an entry must not change while it is cached.</p>
+ */
+public interface CacheEntryWeigher {
+
+  /**
+   * @param entry the cached definition or model instance
+   * @return the weight of the entry, must not be negative
+   */
+  int weigh(Object entry);
+
+}
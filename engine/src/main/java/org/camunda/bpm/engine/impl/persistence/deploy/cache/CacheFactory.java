@@ -32,4 +32,19 @@ public interface CacheFactory {
    *        The cache to be created.
    */
   public <T> Cache<String, T > createCache(int maxNumberOfElementsInCache);
+
+  /**
+   * Creates a cache for entries of the given type. Implementations can use the type to
+   * apply different limits to the different deployment caches.
+   *
+   * @param entryType
+   *        The type of the entries of the cache, e.g. the type of the cached definitions.
+   * @param maxNumberOfElementsInCache
+   *        The maximum number of elements that is allowed within the cache at the same time.
+   * @return
+   *        The cache to be created.
+   */
+  default <T> Cache<String, T> createCache(Class<T> entryType, int maxNumberOfElementsInCache) {
+    return createCache(maxNumberOfElementsInCache);
+  }
 }
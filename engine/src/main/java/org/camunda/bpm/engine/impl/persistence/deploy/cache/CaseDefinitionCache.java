@@ -29,7 +29,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 public class CaseDefinitionCache extends ResourceDefinitionCache<CaseDefinitionEntity> {
 
   public CaseDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
-    super(factory, cacheCapacity, cacheDeployer);
+    super(factory, CaseDefinitionEntity.class, cacheCapacity, cacheDeployer);
   }
 
   public CaseDefinitionEntity getCaseDefinitionById(String caseDefinitionId) {
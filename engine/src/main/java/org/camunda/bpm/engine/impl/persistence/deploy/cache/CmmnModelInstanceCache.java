@@ -31,7 +31,7 @@ import java.util.List;
 public class CmmnModelInstanceCache extends ModelInstanceCache<CmmnModelInstance, CaseDefinitionEntity> {
 
   public CmmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<CaseDefinitionEntity> definitionCache) {
-    super(factory, cacheCapacity, definitionCache);
+    super(factory, CmmnModelInstance.class, cacheCapacity, definitionCache);
   }
 
   @Override
@@ -0,0 +1,199 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Learns about the deployments of other nodes by polling the database:</p>
+ *
+ * <ul>
+ *   <li>deployments which were not seen before are parsed in the background</li>
+ *   <li>cached deployments which do not exist anymore are evicted from the cache</li>
+ * </ul>
+ *
+ * <p>A poll only selects the deployments whose deployment time is not older than the latest
+ * deployment time seen so far minus the {@link #setDeploymentTimeOverlapInMillis(long) overlap}.
+ * The overlap covers deployments whose transaction commits after a later deployment was
+ * already seen, as well as clock differences between the nodes. A deployment which becomes
+ * visible later than the overlap allows is not parsed in the background, but on its first use.
+ * Only the ids of deployments within the overlap are remembered, and the check for deleted
+ * deployments only selects the cached ones, so the costs of a poll do not grow with the
+ * number of deployments.</p>
+ */
+public class DbPollingDeploymentCacheCoordinator extends AbstractDeploymentCacheCoordinator {
+
+  protected long pollingIntervalInMillis = 10 * 1000;
+
+  protected long deploymentTimeOverlapInMillis = 10 * 60 * 1000;
+
+  protected Timer timer;
+
+  /** the latest deployment time seen so far, <code>null</code> if no deployment exists */
+  protected Date latestDeploymentTime;
+
+  /** ids and deployment times of the deployments within the overlap which are already known to this node */
+  protected Map<String, Date> knownDeployments = new ConcurrentHashMap<>();
+
+  @Override
+  public void start(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super.start(processEngineConfiguration);
+
+    latestDeploymentTime = findLatestDeploymentTime();
+    for (DeploymentEntity deployment : findDeploymentsDeployedAfter(getPollingStartTime())) {
+      knownDeployments.put(deployment.getId(), deployment.getDeploymentTime());
+    }
+
+    timer = new Timer("Camunda Deployment Cache Polling", true);
+    timer.schedule(new TimerTask() {
+      @Override
+      public void run() {
+        try {
+          pollDeployments();
+        }
+        catch (Exception e) {
+          LOG.deploymentCachePollingFailure(e);
+        }
+      }
+    }, pollingIntervalInMillis, pollingIntervalInMillis);
+  }
+
+  @Override
+  public void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+    super.stop();
+  }
+
+  @Override
+  public void deploymentCreated(String deploymentId) {
+    // the deployment is cached already; the current time is not earlier than its deployment time,
+    // so it is remembered at least as long as a poll may return it
+    knownDeployments.put(deploymentId, ClockUtil.getCurrentTime());
+  }
+
+  @Override
+  public void deploymentDeleted(String deploymentId) {
+    // the other nodes notice that the deployment does not exist anymore
+  }
+
+  /**
+   * Parses the deployments which were not seen before and evicts deleted deployments
+   * from the cache.
+   */
+  public synchronized void pollDeployments() {
+    Set<String> cachedDeploymentIds = deploymentCache.getCachedDeploymentIds();
+
+    for (DeploymentEntity deployment : findDeploymentsDeployedAfter(getPollingStartTime())) {
+      Date deploymentTime = deployment.getDeploymentTime();
+      if (latestDeploymentTime == null || deploymentTime.after(latestDeploymentTime)) {
+        latestDeploymentTime = deploymentTime;
+      }
+
+      if (knownDeployments.putIfAbsent(deployment.getId(), deploymentTime) == null) {
+        onDeploymentCreated(deployment.getId());
+      }
+    }
+
+    if (!cachedDeploymentIds.isEmpty()) {
+      Set<String> existingDeploymentIds = new HashSet<>(findExistingDeploymentIds(cachedDeploymentIds));
+      for (String cachedDeploymentId : cachedDeploymentIds) {
+        if (!existingDeploymentIds.contains(cachedDeploymentId)) {
+          onDeploymentDeleted(cachedDeploymentId);
+        }
+      }
+    }
+
+    // later polls do not return deployments before the overlap anymore
+    Date pollingStartTime = getPollingStartTime();
+    if (pollingStartTime != null) {
+      knownDeployments.values().removeIf(deploymentTime -> deploymentTime.before(pollingStartTime));
+    }
+  }
+
+  /**
+   * @return the earliest deployment time selected by the next poll, <code>null</code> to select all deployments
+   */
+  protected Date getPollingStartTime() {
+    if (latestDeploymentTime == null) {
+      return null;
+    }
+    else {
+      return new Date(latestDeploymentTime.getTime() - deploymentTimeOverlapInMillis);
+    }
+  }
+
+  protected List<DeploymentEntity> findDeploymentsDeployedAfter(Date deployedAfter) {
+    return commandExecutor.execute(commandContext -> commandContext.getDeploymentManager().findDeploymentsDeployedAfter(deployedAfter));
+  }
+
+  protected Date findLatestDeploymentTime() {
+    return commandExecutor.execute(commandContext -> commandContext.getDeploymentManager().findLatestDeploymentTime());
+  }
+
+  protected List<String> findExistingDeploymentIds(Set<String> deploymentIds) {
+    List<String> ids = new ArrayList<>(deploymentIds);
+    return commandExecutor.execute(commandContext -> commandContext.getDeploymentManager().findExistingDeploymentIds(ids));
+  }
+
+  /**
+   * @return the ids of the deployments which are remembered as known to this node
+   */
+  public Set<String> getKnownDeploymentIds() {
+    return Collections.unmodifiableSet(knownDeployments.keySet());
+  }
+
+  public long getPollingIntervalInMillis() {
+    return pollingIntervalInMillis;
+  }
+
+  /**
+   * Sets the interval between two polls. Must be set before the coordinator is started.
+   */
+  public void setPollingIntervalInMillis(long pollingIntervalInMillis) {
+    this.pollingIntervalInMillis = pollingIntervalInMillis;
+  }
+
+  public long getDeploymentTimeOverlapInMillis() {
+    return deploymentTimeOverlapInMillis;
+  }
+
+  /**
+   * Sets how much older than the latest deployment seen a deployment may be and still be found by
+   * a poll. It must cover the longest time between the deployment time and the commit of a
+   * deployment plus the clock differences between the nodes.
+   */
+  public void setDeploymentTimeOverlapInMillis(long deploymentTimeOverlapInMillis) {
+    this.deploymentTimeOverlapInMillis = deploymentTimeOverlapInMillis;
+  }
+
+}
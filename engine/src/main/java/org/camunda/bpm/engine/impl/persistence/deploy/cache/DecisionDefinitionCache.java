@@ -31,7 +31,7 @@ public class DecisionDefinitionCache extends ResourceDefinitionCache<DecisionDef
 
 
   public DecisionDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
-    super(factory, cacheCapacity, cacheDeployer);
+    super(factory, DecisionDefinitionEntity.class, cacheCapacity, cacheDeployer);
   }
 
   public DecisionDefinitionEntity findDeployedDefinitionByKeyAndVersion(String definitionKey, Integer definitionVersion) {
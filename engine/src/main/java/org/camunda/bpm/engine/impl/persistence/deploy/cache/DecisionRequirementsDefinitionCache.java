@@ -28,7 +28,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 public class DecisionRequirementsDefinitionCache extends ResourceDefinitionCache<DecisionRequirementsDefinitionEntity> {
 
   public DecisionRequirementsDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
-    super(factory, cacheCapacity, cacheDeployer);
+    super(factory, DecisionRequirementsDefinitionEntity.class, cacheCapacity, cacheDeployer);
   }
 
   @Override
@@ -0,0 +1,83 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionRequirementsGraph;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.engine.impl.core.model.CoreActivity;
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * <p>Weighs the entries of the deployment caches by the number of elements they consist of:</p>
+ *
+ * <ul>
+ *   <li>process and case definitions: the number of activities</li>
+ *   <li>model instances: the number of XML elements</li>
+ *   <li>decision definitions: the number of cells of the decision table</li>
+ *   <li>decision requirements definitions: the number of decisions</li>
+ * </ul>
+ *
+ * <p>All other entries weigh 1.</p>
+ */
+public class DefaultCacheEntryWeigher implements CacheEntryWeigher {
+
+  @Override
+  public int weigh(Object entry) {
+    if (entry instanceof CoreActivity) {
+      return 1 + countActivities((CoreActivity) entry);
+    }
+    else if (entry instanceof ModelInstance) {
+      return 1 + countElements((ModelInstance) entry);
+    }
+    else if (entry instanceof DmnDecision) {
+      return weighDecision((DmnDecision) entry);
+    }
+    else if (entry instanceof DmnDecisionRequirementsGraph) {
+      return 1 + ((DmnDecisionRequirementsGraph) entry).getDecisions().size();
+    }
+    else {
+      return 1;
+    }
+  }
+
+  protected int countActivities(CoreActivity scope) {
+    int count = 0;
+    for (CoreActivity activity : scope.getActivities()) {
+      count += 1 + countActivities(activity);
+    }
+    return count;
+  }
+
+  protected int countElements(ModelInstance modelInstance) {
+    Node node = modelInstance.getDocument().getDomSource().getNode();
+    Document document = node instanceof Document ? (Document) node : node.getOwnerDocument();
+    return document.getElementsByTagNameNS("*", "*").getLength();
+  }
+
+  protected int weighDecision(DmnDecision decision) {
+    if (decision.getDecisionLogic() instanceof DmnDecisionTableImpl) {
+      DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) decision.getDecisionLogic();
+      int columns = decisionTable.getInputs().size() + decisionTable.getOutputs().size();
+      return 1 + decisionTable.getRules().size() * columns;
+    }
+    return 1;
+  }
+
+}
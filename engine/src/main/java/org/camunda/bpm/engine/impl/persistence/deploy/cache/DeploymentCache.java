@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
@@ -33,7 +34,10 @@ import org.camunda.bpm.model.cmmn.CmmnModelInstance;
 import org.camunda.bpm.model.dmn.DmnModelInstance;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -63,6 +67,38 @@ public class DeploymentCache {
     dmnModelInstanceCache = new DmnModelInstanceCache(factory, cacheCapacity, decisionDefinitionCache);
   }
 
+  /**
+   * Enables or disables retaining evicted definitions in memory, see
+   * {@link ResourceDefinitionCache#setRetainEvictedDefinitions(boolean)}.
+   */
+  public void setRetainEvictedDefinitions(boolean retainEvictedDefinitions) {
+    processDefinitionEntityCache.setRetainEvictedDefinitions(retainEvictedDefinitions);
+    caseDefinitionCache.setRetainEvictedDefinitions(retainEvictedDefinitions);
+    decisionDefinitionCache.setRetainEvictedDefinitions(retainEvictedDefinitions);
+    decisionRequirementsDefinitionCache.setRetainEvictedDefinitions(retainEvictedDefinitions);
+  }
+
+  /**
+   * Reports the hits, misses and evictions of the {@link WeightedCache weighted caches}
+   * to the given registry. Caches which are limited by the number of entries are not reported.
+   */
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    List<Cache<String, ?>> caches = Arrays.<Cache<String, ?>>asList(
+        processDefinitionEntityCache.getCache(),
+        caseDefinitionCache.getCache(),
+        decisionDefinitionCache.getCache(),
+        decisionRequirementsDefinitionCache.getCache(),
+        bpmnModelInstanceCache.getCache(),
+        cmmnModelInstanceCache.getCache(),
+        dmnModelInstanceCache.getCache());
+
+    for (Cache<String, ?> cache : caches) {
+      if (cache instanceof WeightedCache) {
+        ((WeightedCache<?, ?>) cache).setMetricsRegistry(metricsRegistry);
+      }
+    }
+  }
+
   public void deploy(final DeploymentEntity deployment) {
     cacheDeployer.deploy(deployment);
   }
@@ -303,6 +339,44 @@ public class DeploymentCache {
     return caseDefinitionCache.getCache();
   }
 
+  /**
+   * @return how often definitions had to be deployed again because they were not cached
+   */
+  public long getDefinitionLoadCount() {
+    return processDefinitionEntityCache.getLoadCount()
+        + caseDefinitionCache.getLoadCount()
+        + decisionDefinitionCache.getLoadCount()
+        + decisionRequirementsDefinitionCache.getLoadCount();
+  }
+
+  /**
+   * @return the total time in nanoseconds spent on deploying definitions again
+   */
+  public long getDefinitionLoadTime() {
+    return processDefinitionEntityCache.getLoadTime()
+        + caseDefinitionCache.getLoadTime()
+        + decisionDefinitionCache.getLoadTime()
+        + decisionRequirementsDefinitionCache.getLoadTime();
+  }
+
+  /**
+   * @return how often model instances had to be parsed because they were not cached
+   */
+  public long getModelInstanceLoadCount() {
+    return bpmnModelInstanceCache.getLoadCount()
+        + cmmnModelInstanceCache.getLoadCount()
+        + dmnModelInstanceCache.getLoadCount();
+  }
+
+  /**
+   * @return the total time in nanoseconds spent on parsing model instances
+   */
+  public long getModelInstanceLoadTime() {
+    return bpmnModelInstanceCache.getLoadTime()
+        + cmmnModelInstanceCache.getLoadTime()
+        + dmnModelInstanceCache.getLoadTime();
+  }
+
   public void setDeployers(List<Deployer> deployers) {
     this.cacheDeployer.setDeployers(deployers);
   }
@@ -318,6 +392,35 @@ public class DeploymentCache {
     removeAllDecisionRequirementsDefinitionsByDeploymentId(deploymentId);
   }
 
+  /**
+   * Removes all cached definitions and model instances of the given deployment without
+   * querying the database, e.g. after the deployment has been deleted by another node.
+   */
+  public void removeCachedDeployment(String deploymentId) {
+    List<String> processDefinitionIds = processDefinitionEntityCache.removeCachedDefinitionsByDeploymentId(deploymentId);
+    bpmnModelInstanceCache.removeCachedInstancesByDeploymentId(deploymentId, processDefinitionIds);
+
+    List<String> caseDefinitionIds = caseDefinitionCache.removeCachedDefinitionsByDeploymentId(deploymentId);
+    cmmnModelInstanceCache.removeCachedInstancesByDeploymentId(deploymentId, caseDefinitionIds);
+
+    List<String> decisionDefinitionIds = decisionDefinitionCache.removeCachedDefinitionsByDeploymentId(deploymentId);
+    dmnModelInstanceCache.removeCachedInstancesByDeploymentId(deploymentId, decisionDefinitionIds);
+
+    decisionRequirementsDefinitionCache.removeCachedDefinitionsByDeploymentId(deploymentId);
+  }
+
+  /**
+   * @return the ids of all deployments with cached definitions
+   */
+  public Set<String> getCachedDeploymentIds() {
+    Set<String> deploymentIds = new HashSet<>();
+    deploymentIds.addAll(processDefinitionEntityCache.getCachedDeploymentIds());
+    deploymentIds.addAll(caseDefinitionCache.getCachedDeploymentIds());
+    deploymentIds.addAll(decisionDefinitionCache.getCachedDeploymentIds());
+    deploymentIds.addAll(decisionRequirementsDefinitionCache.getCachedDeploymentIds());
+    return deploymentIds;
+  }
+
   protected void removeAllDecisionRequirementsDefinitionsByDeploymentId(String deploymentId) {
     // remove all decision requirements definitions for a specific deployment
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+/**
+ * <p>Keeps the deployment caches of the nodes of a cluster in sync: a node publishes
+ * the deployments it creates or deletes, the other nodes parse new deployments in the
+ * background and evict deleted ones from their caches.</p>
+ *
+ * <p>The coordinator is started when the process engine is built and stopped when it
+ * is closed. Without a coordinator, other nodes load new definitions on their first
+ * use and keep definitions of deleted deployments until they are evicted.</p>
+ *
+ * @see DbPollingDeploymentCacheCoordinator
+ * @see InMemoryDeploymentCacheCoordinator
+ */
+public interface DeploymentCacheCoordinator {
+
+  /**
+   * Starts to process the deployment events of the other nodes.
+   */
+  void start(ProcessEngineConfigurationImpl processEngineConfiguration);
+
+  /**
+   * Stops to process the deployment events of the other nodes.
+   */
+  void stop();
+
+  /**
+   * Called after the transaction which created the deployment has been committed.
+   */
+  void deploymentCreated(String deploymentId);
+
+  /**
+   * Called after the transaction which deleted the deployment has been committed.
+   */
+  void deploymentDeleted(String deploymentId);
+
+}
@@ -31,7 +31,7 @@ import java.util.List;
 public class DmnModelInstanceCache extends ModelInstanceCache<DmnModelInstance, DecisionDefinitionEntity> {
 
   public DmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DecisionDefinitionEntity> definitionCache) {
-    super(factory, cacheCapacity, definitionCache);
+    super(factory, DmnModelInstance.class, cacheCapacity, definitionCache);
   }
 
   @Override
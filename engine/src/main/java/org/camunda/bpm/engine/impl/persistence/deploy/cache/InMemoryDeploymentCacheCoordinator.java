@@ -0,0 +1,62 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+/**
+ * Publishes the deployment events to the coordinators of all other process engines
+ * in the same JVM, e.g. for tests with multiple engines on a shared database.
+ */
+public class InMemoryDeploymentCacheCoordinator extends AbstractDeploymentCacheCoordinator {
+
+  protected static final List<InMemoryDeploymentCacheCoordinator> COORDINATORS = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void start(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super.start(processEngineConfiguration);
+    COORDINATORS.add(this);
+  }
+
+  @Override
+  public void stop() {
+    COORDINATORS.remove(this);
+    super.stop();
+  }
+
+  @Override
+  public void deploymentCreated(String deploymentId) {
+    for (InMemoryDeploymentCacheCoordinator coordinator : COORDINATORS) {
+      if (coordinator != this) {
+        coordinator.onDeploymentCreated(deploymentId);
+      }
+    }
+  }
+
+  @Override
+  public void deploymentDeleted(String deploymentId) {
+    for (InMemoryDeploymentCacheCoordinator coordinator : COORDINATORS) {
+      if (coordinator != this) {
+        coordinator.onDeploymentDeleted(deploymentId);
+      }
+    }
+  }
+
+}
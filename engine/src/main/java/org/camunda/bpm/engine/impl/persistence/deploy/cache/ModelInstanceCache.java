@@ -27,8 +27,14 @@ import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.commons.utils.cache.Cache;
 
 import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author: Johannes Heinemann
@@ -40,11 +46,30 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   protected Cache<String, InstanceType> instanceCache;
   protected ResourceDefinitionCache<DefinitionType> definitionCache;
 
+  /**
+   * Model instances by deployment and resource name. All definitions of a resource
+   * share the same model instance, so that a resource which contains multiple definitions
+   * (e.g. collaborations or decision requirements graphs) is only parsed once. The instances
+   * are only weakly referenced, so each instance is held once by the instance cache and
+   * is released as soon as the instance cache has evicted it for all definitions.
+   */
+  protected Map<String, ResourceInstance<InstanceType>> resourceInstances = new ConcurrentHashMap<>();
+  protected ReferenceQueue<InstanceType> reclaimedInstances = new ReferenceQueue<>();
+
+  /** number and duration (in nanoseconds) of the parsings of model instances which were not cached */
+  protected AtomicLong loadCount = new AtomicLong();
+  protected AtomicLong loadTime = new AtomicLong();
+
   public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache) {
     this.instanceCache = factory.createCache(cacheCapacity);
     this.definitionCache = definitionCache;
   }
 
+  public ModelInstanceCache(CacheFactory factory, Class<InstanceType> instanceType, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache) {
+    this.instanceCache = factory.createCache(instanceType, cacheCapacity);
+    this.definitionCache = definitionCache;
+  }
+
   public InstanceType findBpmnModelInstanceForDefinition(DefinitionType definitionEntity) {
     InstanceType bpmnModelInstance = instanceCache.get(definitionEntity.getId());
     if (bpmnModelInstance == null) {
@@ -63,6 +88,13 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   }
 
   protected InstanceType loadAndCacheBpmnModelInstance(final DefinitionType definitionEntity) {
+    String resourceKey = getResourceKey(definitionEntity.getDeploymentId(), definitionEntity.getResourceName());
+    InstanceType resourceModelInstance = getResourceInstance(resourceKey);
+    if (resourceModelInstance != null) {
+      instanceCache.put(definitionEntity.getId(), resourceModelInstance);
+      return resourceModelInstance;
+    }
+
     final CommandContext commandContext = Context.getCommandContext();
     InputStream bpmnResourceInputStream = commandContext.runWithoutAuthorization(new Callable<InputStream>() {
       public InputStream call() throws Exception {
@@ -71,7 +103,11 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
     });
 
     try {
+      long startTime = System.nanoTime();
       InstanceType bpmnModelInstance = readModelFromStream(bpmnResourceInputStream);
+      loadTime.addAndGet(System.nanoTime() - startTime);
+      loadCount.incrementAndGet();
+      putResourceInstance(resourceKey, bpmnModelInstance);
       instanceCache.put(definitionEntity.getId(), bpmnModelInstance);
       return bpmnModelInstance;
     } catch (Exception e) {
@@ -86,6 +122,7 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
     for (ResourceDefinition definition : allDefinitionsForDeployment) {
       try {
         instanceCache.remove(definition.getId());
+        resourceInstances.remove(getResourceKey(deploymentId, definition.getResourceName()));
         definitionCache.removeDefinitionFromCache(definition.getId());
 
       } catch (Exception e) {
@@ -94,18 +131,78 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
     }
   }
 
+  /**
+   * Removes the cached model instances of the given deployment without querying the
+   * database, so that it also works after the deployment has been deleted.
+   */
+  public void removeCachedInstancesByDeploymentId(String deploymentId, List<String> definitionIds) {
+    for (String definitionId : definitionIds) {
+      instanceCache.remove(definitionId);
+    }
+
+    String resourceKeyPrefix = getResourceKey(deploymentId, "");
+    resourceInstances.keySet().removeIf(resourceKey -> resourceKey.startsWith(resourceKeyPrefix));
+  }
+
+  /**
+   * Removes the model instance of the given definition. Its resource is parsed again for the
+   * next definition of the resource which is not cached, definitions of the resource which are
+   * still cached keep their model instance.
+   */
   public void remove(String definitionId) {
+    InstanceType modelInstance = instanceCache.get(definitionId);
     instanceCache.remove(definitionId);
+
+    if (modelInstance != null) {
+      resourceInstances.values().removeIf(resourceInstance -> resourceInstance.get() == modelInstance);
+    }
   }
 
   public void clear() {
     instanceCache.clear();
+    resourceInstances.clear();
+  }
+
+  protected InstanceType getResourceInstance(String resourceKey) {
+    ResourceInstance<InstanceType> resourceInstance = resourceInstances.get(resourceKey);
+    return resourceInstance != null ? resourceInstance.get() : null;
+  }
+
+  protected void putResourceInstance(String resourceKey, InstanceType modelInstance) {
+    expungeReclaimedInstances();
+    resourceInstances.put(resourceKey, new ResourceInstance<>(resourceKey, modelInstance, reclaimedInstances));
+  }
+
+  protected void expungeReclaimedInstances() {
+    Reference<? extends InstanceType> reference;
+    while ((reference = reclaimedInstances.poll()) != null) {
+      ResourceInstance<?> resourceInstance = (ResourceInstance<?>) reference;
+      resourceInstances.remove(resourceInstance.resourceKey, resourceInstance);
+    }
+  }
+
+  protected String getResourceKey(String deploymentId, String resourceName) {
+    return deploymentId + "/" + resourceName;
   }
 
   public Cache<String, InstanceType> getCache() {
     return instanceCache;
   }
 
+  /**
+   * @return how often a model instance had to be parsed because it was not cached
+   */
+  public long getLoadCount() {
+    return loadCount.get();
+  }
+
+  /**
+   * @return the total time in nanoseconds spent on parsing model instances
+   */
+  public long getLoadTime() {
+    return loadTime.get();
+  }
+
   protected abstract void throwLoadModelException(String definitionId, Exception e);
 
   protected abstract void logRemoveEntryFromDeploymentCacheFailure(String definitionId, Exception e);
@@ -113,4 +210,15 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   protected abstract InstanceType readModelFromStream(InputStream stream);
 
   protected abstract List<? extends ResourceDefinition> getAllDefinitionsForDeployment(String deploymentId);
+
+  protected static class ResourceInstance<T> extends WeakReference<T> {
+
+    protected final String resourceKey;
+
+    public ResourceInstance(String resourceKey, T modelInstance, ReferenceQueue<? super T> queue) {
+      super(modelInstance, queue);
+      this.resourceKey = resourceKey;
+    }
+  }
+
 }
@@ -29,7 +29,7 @@ public class ProcessDefinitionCache extends ResourceDefinitionCache<ProcessDefin
 
 
   public ProcessDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
-    super(factory, cacheCapacity, cacheDeployer);
+    super(factory, ProcessDefinitionEntity.class, cacheCapacity, cacheDeployer);
   }
 
   @Override
@@ -24,7 +24,18 @@ import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -35,11 +46,44 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
   protected Cache<String, T> cache;
   protected CacheDeployer cacheDeployer;
 
+  /**
+   * Softly referenced definitions which were added to the cache. If enabled, a definition
+   * which has been evicted from the cache is restored from here instead of parsing its
+   * resource again, as long as the garbage collector has not reclaimed it. This only avoids
+   * parsing after evictions within this JVM, the retained definitions are not persisted.
+   */
+  protected boolean retainEvictedDefinitions = false;
+  protected Map<String, RetainedDefinition<T>> retainedDefinitions = new ConcurrentHashMap<>();
+  protected ReferenceQueue<T> reclaimedDefinitions = new ReferenceQueue<>();
+
+  /**
+   * Definitions added while the current thread resolves a definition. They stay available to the
+   * resolution even if the cache evicts them right away, e.g. because the definitions of the
+   * deployment exceed the maximum weight of a {@link WeightedCache}.
+   */
+  protected ThreadLocal<Map<String, T>> pinnedDefinitions = new ThreadLocal<>();
+
+  /**
+   * Deployment ids of the definitions which were added to the cache, by definition id. Looking
+   * them up here does not count as an access to the cache, which would change the order in
+   * which definitions are evicted. Ids of definitions evicted by the cache are expunged lazily.
+   */
+  protected Map<String, String> deploymentIdsByDefinitionId = new ConcurrentHashMap<>();
+
+  /** number and duration (in nanoseconds) of the deployments of definitions which were not cached */
+  protected AtomicLong loadCount = new AtomicLong();
+  protected AtomicLong loadTime = new AtomicLong();
+
   public ResourceDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
     this.cache = factory.createCache(cacheCapacity);
     this.cacheDeployer = cacheDeployer;
   }
 
+  public ResourceDefinitionCache(CacheFactory factory, Class<T> definitionType, int cacheCapacity, CacheDeployer cacheDeployer) {
+    this.cache = factory.createCache(definitionType, cacheCapacity);
+    this.cacheDeployer = cacheDeployer;
+  }
+
   public T findDefinitionFromCache(String definitionId) {
     return cache.get(definitionId);
   }
@@ -115,14 +159,30 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
     if (cachedDefinition == null) {
       synchronized (this) {
         cachedDefinition = cache.get(definitionId);
+        if (cachedDefinition == null) {
+          cachedDefinition = restoreRetainedDefinition(definitionId);
+        }
         if (cachedDefinition == null) {
           DeploymentEntity deployment = Context
               .getCommandContext()
               .getDeploymentManager()
               .findDeploymentById(deploymentId);
           deployment.setNew(false);
-          cacheDeployer.deployOnlyGivenResourcesOfDeployment(deployment, definition.getResourceName(), definition.getDiagramResourceName());
-          cachedDefinition = cache.get(definitionId);
+          Map<String, T> deployedDefinitions = new HashMap<>();
+          pinnedDefinitions.set(deployedDefinitions);
+          try {
+            long startTime = System.nanoTime();
+            cacheDeployer.deployOnlyGivenResourcesOfDeployment(deployment, definition.getResourceName(), definition.getDiagramResourceName());
+            loadTime.addAndGet(System.nanoTime() - startTime);
+            loadCount.incrementAndGet();
+          }
+          finally {
+            pinnedDefinitions.remove();
+          }
+          cachedDefinition = deployedDefinitions.get(definitionId);
+          if (cachedDefinition == null) {
+            cachedDefinition = cache.get(definitionId);
+          }
         }
       }
       checkInvalidDefinitionWasCached(deploymentId, definitionId, cachedDefinition);
@@ -135,6 +195,50 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
 
   public void addDefinition(T definition) {
     cache.put(definition.getId(), definition);
+    putDeploymentId(definition);
+
+    Map<String, T> deployedDefinitions = pinnedDefinitions.get();
+    if (deployedDefinitions != null) {
+      deployedDefinitions.put(definition.getId(), definition);
+    }
+
+    if (retainEvictedDefinitions) {
+      expungeReclaimedDefinitions();
+      retainedDefinitions.put(definition.getId(), new RetainedDefinition<>(definition.getId(), definition, reclaimedDefinitions));
+    }
+  }
+
+  protected T restoreRetainedDefinition(String definitionId) {
+    RetainedDefinition<T> retainedDefinition = retainedDefinitions.get(definitionId);
+    if (retainedDefinition != null) {
+      T definition = retainedDefinition.get();
+      if (definition != null) {
+        cache.put(definitionId, definition);
+        putDeploymentId(definition);
+        return definition;
+      }
+    }
+    return null;
+  }
+
+  protected void putDeploymentId(T definition) {
+    if (deploymentIdsByDefinitionId.size() > 2 * cache.size()) {
+      expungeEvictedDeploymentIds();
+    }
+    deploymentIdsByDefinitionId.put(definition.getId(), definition.getDeploymentId());
+  }
+
+  protected void expungeEvictedDeploymentIds() {
+    Set<String> cachedDefinitionIds = cache.keySet();
+    deploymentIdsByDefinitionId.keySet().removeIf(definitionId -> !cachedDefinitionIds.contains(definitionId));
+  }
+
+  protected void expungeReclaimedDefinitions() {
+    Reference<? extends T> reference;
+    while ((reference = reclaimedDefinitions.poll()) != null) {
+      RetainedDefinition<?> retainedDefinition = (RetainedDefinition<?>) reference;
+      retainedDefinitions.remove(retainedDefinition.definitionId, retainedDefinition);
+    }
   }
 
   public T getDefinition(String id) {
@@ -143,16 +247,84 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
 
   public void removeDefinitionFromCache(String id) {
     cache.remove(id);
+    deploymentIdsByDefinitionId.remove(id);
+    retainedDefinitions.remove(id);
+  }
+
+  /**
+   * @return the ids of the deployments of all cached definitions
+   */
+  public Set<String> getCachedDeploymentIds() {
+    expungeEvictedDeploymentIds();
+    return new HashSet<>(deploymentIdsByDefinitionId.values());
+  }
+
+  /**
+   * Removes the cached definitions of the given deployment without querying the database,
+   * so that it also works after the deployment has been deleted.
+   *
+   * @return the ids of the removed definitions
+   */
+  public List<String> removeCachedDefinitionsByDeploymentId(String deploymentId) {
+    List<String> removedDefinitionIds = new ArrayList<>();
+    for (Map.Entry<String, String> entry : deploymentIdsByDefinitionId.entrySet()) {
+      if (deploymentId.equals(entry.getValue())) {
+        removedDefinitionIds.add(entry.getKey());
+      }
+    }
+
+    for (String definitionId : removedDefinitionIds) {
+      removeDefinitionFromCache(definitionId);
+    }
+
+    // evicted definitions can still be retained
+    retainedDefinitions.values().removeIf(retainedDefinition -> {
+      T definition = retainedDefinition.get();
+      return definition != null && deploymentId.equals(definition.getDeploymentId());
+    });
+
+    return removedDefinitionIds;
   }
 
   public void clear() {
     cache.clear();
+    deploymentIdsByDefinitionId.clear();
+    retainedDefinitions.clear();
+  }
+
+  public boolean isRetainEvictedDefinitions() {
+    return retainEvictedDefinitions;
+  }
+
+  /**
+   * Enables or disables retaining evicted definitions in memory. Only definitions which are
+   * added to the cache after retaining was enabled can be restored.
+   */
+  public void setRetainEvictedDefinitions(boolean retainEvictedDefinitions) {
+    this.retainEvictedDefinitions = retainEvictedDefinitions;
+    if (!retainEvictedDefinitions) {
+      retainedDefinitions.clear();
+    }
   }
 
   public Cache<String, T> getCache() {
     return cache;
   }
 
+  /**
+   * @return how often a definition had to be deployed again because it was not cached
+   */
+  public long getLoadCount() {
+    return loadCount.get();
+  }
+
+  /**
+   * @return the total time in nanoseconds spent on deploying definitions again
+   */
+  public long getLoadTime() {
+    return loadTime.get();
+  }
+
   protected abstract AbstractResourceDefinitionManager<T> getManager();
 
   protected abstract void checkInvalidDefinitionId(String definitionId);
@@ -171,4 +343,14 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
 
   protected abstract void checkInvalidDefinitionWasCached(String deploymentId, String definitionId, T definition);
 
+  protected static class RetainedDefinition<T> extends SoftReference<T> {
+
+    protected final String definitionId;
+
+    public RetainedDefinition(String definitionId, T definition, ReferenceQueue<? super T> queue) {
+      super(definition, queue);
+      this.definitionId = definitionId;
+    }
+  }
+
 }
\ No newline at end of file
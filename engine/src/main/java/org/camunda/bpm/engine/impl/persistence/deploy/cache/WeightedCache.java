@@ -0,0 +1,501 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Cache which is bounded by the total weight of its entries instead of their number,
+ * see {@link CacheEntryWeigher}.</p>
+ *
+ * <p>Entries are evicted with the W-TinyLFU policy: new entries are added to a small
+ * window segment which is evicted in LRU order. An entry that leaves the window is only
+ * admitted to the main segment if it has been accessed more frequently than the entry
+ * that would have to be evicted for it. That way, entries which are accessed only once,
+ * e.g. by looking up old definition versions, do not displace frequently used ones. Access
+ * frequencies are estimated by a count-min sketch whose counters are halved periodically,
+ * so that the frequencies follow changes of the workload.</p>
+ *
+ * <p>The most recently added entry is never evicted by its own insertion, even if its
+ * weight exceeds the maximum weight, so that it can be read right after adding it.</p>
+ *
+ * <p>Reads are recorded on a best effort basis: if another thread holds the lock of the
+ * cache, the read is not taken into account for the eviction order.</p>
+ *
+ * <p>Besides its own counters, the cache reports hits, misses and evictions to the
+ * {@link MetricsRegistry} of the process engine if metrics are enabled.</p>
+ */
+public class WeightedCache<K, V> implements Cache<K, V> {
+
+  /** share of the maximum weight used for the window segment */
+  protected static final double WINDOW_PERCENTAGE = 0.01;
+
+  /** share of the main segment reserved for entries accessed at least twice */
+  protected static final double PROTECTED_PERCENTAGE = 0.8;
+
+  protected static final int WINDOW = 0;
+  protected static final int PROBATION = 1;
+  protected static final int PROTECTED = 2;
+
+  protected final long maximumWeight;
+  protected final long maximumWindowWeight;
+  protected final long maximumProtectedWeight;
+  protected final CacheEntryWeigher weigher;
+
+  protected final Map<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  protected final ReentrantLock lock = new ReentrantLock();
+
+  // guarded by lock
+  protected final LinkedHashMap<K, Node<K, V>> window = new LinkedHashMap<>(16, 0.75f, true);
+  protected final LinkedHashMap<K, Node<K, V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+  protected final LinkedHashMap<K, Node<K, V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+  protected final FrequencySketch sketch = new FrequencySketch();
+  protected long windowWeight;
+  protected long probationWeight;
+  protected long protectedWeight;
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+  protected final AtomicLong evictionWeight = new AtomicLong();
+
+  protected volatile MetricsRegistry metricsRegistry;
+
+  public WeightedCache(long maximumWeight, CacheEntryWeigher weigher) {
+    if (maximumWeight <= 0) {
+      throw new IllegalArgumentException("Maximum weight of the cache must be greater than 0");
+    }
+    this.maximumWeight = maximumWeight;
+    this.maximumWindowWeight = Math.max(1, (long) (maximumWeight * WINDOW_PERCENTAGE));
+    this.maximumProtectedWeight = (long) ((maximumWeight - maximumWindowWeight) * PROTECTED_PERCENTAGE);
+    this.weigher = weigher;
+  }
+
+  @Override
+  public V get(K key) {
+    if (key == null) {
+      throw new NullPointerException();
+    }
+
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      missCount.incrementAndGet();
+      markOccurrence(Metrics.DEPLOYMENT_CACHE_MISS);
+      return null;
+    }
+
+    hitCount.incrementAndGet();
+    markOccurrence(Metrics.DEPLOYMENT_CACHE_HIT);
+    if (lock.tryLock()) {
+      try {
+        onAccess(node);
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+    return node.value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+
+    int weight = Math.max(0, weigher.weigh(value));
+
+    lock.lock();
+    try {
+      Node<K, V> node = data.get(key);
+      if (node != null) {
+        node.value = value;
+        addWeight(node.segment, weight - node.weight);
+        node.weight = weight;
+        onAccess(node);
+      }
+      else {
+        node = new Node<>(key, value, weight);
+        data.put(key, node);
+        sketch.ensureCapacity(data.size());
+        sketch.increment(key);
+        window.put(key, node);
+        windowWeight += weight;
+      }
+      evictEntries(node);
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(K key) {
+    lock.lock();
+    try {
+      Node<K, V> node = data.remove(key);
+      if (node != null) {
+        removeFromSegment(node);
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.lock();
+    try {
+      data.clear();
+      window.clear();
+      probation.clear();
+      protectedSegment.clear();
+      windowWeight = 0;
+      probationWeight = 0;
+      protectedWeight = 0;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return Collections.unmodifiableSet(data.keySet());
+  }
+
+  @Override
+  public int size() {
+    return data.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return data.isEmpty();
+  }
+
+  /**
+   * @return the total weight of all entries of the cache
+   */
+  public long getWeightedSize() {
+    lock.lock();
+    try {
+      return windowWeight + probationWeight + protectedWeight;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public long getMaximumWeight() {
+    return maximumWeight;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * @return the total weight of all entries evicted so far
+   */
+  public long getEvictionWeight() {
+    return evictionWeight.get();
+  }
+
+  protected void onAccess(Node<K, V> node) {
+    if (data.get(node.key) != node) {
+      // removed concurrently
+      return;
+    }
+
+    sketch.increment(node.key);
+
+    switch (node.segment) {
+      case WINDOW:
+        window.get(node.key);
+        break;
+
+      case PROBATION:
+        // an entry accessed again is promoted to the protected segment
+        probation.remove(node.key);
+        probationWeight -= node.weight;
+        node.segment = PROTECTED;
+        protectedSegment.put(node.key, node);
+        protectedWeight += node.weight;
+        demoteFromProtected();
+        break;
+
+      default:
+        protectedSegment.get(node.key);
+    }
+  }
+
+  protected void demoteFromProtected() {
+    Iterator<Node<K, V>> protectedNodes = protectedSegment.values().iterator();
+    while (protectedWeight > maximumProtectedWeight && protectedSegment.size() > 1) {
+      Node<K, V> demoted = protectedNodes.next();
+      protectedNodes.remove();
+      protectedWeight -= demoted.weight;
+      demoted.segment = PROBATION;
+      probation.put(demoted.key, demoted);
+      probationWeight += demoted.weight;
+    }
+  }
+
+  /**
+   * Evicts entries until the cache does not exceed its maximum weight anymore. The
+   * given entry has just been added or updated and is not evicted.
+   */
+  protected void evictEntries(Node<K, V> current) {
+    Deque<Node<K, V>> candidates = moveFromWindowToProbation(current);
+
+    while (getTotalWeight() > maximumWeight) {
+      Node<K, V> victim = getEvictionVictim(current);
+      if (victim == null) {
+        // only the current entry is left
+        return;
+      }
+
+      Node<K, V> candidate = candidates.pollLast();
+      if (candidate != null && candidate != victim && data.get(candidate.key) == candidate) {
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+          evict(victim);
+          candidates.addLast(candidate);
+        }
+        else {
+          evict(candidate);
+        }
+      }
+      else {
+        evict(victim);
+      }
+    }
+  }
+
+  /**
+   * Moves the least recently used entries of the window to the probation segment of the
+   * main space until the window does not exceed its maximum weight.
+   *
+   * @return the moved entries, in the order they were moved
+   */
+  protected Deque<Node<K, V>> moveFromWindowToProbation(Node<K, V> current) {
+    Deque<Node<K, V>> candidates = new ArrayDeque<>();
+    Iterator<Node<K, V>> windowNodes = window.values().iterator();
+    while (windowWeight > maximumWindowWeight && windowNodes.hasNext()) {
+      Node<K, V> candidate = windowNodes.next();
+      if (candidate == current) {
+        continue;
+      }
+      windowNodes.remove();
+      windowWeight -= candidate.weight;
+      candidate.segment = PROBATION;
+      probation.put(candidate.key, candidate);
+      probationWeight += candidate.weight;
+      candidates.addLast(candidate);
+    }
+    return candidates;
+  }
+
+  protected Node<K, V> getEvictionVictim(Node<K, V> current) {
+    Node<K, V> victim = firstExcept(probation, current);
+    if (victim == null) {
+      victim = firstExcept(protectedSegment, current);
+    }
+    if (victim == null) {
+      victim = firstExcept(window, current);
+    }
+    return victim;
+  }
+
+  protected Node<K, V> firstExcept(LinkedHashMap<K, Node<K, V>> segment, Node<K, V> excluded) {
+    for (Node<K, V> node : segment.values()) {
+      if (node != excluded) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  protected void evict(Node<K, V> node) {
+    data.remove(node.key);
+    removeFromSegment(node);
+    evictionCount.incrementAndGet();
+    evictionWeight.addAndGet(node.weight);
+    markOccurrence(Metrics.DEPLOYMENT_CACHE_EVICTION);
+  }
+
+  protected void markOccurrence(String metric) {
+    MetricsRegistry metricsRegistry = this.metricsRegistry;
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(metric);
+    }
+  }
+
+  protected void removeFromSegment(Node<K, V> node) {
+    switch (node.segment) {
+      case WINDOW:
+        window.remove(node.key);
+        break;
+      case PROBATION:
+        probation.remove(node.key);
+        break;
+      default:
+        protectedSegment.remove(node.key);
+    }
+    addWeight(node.segment, -node.weight);
+  }
+
+  protected void addWeight(int segment, long weight) {
+    switch (segment) {
+      case WINDOW:
+        windowWeight += weight;
+        break;
+      case PROBATION:
+        probationWeight += weight;
+        break;
+      default:
+        protectedWeight += weight;
+    }
+  }
+
+  protected long getTotalWeight() {
+    return windowWeight + probationWeight + protectedWeight;
+  }
+
+  protected static class Node<K, V> {
+
+    protected final K key;
+    protected volatile V value;
+    protected int weight;
+    protected int segment = WINDOW;
+
+    public Node(K key, V value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Count-min sketch with four rows of counters which saturate at 15. All counters are
+   * halved after a number of increments proportional to the width of the sketch.
+   */
+  protected static class FrequencySketch {
+
+    protected static final int[] SEEDS = { 0x97cb3127, 0xb5c2a4e1, 0x7f4a7c15, 0x3c6ef372 };
+    protected static final int MAX_COUNT = 15;
+
+    protected byte[][] counters;
+    protected int mask;
+    protected int sampleSize;
+    protected int additions;
+
+    public FrequencySketch() {
+      resize(16);
+    }
+
+    public void ensureCapacity(int numberOfEntries) {
+      if (numberOfEntries * 2 > counters[0].length) {
+        // the collected frequencies are dropped, as in other caches with a growing sketch
+        resize(Integer.highestOneBit(numberOfEntries * 4));
+      }
+    }
+
+    public int frequency(Object key) {
+      int frequency = MAX_COUNT;
+      int hash = spread(key.hashCode());
+      for (int row = 0; row < SEEDS.length; row++) {
+        frequency = Math.min(frequency, counters[row][index(hash, row)]);
+      }
+      return frequency;
+    }
+
+    public void increment(Object key) {
+      int hash = spread(key.hashCode());
+      boolean incremented = false;
+      for (int row = 0; row < SEEDS.length; row++) {
+        int index = index(hash, row);
+        if (counters[row][index] < MAX_COUNT) {
+          counters[row][index]++;
+          incremented = true;
+        }
+      }
+
+      if (incremented && ++additions >= sampleSize) {
+        age();
+      }
+    }
+
+    protected void age() {
+      for (byte[] row : counters) {
+        for (int i = 0; i < row.length; i++) {
+          row[i] = (byte) (row[i] >>> 1);
+        }
+      }
+      additions = additions / 2;
+    }
+
+    protected void resize(int width) {
+      counters = new byte[SEEDS.length][width];
+      mask = width - 1;
+      sampleSize = 10 * width;
+      additions = 0;
+    }
+
+    protected int index(int hash, int row) {
+      int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+      h ^= h >>> 16;
+      return h & mask;
+    }
+
+    protected int spread(int hash) {
+      int h = hash * 0x85ebca6b;
+      return h ^ (h >>> 13);
+    }
+  }
+
+}
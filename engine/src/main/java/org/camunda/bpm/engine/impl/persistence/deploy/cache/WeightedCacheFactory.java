@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Creates {@link WeightedCache weighted caches} for the deployment caches, so that
+ * their size is limited by the estimated size of the cached entries instead of their
+ * number. Each type of entry (e.g. {@link org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity}
+ * or {@link org.camunda.bpm.model.bpmn.BpmnModelInstance}) can get its own maximum weight.
+ * Caches for types without a maximum weight are limited by the number of entries, as with
+ * the {@link DefaultCacheFactory}.</p>
+ *
+ * <p>The maximum weight of a cache should be large enough to hold all definitions of a
+ * resource, since they are added to the cache together when the resource is parsed. Otherwise
+ * the definition which is resolved is still returned, but the others are parsed again on their
+ * next access.</p>
+ */
+public class WeightedCacheFactory implements CacheFactory {
+
+  protected Map<Class<?>, Long> maximumWeights = new HashMap<>();
+  protected long defaultMaximumWeight = -1;
+  protected CacheEntryWeigher weigher = new DefaultCacheEntryWeigher();
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+    return createCache(defaultMaximumWeight, maxNumberOfElementsInCache);
+  }
+
+  @Override
+  public <T> Cache<String, T> createCache(Class<T> entryType, int maxNumberOfElementsInCache) {
+    Long maximumWeight = maximumWeights.get(entryType);
+    if (maximumWeight == null) {
+      maximumWeight = defaultMaximumWeight;
+    }
+    return createCache(maximumWeight, maxNumberOfElementsInCache);
+  }
+
+  protected <T> Cache<String, T> createCache(long maximumWeight, int maxNumberOfElementsInCache) {
+    if (maximumWeight > 0) {
+      return new WeightedCache<>(maximumWeight, weigher);
+    }
+    else {
+      return new ConcurrentLruCache<>(maxNumberOfElementsInCache);
+    }
+  }
+
+  public Map<Class<?>, Long> getMaximumWeights() {
+    return maximumWeights;
+  }
+
+  /**
+   * Sets the maximum weight of the caches for the given type of entries.
+   */
+  public WeightedCacheFactory setMaximumWeight(Class<?> entryType, long maximumWeight) {
+    maximumWeights.put(entryType, maximumWeight);
+    return this;
+  }
+
+  public long getDefaultMaximumWeight() {
+    return defaultMaximumWeight;
+  }
+
+  /**
+   * Sets the maximum weight of the caches for all types of entries without a specific
+   * maximum weight. If not set, these caches are limited by the number of entries.
+   */
+  public WeightedCacheFactory setDefaultMaximumWeight(long defaultMaximumWeight) {
+    this.defaultMaximumWeight = defaultMaximumWeight;
+    return this;
+  }
+
+  public CacheEntryWeigher getWeigher() {
+    return weigher;
+  }
+
+  public WeightedCacheFactory setWeigher(CacheEntryWeigher weigher) {
+    this.weigher = weigher;
+    return this;
+  }
+
+}
@@ -40,6 +40,10 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArrayNoRevisionCheck", byteArrayEntityId);
   }
 
+  public ByteArrayEntity findByteArrayById(String byteArrayEntityId) {
+    return getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayEntityId);
+  }
+
   public void insertByteArray(ByteArrayEntity arr) {
     arr.setCreateTime(ClockUtil.getCurrentTime());
     getDbEntityManager().insert(arr);
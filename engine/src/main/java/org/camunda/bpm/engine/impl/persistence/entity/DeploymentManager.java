@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -24,6 +25,7 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.impl.DeploymentQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cmd.DeleteProcessDefinitionsByIdsCmd;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -32,7 +34,9 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDef
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheCoordinator;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.ResourceUtil;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.repository.DecisionRequirementsDefinition;
@@ -56,6 +60,9 @@ public class DeploymentManager extends AbstractManager {
       resource.setDeploymentId(deployment.getId());
       resource.setType(ResourceTypes.REPOSITORY.getValue());
       resource.setCreateTime(ClockUtil.getCurrentTime());
+      if (resource.getHash() == null) {
+        resource.setHash(ResourceUtil.calculateContentHash(resource.getBytes()));
+      }
       getResourceManager().insertResource(resource);
     }
 
@@ -63,6 +70,14 @@ public class DeploymentManager extends AbstractManager {
       .getProcessEngineConfiguration()
       .getDeploymentCache()
       .deploy(deployment);
+
+    final DeploymentCacheCoordinator coordinator = Context.getProcessEngineConfiguration().getDeploymentCacheCoordinator();
+    if (coordinator != null) {
+      final String deploymentId = deployment.getId();
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, commandContext -> coordinator.deploymentCreated(deploymentId));
+    }
   }
 
   public void deleteDeployment(String deploymentId, boolean cascade) {
@@ -133,6 +148,12 @@ public class DeploymentManager extends AbstractManager {
     deleteAuthorizations(Resources.DEPLOYMENT, deploymentId);
     getDbEntityManager().delete(DeploymentEntity.class, "deleteDeployment", deploymentId);
 
+    final DeploymentCacheCoordinator coordinator = Context.getProcessEngineConfiguration().getDeploymentCacheCoordinator();
+    if (coordinator != null) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, commandContext -> coordinator.deploymentDeleted(deploymentId));
+    }
   }
 
   protected void deleteCaseDeployment(String deploymentId, boolean cascade) {
@@ -235,6 +256,27 @@ public class DeploymentManager extends AbstractManager {
     return getDbEntityManager().selectList("selectDeploymentsByIds", deploymentsIds);
   }
 
+  /**
+   * @return the ids and deployment times of the deployments which were deployed at or after
+   * the given time, or of all deployments if the time is <code>null</code>
+   */
+  @SuppressWarnings("unchecked")
+  public List<DeploymentEntity> findDeploymentsDeployedAfter(Date deployedAfter) {
+    return getDbEntityManager().selectList("selectDeploymentsDeployedAfter", deployedAfter);
+  }
+
+  public Date findLatestDeploymentTime() {
+    return (Date) getDbEntityManager().selectOne("selectLatestDeploymentTime", null);
+  }
+
+  /**
+   * @return the ids of the given deployments which still exist
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findExistingDeploymentIds(List<String> deploymentIds) {
+    return getDbEntityManager().selectList("selectExistingDeploymentIds", deploymentIds);
+  }
+
   public long findDeploymentCountByQueryCriteria(DeploymentQueryImpl deploymentQuery) {
     configureQuery(deploymentQuery);
     return (Long) getDbEntityManager().selectOne("selectDeploymentCountByQueryCriteria", deploymentQuery);
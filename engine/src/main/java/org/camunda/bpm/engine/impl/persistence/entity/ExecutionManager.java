@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,9 +29,11 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableCollectionProvider;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -113,6 +116,38 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * Loads the given process instances and their process instance scoped variables
+   * with one statement each, so that subsequent operations on the process instances
+   * within the same command are served from the entity cache instead of querying
+   * the database instance by instance.
+   */
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> prefetchProcessInstancesWithVariables(List<String> processInstanceIds) {
+    if (processInstanceIds == null || processInstanceIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<ExecutionEntity> processInstances = getDbEntityManager()
+      .selectList("selectProcessInstancesByIds", processInstanceIds);
+
+    List<VariableInstanceEntity> variables = getDbEntityManager()
+      .selectList("selectVariablesByExecutionIds", processInstanceIds);
+
+    Map<String, List<VariableInstanceEntity>> variablesByProcessInstance = new HashMap<>();
+    for (VariableInstanceEntity variable : variables) {
+      CollectionUtil.addToMapOfLists(variablesByProcessInstance, variable.getExecutionId(), variable);
+    }
+
+    for (ExecutionEntity processInstance : processInstances) {
+      // has no effect if the variables of a cached process instance are already initialized
+      processInstance.variableStore.setVariablesProvider(
+          new VariableCollectionProvider<>(variablesByProcessInstance.get(processInstance.getId())));
+    }
+
+    return processInstances;
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
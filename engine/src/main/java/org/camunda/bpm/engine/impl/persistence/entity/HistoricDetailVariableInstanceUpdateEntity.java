@@ -28,7 +28,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEnti
 import org.camunda.bpm.engine.impl.persistence.entity.util.ByteArrayField;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
-import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
+import org.camunda.bpm.engine.impl.variable.serializer.LazyByteArrayValueFields;
 import org.camunda.bpm.engine.repository.ResourceTypes;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
@@ -36,7 +36,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 /**
  * @author Tom Baeyens
  */
-public class HistoricDetailVariableInstanceUpdateEntity extends HistoricVariableUpdateEventEntity implements ValueFields, HistoricVariableUpdate, DbEntityLifecycleAware {
+public class HistoricDetailVariableInstanceUpdateEntity extends HistoricVariableUpdateEventEntity implements LazyByteArrayValueFields, HistoricVariableUpdate, DbEntityLifecycleAware {
 
   private static final long serialVersionUID = 1L;
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
@@ -95,6 +95,10 @@ public class HistoricDetailVariableInstanceUpdateEntity extends HistoricVariable
     return byteArrayField.getByteArrayId();
   }
 
+  public boolean isByteArrayValueFetched() {
+    return byteArrayField.isByteArrayValueFetched();
+  }
+
   public byte[] getByteArrayValue() {
     return byteArrayField.getByteArrayValue();
   }
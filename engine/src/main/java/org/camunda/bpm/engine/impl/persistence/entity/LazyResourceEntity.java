@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import org.camunda.bpm.engine.impl.context.Context;
+
+/**
+ * A deployed resource which is selected without its content, e.g. for the duplicate
+ * check of redeployments that compares the content {@link #getHash() hashes}. The
+ * content is fetched on first access.
+ */
+public class LazyResourceEntity extends ResourceEntity {
+
+  private static final long serialVersionUID = 1L;
+
+  protected boolean bytesFetched = false;
+
+  @Override
+  public byte[] getBytes() {
+    if (!bytesFetched) {
+      ResourceEntity resource = Context.getCommandContext()
+          .getResourceManager()
+          .findResourceById(id);
+
+      if (resource != null) {
+        bytes = resource.getBytes();
+      }
+      bytesFetched = true;
+    }
+    return bytes;
+  }
+
+  @Override
+  public void setBytes(byte[] bytes) {
+    super.setBytes(bytes);
+    bytesFetched = true;
+  }
+
+}
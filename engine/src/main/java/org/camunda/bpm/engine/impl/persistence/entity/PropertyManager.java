@@ -16,6 +16,16 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 
@@ -25,6 +35,11 @@ import org.camunda.bpm.engine.impl.persistence.AbstractManager;
  */
 public class PropertyManager extends AbstractManager {
 
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /** number of deployment lock properties per type of the process engine started last */
+  public static final String DEPLOYMENT_LOCK_STRIPES = "deployment.lock.stripes";
+
   public PropertyEntity findPropertyById(String propertyId) {
     return getDbEntityManager().selectById(PropertyEntity.class, propertyId);
   }
@@ -35,6 +50,87 @@ public class PropertyManager extends AbstractManager {
 
   }
 
+  /**
+   * Locks the deployment lock properties the given keys are mapped to, see
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isDeploymentLockPerDefinitionKey()}.
+   * The properties are locked in ascending order, so that deployments which lock
+   * overlapping properties cannot deadlock.
+   *
+   * @throws org.camunda.bpm.engine.ProcessEngineException if a property does not exist or if
+   * the process engine started last maps the keys to a different number of properties, since
+   * the lock would not exclude concurrent deployments of the same keys then
+   */
+  public void acquireExclusiveDeploymentLocks(String lockType, String tenantId, Collection<String> lockKeys) {
+    int stripes = Context.getProcessEngineConfiguration().getDeploymentLockStripes();
+    checkDeploymentLockStripes(stripes);
+
+    SortedSet<Integer> lockedStripes = new TreeSet<>();
+    for (String lockKey : lockKeys) {
+      lockedStripes.add(getDeploymentLockStripe(tenantId, lockKey, stripes));
+    }
+
+    for (Integer stripe : lockedStripes) {
+      String lockName = getDeploymentLockName(lockType, stripe);
+      getDbEntityManager().lock("lockDeploymentLockPropertyByName", lockName);
+
+      // locking a property which does not exist does not block anyone
+      if (findPropertyById(lockName) == null) {
+        throw LOG.missingDeploymentLockProperty(lockName);
+      }
+    }
+  }
+
+  protected void checkDeploymentLockStripes(int stripes) {
+    PropertyEntity stripesProperty = findPropertyById(DEPLOYMENT_LOCK_STRIPES);
+    String lockedStripes = stripesProperty != null ? stripesProperty.getValue() : null;
+    if (!String.valueOf(stripes).equals(lockedStripes)) {
+      throw LOG.deploymentLockStripesMismatch(stripes, lockedStripes);
+    }
+  }
+
+  /**
+   * Creates the missing deployment lock properties of the given types and records the
+   * number of properties per type, which all process engines must use.
+   */
+  @SuppressWarnings("unchecked")
+  public void createDeploymentLockProperties(Collection<String> lockTypes, int stripes) {
+    // prevents that other nodes create the same properties
+    acquireExclusiveLock();
+
+    Set<String> propertyNames = new HashSet<>();
+    List<PropertyEntity> properties = getDbEntityManager().selectList("selectProperties");
+    for (PropertyEntity property : properties) {
+      propertyNames.add(property.getName());
+    }
+
+    for (String lockType : lockTypes) {
+      for (int stripe = 0; stripe < stripes; stripe++) {
+        String lockName = getDeploymentLockName(lockType, stripe);
+        if (!propertyNames.contains(lockName)) {
+          getDbEntityManager().insert(new PropertyEntity(lockName, "0"));
+        }
+      }
+    }
+
+    PropertyEntity stripesProperty = findPropertyById(DEPLOYMENT_LOCK_STRIPES);
+    if (stripesProperty == null) {
+      getDbEntityManager().insert(new PropertyEntity(DEPLOYMENT_LOCK_STRIPES, String.valueOf(stripes)));
+    }
+    else if (!String.valueOf(stripes).equals(stripesProperty.getValue())) {
+      LOG.deploymentLockStripesChanged(stripesProperty.getValue(), stripes);
+      stripesProperty.setValue(String.valueOf(stripes));
+    }
+  }
+
+  protected int getDeploymentLockStripe(String tenantId, String lockKey, int stripes) {
+    String qualifiedLockKey = tenantId != null ? tenantId + "/" + lockKey : lockKey;
+    return Math.floorMod(qualifiedLockKey.hashCode(), stripes);
+  }
+
+  protected String getDeploymentLockName(String lockType, int stripe) {
+    return "deployment.lock." + lockType + "." + stripe;
+  }
+
   public void acquireExclusiveLockForHistoryCleanupJob() {
     // We lock a special history cleanup lock property
     getDbEntityManager().lock("lockHistoryCleanupJobLockProperty");
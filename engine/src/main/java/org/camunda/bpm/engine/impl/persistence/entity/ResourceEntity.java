@@ -38,6 +38,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
   protected String tenantId;
   protected Integer type;
   protected Date createTime;
+  protected String hash;
 
   public String getId() {
     return id;
@@ -111,6 +112,19 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
     this.createTime = createTime;
   }
 
+  /**
+   * The hash of the resource's content, calculated when the resource is added to
+   * a deployment. Resources that were deployed before the hash was introduced
+   * have no hash.
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -121,6 +135,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
            + ", tenantId=" + tenantId
            + ", type=" + type
            + ", createTime=" + createTime
+           + ", hash=" + hash
            + "]";
   }
 
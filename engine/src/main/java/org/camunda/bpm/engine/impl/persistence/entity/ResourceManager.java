@@ -38,6 +38,10 @@ public class ResourceManager extends AbstractManager {
     getDbEntityManager().delete(ResourceEntity.class, "deleteResourcesByDeploymentId", deploymentId);
   }
 
+  public ResourceEntity findResourceById(String resourceId) {
+    return (ResourceEntity) getDbEntityManager().selectOne("selectResourceById", resourceId);
+  }
+
   public ResourceEntity findResourceByDeploymentIdAndResourceName(String deploymentId, String resourceName) {
     Map<String, Object> params = new HashMap<String, Object>();
     params.put("deploymentId", deploymentId);
@@ -81,7 +85,8 @@ public class ResourceManager extends AbstractManager {
     params.put("source", source);
     params.put("tenantId", tenantId);
 
-    List<ResourceEntity> resources = getDbEntityManager().selectList("selectLatestResourcesByDeploymentName", params);
+    // the content is only fetched if it is accessed, e.g. for resources deployed without a hash
+    List<ResourceEntity> resources = getDbEntityManager().selectList("selectLatestResourcesWithoutBytesByDeploymentName", params);
 
     Map<String, ResourceEntity> existingResourcesByName = new HashMap<String, ResourceEntity>();
     for (ResourceEntity existingResource : resources) {
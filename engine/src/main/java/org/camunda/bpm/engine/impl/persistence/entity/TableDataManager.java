@@ -86,6 +86,7 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(ExecutionEntity.class, "ACT_RU_EXECUTION");
     persistentObjectToTableNameMap.put(IdentityLinkEntity.class, "ACT_RU_IDENTITYLINK");
     persistentObjectToTableNameMap.put(VariableInstanceEntity.class, "ACT_RU_VARIABLE");
+    persistentObjectToTableNameMap.put(VariableValueIndexEntity.class, "ACT_RU_VAR_INDEX");
 
     persistentObjectToTableNameMap.put(JobEntity.class, "ACT_RU_JOB");
     persistentObjectToTableNameMap.put(MessageEntity.class, "ACT_RU_JOB");
@@ -36,12 +36,13 @@ import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.util.ByteArrayField;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueUpdateListener;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
-import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
+import org.camunda.bpm.engine.impl.variable.serializer.LazyByteArrayValueFields;
 import org.camunda.bpm.engine.repository.ResourceTypes;
 import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.variable.value.TypedValue;
@@ -49,7 +50,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 /**
  * @author Tom Baeyens
  */
-public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, ValueFields, DbEntity, DbEntityLifecycleAware, TypedValueUpdateListener, HasDbRevision,
+public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, LazyByteArrayValueFields, DbEntity, DbEntityLifecycleAware, TypedValueUpdateListener, HasDbRevision,
   HasDbReferences, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
@@ -139,10 +140,14 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
 
   public static void insert(VariableInstanceEntity variableInstance) {
     if (!variableInstance.isTransient()) {
-      Context
-      .getCommandContext()
+      CommandContext commandContext = Context.getCommandContext();
+      commandContext
       .getDbEntityManager()
       .insert(variableInstance);
+
+      commandContext
+      .getVariableValueIndexManager()
+      .insertIndexEntry(variableInstance);
     }
   }
 
@@ -161,7 +166,9 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
 
     if (!isTransient) {
       // delete variable
-      Context.getCommandContext().getDbEntityManager().delete(this);
+      CommandContext commandContext = Context.getCommandContext();
+      commandContext.getDbEntityManager().delete(this);
+      commandContext.getVariableValueIndexManager().deleteIndexEntry(this);
     }
   }
 
@@ -248,6 +255,10 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     return byteArrayField.getByteArrayId();
   }
 
+  public boolean isByteArrayValueFetched() {
+    return byteArrayField.isByteArrayValueFetched();
+  }
+
   public void setByteArrayValueId(String byteArrayValueId) {
     this.byteArrayField.setByteArrayId(byteArrayValueId);
   }
@@ -287,6 +298,14 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     clearValueFields();
 
     typedValueField.setValue(value);
+
+    if (id != null && !isTransient) {
+      // the variable is already persistent, otherwise the index entry is created on insert
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null) {
+        commandContext.getVariableValueIndexManager().updateIndexEntry(this);
+      }
+    }
   }
 
   public void clearValueFields() {
@@ -0,0 +1,119 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * Entry of the variable value index (<code>ACT_RU_VAR_INDEX</code>). There is one entry
+ * per process variable whose name is configured as
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getIndexedVariableNames() indexed},
+ * sharing the id of the variable instance. The value is only set for string values of at most
+ * {@link #MAX_VALUE_LENGTH} characters, all other values cannot be looked up by the index.
+ *
+ * <p>An entry without a process instance id marks that the index of the variable name was
+ * completely rebuilt. Queries only use the index for names with such a marker.</p>
+ */
+public class VariableValueIndexEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final int MAX_VALUE_LENGTH = 128;
+
+  protected String id;
+  protected String name;
+  protected String value;
+  protected String processInstanceId;
+
+  public VariableValueIndexEntity() {
+  }
+
+  public VariableValueIndexEntity(VariableInstanceEntity variableInstance) {
+    this.id = variableInstance.getId();
+    this.name = variableInstance.getName();
+    this.processInstanceId = variableInstance.getProcessInstanceId();
+    this.value = getIndexValue(variableInstance);
+  }
+
+  /**
+   * @return the value under which the given variable can be looked up in the index or
+   * <code>null</code> if the variable's value is not indexable
+   */
+  public static String getIndexValue(VariableInstanceEntity variableInstance) {
+    String textValue = variableInstance.getTextValue();
+    if (isIndexableValue(textValue) && "string".equals(variableInstance.getSerializerName())) {
+      return textValue;
+    }
+    return null;
+  }
+
+  public static boolean isIndexableValue(String value) {
+    return value != null && !value.isEmpty() && value.length() <= MAX_VALUE_LENGTH;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public void setValue(String value) {
+    this.value = value;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public void setProcessInstanceId(String processInstanceId) {
+    this.processInstanceId = processInstanceId;
+  }
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("value", value);
+    return persistentState;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[id=" + id
+        + ", name=" + name
+        + ", value=" + value
+        + ", processInstanceId=" + processInstanceId
+        + "]";
+  }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ResourceUtil;
+
+/**
+ * Keeps the variable value index (<code>ACT_RU_VAR_INDEX</code>) in sync with the
+ * process variables whose names are configured as indexed.
+ *
+ * <p>Each process engine registers its indexed variable names as a property named
+ * {@value #CONFIGURATION_PROPERTY_PREFIX} followed by its hostname. Queries only use the index
+ * if all registered process engines are configured with the same names, since a process engine
+ * does not maintain the entries of names it is not configured with. The registration is removed
+ * when the process engine is closed. Registrations of process engines which were not closed
+ * properly are replaced when they are started again on the same host, or have to be deleted
+ * manually.</p>
+ */
+public class VariableValueIndexManager extends AbstractManager {
+
+  public static final String CONFIGURATION_PROPERTY_PREFIX = "var.index.config.";
+
+  /** the maximum length of a property name */
+  protected static final int MAX_PROPERTY_NAME_LENGTH = 64;
+
+  /** names whose index is complete and usable, fetched once per command */
+  protected Set<String> completedVariableNames;
+
+  public void insertIndexEntry(VariableInstanceEntity variableInstance) {
+    if (isIndexed(variableInstance)) {
+      getDbEntityManager().insert(new VariableValueIndexEntity(variableInstance));
+    }
+  }
+
+  /**
+   * Updates the index entry of a persistent variable whose value has changed. The entry
+   * is fetched to find out whether it exists, since entries can be missing, e.g. for variables
+   * which were created before their name was indexed. Missing entries are inserted.
+   */
+  public void updateIndexEntry(VariableInstanceEntity variableInstance) {
+    if (!isIndexedName(variableInstance.getName())
+        || variableInstance.isTransient()
+        || variableInstance.getTaskId() != null
+        || variableInstance.getProcessInstanceId() == null) {
+      return;
+    }
+
+    DbEntityManager dbEntityManager = getDbEntityManager();
+    VariableValueIndexEntity indexEntry = dbEntityManager.getCachedEntity(VariableValueIndexEntity.class, variableInstance.getId());
+
+    if (indexEntry != null) {
+      indexEntry.setValue(VariableValueIndexEntity.getIndexValue(variableInstance));
+      if (dbEntityManager.isDeleted(indexEntry)) {
+        // the variable was removed and is set again in the same command
+        dbEntityManager.undoDelete(indexEntry);
+      }
+      return;
+    }
+
+    indexEntry = dbEntityManager.selectById(VariableValueIndexEntity.class, variableInstance.getId());
+    if (indexEntry != null) {
+      // updated on flush if the value has changed
+      indexEntry.setValue(VariableValueIndexEntity.getIndexValue(variableInstance));
+    }
+    else {
+      dbEntityManager.insert(new VariableValueIndexEntity(variableInstance));
+    }
+  }
+
+  public void deleteIndexEntry(VariableInstanceEntity variableInstance) {
+    if (!isIndexedName(variableInstance.getName()) || variableInstance.getTaskId() != null) {
+      return;
+    }
+
+    DbEntityManager dbEntityManager = getDbEntityManager();
+    VariableValueIndexEntity indexEntry = dbEntityManager.getCachedEntity(VariableValueIndexEntity.class, variableInstance.getId());
+
+    if (indexEntry == null) {
+      indexEntry = new VariableValueIndexEntity();
+      indexEntry.setId(variableInstance.getId());
+    }
+    dbEntityManager.delete(indexEntry);
+  }
+
+  /**
+   * @return true if queries can look up the given variable name in the index, i.e. if the
+   * name is indexed, the index has been rebuilt completely since and all registered process
+   * engines are configured with the same indexed names; this is checked once per command
+   */
+  @SuppressWarnings("unchecked")
+  public boolean isQueryable(String variableName) {
+    if (!isIndexedName(variableName)) {
+      return false;
+    }
+
+    if (completedVariableNames == null) {
+      if (isConfigurationShared()) {
+        List<String> variableNames = new ArrayList<String>(getIndexedVariableNames());
+        completedVariableNames = new HashSet<String>(getDbEntityManager().selectList("selectCompletedVariableValueIndexNames", variableNames));
+      }
+      else {
+        completedVariableNames = Collections.emptySet();
+      }
+    }
+    return completedVariableNames.contains(variableName);
+  }
+
+  /**
+   * Registers the indexed variable names of this process engine, replacing a previous
+   * registration of a process engine with the same hostname.
+   */
+  public void registerConfiguration() {
+    PropertyManager propertyManager = getPropertyManager();
+    // prevents that process engines with the same hostname insert the same property
+    propertyManager.acquireExclusiveLock();
+
+    String propertyName = getConfigurationPropertyName();
+    String configuration = getConfiguration();
+
+    PropertyEntity property = propertyManager.findPropertyById(propertyName);
+    if (property == null) {
+      getDbEntityManager().insert(new PropertyEntity(propertyName, configuration));
+    }
+    else {
+      property.setValue(configuration);
+    }
+  }
+
+  public void unregisterConfiguration() {
+    PropertyEntity property = getPropertyManager().findPropertyById(getConfigurationPropertyName());
+    if (property != null) {
+      getDbEntityManager().delete(property);
+    }
+  }
+
+  /**
+   * @return true if all registered process engines are configured with the same indexed
+   * variable names as this process engine
+   */
+  @SuppressWarnings("unchecked")
+  public boolean isConfigurationShared() {
+    String configuration = getConfiguration();
+
+    List<PropertyEntity> properties = getDbEntityManager().selectList("selectProperties");
+    for (PropertyEntity property : properties) {
+      if (property.getName().startsWith(CONFIGURATION_PROPERTY_PREFIX) && !configuration.equals(property.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * First step of a rebuild: queries stop using the index and all entries which
+   * do not belong to a variable with a currently indexed name are deleted.
+   */
+  public void resetIndex() {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("variableNames", new ArrayList<String>(getIndexedVariableNames()));
+    getDbEntityManager().delete(VariableValueIndexEntity.class, "deleteStaleVariableValueIndexEntries", parameters);
+  }
+
+  /**
+   * Second step of a rebuild, repeated until all variables are processed: creates or updates
+   * the entries of the next variables with indexed names, ordered by id.
+   *
+   * @param lastVariableId the id of the last variable of the previous batch or <code>null</code> to start
+   * @param batchSize the maximum number of variables to process
+   * @return the ids of the processed variables
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> rebuildIndexEntries(String lastVariableId, int batchSize) {
+    Set<String> indexedVariableNames = getIndexedVariableNames();
+    if (indexedVariableNames.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("variableNames", new ArrayList<String>(indexedVariableNames));
+    parameters.put("lastVariableId", lastVariableId);
+    List<VariableInstanceEntity> variableInstances = dbEntityManager.selectList("selectVariablesByNamesForValueIndex",
+        new ListQueryParameterObject(parameters, 0, batchSize));
+
+    if (variableInstances.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<String> variableIds = new ArrayList<String>();
+    for (VariableInstanceEntity variableInstance : variableInstances) {
+      variableIds.add(variableInstance.getId());
+    }
+
+    // the existing entries of the batch are in the same id range as the variables
+    parameters.put("maxVariableId", variableIds.get(variableIds.size() - 1));
+    List<VariableValueIndexEntity> indexEntries = dbEntityManager.selectList("selectVariableValueIndexEntriesByIdRange", parameters);
+    Map<String, VariableValueIndexEntity> indexEntriesById = new HashMap<String, VariableValueIndexEntity>();
+    for (VariableValueIndexEntity indexEntry : indexEntries) {
+      indexEntriesById.put(indexEntry.getId(), indexEntry);
+    }
+
+    for (VariableInstanceEntity variableInstance : variableInstances) {
+      VariableValueIndexEntity indexEntry = indexEntriesById.get(variableInstance.getId());
+      if (indexEntry != null) {
+        indexEntry.setValue(VariableValueIndexEntity.getIndexValue(variableInstance));
+      }
+      else {
+        dbEntityManager.insert(new VariableValueIndexEntity(variableInstance));
+      }
+
+      // increments the revision of the variable, so that either the batch or a concurrent
+      // update of the variable fails with an OptimisticLockingException; the entry never
+      // keeps a value which was overwritten concurrently
+      dbEntityManager.forceUpdate(variableInstance);
+    }
+
+    return variableIds;
+  }
+
+  /**
+   * Last step of a rebuild: records that the index is complete for the indexed names,
+   * so that queries start using it.
+   */
+  public void completeIndex() {
+    for (String variableName : getIndexedVariableNames()) {
+      VariableValueIndexEntity completion = new VariableValueIndexEntity();
+      completion.setName(variableName);
+      getDbEntityManager().insert(completion);
+    }
+  }
+
+  /**
+   * Deletes the completion entries of all names which are not indexed (anymore), since their
+   * entries are not maintained by this process engine. The index has to be rebuilt before
+   * queries use it for these names again.
+   */
+  public void deleteCompletionsOfNotIndexedNames() {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("variableNames", new ArrayList<String>(getIndexedVariableNames()));
+    getDbEntityManager().delete(VariableValueIndexEntity.class, "deleteVariableValueIndexCompletions", parameters);
+  }
+
+  protected boolean isIndexed(VariableInstanceEntity variableInstance) {
+    return isIndexedName(variableInstance.getName())
+        && !variableInstance.isTransient()
+        && variableInstance.getId() != null
+        && variableInstance.getTaskId() == null
+        && variableInstance.getProcessInstanceId() != null;
+  }
+
+  protected boolean isIndexedName(String variableName) {
+    Set<String> indexedVariableNames = getIndexedVariableNames();
+    return !indexedVariableNames.isEmpty() && indexedVariableNames.contains(variableName);
+  }
+
+  /**
+   * @return the hash of the sorted indexed variable names of this process engine
+   */
+  protected String getConfiguration() {
+    String variableNames = String.join(",", new TreeSet<String>(getIndexedVariableNames()));
+    return ResourceUtil.calculateContentHash(variableNames.getBytes(StandardCharsets.UTF_8));
+  }
+
+  protected String getConfigurationPropertyName() {
+    String hostname = Context.getProcessEngineConfiguration().getHostname();
+    if (CONFIGURATION_PROPERTY_PREFIX.length() + hostname.length() > MAX_PROPERTY_NAME_LENGTH) {
+      hostname = ResourceUtil.calculateContentHash(hostname.getBytes(StandardCharsets.UTF_8))
+          .substring(0, MAX_PROPERTY_NAME_LENGTH - CONFIGURATION_PROPERTY_PREFIX.length());
+    }
+    return CONFIGURATION_PROPERTY_PREFIX + hostname;
+  }
+
+  protected PropertyManager getPropertyManager() {
+    return getSession(PropertyManager.class);
+  }
+
+  protected Set<String> getIndexedVariableNames() {
+    return Context.getProcessEngineConfiguration().getIndexedVariableNames();
+  }
+
+}
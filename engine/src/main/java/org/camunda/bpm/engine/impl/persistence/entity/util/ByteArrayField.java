@@ -61,6 +61,14 @@ public class ByteArrayField {
     this.byteArrayValue = null;
   }
 
+  /**
+   * @return true if the {@link ByteArrayEntity} has already been fetched (or set), i.e.
+   * accessing the byte array value does not require a database round trip
+   */
+  public boolean isByteArrayValueFetched() {
+    return byteArrayValue != null;
+  }
+
   public byte[] getByteArrayValue() {
     getByteArrayEntity();
 
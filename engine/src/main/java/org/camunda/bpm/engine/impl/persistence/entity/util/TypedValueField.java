@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
 import org.camunda.bpm.engine.impl.variable.serializer.ValueFieldsImpl;
@@ -38,6 +39,7 @@ import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializerFactory
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
 import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
 import org.camunda.bpm.engine.variable.value.SerializableValue;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
@@ -63,6 +65,9 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   protected boolean notifyOnImplicitUpdates = false;
   protected List<TypedValueUpdateListener> updateListeners;
 
+  /** true if the cached value was read without registering for implicit updates */
+  protected boolean implicitUpdatesSkipped = false;
+
   public TypedValueField(ValueFields valueFields, boolean notifyOnImplicitUpdates) {
     this.valueFields = valueFields;
     this.notifyOnImplicitUpdates = notifyOnImplicitUpdates;
@@ -93,7 +98,11 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   public TypedValue getTypedValue(boolean deserializeValue,
                                   boolean asTransientValue,
                                   boolean skipImplicitUpdates) {
-    if (Context.getCommandContext() != null) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      // read-only commands do not need to detect implicit updates
+      skipImplicitUpdates = skipImplicitUpdates || !commandContext.isImplicitVariableUpdateDetectionEnabled();
+
       // in some circumstances we must invalidate the cached value instead of returning it
 
       if (cachedValue != null && cachedValue instanceof SerializableValue) {
@@ -114,8 +123,14 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
       try {
         cachedValue = getSerializer().readValue(valueFields, deserializeValue, asTransientValue);
 
-        if (!skipImplicitUpdates && notifyOnImplicitUpdates && isMutableValue(cachedValue)) {
-          Context.getCommandContext().registerCommandContextListener(this);
+        implicitUpdatesSkipped = false;
+        if (notifyOnImplicitUpdates && isMutableValue(cachedValue)) {
+          if (skipImplicitUpdates) {
+            implicitUpdatesSkipped = true;
+          }
+          else {
+            Context.getCommandContext().registerCommandContextListener(this);
+          }
         }
 
       } catch (RuntimeException e) {
@@ -124,6 +139,11 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
         throw e;
       }
     }
+    else if (implicitUpdatesSkipped && !skipImplicitUpdates && commandContext != null) {
+      // the value was cached by a read which skipped implicit updates but may be changed now
+      implicitUpdatesSkipped = false;
+      commandContext.registerCommandContextListener(this);
+    }
     return cachedValue;
   }
 
@@ -143,6 +163,7 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
     // cache the value
     cachedValue = value;
+    implicitUpdatesSkipped = false;
 
     // ensure that we serialize the object on command context flush
     // if it can be implicitly changed
@@ -164,6 +185,12 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
   protected boolean isValuedImplicitlyUpdated() {
     if (cachedValue != null && isMutableValue(cachedValue)) {
+      TypedValueSerializer<?> serializer = getSerializer();
+      if (serializer instanceof AbstractObjectValueSerializer) {
+        // compares the serialized form only, without updating the cached value
+        return ((AbstractObjectValueSerializer) serializer).isValueChanged((ObjectValue) cachedValue, valueFields);
+      }
+
       byte[] byteArray = valueFields.getByteArrayValue();
 
       ValueFieldsImpl tempValueFields = new ValueFieldsImpl();
@@ -310,5 +337,6 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
   public void clear() {
     cachedValue = null;
+    implicitUpdatesSkipped = false;
   }
 }
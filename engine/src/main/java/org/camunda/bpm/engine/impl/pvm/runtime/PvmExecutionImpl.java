@@ -166,6 +166,11 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   // sequence counter ////////////////////////////////////////////////////////
   protected long sequenceCounter = 0;
 
+  /**
+   * in-memory values, only set on the process instance and never persisted
+   */
+  protected transient Map<String, Object> inMemoryValues;
+
   public PvmExecutionImpl() {
   }
 
@@ -1188,6 +1193,31 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
     } else return getProcessBusinessKey();
   }
 
+  // in-memory values ////////////////////////////////////////////////////////
+
+  @Override
+  public Object getInMemoryValue(String name) {
+    Map<String, Object> processInstanceValues = getProcessInstance().inMemoryValues;
+    return processInstanceValues != null ? processInstanceValues.get(name) : null;
+  }
+
+  @Override
+  public void setInMemoryValue(String name, Object value) {
+    PvmExecutionImpl processInstance = getProcessInstance();
+    if (processInstance.inMemoryValues == null) {
+      processInstance.inMemoryValues = new HashMap<>();
+    }
+    processInstance.inMemoryValues.put(name, value);
+  }
+
+  public void setInMemoryValues(Map<String, Object> values) {
+    if (values != null) {
+      for (Map.Entry<String, Object> value : values.entrySet()) {
+        setInMemoryValue(value.getKey(), value.getValue());
+      }
+    }
+  }
+
   // process definition ///////////////////////////////////////////////////////
 
   public void setProcessDefinition(ProcessDefinitionImpl processDefinition) {
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.repository;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.repository.CandidateDeployment;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentHandler;
@@ -84,8 +85,21 @@ public class DefaultDeploymentHandler implements DeploymentHandler {
   }
 
   protected boolean resourcesDiffer(Resource resource, Resource existing) {
+    String hash = getHash(resource);
+    String existingHash = getHash(existing);
+    if (hash != null && existingHash != null) {
+      return !hash.equals(existingHash);
+    }
+
     byte[] bytes = resource.getBytes();
     byte[] savedBytes = existing.getBytes();
     return !Arrays.equals(bytes, savedBytes);
   }
+
+  protected String getHash(Resource resource) {
+    if (resource instanceof ResourceEntity) {
+      return ((ResourceEntity) resource).getHash();
+    }
+    return null;
+  }
 }
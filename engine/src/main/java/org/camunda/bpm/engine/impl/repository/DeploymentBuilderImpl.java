@@ -47,6 +47,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.impl.util.ResourceUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentBuilder;
@@ -149,6 +150,7 @@ public class DeploymentBuilderImpl implements DeploymentBuilder, Serializable {
     ResourceEntity resource = new ResourceEntity();
     resource.setBytes(bytes);
     resource.setName(resourceName);
+    resource.setHash(ResourceUtil.calculateContentHash(bytes));
     deployment.addResource(resource);
 
     return this;
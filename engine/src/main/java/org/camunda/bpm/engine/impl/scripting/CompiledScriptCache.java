@@ -0,0 +1,204 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.CompiledScript;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Size-bounded cache of compiled scripts. Scripts with the same language and
+ * source share one compiled form, independent of the process definition (or version)
+ * they belong to. Compiled scripts are additionally keyed by the class loader of the
+ * process application they were compiled for, so that a script compiled by a
+ * process application specific script engine is never reused by another
+ * process application.</p>
+ *
+ * <p>A cache instance may be shared by multiple process engines by setting it on each
+ * process engine configuration.</p>
+ *
+ * <p>The least recently used script is evicted once the capacity is exceeded. Hits, misses
+ * and evictions are reported to the {@link #setMetricsRegistry(MetricsRegistry) metrics registry}
+ * of the process engine which configured the cache last.</p>
+ */
+public class CompiledScriptCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected final int capacity;
+
+  /** accessed in least recently used order, guarded by itself */
+  protected final Map<CompiledScriptKey, CompiledScript> cache;
+
+  protected volatile MetricsRegistry metricsRegistry;
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+
+  public CompiledScriptCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public CompiledScriptCache(int capacity) {
+    this.capacity = capacity;
+    this.cache = new LinkedHashMap<CompiledScriptKey, CompiledScript>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CompiledScriptKey, CompiledScript> eldest) {
+        boolean evict = size() > CompiledScriptCache.this.capacity;
+        if (evict) {
+          evictionCount.incrementAndGet();
+          markOccurrence(Metrics.COMPILED_SCRIPT_CACHE_EVICTION);
+        }
+        return evict;
+      }
+    };
+  }
+
+  /**
+   * @return the compiled script for the given language, source and class loader or null if
+   * no such script is cached.
+   */
+  public CompiledScript get(String language, String source, ClassLoader classLoader) {
+    CompiledScript compiledScript;
+    synchronized (cache) {
+      compiledScript = cache.get(new CompiledScriptKey(language, source, classLoader));
+    }
+
+    if (compiledScript != null) {
+      hitCount.incrementAndGet();
+      markOccurrence(Metrics.COMPILED_SCRIPT_CACHE_HIT);
+    }
+    else {
+      missCount.incrementAndGet();
+      markOccurrence(Metrics.COMPILED_SCRIPT_CACHE_MISS);
+    }
+    return compiledScript;
+  }
+
+  public void put(String language, String source, ClassLoader classLoader, CompiledScript compiledScript) {
+    if (compiledScript == null) {
+      return;
+    }
+
+    CompiledScriptKey key = new CompiledScriptKey(language, source, classLoader);
+    synchronized (cache) {
+      cache.put(key, compiledScript);
+    }
+  }
+
+  /**
+   * Removes all scripts compiled for the given class loader, e.g. when the
+   * corresponding process application is undeployed.
+   */
+  public void purge(ClassLoader classLoader) {
+    synchronized (cache) {
+      cache.keySet().removeIf(key -> key.classLoader == classLoader);
+    }
+  }
+
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  protected void markOccurrence(String metric) {
+    MetricsRegistry metricsRegistry = this.metricsRegistry;
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(metric);
+    }
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  protected static class CompiledScriptKey {
+
+    protected final String language;
+    protected final String source;
+    protected final ClassLoader classLoader;
+    protected final int hashCode;
+
+    public CompiledScriptKey(String language, String source, ClassLoader classLoader) {
+      this.language = language;
+      this.source = source;
+      this.classLoader = classLoader;
+
+      int result = language != null ? language.hashCode() : 0;
+      result = 31 * result + (source != null ? source.hashCode() : 0);
+      result = 31 * result + System.identityHashCode(classLoader);
+      this.hashCode = result;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      CompiledScriptKey other = (CompiledScriptKey) obj;
+      return hashCode == other.hashCode
+          && classLoader == other.classLoader
+          && (language != null ? language.equals(other.language) : other.language == null)
+          && (source != null ? source.equals(other.source) : other.source == null);
+    }
+  }
+
+}
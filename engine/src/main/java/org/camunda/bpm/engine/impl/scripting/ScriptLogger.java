@@ -39,4 +39,9 @@ public class ScriptLogger extends ProcessEngineLogger {
         "001", "Evaluating non-compiled script {}", scriptSource);
   }
 
+  public void warnPrecompilingScriptFailed(String language, Exception e) {
+    logWarn(
+        "003", "Unable to pre-compile script in language {}, it will be compiled on first execution: {}", language, e.getMessage(), e);
+  }
+
 }
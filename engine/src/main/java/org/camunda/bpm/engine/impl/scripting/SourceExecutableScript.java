@@ -22,6 +22,9 @@ import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
+import org.camunda.bpm.application.ProcessApplicationReference;
+import org.camunda.bpm.application.ProcessApplicationUnavailableException;
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.ScriptCompilationException;
 import org.camunda.bpm.engine.ScriptEvaluationException;
 import org.camunda.bpm.engine.delegate.BpmnError;
@@ -46,6 +49,9 @@ public class SourceExecutableScript extends CompiledExecutableScript {
   /** Flag to signal if the script should be compiled */
   protected boolean shouldBeCompiled = true;
 
+  /** Flag to signal that the script engine of the language cannot compile scripts */
+  protected boolean compilationUnsupported = false;
+
   public SourceExecutableScript(String language, String source) {
     super(language);
     scriptSource = source;
@@ -53,12 +59,10 @@ public class SourceExecutableScript extends CompiledExecutableScript {
 
   @Override
   public Object evaluate(ScriptEngine engine, VariableScope variableScope, Bindings bindings) {
-    if (shouldBeCompiled) {
-      compileScript(engine);
-    }
+    CompiledScript compiledScript = getCompiledScript(engine);
 
-    if (getCompiledScript() != null) {
-      return super.evaluate(engine, variableScope, bindings);
+    if (compiledScript != null) {
+      return evaluateCompiledScript(compiledScript, variableScope, bindings);
     }
     else {
       try {
@@ -73,28 +77,96 @@ public class SourceExecutableScript extends CompiledExecutableScript {
     }
   }
 
-  protected void compileScript(ScriptEngine engine) {
+  /**
+   * Returns the compiled form of the script for the given script engine. The compiled
+   * form is looked up in the {@link CompiledScriptCache} under the language, the source and
+   * the class loader of the process application whose script engine is used, and compiled
+   * with the given engine if it is not cached yet.
+   *
+   * @return the compiled script or null if the script is not compiled
+   */
+  protected CompiledScript getCompiledScript(ScriptEngine engine) {
     ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
-    if (processEngineConfiguration.isEnableScriptEngineCaching() && processEngineConfiguration.isEnableScriptCompilation()) {
-
-      if (getCompiledScript() == null && shouldBeCompiled) {
-        synchronized (this) {
-          if (getCompiledScript() == null && shouldBeCompiled) {
-            // try to compile script
-            compiledScript = compile(engine, language, scriptSource);
-
-            // either the script was successfully compiled or it can't be
-            // compiled but we won't try it again
-            shouldBeCompiled = false;
-          }
-        }
+    if (!processEngineConfiguration.isEnableScriptEngineCaching() || !processEngineConfiguration.isEnableScriptCompilation()) {
+      // if script compilation is disabled abort
+      shouldBeCompiled = false;
+      return null;
+    }
+
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    if (compiledScriptCache == null) {
+      compileScript(engine);
+      return getCompiledScript();
+    }
+
+    if (compilationUnsupported) {
+      return null;
+    }
+
+    ClassLoader classLoader = getProcessApplicationClassLoader(processEngineConfiguration);
+    CompiledScript compiledScript = compiledScriptCache.get(language, scriptSource, classLoader);
+    if (compiledScript == null) {
+      compiledScript = compile(engine, language, scriptSource);
+      if (compiledScript != null) {
+        compiledScriptCache.put(language, scriptSource, classLoader, compiledScript);
+      }
+      else {
+        compilationUnsupported = true;
       }
+    }
 
+    if (classLoader == null) {
+      // only exposed by getCompiledScript(), the evaluation always goes through the cache
+      this.compiledScript = compiledScript;
     }
-    else {
-      // if script compilation is disabled abort
-      shouldBeCompiled = false;
+    shouldBeCompiled = false;
+
+    return compiledScript;
+  }
+
+  /**
+   * Compiles the script once with the given engine and keeps the compiled form,
+   * used if no {@link CompiledScriptCache} is configured.
+   */
+  protected void compileScript(ScriptEngine engine) {
+    if (getCompiledScript() == null && shouldBeCompiled) {
+      synchronized (this) {
+        if (getCompiledScript() == null && shouldBeCompiled) {
+          // try to compile script
+          compiledScript = compile(engine, language, scriptSource);
+
+          // either the script was successfully compiled or it can't be
+          // compiled but we won't try it again
+          shouldBeCompiled = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * Pre-compiles the script with the given engine, e.g. at deployment time, so that
+   * the first evaluation with a script engine of the same process application does
+   * not have to compile it.
+   */
+  public void precompile(ScriptEngine engine) {
+    getCompiledScript(engine);
+  }
+
+  /**
+   * @return the class loader of the current process application if script engines are
+   * fetched from process applications, null if the global script engine is used.
+   */
+  protected ClassLoader getProcessApplicationClassLoader(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    ProcessApplicationReference processApplicationReference = Context.getCurrentProcessApplication();
+    if (processEngineConfiguration.isEnableFetchScriptEngineFromProcessApplication() && processApplicationReference != null) {
+      try {
+        return processApplicationReference.getProcessApplication().getProcessApplicationClassloader();
+      }
+      catch (ProcessApplicationUnavailableException e) {
+        throw new ProcessEngineException("Process Application is unavailable.", e);
+      }
     }
+    return null;
   }
 
   public CompiledScript compile(ScriptEngine scriptEngine, String language, String src) {
@@ -138,6 +210,7 @@ public class SourceExecutableScript extends CompiledExecutableScript {
   public void setScriptSource(String scriptSource) {
     this.compiledScript = null;
     shouldBeCompiled = true;
+    compilationUnsupported = false;
     this.scriptSource = scriptSource;
   }
 
@@ -0,0 +1,205 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting.engine;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.ScriptEngine;
+
+/**
+ * <p>Bounded pool of {@link ScriptEngine} instances of one language whose factory does not
+ * declare them to be thread-safe (and which can therefore not be cached and shared).</p>
+ *
+ * <p>An engine is leased for one script evaluation and must be released afterwards. On release,
+ * the engine scope bindings are reset, so no state leaks from one evaluation into the next.
+ * If all engines are leased and the pool is at its maximum size, a lease waits at most
+ * {@link #maxWaitMillis} for an engine to be released and then falls back to creating an
+ * engine which is not pooled.</p>
+ */
+public class ScriptEnginePool {
+
+  protected final String language;
+  protected final ScriptEngineResolver scriptEngineResolver;
+  protected final int maxSize;
+  protected final long maxWaitMillis;
+
+  protected final BlockingQueue<ScriptEngine> idleEngines = new LinkedBlockingQueue<ScriptEngine>();
+  protected final Set<ScriptEngine> leasedEngines = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<ScriptEngine, Boolean>()));
+  protected final AtomicInteger size = new AtomicInteger();
+
+  protected final AtomicLong leaseCount = new AtomicLong();
+  protected final AtomicLong waitCount = new AtomicLong();
+  protected final AtomicLong timeoutCount = new AtomicLong();
+  protected final AtomicLong totalWaitTimeMillis = new AtomicLong();
+  protected volatile long maxWaitTimeMillis;
+
+  public ScriptEnginePool(String language, ScriptEngineResolver scriptEngineResolver, int maxSize, long maxWaitMillis) {
+    this.language = language;
+    this.scriptEngineResolver = scriptEngineResolver;
+    this.maxSize = maxSize;
+    this.maxWaitMillis = maxWaitMillis;
+  }
+
+  /**
+   * @return a script engine which is exclusively used by the caller until
+   * it is passed to {@link #release(ScriptEngine)}. Null if no engine can be created for the language.
+   */
+  public ScriptEngine lease() {
+    leaseCount.incrementAndGet();
+
+    ScriptEngine scriptEngine = idleEngines.poll();
+    if (scriptEngine == null) {
+      scriptEngine = createIfBelowMaxSize();
+    }
+    if (scriptEngine == null) {
+      scriptEngine = awaitIdleEngine();
+    }
+    if (scriptEngine == null) {
+      // the pool is exhausted, do not block the caller any longer
+      timeoutCount.incrementAndGet();
+      return scriptEngineResolver.createScriptEngine(language);
+    }
+
+    leasedEngines.add(scriptEngine);
+    return scriptEngine;
+  }
+
+  /**
+   * Returns a leased engine to the pool. Engines which were not leased from this pool are ignored.
+   */
+  public void release(ScriptEngine scriptEngine) {
+    if (scriptEngine != null && leasedEngines.remove(scriptEngine)) {
+      scriptEngineResolver.resetScriptEngine(language, scriptEngine);
+      idleEngines.offer(scriptEngine);
+    }
+  }
+
+  /**
+   * Takes over an engine which was created outside of the pool as leased engine.
+   *
+   * @return true if the engine is now managed by the pool, false if the pool is already full
+   */
+  public boolean adopt(ScriptEngine scriptEngine) {
+    while (true) {
+      int currentSize = size.get();
+      if (currentSize >= maxSize) {
+        return false;
+      }
+      if (size.compareAndSet(currentSize, currentSize + 1)) {
+        leaseCount.incrementAndGet();
+        leasedEngines.add(scriptEngine);
+        return true;
+      }
+    }
+  }
+
+  public boolean isLeased(ScriptEngine scriptEngine) {
+    return leasedEngines.contains(scriptEngine);
+  }
+
+  protected ScriptEngine createIfBelowMaxSize() {
+    while (true) {
+      int currentSize = size.get();
+      if (currentSize >= maxSize) {
+        return null;
+      }
+      if (size.compareAndSet(currentSize, currentSize + 1)) {
+        ScriptEngine scriptEngine = scriptEngineResolver.createScriptEngine(language);
+        if (scriptEngine == null) {
+          size.decrementAndGet();
+        }
+        return scriptEngine;
+      }
+    }
+  }
+
+  protected ScriptEngine awaitIdleEngine() {
+    waitCount.incrementAndGet();
+    long start = System.currentTimeMillis();
+    try {
+      return idleEngines.poll(maxWaitMillis, TimeUnit.MILLISECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+    finally {
+      long waitTime = System.currentTimeMillis() - start;
+      totalWaitTimeMillis.addAndGet(waitTime);
+      if (waitTime > maxWaitTimeMillis) {
+        maxWaitTimeMillis = waitTime;
+      }
+    }
+  }
+
+  public String getLanguage() {
+    return language;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the number of engines created by this pool
+   */
+  public int getSize() {
+    return size.get();
+  }
+
+  public int getIdleCount() {
+    return idleEngines.size();
+  }
+
+  public int getLeasedCount() {
+    return leasedEngines.size();
+  }
+
+  public long getLeaseCount() {
+    return leaseCount.get();
+  }
+
+  /**
+   * @return the number of leases which had to wait for an engine to be released
+   */
+  public long getWaitCount() {
+    return waitCount.get();
+  }
+
+  /**
+   * @return the number of leases which did not get a pooled engine in time
+   */
+  public long getTimeoutCount() {
+    return timeoutCount.get();
+  }
+
+  public long getTotalWaitTimeMillis() {
+    return totalWaitTimeMillis.get();
+  }
+
+  public long getMaxWaitTimeMillis() {
+    return maxWaitTimeMillis;
+  }
+
+}
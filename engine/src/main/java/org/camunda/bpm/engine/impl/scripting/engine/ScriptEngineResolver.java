@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.scripting.engine;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -30,25 +31,49 @@ import javax.script.ScriptEngineManager;
  */
 public class ScriptEngineResolver {
 
-  protected final ScriptEngineManager scriptEngineManager;
+  protected volatile ScriptEngineManager scriptEngineManager;
+
+  /** class loader the script engine manager is created with on first use, if none was given */
+  protected ClassLoader scriptEngineClassLoader;
 
   protected Map<String, ScriptEngine> cachedEngines = new HashMap<String, ScriptEngine>();
 
+  protected Map<String, ScriptEnginePool> scriptEnginePools = new ConcurrentHashMap<String, ScriptEnginePool>();
+  protected int scriptEnginePoolSize = 0;
+  protected long scriptEnginePoolMaxWaitMillis = 0;
+
   public ScriptEngineResolver(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
   }
 
+  /**
+   * Creates a resolver which discovers the available script engines with the
+   * given class loader when the first script engine is resolved.
+   */
+  public ScriptEngineResolver(ClassLoader scriptEngineClassLoader) {
+    this.scriptEngineClassLoader = scriptEngineClassLoader;
+  }
+
   public void addScriptEngineFactory(ScriptEngineFactory scriptEngineFactory) {
-    scriptEngineManager.registerEngineName(scriptEngineFactory.getEngineName(), scriptEngineFactory);
+    getScriptEngineManager().registerEngineName(scriptEngineFactory.getEngineName(), scriptEngineFactory);
   }
 
   public ScriptEngineManager getScriptEngineManager() {
+    if (scriptEngineManager == null) {
+      synchronized (this) {
+        if (scriptEngineManager == null) {
+          scriptEngineManager = new ScriptEngineManager(scriptEngineClassLoader);
+        }
+      }
+    }
     return scriptEngineManager;
   }
 
 
   /**
    * Returns a cached script engine or creates a new script engine if no such engine is currently cached.
+   * If script engine pooling is enabled, engines which cannot be cached are leased from a pool
+   * and must be handed back with {@link #releaseScriptEngine(String, ScriptEngine)}.
    *
    * @param language the language (such as 'groovy' for the script engine)
    * @return the cached engine or null if no script engine can be created for the given language
@@ -61,29 +86,117 @@ public class ScriptEngineResolver {
       scriptEngine = cachedEngines.get(language);
 
       if(scriptEngine == null) {
-        scriptEngine = scriptEngineManager.getEngineByName(language);
+        ScriptEnginePool scriptEnginePool = scriptEnginePools.get(language);
+        if (scriptEnginePool != null) {
+          return scriptEnginePool.lease();
+        }
 
-        if(scriptEngine != null) {
+        scriptEngine = createScriptEngine(language);
 
-          if(ScriptingEngines.GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
-            configureGroovyScriptEngine(scriptEngine);
-          }
+        if(scriptEngine != null) {
 
           if(isCachable(scriptEngine)) {
             cachedEngines.put(language, scriptEngine);
           }
+          else if (isScriptEnginePoolingEnabled()) {
+            getOrCreateScriptEnginePool(language).adopt(scriptEngine);
+          }
 
         }
 
       }
 
     } else {
-      scriptEngine = scriptEngineManager.getEngineByName(language);
+      scriptEngine = getScriptEngineManager().getEngineByName(language);
+    }
+
+    return scriptEngine;
+  }
+
+  /**
+   * Hands a script engine obtained from {@link #getScriptEngine(String, boolean)} back.
+   * Has no effect for engines which are not pooled.
+   */
+  public void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+    ScriptEnginePool scriptEnginePool = scriptEnginePools.get(language);
+    if (scriptEnginePool != null) {
+      scriptEnginePool.release(scriptEngine);
+    }
+  }
+
+  /**
+   * Creates a new script engine for the given language.
+   *
+   * @return the engine or null if no script engine can be created for the given language
+   */
+  public ScriptEngine createScriptEngine(String language) {
+    ScriptEngine scriptEngine = getScriptEngineManager().getEngineByName(language);
+
+    if(scriptEngine != null && ScriptingEngines.GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
+      configureGroovyScriptEngine(scriptEngine);
     }
 
     return scriptEngine;
   }
 
+  /**
+   * Resets the state of a pooled script engine before it is reused, so that global
+   * definitions of one evaluation are not visible to the next one.
+   */
+  public void resetScriptEngine(String language, ScriptEngine scriptEngine) {
+    scriptEngine.setBindings(scriptEngine.createBindings(), ScriptContext.ENGINE_SCOPE);
+
+    if(ScriptingEngines.GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
+      configureGroovyScriptEngine(scriptEngine);
+    }
+  }
+
+  protected ScriptEnginePool getOrCreateScriptEnginePool(String language) {
+    ScriptEnginePool scriptEnginePool = scriptEnginePools.get(language);
+    if (scriptEnginePool == null) {
+      synchronized (scriptEnginePools) {
+        scriptEnginePool = scriptEnginePools.get(language);
+        if (scriptEnginePool == null) {
+          scriptEnginePool = new ScriptEnginePool(language, this, scriptEnginePoolSize, scriptEnginePoolMaxWaitMillis);
+          scriptEnginePools.put(language, scriptEnginePool);
+        }
+      }
+    }
+    return scriptEnginePool;
+  }
+
+  public boolean isScriptEnginePoolingEnabled() {
+    return scriptEnginePoolSize > 0;
+  }
+
+  /**
+   * @return the pool of script engines for the given language or null if engines
+   * of this language are not pooled
+   */
+  public ScriptEnginePool getScriptEnginePool(String language) {
+    return scriptEnginePools.get(language);
+  }
+
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  /**
+   * Sets the maximum number of pooled engines per language for engines which are not
+   * thread-safe. A value of zero or less disables pooling.
+   */
+  public void setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+  }
+
+  public long getScriptEnginePoolMaxWaitMillis() {
+    return scriptEnginePoolMaxWaitMillis;
+  }
+
+  public void setScriptEnginePoolMaxWaitMillis(long scriptEnginePoolMaxWaitMillis) {
+    this.scriptEnginePoolMaxWaitMillis = scriptEnginePoolMaxWaitMillis;
+  }
+
   /**
    * Allows checking whether the script engine can be cached.
    *
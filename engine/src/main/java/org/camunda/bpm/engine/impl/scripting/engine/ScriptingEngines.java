@@ -40,7 +40,8 @@ import org.camunda.bpm.engine.impl.context.Context;
  * This class supports resolving a script engine for a given 'language name' (eg. 'groovy').
  * If the configuration option {@link #enableScriptEngineCaching} is set to true,
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
- * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
+ * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)}). Engines
+ * which are not cachable can be pooled instead, see {@link ScriptEnginePool}.</p>
  *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
@@ -68,6 +69,15 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     this.scriptEngineResolver = new ScriptEngineResolver(scriptEngineManager);
   }
 
+  /**
+   * Creates scripting engines which discover the available script engines with the
+   * given class loader on first use instead of right away.
+   */
+  public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory, ClassLoader scriptEngineClassLoader) {
+    this.scriptEngineResolver = new ScriptEngineResolver(scriptEngineClassLoader);
+    this.scriptBindingsFactory = scriptBindingsFactory;
+  }
+
   public boolean isEnableScriptEngineCaching() {
     return enableScriptEngineCaching;
   }
@@ -76,6 +86,30 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     this.enableScriptEngineCaching = enableScriptEngineCaching;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEngineResolver.getScriptEnginePoolSize();
+  }
+
+  public void setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    scriptEngineResolver.setScriptEnginePoolSize(scriptEnginePoolSize);
+  }
+
+  public long getScriptEnginePoolMaxWaitMillis() {
+    return scriptEngineResolver.getScriptEnginePoolMaxWaitMillis();
+  }
+
+  public void setScriptEnginePoolMaxWaitMillis(long scriptEnginePoolMaxWaitMillis) {
+    scriptEngineResolver.setScriptEnginePoolMaxWaitMillis(scriptEnginePoolMaxWaitMillis);
+  }
+
+  /**
+   * @return the pool of engines for the given language which is used outside of
+   * process applications, or null if engines of this language are not pooled
+   */
+  public ScriptEnginePool getScriptEnginePool(String language) {
+    return scriptEngineResolver.getScriptEnginePool(language);
+  }
+
   public ScriptEngineManager getScriptEngineManager() {
     return scriptEngineResolver.getScriptEngineManager();
   }
@@ -115,6 +149,45 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     return engine;
   }
 
+  /**
+   * Hands back a script engine obtained from {@link #getScriptEngineForLanguage(String)}
+   * once the script evaluation is done. Pooled engines are returned to their pool, for all
+   * other engines this has no effect.
+   *
+   * @param language the name of the script language the engine was looked up for
+   * @param scriptEngine the script engine to release
+   */
+  public void releaseScriptEngine(String language, ScriptEngine scriptEngine) {
+
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    ProcessApplicationReference pa = Context.getCurrentProcessApplication();
+    ProcessEngineConfigurationImpl config = Context.getProcessEngineConfiguration();
+
+    if (config.isEnableFetchScriptEngineFromProcessApplication() && pa != null) {
+      releasePaScriptEngine(language, scriptEngine, pa);
+    }
+
+    scriptEngineResolver.releaseScriptEngine(language, scriptEngine);
+  }
+
+  protected void releasePaScriptEngine(String language, ScriptEngine scriptEngine, ProcessApplicationReference pa) {
+    try {
+      ProcessApplicationInterface processApplication = pa.getProcessApplication();
+      ProcessApplicationInterface rawObject = processApplication.getRawObject();
+
+      if (rawObject instanceof AbstractProcessApplication) {
+        AbstractProcessApplication abstractProcessApplication = (AbstractProcessApplication) rawObject;
+        abstractProcessApplication.releaseScriptEngine(language, scriptEngine);
+      }
+    }
+    catch (ProcessApplicationUnavailableException e) {
+      throw new ProcessEngineException("Process Application is unavailable.", e);
+    }
+  }
+
   protected ScriptEngine getPaScriptEngine(String language, ProcessApplicationReference pa) {
     try {
       ProcessApplicationInterface processApplication = pa.getProcessApplication();
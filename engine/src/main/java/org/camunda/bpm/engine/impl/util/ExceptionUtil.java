@@ -111,6 +111,19 @@ public class ExceptionUtil {
     return false;
   }
 
+  /**
+   * @return true if the cause is an integrity constraint violation, i.e. has an SQL state of class 23
+   */
+  public static boolean checkIntegrityConstraintViolation(Throwable cause) {
+    for (SQLException exception : findRelatedSqlExceptions(cause)) {
+      String sqlState = exception.getSQLState();
+      if (sqlState != null && sqlState.startsWith("23")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public static List<SQLException> findRelatedSqlExceptions(Throwable exception) {
     List<SQLException> sqlExceptionList = new ArrayList<SQLException>();
     Throwable cause = exception;
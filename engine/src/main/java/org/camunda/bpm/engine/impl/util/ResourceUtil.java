@@ -18,7 +18,10 @@ package org.camunda.bpm.engine.impl.util;
 
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
@@ -80,4 +83,34 @@ public final class ResourceUtil {
     }
   }
 
+  /**
+   * Calculates the hash of a deployment resource's content which is stored with the
+   * resource, so that the duplicate check of redeployments can compare hashes instead
+   * of the content.
+   *
+   * @param bytes the resource content
+   * @return the hex encoded SHA-256 hash of the content or <code>null</code> if there is no content
+   */
+  public static String calculateContentHash(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot lookup SHA-256 algorithm", e);
+    }
+
+    byte[] hash = digest.digest(bytes);
+    StringBuilder hexHash = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      hexHash.append(Character.forDigit((b >> 4) & 0xF, 16));
+      hexHash.append(Character.forDigit(b & 0xF, 16));
+    }
+    return hexHash.toString();
+  }
+
 }
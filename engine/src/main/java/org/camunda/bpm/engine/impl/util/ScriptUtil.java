@@ -20,20 +20,29 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureAtLeastOneNotNul
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import javax.script.ScriptEngine;
+
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
+import org.camunda.bpm.engine.impl.scripting.ScriptLogger;
+import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.engine.JuelScriptEngineFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 
 /**
  * @author Sebastian Menski
  */
 public final class ScriptUtil {
 
+  private final static ScriptLogger LOG = ProcessEngineLogger.SCRIPT_LOGGER;
+
   /**
    * Creates a new {@link ExecutableScript} from a source or resource. It excepts static and
    * dynamic sources and resources. Dynamic means that the source or resource is an expression
@@ -109,7 +118,34 @@ public final class ScriptUtil {
   public static ExecutableScript getScriptFromSource(String language, String source, ScriptFactory scriptFactory) {
     ensureNotEmpty(NotValidException.class, "Script language", language);
     ensureNotNull(NotValidException.class, "Script source", source);
-    return scriptFactory.createScriptFromSource(language, source);
+    ExecutableScript script = scriptFactory.createScriptFromSource(language, source);
+    precompileScript(script);
+    return script;
+  }
+
+  /**
+   * Compiles the given script if script pre-compilation is enabled. Failures are logged
+   * but not propagated, the script is then compiled on its first execution.
+   */
+  public static void precompileScript(ExecutableScript script) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null
+        && processEngineConfiguration.isEnableScriptPrecompilation()
+        && script instanceof SourceExecutableScript) {
+      ScriptingEngines scriptingEngines = processEngineConfiguration.getScriptingEngines();
+      try {
+        ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(script.getLanguage());
+        try {
+          ((SourceExecutableScript) script).precompile(scriptEngine);
+        }
+        finally {
+          scriptingEngines.releaseScriptEngine(script.getLanguage(), scriptEngine);
+        }
+      }
+      catch (ProcessEngineException e) {
+        LOG.warnPrecompilingScriptFailed(script.getLanguage(), e);
+      }
+    }
   }
 
   /**
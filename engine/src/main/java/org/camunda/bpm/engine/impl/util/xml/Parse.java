@@ -137,20 +137,7 @@ public class Parse extends DefaultHandler {
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-      saxParserFactory.setFeature(EXTERNAL_GENERAL_ENTITIES, enableXxeProcessing);
-      saxParserFactory.setFeature(DISALLOW_DOCTYPE_DECL, !enableXxeProcessing);
-      saxParserFactory.setFeature(LOAD_EXTERNAL_DTD, enableXxeProcessing);
-      saxParserFactory.setFeature(EXTERNAL_PARAMETER_ENTITIES, enableXxeProcessing);
-      saxParserFactory.setXIncludeAware(enableXxeProcessing);
-      saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-
-      if (schemaResource == null) { // must be done before parser is created
-        saxParserFactory.setNamespaceAware(false);
-        saxParserFactory.setValidating(false);
-      }
-
-      SAXParser saxParser = parser.getSaxParser();
+      SAXParser saxParser = createSaxParser();
       try {
         saxParser.setProperty(JAXP_ACCESS_EXTERNAL_SCHEMA, resolveAccessExternalSchemaProperty());
       } catch (Exception e) {
@@ -169,6 +156,40 @@ public class Parse extends DefaultHandler {
     return this;
   }
 
+  /**
+   * The factory is shared by all parses of the parser, possibly from parallel deployments,
+   * so it is configured and used exclusively. Only the returned parser is used to parse.
+   */
+  protected SAXParser createSaxParser() throws Exception {
+    SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
+    synchronized (saxParserFactory) {
+      saxParserFactory.setFeature(EXTERNAL_GENERAL_ENTITIES, enableXxeProcessing);
+      saxParserFactory.setFeature(DISALLOW_DOCTYPE_DECL, !enableXxeProcessing);
+      saxParserFactory.setFeature(LOAD_EXTERNAL_DTD, enableXxeProcessing);
+      saxParserFactory.setFeature(EXTERNAL_PARAMETER_ENTITIES, enableXxeProcessing);
+      saxParserFactory.setXIncludeAware(enableXxeProcessing);
+      saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+
+      // must be done before parser is created
+      if (schemaResource == null) {
+        saxParserFactory.setNamespaceAware(false);
+        saxParserFactory.setValidating(false);
+      }
+      else {
+        saxParserFactory.setNamespaceAware(true);
+        saxParserFactory.setValidating(true);
+        try {
+          saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+        }
+        catch (Exception e) {
+          LOG.unableToSetSchemaResource(e);
+        }
+      }
+
+      return parser.getSaxParser();
+    }
+  }
+
   /*
    * JAXP allows users to override the default value via system properties and
    * a central properties file (see https://docs.oracle.com/javase/tutorial/jaxp/properties/scope.html).
@@ -257,15 +278,6 @@ public class Parse extends DefaultHandler {
   }
 
   public void setSchemaResource(String schemaResource) {
-    SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
-    try {
-      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-    }
-    catch (Exception e) {
-      LOG.unableToSetSchemaResource(e);
-    }
     this.schemaResource = schemaResource;
   }
 }
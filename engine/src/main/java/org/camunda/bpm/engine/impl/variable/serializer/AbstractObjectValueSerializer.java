@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.variable.serializer;
 
+import java.util.Arrays;
+
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.impl.value.ObjectValueImpl;
@@ -94,6 +96,36 @@ public abstract class AbstractObjectValueSerializer extends AbstractSerializable
     return typedValue.isDeserialized();
   }
 
+  /**
+   * Checks if a deserialized value was changed since it was written to the given value fields.
+   * In contrast to {@link #writeValue(ObjectValue, ValueFields)}, neither the value nor the
+   * value fields are updated and no string representation of the serialized value is created.
+   *
+   * @return true if the serialized form of the value differs from the one in the value fields
+   */
+  public boolean isValueChanged(ObjectValue value, ValueFields valueFields) {
+    byte[] serializedValue = readSerializedValueFromFields(valueFields);
+
+    Object deserializedObject = value.getValue();
+    if (deserializedObject == null) {
+      return serializedValue != null;
+    }
+
+    try {
+      return !Arrays.equals(serializedValue, serializeToByteArray(deserializedObject));
+    } catch(Exception e) {
+      throw new ProcessEngineException("Cannot serialize object in variable '"+valueFields.getName()+"': "+e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Removes everything the serializer remembers about classes of the given class loader.
+   * Called when a process application is undeployed. Does nothing by default.
+   */
+  public void purgeClasses(ClassLoader classLoader) {
+    // nothing remembered by default
+  }
+
   // methods to be implemented by subclasses ////////////
 
   /**
@@ -17,8 +17,11 @@
 package org.camunda.bpm.engine.impl.variable.serializer;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
 import org.camunda.bpm.engine.impl.util.StringUtil;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.SerializedValueCompressor;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
 import org.camunda.bpm.engine.variable.type.SerializableValueType;
 import org.camunda.bpm.engine.variable.value.SerializableValue;
@@ -65,7 +68,7 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
     }
 
     // write value and type to fields.
-    writeToValueFields(value, valueFields, serializedByteValue);
+    writeToValueFields(value, valueFields, compressSerializedValue(serializedByteValue));
 
     // update the ObjectValue to keep it consistent with value fields.
     updateTypedValue(value, serializedStringValue);
@@ -102,7 +105,21 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
   protected abstract void updateTypedValue(T value, String serializedStringValue);
 
   protected byte[] readSerializedValueFromFields(ValueFields valueFields) {
-    return valueFields.getByteArrayValue();
+    return getSerializedValueCompressor().decompress(valueFields.getByteArrayValue());
+  }
+
+  protected byte[] compressSerializedValue(byte[] serializedByteValue) {
+    return getSerializedValueCompressor().compress(serializedByteValue);
+  }
+
+  protected SerializedValueCompressor getSerializedValueCompressor() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.getSerializedValueCompressor() != null) {
+      return processEngineConfiguration.getSerializedValueCompressor();
+    }
+    else {
+      return SerializedValueCompressor.DEFAULT;
+    }
   }
 
   protected String getSerializedStringValue(byte[] serializedByteValue) {
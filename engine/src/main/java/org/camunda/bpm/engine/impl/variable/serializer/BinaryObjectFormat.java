@@ -0,0 +1,379 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * <p>Schema-less binary encoding of object graphs consisting of <code>null</code>, strings, booleans,
+ * numbers, dates, byte arrays, lists and maps with string keys. Each value is written as a one byte
+ * tag followed by its content; integral numbers and lengths are written as variable length
+ * integers, so small values take up a single byte.</p>
+ *
+ * <p>Values are read directly from the serialized byte array without intermediate streams or
+ * buffers; only byte array values are copied, so that the serialized form cannot be modified
+ * through the deserialized object.</p>
+ */
+public class BinaryObjectFormat {
+
+  protected static final byte HEADER = (byte) 0xCB;
+  protected static final byte VERSION = 1;
+
+  protected static final byte NULL = 0;
+  protected static final byte TRUE = 1;
+  protected static final byte FALSE = 2;
+  protected static final byte SHORT = 3;
+  protected static final byte INTEGER = 4;
+  protected static final byte LONG = 5;
+  protected static final byte FLOAT = 6;
+  protected static final byte DOUBLE = 7;
+  protected static final byte STRING = 8;
+  protected static final byte BYTES = 9;
+  protected static final byte DATE = 10;
+  protected static final byte LIST = 11;
+  protected static final byte MAP = 12;
+
+  /** guards against cyclic object graphs */
+  protected static final int MAX_DEPTH = 256;
+
+  /**
+   * @return true if the value and all values it contains can be written in this format
+   */
+  public static boolean canWrite(Object value) {
+    return canWrite(value, 0);
+  }
+
+  protected static boolean canWrite(Object value, int depth) {
+    if (depth > MAX_DEPTH) {
+      return false;
+    }
+
+    if (value == null
+        || value instanceof String
+        || value instanceof Boolean
+        || value instanceof Short
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Float
+        || value instanceof Double
+        || value instanceof byte[]
+        // subclasses like timestamps have additional state which would be lost
+        || value.getClass() == Date.class) {
+      return true;
+    }
+    else if (value instanceof List) {
+      for (Object element : (List<?>) value) {
+        if (!canWrite(element, depth + 1)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    else if (value instanceof Map) {
+      for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        if (!(entry.getKey() instanceof String) || !canWrite(entry.getValue(), depth + 1)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    else {
+      return false;
+    }
+  }
+
+  /**
+   * @return the name of the type that {@link #read(byte[])} returns for a written value;
+   * lists and maps are always read as {@link ArrayList} and {@link LinkedHashMap}
+   */
+  public static String getReadTypeName(Object value) {
+    if (value instanceof List) {
+      return ArrayList.class.getName();
+    }
+    else if (value instanceof Map) {
+      return LinkedHashMap.class.getName();
+    }
+    else {
+      return value.getClass().getName();
+    }
+  }
+
+  public static byte[] write(Object value) {
+    Output output = new Output();
+    output.writeByte(HEADER);
+    output.writeByte(VERSION);
+    output.writeValue(value);
+    return output.toByteArray();
+  }
+
+  public static Object read(byte[] bytes) {
+    Input input = new Input(bytes);
+    if (input.readByte() != HEADER) {
+      throw new IllegalArgumentException("Value is not in binary object format");
+    }
+    byte version = input.readByte();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported binary object format version " + version);
+    }
+
+    Object value = input.readValue();
+    if (input.position != bytes.length) {
+      throw new IllegalArgumentException("Unexpected trailing bytes at position " + input.position);
+    }
+    return value;
+  }
+
+  protected static class Output {
+
+    protected byte[] buffer = new byte[64];
+    protected int position;
+
+    protected void writeValue(Object value) {
+      if (value == null) {
+        writeByte(NULL);
+      }
+      else if (value instanceof String) {
+        writeByte(STRING);
+        writeString((String) value);
+      }
+      else if (value instanceof Boolean) {
+        writeByte((Boolean) value ? TRUE : FALSE);
+      }
+      else if (value instanceof Short) {
+        writeByte(SHORT);
+        writeVarLong(zigZag((Short) value));
+      }
+      else if (value instanceof Integer) {
+        writeByte(INTEGER);
+        writeVarLong(zigZag((Integer) value));
+      }
+      else if (value instanceof Long) {
+        writeByte(LONG);
+        writeVarLong(zigZag((Long) value));
+      }
+      else if (value instanceof Float) {
+        writeByte(FLOAT);
+        writeFixed(Float.floatToIntBits((Float) value), 4);
+      }
+      else if (value instanceof Double) {
+        writeByte(DOUBLE);
+        writeFixed(Double.doubleToLongBits((Double) value), 8);
+      }
+      else if (value instanceof byte[]) {
+        byte[] bytes = (byte[]) value;
+        writeByte(BYTES);
+        writeVarLong(bytes.length);
+        writeBytes(bytes);
+      }
+      else if (value instanceof Date) {
+        writeByte(DATE);
+        writeVarLong(zigZag(((Date) value).getTime()));
+      }
+      else if (value instanceof List) {
+        List<?> list = (List<?>) value;
+        writeByte(LIST);
+        writeVarLong(list.size());
+        for (Object element : list) {
+          writeValue(element);
+        }
+      }
+      else if (value instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        writeByte(MAP);
+        writeVarLong(map.size());
+        for (Entry<?, ?> entry : map.entrySet()) {
+          writeString((String) entry.getKey());
+          writeValue(entry.getValue());
+        }
+      }
+      else {
+        throw new IllegalArgumentException("Cannot write value of type " + value.getClass().getName());
+      }
+    }
+
+    protected void writeString(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(bytes.length);
+      writeBytes(bytes);
+    }
+
+    protected void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[position++] = (byte) value;
+    }
+
+    protected void writeFixed(long value, int length) {
+      ensureCapacity(length);
+      for (int shift = (length - 1) * 8; shift >= 0; shift -= 8) {
+        buffer[position++] = (byte) (value >>> shift);
+      }
+    }
+
+    protected void writeByte(byte value) {
+      ensureCapacity(1);
+      buffer[position++] = value;
+    }
+
+    protected void writeBytes(byte[] bytes) {
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    protected void ensureCapacity(int length) {
+      if (position + length > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+      }
+    }
+
+    protected byte[] toByteArray() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    protected static long zigZag(long value) {
+      return (value << 1) ^ (value >> 63);
+    }
+  }
+
+  protected static class Input {
+
+    protected final byte[] bytes;
+    protected int position;
+
+    protected Input(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    protected Object readValue() {
+      byte tag = readByte();
+      switch (tag) {
+        case NULL:
+          return null;
+        case TRUE:
+          return Boolean.TRUE;
+        case FALSE:
+          return Boolean.FALSE;
+        case SHORT:
+          return (short) unZigZag(readVarLong());
+        case INTEGER:
+          return (int) unZigZag(readVarLong());
+        case LONG:
+          return unZigZag(readVarLong());
+        case FLOAT:
+          return Float.intBitsToFloat((int) readFixed(4));
+        case DOUBLE:
+          return Double.longBitsToDouble(readFixed(8));
+        case STRING:
+          return readString();
+        case BYTES: {
+          int length = readLength();
+          byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+          position += length;
+          return value;
+        }
+        case DATE:
+          return new Date(unZigZag(readVarLong()));
+        case LIST: {
+          int size = readLength();
+          List<Object> list = new ArrayList<>(size);
+          for (int i = 0; i < size; i++) {
+            list.add(readValue());
+          }
+          return list;
+        }
+        case MAP: {
+          int size = readLength();
+          Map<String, Object> map = new LinkedHashMap<>(Math.max((int) (size / .75f) + 1, 16));
+          for (int i = 0; i < size; i++) {
+            String key = readString();
+            map.put(key, readValue());
+          }
+          return map;
+        }
+        default:
+          throw new IllegalArgumentException("Unknown tag " + tag + " at position " + (position - 1));
+      }
+    }
+
+    protected String readString() {
+      int length = readLength();
+      String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    /**
+     * Reads a length or size, which can never exceed the number of remaining bytes,
+     * since each byte or element takes up at least one byte.
+     */
+    protected int readLength() {
+      long length = readVarLong();
+      if (length < 0 || length > bytes.length - position) {
+        throw new IllegalArgumentException("Invalid length " + length + " at position " + position);
+      }
+      return (int) length;
+    }
+
+    protected long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed variable length integer at position " + position);
+    }
+
+    protected long readFixed(int length) {
+      ensureAvailable(length);
+      long value = 0;
+      for (int i = 0; i < length; i++) {
+        value = (value << 8) | (bytes[position++] & 0xFF);
+      }
+      return value;
+    }
+
+    protected byte readByte() {
+      ensureAvailable(1);
+      return bytes[position++];
+    }
+
+    protected void ensureAvailable(int length) {
+      if (position + length > bytes.length) {
+        throw new IllegalArgumentException("Unexpected end of value at position " + position);
+      }
+    }
+
+    protected static long unZigZag(long value) {
+      return (value >>> 1) ^ -(value & 1);
+    }
+  }
+
+}
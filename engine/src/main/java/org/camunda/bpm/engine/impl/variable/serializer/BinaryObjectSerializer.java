@@ -0,0 +1,62 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+
+/**
+ * Serializes object values in the compact {@link SerializationDataFormats#BINARY binary data format}.
+ *
+ * @see BinaryObjectFormat
+ */
+public class BinaryObjectSerializer extends AbstractObjectValueSerializer {
+
+  public static final String NAME = "binary-object";
+
+  public BinaryObjectSerializer() {
+    super(SerializationDataFormats.BINARY.getName());
+  }
+
+  public String getName() {
+    return NAME;
+  }
+
+  protected boolean isSerializationTextBased() {
+    return false;
+  }
+
+  protected Object deserializeFromByteArray(byte[] bytes, String objectTypeName) throws Exception {
+    return BinaryObjectFormat.read(bytes);
+  }
+
+  protected byte[] serializeToByteArray(Object deserializedObject) throws Exception {
+    return BinaryObjectFormat.write(deserializedObject);
+  }
+
+  /**
+   * The type of the value as it is deserialized, which is not necessarily the
+   * type of the serialized value, e.g. every list is deserialized as an array list.
+   */
+  protected String getTypeNameForDeserialized(Object deserializedObject) {
+    return BinaryObjectFormat.getReadTypeName(deserializedObject);
+  }
+
+  protected boolean canSerializeValue(Object value) {
+    return BinaryObjectFormat.canWrite(value);
+  }
+
+}
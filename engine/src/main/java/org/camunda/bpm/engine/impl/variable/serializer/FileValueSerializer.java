@@ -18,6 +18,9 @@ package org.camunda.bpm.engine.impl.variable.serializer;
 
 import java.util.Arrays;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
@@ -74,26 +77,54 @@ public class FileValueSerializer extends AbstractTypedValueSerializer<FileValue>
       // ensure file name is not null
       fileName = "";
     }
-    FileValueBuilder builder = Variables.fileValue(fileName);
-    if (valueFields.getByteArrayValue() != null) {
-      builder.file(valueFields.getByteArrayValue());
-    }
+
+    String mimeType = null;
+    String encoding = null;
     // to ensure the same array size all the time
     if (valueFields.getTextValue2() != null) {
       String[] split = Arrays.copyOf(valueFields.getTextValue2().split(MIMETYPE_ENCODING_SEPARATOR, NR_OF_VALUES_IN_TEXTFIELD2), NR_OF_VALUES_IN_TEXTFIELD2);
 
-      String mimeType = returnNullIfEmptyString(split[0]);
-      String encoding = returnNullIfEmptyString(split[1]);
+      mimeType = returnNullIfEmptyString(split[0]);
+      encoding = returnNullIfEmptyString(split[1]);
+    }
 
-      builder.mimeType(mimeType);
-      builder.encoding(encoding);
+    if (!deserializeValue && !asTransientValue && isContentFetchedLazily(valueFields)) {
+      CommandExecutor commandExecutor = Context.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+      String byteArrayId = ((LazyByteArrayValueFields) valueFields).getByteArrayValueId();
+      return new LazyFileValueImpl(byteArrayId, commandExecutor, ValueType.FILE, fileName, mimeType, encoding);
+    }
+
+    FileValueBuilder builder = Variables.fileValue(fileName);
+    if (valueFields.getByteArrayValue() != null) {
+      builder.file(valueFields.getByteArrayValue());
     }
 
+    builder.mimeType(mimeType);
+    builder.encoding(encoding);
+
     builder.setTransient(asTransientValue);
 
     return builder.create();
   }
 
+  /**
+   * The content of a file value is fetched on first access if the byte array is stored
+   * separately and has not been fetched yet; else it is part of the value right away.
+   */
+  protected boolean isContentFetchedLazily(ValueFields valueFields) {
+    if (!(valueFields instanceof LazyByteArrayValueFields)) {
+      return false;
+    }
+
+    LazyByteArrayValueFields lazyValueFields = (LazyByteArrayValueFields) valueFields;
+    if (lazyValueFields.getByteArrayValueId() == null || lazyValueFields.isByteArrayValueFetched()) {
+      return false;
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null && processEngineConfiguration.isLazyFileValueFetchingEnabled();
+  }
+
   protected String returnNullIfEmptyString(String s) {
     if (s.isEmpty()) {
       return null;
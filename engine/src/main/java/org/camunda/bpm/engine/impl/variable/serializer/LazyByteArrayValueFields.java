@@ -0,0 +1,35 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+/**
+ * {@link ValueFields} whose byte array value is stored in a separate byte array entity
+ * which is only fetched from the database when the byte array value is accessed.
+ */
+public interface LazyByteArrayValueFields extends ValueFields {
+
+  /**
+   * @return the id of the byte array entity holding the byte array value or null if there is none
+   */
+  String getByteArrayValueId();
+
+  /**
+   * @return true if the byte array value has already been fetched from the database
+   */
+  boolean isByteArrayValueFetched();
+
+}
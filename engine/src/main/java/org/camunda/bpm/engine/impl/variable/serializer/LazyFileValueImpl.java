@@ -0,0 +1,97 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.io.InputStream;
+import java.io.ObjectStreamException;
+
+import org.camunda.bpm.engine.impl.cmd.GetByteArrayValueCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
+import org.camunda.bpm.engine.variable.type.FileValueType;
+
+/**
+ * <p>A {@link FileValueImpl} whose content is only fetched from the database when it is
+ * accessed for the first time. It is created when a file variable is read without
+ * deserializing its value, e.g. when listing variables, where typically only the
+ * file name and mime type are of interest.</p>
+ *
+ * <p>The content is fetched in a separate command if the value is accessed outside of
+ * the command that read the variable. It then reflects the state of the byte array at
+ * the time it is accessed and is null if the variable has been deleted in the meantime.
+ * Once fetched, the content is kept in the value and not fetched again.</p>
+ *
+ * <p>Only created if {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isLazyFileValueFetchingEnabled()}
+ * is set.</p>
+ */
+public class LazyFileValueImpl extends FileValueImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String byteArrayId;
+  protected transient CommandExecutor commandExecutor;
+  protected volatile boolean isContentFetched;
+
+  public LazyFileValueImpl(String byteArrayId, CommandExecutor commandExecutor, FileValueType type, String filename, String mimeType, String encoding) {
+    super(null, type, filename, mimeType, encoding);
+    this.byteArrayId = byteArrayId;
+    this.commandExecutor = commandExecutor;
+  }
+
+  @Override
+  public InputStream getValue() {
+    fetchContent();
+    return super.getValue();
+  }
+
+  @Override
+  public byte[] getByteArray() {
+    fetchContent();
+    return super.getByteArray();
+  }
+
+  @Override
+  public void setValue(byte[] bytes) {
+    super.setValue(bytes);
+    isContentFetched = true;
+  }
+
+  public String getByteArrayId() {
+    return byteArrayId;
+  }
+
+  public boolean isContentFetched() {
+    return isContentFetched;
+  }
+
+  protected void fetchContent() {
+    if (!isContentFetched) {
+      value = commandExecutor.execute(new GetByteArrayValueCmd(byteArrayId));
+      isContentFetched = true;
+    }
+  }
+
+  /**
+   * The command executor cannot be serialized, so a serialized value always contains its content.
+   */
+  protected Object writeReplace() throws ObjectStreamException {
+    FileValueImpl fileValue = new FileValueImpl(getByteArray(), type, filename, mimeType, encoding);
+    fileValue.setTransient(isTransient);
+    return fileValue;
+  }
+
+}
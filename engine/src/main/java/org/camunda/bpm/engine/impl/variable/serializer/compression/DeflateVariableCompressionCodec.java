@@ -0,0 +1,98 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * Compresses values with the DEFLATE algorithm of {@link Deflater}. By default, the fastest
+ * compression level is used since most of the size reduction of textual serialization
+ * formats like JSON and XML is already achieved on that level.
+ */
+public class DeflateVariableCompressionCodec implements VariableCompressionCodec {
+
+  public static final byte ID = 1;
+
+  protected static final int BUFFER_SIZE = 4096;
+
+  protected int compressionLevel;
+
+  public DeflateVariableCompressionCodec() {
+    this(Deflater.BEST_SPEED);
+  }
+
+  public DeflateVariableCompressionCodec(int compressionLevel) {
+    this.compressionLevel = compressionLevel;
+  }
+
+  public byte getId() {
+    return ID;
+  }
+
+  public byte[] compress(byte[] bytes) {
+    Deflater deflater = new Deflater(compressionLevel);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(bytes.length / 4, 64));
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!deflater.finished()) {
+        int length = deflater.deflate(buffer);
+        outputStream.write(buffer, 0, length);
+      }
+      return outputStream.toByteArray();
+    }
+    finally {
+      deflater.end();
+    }
+  }
+
+  public byte[] decompress(byte[] bytes) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes);
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 4);
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        int length = inflater.inflate(buffer);
+        if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new ProcessEngineException("Cannot decompress value: unexpected end of compressed data");
+        }
+        outputStream.write(buffer, 0, length);
+      }
+      return outputStream.toByteArray();
+    }
+    catch (DataFormatException e) {
+      throw new ProcessEngineException("Cannot decompress value: " + e.getMessage(), e);
+    }
+    finally {
+      inflater.end();
+    }
+  }
+
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+}
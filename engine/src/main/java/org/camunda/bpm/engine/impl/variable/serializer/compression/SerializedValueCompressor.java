@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compression;
+
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Optionally compresses the serialized values of object variables (e.g. JSON, XML or
+ * Java serialized objects) before they are written to the database, and decompresses them
+ * when they are read.</p>
+ *
+ * <p>A compressed value starts with a {@link #MARKER} followed by the id of the
+ * {@link VariableCompressionCodec} which compressed it. None of the serialization formats
+ * of object values starts with the marker, so values written before compression was enabled
+ * are read as they are. Values are only compressed if they are at least as large as the
+ * threshold and if the compression actually reduces their size.</p>
+ */
+public class SerializedValueCompressor {
+
+  public static final byte[] MARKER = { 0, 'C', 'Z' };
+
+  protected static final int HEADER_LENGTH = MARKER.length + 1;
+
+  protected static final VariableCompressionCodec DEFAULT_CODEC = new DeflateVariableCompressionCodec();
+
+  /**
+   * Does not compress values, but decompresses values compressed by the default codec.
+   */
+  public static final SerializedValueCompressor DEFAULT = new SerializedValueCompressor(DEFAULT_CODEC, -1);
+
+  protected final VariableCompressionCodec codec;
+  protected final int threshold;
+
+  /**
+   * @param codec the codec used to compress values
+   * @param threshold the minimal size in bytes of values which are compressed, -1 to compress no values
+   */
+  public SerializedValueCompressor(VariableCompressionCodec codec, int threshold) {
+    this.codec = codec;
+    this.threshold = threshold;
+  }
+
+  public boolean isCompressionEnabled() {
+    return threshold >= 0;
+  }
+
+  public byte[] compress(byte[] bytes) {
+    if (bytes == null || !isCompressionEnabled() || bytes.length < threshold) {
+      return bytes;
+    }
+
+    byte[] compressedBytes = codec.compress(bytes);
+    if (compressedBytes.length + HEADER_LENGTH >= bytes.length) {
+      // not worth it, keep the value readable without decompression
+      return bytes;
+    }
+
+    byte[] result = new byte[compressedBytes.length + HEADER_LENGTH];
+    System.arraycopy(MARKER, 0, result, 0, MARKER.length);
+    result[MARKER.length] = codec.getId();
+    System.arraycopy(compressedBytes, 0, result, HEADER_LENGTH, compressedBytes.length);
+    return result;
+  }
+
+  public byte[] decompress(byte[] bytes) {
+    if (!isCompressed(bytes)) {
+      return bytes;
+    }
+
+    byte codecId = bytes[MARKER.length];
+    VariableCompressionCodec decompressingCodec = getCodec(codecId);
+    if (decompressingCodec == null) {
+      throw new ProcessEngineException("Cannot decompress value: no compression codec with id '" + codecId + "' is configured");
+    }
+
+    return decompressingCodec.decompress(Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length));
+  }
+
+  protected VariableCompressionCodec getCodec(byte codecId) {
+    if (codec != null && codec.getId() == codecId) {
+      return codec;
+    }
+    else if (DEFAULT_CODEC.getId() == codecId) {
+      return DEFAULT_CODEC;
+    }
+    else {
+      return null;
+    }
+  }
+
+  public static boolean isCompressed(byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < MARKER.length; i++) {
+      if (bytes[i] != MARKER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public VariableCompressionCodec getCodec() {
+    return codec;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+}
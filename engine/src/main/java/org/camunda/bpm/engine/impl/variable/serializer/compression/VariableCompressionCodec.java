@@ -0,0 +1,37 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compression;
+
+/**
+ * Compresses the serialized values of variables before they are stored in the database.
+ *
+ * @see SerializedValueCompressor
+ */
+public interface VariableCompressionCodec {
+
+  /**
+   * @return the id of the codec which is stored with each compressed value, so that
+   * the value can be decompressed by the same codec later on. Ids up to 15 are reserved
+   * for codecs provided by the process engine.
+   */
+  byte getId();
+
+  byte[] compress(byte[] bytes);
+
+  byte[] decompress(byte[] bytes);
+
+}
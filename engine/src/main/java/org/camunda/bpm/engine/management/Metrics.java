@@ -73,4 +73,20 @@ public class Metrics {
   public final static String HISTORY_CLEANUP_REMOVED_CASE_INSTANCES = "history-cleanup-removed-case-instances";
   public final static String HISTORY_CLEANUP_REMOVED_DECISION_INSTANCES = "history-cleanup-removed-decision-instances";
   public final static String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
+
+  /**
+   * Number of hits, misses and evictions of weighted deployment caches, see
+   * {@link org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCacheFactory}.
+   */
+  public final static String DEPLOYMENT_CACHE_HIT = "deployment-cache-hit";
+  public final static String DEPLOYMENT_CACHE_MISS = "deployment-cache-miss";
+  public final static String DEPLOYMENT_CACHE_EVICTION = "deployment-cache-eviction";
+
+  /**
+   * Number of hits, misses and evictions of the cache of compiled scripts, see
+   * {@link org.camunda.bpm.engine.impl.scripting.CompiledScriptCache}.
+   */
+  public final static String COMPILED_SCRIPT_CACHE_HIT = "compiled-script-cache-hit";
+  public final static String COMPILED_SCRIPT_CACHE_MISS = "compiled-script-cache-miss";
+  public final static String COMPILED_SCRIPT_CACHE_EVICTION = "compiled-script-cache-eviction";
 }
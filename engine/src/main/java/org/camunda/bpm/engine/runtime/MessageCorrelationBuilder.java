@@ -144,6 +144,18 @@ public interface MessageCorrelationBuilder {
    */
   MessageCorrelationBuilder setVariablesLocal(Map<String, Object> variables);
 
+  /**
+   * <p>Pass a value to the in-memory context of the process instance which receives the
+   * message. The value is never persisted and can be read by delegates and expressions
+   * during the transaction which correlates the message.</p>
+   *
+   * @param name the name of the value
+   * @param value the value
+   * @return the builder
+   * @see org.camunda.bpm.engine.delegate.DelegateExecution#getInMemoryValue(String)
+   */
+  MessageCorrelationBuilder setInMemoryValue(String name, Object value);
+
   /**
    * Specify a tenant to deliver the message to. The message can only be
    * received on executions or process definitions which belongs to the given
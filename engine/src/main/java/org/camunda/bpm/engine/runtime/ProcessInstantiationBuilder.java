@@ -50,6 +50,15 @@ public interface ProcessInstantiationBuilder
    */
   ProcessInstantiationBuilder caseInstanceId(String caseInstanceId);
 
+  /**
+   * Pass a value to the in-memory context of the process instance. The value is never
+   * persisted and can be read by delegates and expressions during the transaction which
+   * starts the process instance.
+   *
+   * @see org.camunda.bpm.engine.delegate.DelegateExecution#getInMemoryValue(String)
+   */
+  ProcessInstantiationBuilder setInMemoryValue(String name, Object value);
+
   /**
    * Start the process instance.
    *
@@ -58,6 +58,7 @@ create table ACT_GE_BYTEARRAY (
     CREATE_TIME_ datetime2,
     ROOT_PROC_INST_ID_ nvarchar(64),
     REMOVAL_TIME_ datetime2,
+    HASH_ nvarchar(64),
     primary key (ID_)
 );
 
@@ -229,6 +230,14 @@ create table ACT_RU_VARIABLE (
     primary key (ID_)
 );
 
+create table ACT_RU_VAR_INDEX (
+    ID_ nvarchar(64) not null,
+    NAME_ nvarchar(255) not null,
+    VALUE_ nvarchar(128),
+    PROC_INST_ID_ nvarchar(64),
+    primary key (ID_)
+);
+
 create table ACT_RU_EVENT_SUBSCR (
     ID_ nvarchar(64) not null,
     REV_ int,
@@ -351,6 +360,7 @@ create index ACT_IDX_EVENT_SUBSCR_TENANT_ID on ACT_RU_EVENT_SUBSCR(TENANT_ID_);
 create index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE(TASK_ID_);
 create index ACT_IDX_VARIABLE_TENANT_ID on ACT_RU_VARIABLE(TENANT_ID_);
 create index ACT_IDX_VARIABLE_TASK_NAME_TYPE on ACT_RU_VARIABLE(TASK_ID_, NAME_, TYPE_);
+create index ACT_IDX_VAR_INDEX_NAME_VAL on ACT_RU_VAR_INDEX(NAME_, VALUE_, PROC_INST_ID_);
 
 create index ACT_IDX_ATHRZ_PROCEDEF on ACT_RU_IDENTITYLINK(PROC_DEF_ID_);
 create index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT(CONFIGURATION_);
@@ -26,6 +26,7 @@ drop index ACT_IDX_IDENT_LNK_USER;
 drop index ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_IDX_VARIABLE_TASK_ID;
 drop index ACT_IDX_VARIABLE_TASK_NAME_TYPE;
+drop index ACT_IDX_VAR_INDEX_NAME_VAL;
 drop index ACT_IDX_INC_CONFIGURATION;
 drop index ACT_IDX_JOB_PROCINST;
 drop index ACT_UNIQ_AUTH_USER;
@@ -191,6 +192,7 @@ drop table ACT_GE_BYTEARRAY;
 drop table ACT_RE_DEPLOYMENT;
 drop table ACT_RE_PROCDEF;
 drop table ACT_RU_VARIABLE;
+drop table ACT_RU_VAR_INDEX;
 drop table ACT_RU_IDENTITYLINK;
 drop table ACT_RU_TASK;
 drop table ACT_RU_EXECUTION;
@@ -26,6 +26,7 @@ drop index ACT_IDX_IDENT_LNK_USER;
 drop index ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_IDX_VARIABLE_TASK_ID;
 drop index ACT_IDX_VARIABLE_TASK_NAME_TYPE;
+drop index ACT_IDX_VAR_INDEX_NAME_VAL;
 drop index ACT_IDX_INC_CONFIGURATION;
 drop index ACT_IDX_JOB_PROCINST;
 drop index ACT_IDX_AUTH_GROUP_ID;
@@ -189,6 +190,7 @@ drop table ACT_RE_PROCDEF if exists;
 drop table ACT_RU_TASK if exists;
 drop table ACT_RU_IDENTITYLINK if exists;
 drop table ACT_RU_VARIABLE if exists;
+drop table ACT_RU_VAR_INDEX if exists;
 drop table ACT_RU_EVENT_SUBSCR if exists;
 drop table ACT_RU_INCIDENT if exists;
 drop table ACT_RU_AUTHORIZATION if exists;
@@ -26,6 +26,7 @@ drop index ACT_RU_IDENTITYLINK.ACT_IDX_IDENT_LNK_USER;
 drop index ACT_RU_IDENTITYLINK.ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_RU_VARIABLE.ACT_IDX_VARIABLE_TASK_ID;
 drop index ACT_RU_VARIABLE.ACT_IDX_VARIABLE_TASK_NAME_TYPE;
+drop index ACT_RU_VAR_INDEX.ACT_IDX_VAR_INDEX_NAME_VAL;
 drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_CONFIG_;
 drop index ACT_RU_INCIDENT.ACT_IDX_INC_CONFIGURATION;
 drop index ACT_RU_JOB.ACT_IDX_JOB_PROCINST;
@@ -194,6 +195,7 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_IDENTITYLINK') drop table ACT_RU_IDENTITYLINK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_TASK') drop table ACT_RU_TASK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_VARIABLE') drop table ACT_RU_VARIABLE;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_VAR_INDEX') drop table ACT_RU_VAR_INDEX;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXECUTION') drop table ACT_RU_EXECUTION;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EVENT_SUBSCR') drop table ACT_RU_EVENT_SUBSCR;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_JOB') drop table ACT_RU_JOB;
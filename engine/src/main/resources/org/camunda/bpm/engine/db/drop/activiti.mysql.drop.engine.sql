@@ -26,6 +26,7 @@ drop index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE;
 drop index ACT_IDX_VARIABLE_TASK_NAME_TYPE on ACT_RU_VARIABLE;
+drop index ACT_IDX_VAR_INDEX_NAME_VAL on ACT_RU_VAR_INDEX;
 drop index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT;
 drop index ACT_IDX_JOB_PROCINST on ACT_RU_JOB;
 drop index ACT_IDX_AUTH_GROUP_ID on ACT_RU_AUTHORIZATION;
@@ -172,6 +173,7 @@ drop index ACT_IDX_BATCH_ID on ACT_RU_VARIABLE;
 
 drop table if exists ACT_GE_PROPERTY;
 drop table if exists ACT_RU_VARIABLE;
+drop table if exists ACT_RU_VAR_INDEX;
 drop table if exists ACT_GE_BYTEARRAY;
 drop table if exists ACT_RE_DEPLOYMENT;
 drop table if exists ACT_RU_IDENTITYLINK;
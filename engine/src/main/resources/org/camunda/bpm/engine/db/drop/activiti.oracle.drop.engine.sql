@@ -197,6 +197,7 @@ drop table  ACT_RE_DEPLOYMENT;
 drop table  ACT_RE_PROCDEF;
 drop table  ACT_RU_IDENTITYLINK;
 drop table  ACT_RU_VARIABLE;
+drop table  ACT_RU_VAR_INDEX;
 drop table  ACT_RU_TASK;
 drop table  ACT_RU_EXECUTION;
 drop table  ACT_RU_JOB;
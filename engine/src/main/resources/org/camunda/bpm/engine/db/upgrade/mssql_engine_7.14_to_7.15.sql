@@ -16,4 +16,17 @@
 --
 
 insert into ACT_GE_SCHEMA_LOG
-values ('400', CURRENT_TIMESTAMP, '7.15.0');
\ No newline at end of file
+values ('400', CURRENT_TIMESTAMP, '7.15.0');
+
+create table ACT_RU_VAR_INDEX (
+    ID_ nvarchar(64) not null,
+    NAME_ nvarchar(255) not null,
+    VALUE_ nvarchar(128),
+    PROC_INST_ID_ nvarchar(64),
+    primary key (ID_)
+);
+
+create index ACT_IDX_VAR_INDEX_NAME_VAL on ACT_RU_VAR_INDEX(NAME_, VALUE_, PROC_INST_ID_);
+
+alter table ACT_GE_BYTEARRAY
+    add HASH_ nvarchar(64);
@@ -0,0 +1,116 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+public class StartupProfilerTest {
+
+  protected StartupProfiler startupProfiler = new StartupProfiler();
+
+  @Test
+  public void shouldRecordStepsInOrderOfCompletion() {
+    // when
+    startupProfiler.profile("first", () -> {});
+    startupProfiler.profile("second", () -> {});
+
+    // then
+    assertThat(startupProfiler.getStepDurations().keySet()).containsExactly("first", "second");
+  }
+
+  @Test
+  public void shouldRecordNestedStepAsChild() {
+    // when
+    startupProfiler.profile("parent", () -> startupProfiler.profile("child", () -> {}));
+    startupProfiler.profile("other", () -> {});
+
+    // then
+    assertThat(startupProfiler.getStepDurations().keySet()).containsExactly("parent/child", "parent", "other");
+  }
+
+  @Test
+  public void shouldExcludeDurationOfNestedSteps() {
+    // when
+    startupProfiler.profile("parent", () -> {
+      startupProfiler.profile("child", () -> sleep(200));
+      sleep(50);
+    });
+
+    // then
+    Map<String, Long> stepDurations = startupProfiler.getStepDurations();
+    assertThat(stepDurations.get("parent/child")).isGreaterThanOrEqualTo(200);
+    assertThat(stepDurations.get("parent")).isGreaterThanOrEqualTo(50).isLessThan(200);
+    assertThat(startupProfiler.getSlowestSteps(1)).containsExactly("parent/child");
+  }
+
+  @Test
+  public void shouldRecordStepOnOtherThreadAsRootStep() throws Exception {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      // when
+      startupProfiler.profile("parent", () -> {
+        try {
+          startupProfiler.profileAsync("async", () -> {}, executor).get();
+        }
+        catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+    }
+    finally {
+      executor.shutdown();
+    }
+
+    // then
+    assertThat(startupProfiler.getStepDurations()).containsKeys("async", "parent");
+  }
+
+  @Test
+  public void shouldRecordFailedStep() {
+    // when
+    try {
+      startupProfiler.profile("parent", () -> startupProfiler.profile("child", () -> {
+        throw new IllegalStateException();
+      }));
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+    startupProfiler.profile("other", () -> {});
+
+    // then the failed steps do not stay the parent of the next step
+    assertThat(startupProfiler.getStepDurations().keySet()).containsExactly("parent/child", "parent", "other");
+  }
+
+  protected void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.Test;
+
+public class WeightedCacheTest {
+
+  /** the weight of an entry is its value */
+  protected WeightedCache<String, Integer> cache = new WeightedCache<>(100, entry -> (Integer) entry);
+
+  @Test
+  public void shouldKeepFrequentlyUsedEntryOnScan() {
+    // given
+    cache.put("frequent", 50);
+    for (int i = 0; i < 5; i++) {
+      cache.get("frequent");
+    }
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      cache.put("once" + i, 50);
+    }
+
+    // then
+    assertThat(cache.get("frequent")).isEqualTo(50);
+    assertThat(cache.get("once9")).isEqualTo(50);
+    assertThat(cache.getWeightedSize()).isEqualTo(100);
+    assertThat(cache.getEvictionCount()).isEqualTo(9);
+    assertThat(cache.getEvictionWeight()).isEqualTo(450);
+  }
+
+  @Test
+  public void shouldKeepEntryWhichExceedsMaximumWeight() {
+    // given
+    cache.put("small", 10);
+
+    // when
+    cache.put("large", 200);
+
+    // then
+    assertThat(cache.get("large")).isEqualTo(200);
+    assertThat(cache.get("small")).isNull();
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRemoveEntry() {
+    // given
+    cache.put("first", 30);
+    cache.put("second", 40);
+
+    // when
+    cache.remove("first");
+    cache.remove("unknown");
+
+    // then
+    assertThat(cache.get("first")).isNull();
+    assertThat(cache.get("second")).isEqualTo(40);
+    assertThat(cache.keySet()).containsExactly("second");
+    assertThat(cache.getWeightedSize()).isEqualTo(40);
+    assertThat(cache.getEvictionCount()).isZero();
+  }
+
+  @Test
+  public void shouldUpdateWeightOfReplacedEntry() {
+    // given
+    cache.put("first", 30);
+    cache.put("second", 40);
+
+    // when
+    cache.put("first", 10);
+
+    // then
+    assertThat(cache.get("first")).isEqualTo(10);
+    assertThat(cache.getWeightedSize()).isEqualTo(50);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldEvictOtherEntriesWhenWeightOfReplacedEntryGrows() {
+    // given
+    cache.put("first", 30);
+    cache.put("second", 40);
+
+    // when
+    cache.put("first", 90);
+
+    // then
+    assertThat(cache.get("first")).isEqualTo(90);
+    assertThat(cache.get("second")).isNull();
+    assertThat(cache.getWeightedSize()).isEqualTo(90);
+    assertThat(cache.getEvictionWeight()).isEqualTo(40);
+  }
+
+  @Test
+  public void shouldClear() {
+    // given
+    cache.put("first", 30);
+    cache.put("second", 40);
+
+    // when
+    cache.clear();
+
+    // then
+    assertThat(cache.isEmpty()).isTrue();
+    assertThat(cache.getWeightedSize()).isZero();
+
+    // and the cache can be used again
+    cache.put("third", 100);
+    assertThat(cache.get("third")).isEqualTo(100);
+    assertThat(cache.getWeightedSize()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    // given
+    cache.put("first", 30);
+
+    // when
+    cache.get("first");
+    cache.get("first");
+    cache.get("unknown");
+
+    // then
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReportMetrics() {
+    // given
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_HIT);
+    metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_MISS);
+    metricsRegistry.createDbMeter(Metrics.DEPLOYMENT_CACHE_EVICTION);
+    cache.setMetricsRegistry(metricsRegistry);
+
+    // when
+    cache.put("first", 60);
+    cache.get("first");
+    cache.put("second", 60);
+    cache.get("unknown");
+
+    // then
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.DEPLOYMENT_CACHE_HIT).get()).isEqualTo(1);
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.DEPLOYMENT_CACHE_MISS).get()).isEqualTo(1);
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.DEPLOYMENT_CACHE_EVICTION).get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldStayWithinMaximumWeightOnConcurrentAccess() throws Exception {
+    // given
+    int threads = 4;
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    try {
+      // when
+      for (int thread = 0; thread < threads; thread++) {
+        int threadNumber = thread;
+        results.add(executorService.submit(() -> {
+          start.await();
+          for (int i = 0; i < 1000; i++) {
+            String key = "key" + ((threadNumber * 7 + i) % 50);
+            if (i % 10 == 0) {
+              cache.remove(key);
+            }
+            else if (cache.get(key) == null) {
+              cache.put(key, 1 + i % 20);
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+
+      for (Future<?> result : results) {
+        result.get(1, TimeUnit.MINUTES);
+      }
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+
+    // then
+    long weightOfEntries = 0;
+    for (String key : cache.keySet()) {
+      weightOfEntries += cache.get(key);
+    }
+    assertThat(cache.getWeightedSize()).isEqualTo(weightOfEntries);
+    assertThat(cache.getWeightedSize()).isLessThanOrEqualTo(100);
+  }
+
+}
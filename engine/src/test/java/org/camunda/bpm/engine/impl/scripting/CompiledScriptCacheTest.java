@@ -0,0 +1,144 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.Test;
+
+public class CompiledScriptCacheTest {
+
+  protected static final String LANGUAGE = "groovy";
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedScript() {
+    // given
+    CompiledScriptCache cache = new CompiledScriptCache(2);
+    CompiledScript first = compiledScript();
+    cache.put(LANGUAGE, "first", null, first);
+    cache.put(LANGUAGE, "second", null, compiledScript());
+    cache.get(LANGUAGE, "first", null);
+
+    // when
+    cache.put(LANGUAGE, "third", null, compiledScript());
+
+    // then
+    assertThat(cache.get(LANGUAGE, "first", null)).isSameAs(first);
+    assertThat(cache.get(LANGUAGE, "second", null)).isNull();
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCountReplacementAsEviction() {
+    // given
+    CompiledScriptCache cache = new CompiledScriptCache(1);
+    cache.put(LANGUAGE, "first", null, compiledScript());
+
+    // when
+    cache.put(LANGUAGE, "first", null, compiledScript());
+
+    // then
+    assertThat(cache.getEvictionCount()).isZero();
+  }
+
+  @Test
+  public void shouldCountEvictionsOnConcurrentAccess() throws Exception {
+    // given
+    final int capacity = 10;
+    final int threads = 4;
+    final int scriptsPerThread = 500;
+    final CompiledScriptCache cache = new CompiledScriptCache(capacity);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    // when
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        final int threadNumber = thread;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < scriptsPerThread; i++) {
+            String source = threadNumber + "-" + i;
+            cache.get(LANGUAGE, source, null);
+            cache.put(LANGUAGE, source, null, compiledScript());
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+
+    // then
+    assertThat(cache.size()).isEqualTo(capacity);
+    assertThat(cache.getEvictionCount()).isEqualTo(threads * scriptsPerThread - capacity);
+    assertThat(cache.getMissCount()).isEqualTo(threads * scriptsPerThread);
+  }
+
+  @Test
+  public void shouldReportMetrics() {
+    // given
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createDbMeter(Metrics.COMPILED_SCRIPT_CACHE_HIT);
+    metricsRegistry.createDbMeter(Metrics.COMPILED_SCRIPT_CACHE_MISS);
+    metricsRegistry.createDbMeter(Metrics.COMPILED_SCRIPT_CACHE_EVICTION);
+
+    CompiledScriptCache cache = new CompiledScriptCache(1);
+    cache.setMetricsRegistry(metricsRegistry);
+
+    // when
+    cache.get(LANGUAGE, "first", null);
+    cache.put(LANGUAGE, "first", null, compiledScript());
+    cache.get(LANGUAGE, "first", null);
+    cache.put(LANGUAGE, "second", null, compiledScript());
+
+    // then
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.COMPILED_SCRIPT_CACHE_HIT).get()).isEqualTo(1);
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.COMPILED_SCRIPT_CACHE_MISS).get()).isEqualTo(1);
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.COMPILED_SCRIPT_CACHE_EVICTION).get()).isEqualTo(1);
+  }
+
+  protected static CompiledScript compiledScript() {
+    return new CompiledScript() {
+      @Override
+      public Object eval(ScriptContext context) {
+        return null;
+      }
+
+      @Override
+      public ScriptEngine getEngine() {
+        return null;
+      }
+    };
+  }
+
+}
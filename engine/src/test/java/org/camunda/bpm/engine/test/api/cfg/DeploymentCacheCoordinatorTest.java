@@ -0,0 +1,337 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.AbstractDeploymentCacheCoordinator;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DbPollingDeploymentCacheCoordinator;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.InMemoryDeploymentCacheCoordinator;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.junit.After;
+import org.junit.Test;
+
+public class DeploymentCacheCoordinatorTest {
+
+  protected static final long HOUR = 60 * 60 * 1000;
+
+  protected static final String JDBC_URL = "jdbc:h2:mem:camunda" + DeploymentCacheCoordinatorTest.class.getSimpleName();
+
+  protected List<ProcessEngine> engines = new ArrayList<>();
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @After
+  public void closeEngines() {
+    // the first engine drops the schema
+    Collections.reverse(engines);
+    for (ProcessEngine engine : engines) {
+      engine.close();
+    }
+  }
+
+  @Test
+  public void shouldCacheDeploymentOfOtherEngine() {
+    // given
+    ProcessEngine engine = buildEngine("engine", new InMemoryDeploymentCacheCoordinator(), 0);
+    ProcessEngine otherEngine = buildEngine("otherEngine", new InMemoryDeploymentCacheCoordinator(), 0);
+
+    // when
+    ProcessDefinition processDefinition = deploy(engine, 0);
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).contains(processDefinition.getId());
+  }
+
+  @Test
+  public void shouldEvictDeploymentDeletedByOtherEngine() {
+    // given
+    ProcessEngine engine = buildEngine("engine", new InMemoryDeploymentCacheCoordinator(), 0);
+    ProcessEngine otherEngine = buildEngine("otherEngine", new InMemoryDeploymentCacheCoordinator(), 0);
+
+    ProcessDefinition processDefinition = deploy(engine, 0);
+    otherEngine.getRuntimeService().startProcessInstanceById(processDefinition.getId());
+
+    // when
+    engine.getRepositoryService().deleteDeployment(processDefinition.getDeploymentId(), true);
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).doesNotContain(processDefinition.getId());
+    assertThat(getConfiguration(otherEngine).getDeploymentCache().getBpmnModelInstanceCache().isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldPollDeploymentsOfOtherEngine() {
+    // given
+    ProcessEngine engine = buildEngine("engine", createPollingCoordinator(), 0);
+    DbPollingDeploymentCacheCoordinator otherCoordinator = createPollingCoordinator();
+    ProcessEngine otherEngine = buildEngine("otherEngine", otherCoordinator, 0);
+
+    ProcessDefinition processDefinition = deploy(engine, 0);
+
+    // when
+    otherCoordinator.pollDeployments();
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).contains(processDefinition.getId());
+
+    // when
+    engine.getRepositoryService().deleteDeployment(processDefinition.getDeploymentId(), true);
+    otherCoordinator.pollDeployments();
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).doesNotContain(processDefinition.getId());
+  }
+
+  @Test
+  public void shouldPollDeploymentWithEarlierDeploymentTime() {
+    // given
+    ProcessEngine engine = buildEngine("engine", createPollingCoordinator(), 0);
+    DbPollingDeploymentCacheCoordinator otherCoordinator = createPollingCoordinator();
+    ProcessEngine otherEngine = buildEngine("otherEngine", otherCoordinator, 0);
+
+    // a deployment whose transaction commits long after its deployment time
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() - 24 * 60 * 60 * 1000));
+    ProcessDefinition processDefinition = deploy(engine, 0);
+    ClockUtil.reset();
+
+    // when
+    otherCoordinator.pollDeployments();
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).contains(processDefinition.getId());
+  }
+
+  @Test
+  public void shouldPollDeploymentWithinOverlap() {
+    // given
+    ProcessEngine engine = buildEngine("engine", createPollingCoordinator(), 0);
+    DbPollingDeploymentCacheCoordinator otherCoordinator = createPollingCoordinator();
+    otherCoordinator.setDeploymentTimeOverlapInMillis(HOUR);
+    ProcessEngine otherEngine = buildEngine("otherEngine", otherCoordinator, 0);
+
+    Date now = ClockUtil.getCurrentTime();
+    deploy(engine, 0);
+    otherCoordinator.pollDeployments();
+
+    // a deployment which commits after a later deployment was seen
+    ClockUtil.setCurrentTime(new Date(now.getTime() - HOUR / 2));
+    ProcessDefinition processDefinition = deploy(engine, 1);
+    ClockUtil.reset();
+
+    // when
+    otherCoordinator.pollDeployments();
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).contains(processDefinition.getId());
+  }
+
+  @Test
+  public void shouldNotPollDeploymentBeforeOverlap() {
+    // given
+    ProcessEngine engine = buildEngine("engine", createPollingCoordinator(), 0);
+    DbPollingDeploymentCacheCoordinator otherCoordinator = createPollingCoordinator();
+    otherCoordinator.setDeploymentTimeOverlapInMillis(HOUR);
+    ProcessEngine otherEngine = buildEngine("otherEngine", otherCoordinator, 0);
+
+    Date now = ClockUtil.getCurrentTime();
+    deploy(engine, 0);
+    otherCoordinator.pollDeployments();
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() - 2 * HOUR));
+    ProcessDefinition processDefinition = deploy(engine, 1);
+    ClockUtil.reset();
+
+    // when
+    otherCoordinator.pollDeployments();
+
+    // then the deployment is parsed on its first use instead
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).doesNotContain(processDefinition.getId());
+    assertThat(otherEngine.getRepositoryService().getProcessDefinition(processDefinition.getId())).isNotNull();
+  }
+
+  @Test
+  public void shouldForgetDeploymentsBeforeOverlap() {
+    // given
+    ProcessEngine engine = buildEngine("engine", createPollingCoordinator(), 0);
+    DbPollingDeploymentCacheCoordinator otherCoordinator = createPollingCoordinator();
+    otherCoordinator.setDeploymentTimeOverlapInMillis(HOUR);
+    buildEngine("otherEngine", otherCoordinator, 0);
+
+    Date now = ClockUtil.getCurrentTime();
+    ClockUtil.setCurrentTime(new Date(now.getTime() - 3 * HOUR));
+    String firstDeploymentId = deploy(engine, 0).getDeploymentId();
+    ClockUtil.reset();
+
+    otherCoordinator.pollDeployments();
+    assertThat(otherCoordinator.getKnownDeploymentIds()).containsOnly(firstDeploymentId);
+
+    // when
+    String secondDeploymentId = deploy(engine, 1).getDeploymentId();
+    otherCoordinator.pollDeployments();
+
+    // then
+    assertThat(otherCoordinator.getKnownDeploymentIds()).containsOnly(secondDeploymentId);
+  }
+
+  @Test
+  public void shouldWarmUpLatestVersionsOnStartup() {
+    // given
+    ProcessEngine engine = buildEngine("engine", null, 0);
+    ProcessDefinition firstVersion = deploy(engine, 0);
+    ProcessDefinition secondVersion = deploy(engine, 0);
+    ProcessDefinition thirdVersion = deploy(engine, 0);
+
+    // when
+    ProcessEngine otherEngine = buildEngine("otherEngine", null, 2);
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine))
+        .containsOnly(secondVersion.getId(), thirdVersion.getId())
+        .doesNotContain(firstVersion.getId());
+  }
+
+  @Test
+  public void shouldWarmUpOnlyLatestVersionsOfDeployment() {
+    // given
+    ProcessEngine engine = buildEngine("engine", null, 0);
+    String deploymentId = engine.getRepositoryService()
+        .createDeployment()
+        .addModelInstance("process0.bpmn", ProcessModels.oneTaskProcess(0))
+        .addModelInstance("process1.bpmn", ProcessModels.oneTaskProcess(1))
+        .deploy()
+        .getId();
+    List<ProcessDefinition> firstVersions = engine.getRepositoryService()
+        .createProcessDefinitionQuery()
+        .deploymentId(deploymentId)
+        .orderByProcessDefinitionKey()
+        .asc()
+        .list();
+    ProcessDefinition secondVersion = deploy(engine, 0);
+
+    // when
+    ProcessEngine otherEngine = buildEngine("otherEngine", null, 1);
+
+    // then the outdated version of the same deployment is not loaded
+    assertThat(getCachedProcessDefinitionIds(otherEngine))
+        .containsOnly(secondVersion.getId(), firstVersions.get(1).getId());
+  }
+
+  @Test
+  public void shouldContinueWarmUpAfterFailure() {
+    // given
+    ProcessEngine engine = buildEngine("engine", null, 0);
+    deploy(engine, 0);
+    ProcessDefinition processDefinition = deploy(engine, 1);
+
+    ProcessEngineConfigurationImpl configuration = createConfiguration("otherEngine", null, 1);
+    List<BpmnParseListener> parseListeners = new ArrayList<>();
+    parseListeners.add(new AbstractBpmnParseListener() {
+      @Override
+      public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+        if ((ProcessModels.PROCESS_KEY + 0).equals(processDefinition.getKey())) {
+          throw new IllegalStateException("cannot parse " + processDefinition.getKey());
+        }
+      }
+    });
+    configuration.setCustomPreBPMNParseListeners(parseListeners);
+
+    // when
+    ProcessEngine otherEngine = buildEngine(configuration);
+
+    // then
+    assertThat(getCachedProcessDefinitionIds(otherEngine)).containsOnly(processDefinition.getId());
+  }
+
+  protected ProcessEngine buildEngine(String name, AbstractDeploymentCacheCoordinator coordinator, int warmUpVersions) {
+    return buildEngine(createConfiguration(name, coordinator, warmUpVersions));
+  }
+
+  protected ProcessEngine buildEngine(ProcessEngineConfigurationImpl configuration) {
+    ProcessEngine engine = configuration.buildProcessEngine();
+    engines.add(engine);
+    return engine;
+  }
+
+  protected ProcessEngineConfigurationImpl createConfiguration(String name, AbstractDeploymentCacheCoordinator coordinator, int warmUpVersions) {
+    if (coordinator != null) {
+      // parse the deployments of other engines synchronously
+      coordinator.setExecutor(Runnable::run);
+    }
+
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl(JDBC_URL)
+        .setProcessEngineName(getClass().getSimpleName() + "-" + name);
+
+    if (!engines.isEmpty()) {
+      configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_FALSE);
+    }
+
+    configuration
+        .setDeploymentCacheCoordinator(coordinator)
+        .setDeploymentCacheWarmUpVersions(warmUpVersions);
+
+    return configuration;
+  }
+
+  protected DbPollingDeploymentCacheCoordinator createPollingCoordinator() {
+    DbPollingDeploymentCacheCoordinator coordinator = new DbPollingDeploymentCacheCoordinator();
+    // poll manually only
+    coordinator.setPollingIntervalInMillis(60 * 60 * 1000);
+    return coordinator;
+  }
+
+  protected ProcessDefinition deploy(ProcessEngine engine, int processNumber) {
+    String deploymentId = engine.getRepositoryService()
+        .createDeployment()
+        .addModelInstance("process.bpmn", ProcessModels.oneTaskProcess(processNumber))
+        .deploy()
+        .getId();
+
+    return engine.getRepositoryService()
+        .createProcessDefinitionQuery()
+        .deploymentId(deploymentId)
+        .singleResult();
+  }
+
+  protected ProcessEngineConfigurationImpl getConfiguration(ProcessEngine engine) {
+    return (ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration();
+  }
+
+  protected Iterable<String> getCachedProcessDefinitionIds(ProcessEngine engine) {
+    return getConfiguration(engine).getDeploymentCache().getProcessDefinitionCache().keySet();
+  }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.application.ProcessApplicationReference;
+import org.camunda.bpm.application.impl.EmbeddedProcessApplication;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.repository.CaseDefinition;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParallelDeploymentParsingTest {
+
+  protected static final int NUMBER_OF_PROCESSES = 10;
+
+  protected static final String CASE_RESOURCE = "org/camunda/bpm/engine/test/api/cmmn/oneTaskCase.cmmn";
+  protected static final String DECISION_RESOURCE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+
+  protected static final RecordingParseListener PARSE_LISTENER = new RecordingParseListener();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    configuration.setDeploymentParseParallelism(4);
+    List<BpmnParseListener> parseListeners = new ArrayList<>();
+    parseListeners.add(PARSE_LISTENER);
+    configuration.setCustomPostBPMNParseListeners(parseListeners);
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    repositoryService = engineRule.getRepositoryService();
+    managementService = engineRule.getManagementService();
+    PARSE_LISTENER.clear();
+  }
+
+  @Test
+  public void shouldDeployAllDefinitions() {
+    // when
+    testRule.deploy(createDeployment());
+
+    // then
+    assertThat(repositoryService.createProcessDefinitionQuery().count()).isEqualTo(NUMBER_OF_PROCESSES);
+    assertThat(repositoryService.createCaseDefinitionQuery().count()).isEqualTo(1);
+    assertThat(repositoryService.createDecisionDefinitionQuery().count()).isEqualTo(1);
+
+    // the timer start events of all processes are scheduled
+    assertThat(managementService.createJobQuery().timers().count()).isEqualTo(NUMBER_OF_PROCESSES);
+  }
+
+  @Test
+  public void shouldIncrementVersionsOnRedeployment() {
+    // given
+    testRule.deploy(createDeployment());
+
+    // when
+    testRule.deploy(createDeployment());
+
+    // then
+    assertThat(repositoryService.createProcessDefinitionQuery().latestVersion().list())
+        .hasSize(NUMBER_OF_PROCESSES)
+        .extracting(ProcessDefinition::getVersion)
+        .containsOnly(2);
+    assertThat(managementService.createJobQuery().timers().count()).isEqualTo(NUMBER_OF_PROCESSES);
+  }
+
+  @Test
+  public void shouldFailOnInvalidResource() {
+    // given
+    DeploymentBuilder deploymentBuilder = createDeployment()
+        .addString("invalid.bpmn", "<definitions>");
+
+    // when/then
+    assertThatThrownBy(deploymentBuilder::deploy)
+        .isExactlyInstanceOf(ProcessEngineException.class)
+        .hasMessageStartingWith("ENGINE-09003")
+        .hasMessageContaining("invalid.bpmn");
+
+    assertThat(repositoryService.createDeploymentQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldDeployAllCaseDefinitions() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addString("case" + i + ".cmmn", createCase("case" + i));
+    }
+
+    // when
+    testRule.deploy(deploymentBuilder);
+
+    // then
+    assertThat(repositoryService.createCaseDefinitionQuery().list())
+        .extracting(CaseDefinition::getKey)
+        .containsExactlyInAnyOrder(keys("case"));
+    assertThat(repositoryService.createCaseDefinitionQuery().caseDefinitionKey("case3").singleResult().getResourceName())
+        .isEqualTo("case3.cmmn");
+  }
+
+  @Test
+  public void shouldDeployAllDecisionDefinitions() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addString("decision" + i + ".dmn", createDecision("decision" + i));
+    }
+
+    // when
+    testRule.deploy(deploymentBuilder);
+
+    // then
+    assertThat(repositoryService.createDecisionDefinitionQuery().list())
+        .extracting(DecisionDefinition::getKey)
+        .containsExactlyInAnyOrder(keys("decision"));
+    assertThat(repositoryService.createDecisionDefinitionQuery().decisionDefinitionKey("decision3").singleResult().getResourceName())
+        .isEqualTo("decision3.dmn");
+  }
+
+  @Test
+  public void shouldDeployConcurrently() throws Exception {
+    // given
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    List<Future<String>> deploymentIds = new ArrayList<>();
+
+    // when
+    try {
+      for (int i = 0; i < 2; i++) {
+        String keyPrefix = "deployment" + i + "_";
+        deploymentIds.add(executorService.submit(() -> createDeployment(keyPrefix).deploy().getId()));
+      }
+
+      // then
+      for (Future<String> deploymentId : deploymentIds) {
+        assertThat(deploymentId.get(1, TimeUnit.MINUTES)).isNotNull();
+      }
+      assertThat(repositoryService.createProcessDefinitionQuery().count()).isEqualTo(2 * NUMBER_OF_PROCESSES);
+      assertThat(repositoryService.createCaseDefinitionQuery().count()).isEqualTo(2);
+      assertThat(repositoryService.createDecisionDefinitionQuery().count()).isEqualTo(2);
+    }
+    finally {
+      executorService.shutdownNow();
+      for (Future<String> deploymentId : deploymentIds) {
+        if (deploymentId.isDone() && !deploymentId.isCancelled()) {
+          try {
+            repositoryService.deleteDeployment(deploymentId.get(), true);
+          }
+          catch (ExecutionException e) {
+            // the deployment failed and needs no cleanup
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldParseWithEngineManagedExecutor() {
+    // given
+    ExecutorService executor = engineRule.getProcessEngineConfiguration().getDeploymentParseExecutor();
+
+    // when
+    testRule.deploy(createDeployment());
+    testRule.deploy(createDeployment());
+
+    // then
+    assertThat(executor).isSameAs(engineRule.getProcessEngineConfiguration().getDeploymentParseExecutor());
+    assertThat(executor.isShutdown()).isFalse();
+    assertThat(PARSE_LISTENER.threadNames).hasSize(2 * NUMBER_OF_PROCESSES);
+    for (String threadName : PARSE_LISTENER.threadNames) {
+      assertThat(threadName).startsWith("Camunda Deployment Parser");
+    }
+  }
+
+  @Test
+  public void shouldPropagateProcessApplicationContext() {
+    // given
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+
+    // when
+    Context.executeWithinProcessApplication(() -> testRule.deploy(createDeployment()),
+        processApplication.getReference());
+
+    // then
+    assertThat(PARSE_LISTENER.processApplicationNames)
+        .hasSize(NUMBER_OF_PROCESSES)
+        .containsOnly(processApplication.getName());
+  }
+
+  @Test
+  public void shouldShutDownEngineManagedExecutorOnClose() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:" + getClass().getSimpleName())
+        .setProcessEngineName(getClass().getSimpleName());
+    configuration.setDeploymentParseParallelism(2);
+
+    ProcessEngine processEngine = configuration.buildProcessEngine();
+    ExecutorService executor = configuration.getDeploymentParseExecutor();
+
+    // when
+    processEngine.close();
+
+    // then
+    assertThat(executor.isShutdown()).isTrue();
+    assertThat(configuration.getDeploymentParseExecutor()).isNull();
+  }
+
+  @Test
+  public void shouldNotShutDownCustomExecutorOnClose() {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:" + getClass().getSimpleName())
+        .setProcessEngineName(getClass().getSimpleName());
+    configuration.setDeploymentParseExecutor(executor);
+
+    ProcessEngine processEngine = configuration.buildProcessEngine();
+
+    try {
+      // when
+      processEngine.close();
+
+      // then
+      assertThat(executor.isShutdown()).isFalse();
+      assertThat(configuration.getDeploymentParseExecutor()).isSameAs(executor);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  protected DeploymentBuilder createDeployment() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
+        .addClasspathResource(CASE_RESOURCE)
+        .addClasspathResource(DECISION_RESOURCE);
+
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createProcess("process" + i));
+    }
+    return deploymentBuilder;
+  }
+
+  protected DeploymentBuilder createDeployment(String keyPrefix) {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
+        .addString(keyPrefix + "case.cmmn", createCase(keyPrefix + "case"))
+        .addString(keyPrefix + "decision.dmn", createDecision(keyPrefix + "decision"));
+
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      String processKey = keyPrefix + "process" + i;
+      deploymentBuilder.addModelInstance(processKey + ".bpmn", createProcess(processKey));
+    }
+    return deploymentBuilder;
+  }
+
+  protected String createCase(String caseKey) {
+    return readResource(CASE_RESOURCE).replace("id=\"oneTaskCase\"", "id=\"" + caseKey + "\"");
+  }
+
+  protected String createDecision(String decisionKey) {
+    return readResource(DECISION_RESOURCE)
+        .replace("id=\"decision\"", "id=\"" + decisionKey + "\"")
+        .replace("id=\"definitions\"", "id=\"" + decisionKey + "Definitions\"");
+  }
+
+  protected String readResource(String resource) {
+    return IoUtil.readClasspathResourceAsString(resource);
+  }
+
+  protected String[] keys(String keyPrefix) {
+    String[] keys = new String[NUMBER_OF_PROCESSES];
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      keys[i] = keyPrefix + i;
+    }
+    return keys;
+  }
+
+  protected BpmnModelInstance createProcess(String processKey) {
+    return Bpmn.createExecutableProcess(processKey)
+        .startEvent().timerWithCycle("R/PT1H")
+        .userTask()
+        .endEvent()
+        .done();
+  }
+
+  protected static class RecordingParseListener extends AbstractBpmnParseListener {
+
+    protected final List<String> threadNames = new CopyOnWriteArrayList<>();
+    protected final List<String> processApplicationNames = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+      threadNames.add(Thread.currentThread().getName());
+
+      ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+      if (processApplication != null) {
+        processApplicationNames.add(processApplication.getName());
+      }
+    }
+
+    public void clear() {
+      threadNames.clear();
+      processApplicationNames.clear();
+    }
+  }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StartupProfiler;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Test;
+
+public class ProcessEngineStartupTest {
+
+  protected static final String JDBC_URL = "jdbc:h2:mem:camunda" + ProcessEngineStartupTest.class.getSimpleName();
+  protected static final String DMN_RESOURCE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+
+  protected ProcessEngine engine;
+
+  @After
+  public void closeEngine() {
+    if (engine != null) {
+      engine.close();
+    }
+  }
+
+  @Test
+  public void shouldRecordDurationOfStartupSteps() {
+    // when
+    ProcessEngineConfigurationImpl configuration = buildEngine(false, false);
+
+    // then
+    StartupProfiler startupProfiler = configuration.getStartupProfiler();
+    assertThat(startupProfiler.getStepDurations()).containsKeys(
+        "invokePreInit",
+        "initDmnEngine",
+        "initSqlSessionFactory",
+        "createProcessEngine/executeSchemaOperations",
+        "createProcessEngine",
+        "invokePostProcessEngineBuild");
+    assertThat(startupProfiler.getStepDurations()).doesNotContainKey("executeSchemaOperations");
+    assertThat(startupProfiler.getTotalDuration()).isGreaterThanOrEqualTo(startupProfiler.getStepDurations().get("createProcessEngine"));
+    assertThat(startupProfiler.getSlowestSteps(3)).hasSize(3);
+  }
+
+  @Test
+  public void shouldInitializeInParallel() {
+    // when
+    ProcessEngineConfigurationImpl configuration = buildEngine(true, false);
+
+    // then
+    assertThat(configuration.getSqlSessionFactory()).isNotNull();
+    assertThat(configuration.getDmnEngine()).isNotNull();
+    assertThat(configuration.getStartupProfiler().getStepDurations()).containsKeys("initDmnEngine", "initSqlSessionFactory");
+
+    String processDefinitionId = deployOneTaskProcess();
+    engine.getRuntimeService().startProcessInstanceById(processDefinitionId);
+    assertThat(engine.getTaskService().createTaskQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldBuildDmnEngineOnFirstUse() {
+    // given
+    ProcessEngineConfigurationImpl configuration = buildEngine(false, true);
+    assertThat(configuration.getDmnEngineConfiguration().getFeelEngine()).isNull();
+
+    engine.getRepositoryService()
+        .createDeployment()
+        .addClasspathResource(DMN_RESOURCE)
+        .deploy();
+
+    // when
+    DmnDecisionResult result = engine.getDecisionService()
+        .evaluateDecisionByKey("decision")
+        .variables(Variables.createVariables().putValue("status", "bronze").putValue("sum", 100.0))
+        .evaluate();
+
+    // then
+    assertThat(result.getSingleResult().<String>getEntry("result")).isEqualTo("notok");
+    assertThat(configuration.getDmnEngineConfiguration().getFeelEngine()).isNotNull();
+  }
+
+  protected ProcessEngineConfigurationImpl buildEngine(boolean parallelInitialization, boolean lazyInitialization) {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl(JDBC_URL)
+        .setProcessEngineName(getClass().getSimpleName());
+
+    configuration
+        .setParallelInitialization(parallelInitialization)
+        .setLazyInitialization(lazyInitialization);
+
+    engine = configuration.buildProcessEngine();
+    return configuration;
+  }
+
+  protected String deployOneTaskProcess() {
+    String deploymentId = engine.getRepositoryService()
+        .createDeployment()
+        .addModelInstance("process.bpmn", ProcessModels.oneTaskProcess(0))
+        .deploy()
+        .getId();
+
+    return engine.getRepositoryService()
+        .createProcessDefinitionQuery()
+        .deploymentId(deploymentId)
+        .singleResult()
+        .getId();
+  }
+
+}
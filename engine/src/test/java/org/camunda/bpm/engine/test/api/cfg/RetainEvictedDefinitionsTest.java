@@ -0,0 +1,115 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class RetainEvictedDefinitionsTest {
+
+  protected static final AtomicInteger PARSED_PROCESSES = new AtomicInteger();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+      configuration.setCacheCapacity(1);
+      configuration.setRetainEvictedDefinitions(true);
+      configuration.setCustomPreBPMNParseListeners(Collections.singletonList(new AbstractBpmnParseListener() {
+        @Override
+        public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
+          PARSED_PROCESSES.incrementAndGet();
+        }
+      }));
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected DeploymentCache deploymentCache;
+
+  @Before
+  public void init() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    deploymentCache = processEngineConfiguration.getDeploymentCache();
+  }
+
+  @Test
+  public void shouldRestoreEvictedDefinitionWithoutParsing() {
+    // given
+    String processDefinitionId = deployAndGetDefinitionId(0);
+    deployAndGetDefinitionId(1);
+
+    assertThat(deploymentCache.getProcessDefinitionCache().get(processDefinitionId)).isNull();
+    int parsedProcesses = PARSED_PROCESSES.get();
+
+    // when
+    runtimeService.startProcessInstanceById(processDefinitionId);
+
+    // then
+    assertThat(PARSED_PROCESSES.get()).isEqualTo(parsedProcesses);
+    assertThat(deploymentCache.getProcessDefinitionCache().get(processDefinitionId)).isNotNull();
+  }
+
+  @Test
+  public void shouldParseDefinitionAfterCacheIsDiscarded() {
+    // given
+    String processDefinitionId = deployAndGetDefinitionId(0);
+    deploymentCache.discardProcessDefinitionCache();
+
+    int parsedProcesses = PARSED_PROCESSES.get();
+
+    // when
+    runtimeService.startProcessInstanceById(processDefinitionId);
+
+    // then
+    assertThat(PARSED_PROCESSES.get()).isEqualTo(parsedProcesses + 1);
+  }
+
+  protected String deployAndGetDefinitionId(int processNumber) {
+    String deploymentId = testRule.deploy(ProcessModels.oneTaskProcess(processNumber)).getId();
+    return repositoryService.createProcessDefinitionQuery()
+        .deploymentId(deploymentId)
+        .singleResult()
+        .getId();
+  }
+
+}
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.test.api.cfg;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
@@ -25,10 +26,15 @@ import static org.mockito.Mockito.mock;
 
 import javax.sql.DataSource;
 
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.transaction.TransactionFactory;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.db.sql.SharedConfigurationSqlSessionFactory;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -109,6 +115,120 @@ public class SharedSqlSessionFactoryCfgTest {
     assertNotSame(existingSessionFactory, cfg.getSqlSessionFactory());
   }
 
+  @Test
+  public void shouldShareMyBatisConfigurationIfConfigured() {
+    final TestEngineCfg cfg = new TestEngineCfg();
+    final TestEngineCfg otherCfg = new TestEngineCfg();
+
+    // given
+    cfg.setUseSharedMyBatisConfiguration(true);
+    otherCfg.setUseSharedMyBatisConfiguration(true);
+
+    try {
+      // if
+      cfg.initSqlSessionFactory();
+      otherCfg.initSqlSessionFactory();
+
+      // then
+      assertSame(cfg.getSqlSessionFactory().getConfiguration(), otherCfg.getSqlSessionFactory().getConfiguration());
+      assertNotSame(cfg.getSqlSessionFactory(), otherCfg.getSqlSessionFactory());
+      assertSame(cfg.getDataSource(), getEnvironment(cfg).getDataSource());
+      assertSame(otherCfg.getDataSource(), getEnvironment(otherCfg).getDataSource());
+      assertNull(cfg.getSqlSessionFactory().getConfiguration().getEnvironment());
+      assertNull(ProcessEngineConfigurationImpl.cachedSqlSessionFactory);
+
+    } finally {
+      cfg.close();
+      otherCfg.close();
+    }
+  }
+
+  @Test
+  public void shouldRemoveSharedMyBatisConfigurationWhenLastEngineIsClosed() {
+    final TestEngineCfg cfg = new TestEngineCfg();
+    final TestEngineCfg otherCfg = new TestEngineCfg();
+
+    // given
+    cfg.setUseSharedMyBatisConfiguration(true);
+    otherCfg.setUseSharedMyBatisConfiguration(true);
+    cfg.initSqlSessionFactory();
+    otherCfg.initSqlSessionFactory();
+
+    // if
+    cfg.close();
+
+    // then
+    assertEquals(1, ProcessEngineConfigurationImpl.getCachedMyBatisConfigurationCount());
+
+    // if
+    otherCfg.close();
+
+    // then
+    assertEquals(0, ProcessEngineConfigurationImpl.getCachedMyBatisConfigurationCount());
+  }
+
+  @Test
+  public void shouldNotShareMyBatisConfigurationBetweenDatabaseTypes() {
+    final TestEngineCfg cfg = new TestEngineCfg();
+    final TestEngineCfg otherCfg = new TestEngineCfg();
+
+    // given
+    cfg.setUseSharedMyBatisConfiguration(true);
+    cfg.setDatabaseType("h2");
+    otherCfg.setUseSharedMyBatisConfiguration(true);
+    otherCfg.setDatabaseType("postgres");
+
+    try {
+      // if
+      cfg.initSqlSessionFactory();
+      otherCfg.initSqlSessionFactory();
+
+      // then
+      assertNotSame(cfg.getSqlSessionFactory().getConfiguration(), otherCfg.getSqlSessionFactory().getConfiguration());
+      assertEquals(2, ProcessEngineConfigurationImpl.getCachedMyBatisConfigurationCount());
+
+    } finally {
+      cfg.close();
+      otherCfg.close();
+    }
+  }
+
+  @Test
+  public void shouldUseOwnDatabaseWithSharedMyBatisConfiguration() {
+    // given
+    ProcessEngine engine = buildEngineWithSharedMyBatisConfiguration("engine");
+    ProcessEngine otherEngine = buildEngineWithSharedMyBatisConfiguration("otherEngine");
+
+    try {
+      // if
+      engine.getRepositoryService()
+          .createDeployment()
+          .addModelInstance("process.bpmn", ProcessModels.oneTaskProcess(0))
+          .deploy();
+
+      // then
+      assertEquals(1, engine.getRepositoryService().createProcessDefinitionQuery().count());
+      assertEquals(0, otherEngine.getRepositoryService().createProcessDefinitionQuery().count());
+
+    } finally {
+      engine.close();
+      otherEngine.close();
+    }
+  }
+
+  protected Environment getEnvironment(ProcessEngineConfigurationImpl cfg) {
+    return ((SharedConfigurationSqlSessionFactory) cfg.getSqlSessionFactory()).getEnvironment();
+  }
+
+  protected ProcessEngine buildEngineWithSharedMyBatisConfiguration(String name) {
+    return ((ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:" + getClass().getSimpleName() + "-" + name)
+        .setProcessEngineName(getClass().getSimpleName() + "-" + name))
+        .setUseSharedMyBatisConfiguration(true)
+        .buildProcessEngine();
+  }
+
   static class TestEngineCfg extends StandaloneInMemProcessEngineConfiguration {
 
     public TestEngineCfg() {
@@ -0,0 +1,182 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCacheFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class WeightedDeploymentCacheTest {
+
+  /** weight of a process definition with a start event, a user task and an end event */
+  protected static final int ONE_TASK_PROCESS_WEIGHT = 4;
+
+  protected static final String TWO_PROCESSES =
+      "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"test\">"
+      + "<process id=\"first\" isExecutable=\"true\">"
+      + "<startEvent id=\"start\"/><sequenceFlow id=\"flow1\" sourceRef=\"start\" targetRef=\"task\"/>"
+      + "<userTask id=\"task\"/><sequenceFlow id=\"flow2\" sourceRef=\"task\" targetRef=\"end\"/><endEvent id=\"end\"/>"
+      + "</process>"
+      + "<process id=\"second\" isExecutable=\"true\">"
+      + "<startEvent id=\"start2\"/><sequenceFlow id=\"flow3\" sourceRef=\"start2\" targetRef=\"task2\"/>"
+      + "<userTask id=\"task2\"/><sequenceFlow id=\"flow4\" sourceRef=\"task2\" targetRef=\"end2\"/><endEvent id=\"end2\"/>"
+      + "</process>"
+      + "</definitions>";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+      configuration.setCacheFactory(new WeightedCacheFactory()
+          .setMaximumWeight(ProcessDefinitionEntity.class, ONE_TASK_PROCESS_WEIGHT)
+          .setMaximumWeight(BpmnModelInstance.class, 1000));
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected DeploymentCache deploymentCache;
+
+  @Before
+  public void init() {
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    deploymentCache = engineRule.getProcessEngineConfiguration().getDeploymentCache();
+  }
+
+  @Test
+  public void shouldEvictDefinitionWhenMaximumWeightIsExceeded() {
+    // given
+    String processDefinitionId = deployAndGetDefinitionId(0);
+
+    // when
+    String otherProcessDefinitionId = deployAndGetDefinitionId(1);
+
+    // then
+    WeightedCache<String, ProcessDefinitionEntity> cache = (WeightedCache<String, ProcessDefinitionEntity>) deploymentCache.getProcessDefinitionCache();
+    assertThat(cache.get(processDefinitionId)).isNull();
+    assertThat(cache.get(otherProcessDefinitionId)).isNotNull();
+    assertThat(cache.getWeightedSize()).isEqualTo(ONE_TASK_PROCESS_WEIGHT);
+    assertThat(cache.getEvictionCount()).isGreaterThanOrEqualTo(1);
+  }
+
+  @Test
+  public void shouldCountReloadOfEvictedDefinition() {
+    // given
+    String processDefinitionId = deployAndGetDefinitionId(0);
+    deployAndGetDefinitionId(1);
+    long loadCount = deploymentCache.getDefinitionLoadCount();
+
+    // when
+    runtimeService.startProcessInstanceById(processDefinitionId);
+
+    // then
+    assertThat(deploymentCache.getDefinitionLoadCount()).isEqualTo(loadCount + 1);
+    assertThat(deploymentCache.getDefinitionLoadTime()).isPositive();
+  }
+
+  @Test
+  public void shouldUseEntryCountForTypesWithoutMaximumWeight() {
+    assertThat(deploymentCache.getCaseDefinitionCache()).isNotInstanceOf(WeightedCache.class);
+    assertThat(deploymentCache.getBpmnModelInstanceCache()).isInstanceOf(WeightedCache.class);
+  }
+
+  @Test
+  public void shouldResolveDefinitionsOfDeploymentWhichExceedsMaximumWeight() {
+    // given a deployment whose definitions do not fit into the cache together
+    String deploymentId = testRule.deploy(repositoryService.createDeployment()
+        .addString("twoProcesses.bpmn", TWO_PROCESSES)).getId();
+    List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery()
+        .deploymentId(deploymentId)
+        .list();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when/then every definition is resolved even though the cache evicts the other one
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      assertThat(runtimeService.startProcessInstanceById(processDefinition.getId())).isNotNull();
+    }
+  }
+
+  @Test
+  public void shouldReportMetrics() {
+    // given
+    MetricsRegistry metricsRegistry = engineRule.getProcessEngineConfiguration().getMetricsRegistry();
+    long evictions = metricsRegistry.getDbMeterByName(Metrics.DEPLOYMENT_CACHE_EVICTION).get();
+    long hits = metricsRegistry.getDbMeterByName(Metrics.DEPLOYMENT_CACHE_HIT).get();
+    String processDefinitionId = deployAndGetDefinitionId(0);
+
+    // when
+    deployAndGetDefinitionId(1);
+    runtimeService.startProcessInstanceById(processDefinitionId);
+
+    // then
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.DEPLOYMENT_CACHE_EVICTION).get()).isGreaterThan(evictions);
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.DEPLOYMENT_CACHE_HIT).get()).isGreaterThan(hits);
+  }
+
+  @Test
+  public void shouldNotAccessCacheWhenLookingUpCachedDeployments() {
+    // given
+    String deploymentId = testRule.deploy(ProcessModels.oneTaskProcess(0)).getId();
+    String otherDeploymentId = testRule.deploy(ProcessModels.oneTaskProcess(1)).getId();
+    WeightedCache<String, ProcessDefinitionEntity> cache = (WeightedCache<String, ProcessDefinitionEntity>) deploymentCache.getProcessDefinitionCache();
+    long hits = cache.getHitCount();
+    long misses = cache.getMissCount();
+
+    // when
+    Set<String> cachedDeploymentIds = deploymentCache.getCachedDeploymentIds();
+    deploymentCache.removeCachedDeployment(deploymentId);
+
+    // then the evicted definition is not reported
+    assertThat(cachedDeploymentIds).containsOnly(otherDeploymentId);
+    assertThat(cache.getHitCount()).isEqualTo(hits);
+    assertThat(cache.getMissCount()).isEqualTo(misses);
+  }
+
+  protected String deployAndGetDefinitionId(int processNumber) {
+    String deploymentId = testRule.deploy(ProcessModels.oneTaskProcess(processNumber)).getId();
+    return repositoryService.createProcessDefinitionQuery()
+        .deploymentId(deploymentId)
+        .singleResult()
+        .getId();
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DeploymentLockPerDefinitionKeyTest {
+
+  protected static final int STRIPES = 4;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+      configuration.setDeploymentLockPerDefinitionKey(true);
+      configuration.setDeploymentLockStripes(STRIPES);
+      configuration.setDeploymentSynchronized(false);
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    repositoryService = engineRule.getRepositoryService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @After
+  public void restoreLockProperties() {
+    managementService.setProperty("deployment.lock.stripes", String.valueOf(STRIPES));
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      managementService.setProperty("deployment.lock.process." + stripe, "0");
+    }
+  }
+
+  @Test
+  public void shouldCreateLockPropertiesOnBootstrap() {
+    // when
+    Map<String, String> properties = managementService.getProperties();
+
+    // then
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      assertThat(properties).containsKeys(
+          "deployment.lock.name." + stripe,
+          "deployment.lock.process." + stripe,
+          "deployment.lock.case." + stripe,
+          "deployment.lock.decision." + stripe,
+          "deployment.lock.decision.requirements." + stripe);
+    }
+    assertThat(properties).doesNotContainKey("deployment.lock.process." + STRIPES);
+    assertThat(properties).containsEntry("deployment.lock.stripes", String.valueOf(STRIPES));
+  }
+
+  @Test
+  public void shouldFailIfLockPropertyIsMissing() {
+    // given
+    for (int stripe = 0; stripe < STRIPES; stripe++) {
+      managementService.deleteProperty("deployment.lock.process." + stripe);
+    }
+
+    // when/then
+    assertThatThrownBy(() -> repositoryService.createDeployment()
+        .addModelInstance("process.bpmn", ProcessModels.oneTaskProcess(0))
+        .deploy())
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("deployment.lock.process.");
+    assertThat(repositoryService.createDeploymentQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldFailIfOtherProcessEngineUsesDifferentNumberOfLockProperties() {
+    // given
+    managementService.setProperty("deployment.lock.stripes", String.valueOf(2 * STRIPES));
+
+    // when/then
+    assertThatThrownBy(() -> repositoryService.createDeployment()
+        .addModelInstance("process.bpmn", ProcessModels.oneTaskProcess(0))
+        .deploy())
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("deploymentLockStripes");
+    assertThat(repositoryService.createDeploymentQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldIncrementVersionOfSameKey() {
+    // given
+    BpmnModelInstance process = ProcessModels.oneTaskProcess(0);
+    testRule.deploy(process);
+
+    // when
+    testRule.deploy(process);
+
+    // then
+    ProcessDefinition latestDefinition = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey(ProcessModels.PROCESS_KEY + 0)
+        .latestVersion()
+        .singleResult();
+    assertThat(latestDefinition.getVersion()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldFilterDuplicateDeployment() {
+    // given
+    BpmnModelInstance process = ProcessModels.oneTaskProcess(0);
+    Deployment deployment = testRule.deploy(repositoryService.createDeployment()
+        .name("deployment")
+        .enableDuplicateFiltering(false)
+        .addModelInstance("process.bpmn", process));
+
+    // when
+    Deployment duplicateDeployment = repositoryService.createDeployment()
+        .name("deployment")
+        .enableDuplicateFiltering(false)
+        .addModelInstance("process.bpmn", process)
+        .deploy();
+
+    // then
+    assertThat(duplicateDeployment.getId()).isEqualTo(deployment.getId());
+  }
+
+}
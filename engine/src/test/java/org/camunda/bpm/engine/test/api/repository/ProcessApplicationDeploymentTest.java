@@ -24,6 +24,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeNotNull;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -38,6 +39,8 @@ import org.camunda.bpm.engine.impl.application.ProcessApplicationManager;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentHandlerFactory;
 import org.camunda.bpm.engine.repository.DeploymentQuery;
@@ -128,6 +131,35 @@ public class ProcessApplicationDeploymentTest {
     }
   }
 
+  @Test
+  public void shouldPurgeClassesOfObjectValueSerializersOnUnregistration() {
+    // given
+    final List<ClassLoader> purgedClassLoaders = new ArrayList<>();
+    JavaObjectSerializer serializer = new JavaObjectSerializer() {
+      @Override
+      public void purgeClasses(ClassLoader classLoader) {
+        purgedClassLoaders.add(classLoader);
+      }
+    };
+    VariableSerializers variableSerializers = processEngineConfiguration.getVariableSerializers();
+    variableSerializers.addSerializer(serializer);
+
+    try {
+      ProcessApplicationDeployment deployment = testRule.deploy(repositoryService
+          .createDeployment(processApplication.getReference())
+          .addClasspathResource("org/camunda/bpm/engine/test/api/repository/version1.bpmn20.xml"));
+
+      // when
+      managementService.unregisterProcessApplication(deployment.getId(), false);
+
+      // then
+      assertThat(purgedClassLoaders).containsExactly(processApplication.getProcessApplicationClassloader());
+    }
+    finally {
+      variableSerializers.removeSerializer(serializer);
+    }
+  }
+
   @Test
   public void testSimpleProcessApplicationDeployment() {
     // given
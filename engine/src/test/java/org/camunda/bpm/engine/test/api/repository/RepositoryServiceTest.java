@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.test.api.repository;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -80,6 +81,7 @@ import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
 import org.camunda.bpm.engine.test.util.TestExecutionListener;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.dmn.DmnModelInstance;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
@@ -350,6 +352,35 @@ public class RepositoryServiceTest extends PluggableProcessEngineTest {
     assertNull(deploymentCache.getCmmnModelInstanceCache().get(caseDefinitionId));
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/dmn/deployment/drdDish.dmn11.xml")
+  @Test
+  public void testDecisionsOfSameResourceShareModelInstance() {
+    List<DecisionDefinition> decisionDefinitions = repositoryService.createDecisionDefinitionQuery().list();
+    assertEquals(3, decisionDefinitions.size());
+
+    DmnModelInstance modelInstance = repositoryService.getDmnModelInstance(decisionDefinitions.get(0).getId());
+
+    for (DecisionDefinition decisionDefinition : decisionDefinitions) {
+      assertSame(modelInstance, repositoryService.getDmnModelInstance(decisionDefinition.getId()));
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/dmn/deployment/drdDish.dmn11.xml")
+  @Test
+  public void testRemovedDecisionDoesNotShareModelInstance() {
+    List<DecisionDefinition> decisionDefinitions = repositoryService.createDecisionDefinitionQuery().list();
+    String removedDecisionDefinitionId = decisionDefinitions.get(0).getId();
+    String otherDecisionDefinitionId = decisionDefinitions.get(1).getId();
+
+    DmnModelInstance modelInstance = repositoryService.getDmnModelInstance(removedDecisionDefinitionId);
+    assertSame(modelInstance, repositoryService.getDmnModelInstance(otherDecisionDefinitionId));
+
+    processEngineConfiguration.getDeploymentCache().removeDecisionDefinition(removedDecisionDefinitionId);
+
+    assertNotSame(modelInstance, repositoryService.getDmnModelInstance(removedDecisionDefinitionId));
+    assertSame(modelInstance, repositoryService.getDmnModelInstance(otherDecisionDefinitionId));
+  }
+
   @Test
   public void testFindDeploymentResourceNamesNullDeploymentId() {
     try {
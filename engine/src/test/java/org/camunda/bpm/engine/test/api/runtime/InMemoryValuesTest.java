@@ -0,0 +1,202 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class InMemoryValuesTest {
+
+  protected static final String PROCESS_KEY = "process";
+
+  protected static final String APPEND_TO_PAYLOAD =
+      "${execution.setInMemoryValue('result', execution.getInMemoryValue('payload').concat('-processed'))}";
+  protected static final String COPY_RESULT_TO_VARIABLE =
+      "${execution.setVariable('result', execution.getInMemoryValue('result'))}";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  public void shouldPassValueOnStart() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess(PROCESS_KEY)
+        .startEvent()
+        .serviceTask().camundaExpression(APPEND_TO_PAYLOAD)
+        .serviceTask().camundaExpression(COPY_RESULT_TO_VARIABLE)
+        .userTask()
+        .endEvent()
+        .done());
+
+    // when
+    ProcessInstance processInstance = runtimeService.createProcessInstanceByKey(PROCESS_KEY)
+        .setInMemoryValue("payload", "foo")
+        .execute();
+
+    // then
+    assertThat(runtimeService.getVariables(processInstance.getId()))
+        .containsOnlyKeys("result")
+        .containsEntry("result", "foo-processed");
+  }
+
+  @Test
+  public void shouldPassValueOnStartBeforeActivity() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess(PROCESS_KEY)
+        .startEvent()
+        .userTask()
+        .serviceTask("append").camundaExpression(APPEND_TO_PAYLOAD)
+        .serviceTask().camundaExpression(COPY_RESULT_TO_VARIABLE)
+        .userTask()
+        .endEvent()
+        .done());
+
+    // when
+    ProcessInstance processInstance = runtimeService.createProcessInstanceByKey(PROCESS_KEY)
+        .startBeforeActivity("append")
+        .setInMemoryValue("payload", "foo")
+        .execute();
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "result")).isEqualTo("foo-processed");
+  }
+
+  @Test
+  public void shouldPassValueOnCorrelateToStartEvent() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess(PROCESS_KEY)
+        .startEvent().message("start")
+        .serviceTask().camundaExpression(APPEND_TO_PAYLOAD)
+        .serviceTask().camundaExpression(COPY_RESULT_TO_VARIABLE)
+        .userTask()
+        .endEvent()
+        .done());
+
+    // when
+    runtimeService.createMessageCorrelation("start")
+        .setInMemoryValue("payload", "foo")
+        .correlate();
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().singleResult().getValue()).isEqualTo("foo-processed");
+  }
+
+  @Test
+  public void shouldPassValueOnCorrelateToWaitingExecution() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess(PROCESS_KEY)
+        .startEvent()
+        .subProcess()
+        .embeddedSubProcess()
+          .startEvent()
+          .intermediateCatchEvent().message("continue")
+          .serviceTask().camundaExpression(APPEND_TO_PAYLOAD)
+          .endEvent()
+        .subProcessDone()
+        .serviceTask().camundaExpression(COPY_RESULT_TO_VARIABLE)
+        .userTask()
+        .endEvent()
+        .done());
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+
+    // when
+    runtimeService.createMessageCorrelation("continue")
+        .setInMemoryValue("payload", "foo")
+        .correlate();
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "result")).isEqualTo("foo-processed");
+  }
+
+  @Test
+  public void shouldNotKeepValueAfterTransaction() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess(PROCESS_KEY)
+        .startEvent()
+        .userTask()
+        .serviceTask().camundaExpression(COPY_RESULT_TO_VARIABLE)
+        .userTask()
+        .endEvent()
+        .done());
+
+    ProcessInstance processInstance = runtimeService.createProcessInstanceByKey(PROCESS_KEY)
+        .setInMemoryValue("result", "foo")
+        .execute();
+
+    // when
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // then
+    assertThat(runtimeService.getVariables(processInstance.getId()))
+        .containsOnlyKeys("result")
+        .containsEntry("result", null);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldNotWriteValueToHistory() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess(PROCESS_KEY)
+        .startEvent()
+        .serviceTask().camundaExpression(APPEND_TO_PAYLOAD)
+        .userTask()
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    // when
+    runtimeService.createProcessInstanceByKey(PROCESS_KEY)
+        .setInMemoryValue("payload", "foo")
+        .execute();
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().count()).isZero();
+  }
+
+}
@@ -20,11 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.HistoryService;
@@ -36,6 +38,13 @@ import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
@@ -307,6 +316,99 @@ public class SetVariablesBatchTest {
         );
   }
 
+  @Test
+  public void shouldUpdateExistingVariables() {
+    // given
+    String processInstanceIdOne = runtimeService.startProcessInstanceByKey(PROCESS_KEY,
+        Variables.putValue("foo", "baz").putValue("bar", "qux")).getId();
+    String processInstanceIdTwo = runtimeService.startProcessInstanceByKey(PROCESS_KEY).getId();
+
+    List<String> processInstances = Arrays.asList(processInstanceIdOne, processInstanceIdTwo);
+
+    Batch batch = runtimeService.setVariablesAsync(processInstances, SINGLE_VARIABLE);
+
+    // when
+    rule.syncExec(batch);
+
+    // then
+    assertThat(runtimeService.createVariableInstanceQuery().list())
+        .extracting("processInstanceId", "name", "value")
+        .containsExactlyInAnyOrder(
+            tuple(processInstanceIdOne, "foo", "bar"),
+            tuple(processInstanceIdOne, "bar", "qux"),
+            tuple(processInstanceIdTwo, "foo", "bar")
+        );
+  }
+
+  @Test
+  public void shouldPrefetchProcessInstancesWithVariables() {
+    // given
+    String processInstanceIdOne = runtimeService.startProcessInstanceByKey(PROCESS_KEY,
+        Variables.putValue("foo", "baz")).getId();
+    String processInstanceIdTwo = runtimeService.startProcessInstanceByKey(PROCESS_KEY).getId();
+
+    List<String> processInstances = Arrays.asList(processInstanceIdOne, processInstanceIdTwo);
+
+    Batch batch = runtimeService.setVariablesAsync(processInstances, SINGLE_VARIABLE);
+
+    final List<String> cachedProcessInstanceIds = new ArrayList<>();
+    final List<String> uncachedProcessInstanceIds = new ArrayList<>();
+    final List<String> queriedProcessInstanceIds = new ArrayList<>();
+
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    Map<Class<?>, SessionFactory> sessionFactories = configuration.getSessionFactories();
+    SessionFactory executionManagerFactory = sessionFactories.get(ExecutionManager.class);
+    SessionFactory variableInstanceManagerFactory = sessionFactories.get(VariableInstanceManager.class);
+
+    // records whether the process instances are cached when their variables are set
+    sessionFactories.put(ExecutionManager.class, new ManagerFactory(ExecutionManager.class, () -> new ExecutionManager() {
+      @Override
+      public ExecutionEntity findExecutionById(String executionId) {
+        if (processInstances.contains(executionId)) {
+          ExecutionEntity cachedExecution = getDbEntityManager().getCachedEntity(ExecutionEntity.class, executionId);
+          if (cachedExecution != null) {
+            cachedProcessInstanceIds.add(executionId);
+          }
+          else {
+            uncachedProcessInstanceIds.add(executionId);
+          }
+        }
+        return super.findExecutionById(executionId);
+      }
+    }));
+
+    // records which process instances query their variables one by one
+    sessionFactories.put(VariableInstanceManager.class, new ManagerFactory(VariableInstanceManager.class, () -> new VariableInstanceManager() {
+      @Override
+      public List<VariableInstanceEntity> findVariableInstancesByExecutionId(String executionId) {
+        if (processInstances.contains(executionId)) {
+          queriedProcessInstanceIds.add(executionId);
+        }
+        return super.findVariableInstancesByExecutionId(executionId);
+      }
+    }));
+
+    // when
+    try {
+      rule.syncExec(batch);
+    }
+    finally {
+      sessionFactories.put(ExecutionManager.class, executionManagerFactory);
+      sessionFactories.put(VariableInstanceManager.class, variableInstanceManagerFactory);
+    }
+
+    // then
+    assertThat(cachedProcessInstanceIds).containsOnly(processInstanceIdOne, processInstanceIdTwo);
+    assertThat(uncachedProcessInstanceIds).isEmpty();
+    assertThat(queriedProcessInstanceIds).isEmpty();
+    assertThat(runtimeService.createVariableInstanceQuery().list())
+        .extracting("processInstanceId", "name", "value")
+        .containsExactlyInAnyOrder(
+            tuple(processInstanceIdOne, "foo", "bar"),
+            tuple(processInstanceIdTwo, "foo", "bar")
+        );
+  }
+
   @Test
   public void shouldSetByRuntimeQuery() {
     // given
@@ -661,4 +763,23 @@ public class SetVariablesBatchTest {
     assertThat(logs.size()).isEqualTo(0);
   }
 
+  protected static class ManagerFactory implements SessionFactory {
+
+    protected Class<?> sessionType;
+    protected Supplier<Session> manager;
+
+    public ManagerFactory(Class<?> sessionType, Supplier<Session> manager) {
+      this.sessionType = sessionType;
+      this.manager = manager;
+    }
+
+    public Class<?> getSessionType() {
+      return sessionType;
+    }
+
+    public Session openSession() {
+      return manager.get();
+    }
+  }
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.variable.Variables.objectValue;
+import static org.camunda.bpm.engine.variable.Variables.serializedObjectValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.junit.Test;
+
+public class BinaryObjectSerializationTest extends PluggableProcessEngineTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected static final String BINARY_DATA_FORMAT = SerializationDataFormats.BINARY.getName();
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldSerializeObjectValueInBinaryFormat() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Map<String, Object> value = createValue();
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "var", objectValue(value).serializationDataFormat(BINARY_DATA_FORMAT).create());
+
+    // then
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery().variableName("var").singleResult();
+    assertThat(variableInstance.getTypeName()).isEqualTo("object");
+    assertThat(variableInstance.getValue()).isEqualTo(value);
+
+    ObjectValue typedValue = runtimeService.getVariableTyped(processInstance.getId(), "var");
+    assertThat(typedValue.getSerializationDataFormat()).isEqualTo(BINARY_DATA_FORMAT);
+    assertThat(typedValue.getObjectTypeName()).isEqualTo(LinkedHashMap.class.getName());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldStoreTypeNameOfDeserializedValue() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Map<String, Object> map = new HashMap<>(createValue());
+    List<String> list = Arrays.asList("bpmn", "dmn");
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "map", objectValue(map).serializationDataFormat(BINARY_DATA_FORMAT).create());
+    runtimeService.setVariable(processInstance.getId(), "list", objectValue(list).serializationDataFormat(BINARY_DATA_FORMAT).create());
+
+    // then
+    ObjectValue mapValue = runtimeService.getVariableTyped(processInstance.getId(), "map");
+    assertThat(mapValue.getObjectTypeName()).isEqualTo(LinkedHashMap.class.getName());
+    assertThat(mapValue.getObjectType()).isEqualTo(mapValue.getValue().getClass());
+    assertThat(mapValue.getValue()).isEqualTo(map);
+
+    ObjectValue listValue = runtimeService.getVariableTyped(processInstance.getId(), "list");
+    assertThat(listValue.getObjectTypeName()).isEqualTo(ArrayList.class.getName());
+    assertThat(listValue.getObjectType()).isEqualTo(listValue.getValue().getClass());
+    assertThat(listValue.getValue()).isEqualTo(list);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldSetSerializedValueInBinaryFormat() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Map<String, Object> value = createValue();
+    runtimeService.setVariable(processInstance.getId(), "var", objectValue(value).serializationDataFormat(BINARY_DATA_FORMAT).create());
+    ObjectValue serializedValue = runtimeService.getVariableTyped(processInstance.getId(), "var", false);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "copy", serializedObjectValue(serializedValue.getValueSerialized())
+        .serializationDataFormat(BINARY_DATA_FORMAT)
+        .objectTypeName(serializedValue.getObjectTypeName())
+        .create());
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "copy")).isEqualTo(value);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldNotChangeDefaultSerializationFormat() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "var", createValue());
+
+    // then
+    ObjectValue typedValue = runtimeService.getVariableTyped(processInstance.getId(), "var", false);
+    assertThat(typedValue.getSerializationDataFormat()).isNotEqualTo(BINARY_DATA_FORMAT);
+  }
+
+  protected Map<String, Object> createValue() {
+    Map<String, Object> value = new LinkedHashMap<>();
+    value.put("name", "camunda");
+    value.put("count", 42);
+    value.put("tags", Arrays.asList("bpmn", "dmn"));
+    return value;
+  }
+
+}
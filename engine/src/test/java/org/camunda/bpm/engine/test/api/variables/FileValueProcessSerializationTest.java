@@ -23,6 +23,7 @@ import static org.junit.Assert.assertNull;
 import java.nio.charset.Charset;
 import java.util.Scanner;
 
+import org.camunda.bpm.engine.impl.variable.serializer.LazyFileValueImpl;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.task.Task;
@@ -30,9 +31,11 @@ import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
 import org.camunda.bpm.engine.variable.value.FileValue;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
 import org.junit.Test;
 
 /**
@@ -43,6 +46,11 @@ public class FileValueProcessSerializationTest extends PluggableProcessEngineTes
 
   protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
 
+  @After
+  public void resetLazyFileValueFetching() {
+    processEngineConfiguration.setLazyFileValueFetchingEnabled(false);
+  }
+
   @Test
   public void testSerializeFileVariable() {
     BpmnModelInstance modelInstance = Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done();
@@ -120,4 +128,93 @@ public class FileValueProcessSerializationTest extends PluggableProcessEngineTes
     assertEquals("", fileVar.getFilename());
   }
 
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFetchFileContentLazilyIfValueIsNotDeserialized() {
+    // given
+    processEngineConfiguration.setLazyFileValueFetchingEnabled(true);
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("fileVar", Variables.fileValue("test.txt").mimeType("text/plain").file("ABC".getBytes()).create()));
+
+    // when
+    FileValue fileVar = runtimeService.getVariableTyped(pi.getId(), "fileVar", false);
+
+    // then
+    assertThat(fileVar).isInstanceOf(LazyFileValueImpl.class);
+    assertThat(((LazyFileValueImpl) fileVar).isContentFetched()).isFalse();
+    assertThat(fileVar.getFilename()).isEqualTo("test.txt");
+    assertThat(fileVar.getMimeType()).isEqualTo("text/plain");
+
+    // and the content is fetched on access
+    try (Scanner scanner = new Scanner(fileVar.getValue())) {
+      assertThat(scanner.nextLine()).isEqualTo("ABC");
+    }
+    assertThat(((LazyFileValueImpl) fileVar).isContentFetched()).isTrue();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFetchFileContentEagerlyIfValueIsDeserialized() {
+    // given
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("fileVar", Variables.fileValue("test.txt").file("ABC".getBytes()).create()));
+
+    // when
+    FileValue fileVar = runtimeService.getVariableTyped(pi.getId(), "fileVar");
+
+    // then
+    assertThat(fileVar).isNotInstanceOf(LazyFileValueImpl.class);
+    assertThat(((FileValueImpl) fileVar).getByteArray()).isEqualTo("ABC".getBytes());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFetchFileContentEagerlyByDefault() {
+    // given
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("fileVar", Variables.fileValue("test.txt").file("ABC".getBytes()).create()));
+
+    // when
+    FileValue fileVar = runtimeService.getVariableTyped(pi.getId(), "fileVar", false);
+
+    // then
+    assertThat(fileVar).isNotInstanceOf(LazyFileValueImpl.class);
+    assertThat(((FileValueImpl) fileVar).getByteArray()).isEqualTo("ABC".getBytes());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFetchNoFileContentIfVariableIsDeletedBeforeAccess() {
+    // given
+    processEngineConfiguration.setLazyFileValueFetchingEnabled(true);
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("fileVar", Variables.fileValue("test.txt").file("ABC".getBytes()).create()));
+    FileValue fileVar = runtimeService.getVariableTyped(pi.getId(), "fileVar", false);
+
+    // when
+    runtimeService.removeVariable(pi.getId(), "fileVar");
+
+    // then
+    assertThat(fileVar.getValue()).isNull();
+    assertThat(fileVar.getFilename()).isEqualTo("test.txt");
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldSetLazilyFetchedFileValue() {
+    // given
+    processEngineConfiguration.setLazyFileValueFetchingEnabled(true);
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValue("fileVar", Variables.fileValue("test.txt").file("ABC".getBytes()).create()));
+    FileValue fileVar = runtimeService.getVariableTyped(pi.getId(), "fileVar", false);
+
+    // when
+    runtimeService.setVariable(pi.getId(), "copiedFileVar", fileVar);
+
+    // then
+    FileValue copiedFileVar = runtimeService.getVariableTyped(pi.getId(), "copiedFileVar");
+    assertThat(copiedFileVar.getFilename()).isEqualTo("test.txt");
+    assertThat(((FileValueImpl) copiedFileVar).getByteArray()).isEqualTo("ABC".getBytes());
+  }
+
 }
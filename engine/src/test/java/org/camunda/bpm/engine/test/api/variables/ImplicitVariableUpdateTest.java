@@ -21,10 +21,18 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.history.RemoveAndUpdateValueDelegate;
 import org.camunda.bpm.engine.test.history.ReplaceAndUpdateValueDelegate;
@@ -94,4 +102,70 @@ public class ImplicitVariableUpdateTest extends PluggableProcessEngineTest {
     Object variableValue = runtimeService.getVariable(instance.getId(), "listVar");
     assertNull(variableValue);
   }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/variables/ImplicitVariableUpdateTest.sequence.bpmn20.xml")
+  @Test
+  public void shouldNotSerializeValuesReadByVariableGetters() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("serviceTaskProcess",
+        Variables.createVariables()
+          .putValue("listVar", new ArrayList<String>())
+          .putValue("delegate", new UpdateValueDelegate())
+          .putValue("countingVar", new SerializationCountingValue()));
+    Task task = taskService.createTaskQuery().processInstanceId(instance.getId()).singleResult();
+    SerializationCountingValue.serializations = 0;
+
+    // when
+    runtimeService.getVariable(instance.getId(), "countingVar");
+    runtimeService.getVariables(instance.getId());
+    taskService.getVariable(task.getId(), "countingVar");
+
+    // then
+    assertEquals(0, SerializationCountingValue.serializations);
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/variables/ImplicitVariableUpdateTest.sequence.bpmn20.xml")
+  @Test
+  public void shouldDetectUpdateByNestedCommandOfReadOnlyCommand() {
+    // given
+    final ProcessInstance instance = runtimeService.startProcessInstanceByKey("serviceTaskProcess",
+        Variables.createVariables()
+          .putValue("listVar", new ArrayList<String>())
+          .putValue("delegate", new UpdateValueDelegate()));
+    final CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+
+    // when
+    commandExecutor.execute(new Command<Void>() {
+
+      public Void execute(CommandContext commandContext) {
+        // a nested command which updates the value it reads
+        return commandExecutor.execute(nestedCommandContext -> {
+          ExecutionEntity execution = nestedCommandContext.getExecutionManager().findExecutionById(instance.getId());
+          ((List<String>) execution.getVariable("listVar")).add("nested");
+          return null;
+        });
+      }
+
+      public boolean isVariableReadOnly() {
+        return true;
+      }
+    });
+
+    // then
+    List<String> list = (List<String>) runtimeService.getVariable(instance.getId(), "listVar");
+    assertEquals(2, list.size());
+    assertEquals("nested", list.get(1));
+  }
+
+  public static class SerializationCountingValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static int serializations = 0;
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+      serializations++;
+      out.defaultWriteObject();
+    }
+  }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.variable.Variables.objectValue;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.SerializedValueCompressor;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableCompressionTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected static final String JAVA_DATA_FORMAT = Variables.SerializationDataFormats.JAVA.getName();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    configuration.setJavaSerializationFormatEnabled(true);
+    configuration.setVariableCompressionThreshold(0);
+  });
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected SerializedValueCompressor serializedValueCompressor;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    serializedValueCompressor = processEngineConfiguration.getSerializedValueCompressor();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setSerializedValueCompressor(serializedValueCompressor);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldCompressSerializedObjectValue() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable value = new JavaSerializable(largeString());
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "var", objectValue(value).serializationDataFormat(JAVA_DATA_FORMAT).create());
+
+    // then
+    assertThat(SerializedValueCompressor.isCompressed(getStoredBytes(processInstance.getId(), "var"))).isTrue();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(value);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldReadCompressedHistoricValue() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable value = new JavaSerializable(largeString());
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "var", objectValue(value).serializationDataFormat(JAVA_DATA_FORMAT).create());
+
+    // then
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableName("var").singleResult().getValue())
+      .isEqualTo(value);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldReadUncompressedValue() {
+    // given a value written without compression
+    processEngineConfiguration.setSerializedValueCompressor(SerializedValueCompressor.DEFAULT);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable value = new JavaSerializable(largeString());
+    runtimeService.setVariable(processInstance.getId(), "var", objectValue(value).serializationDataFormat(JAVA_DATA_FORMAT).create());
+    assertThat(SerializedValueCompressor.isCompressed(getStoredBytes(processInstance.getId(), "var"))).isFalse();
+
+    // when
+    processEngineConfiguration.setSerializedValueCompressor(serializedValueCompressor);
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(value);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldReadCompressedValueIfCompressionIsDisabled() {
+    // given a compressed value
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    JavaSerializable value = new JavaSerializable(largeString());
+    runtimeService.setVariable(processInstance.getId(), "var", objectValue(value).serializationDataFormat(JAVA_DATA_FORMAT).create());
+
+    // when
+    processEngineConfiguration.setSerializedValueCompressor(SerializedValueCompressor.DEFAULT);
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo(value);
+  }
+
+  protected byte[] getStoredBytes(String executionId, String variableName) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+      commandContext.getVariableInstanceManager()
+        .findVariableInstancesByExecutionIdAndVariableNames(executionId, Collections.singletonList(variableName))
+        .get(0)
+        .getByteArrayValue());
+  }
+
+  protected static String largeString() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      builder.append("camunda");
+    }
+    return builder.toString();
+  }
+
+}
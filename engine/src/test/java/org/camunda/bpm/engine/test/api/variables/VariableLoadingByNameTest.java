@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VariableLoadingByNameTest extends PluggableProcessEngineTest {
+
+  protected String processInstanceId;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration.setVariableLoadingByNameEnabled(true);
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .userTask()
+        .endEvent()
+        .done());
+
+    processInstanceId = runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("a", "valueA")
+        .putValue("b", "valueB")
+        .putValue("c", "valueC"))
+      .getId();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setVariableLoadingByNameEnabled(false);
+  }
+
+  @Test
+  public void shouldOnlyLoadRequestedVariable() {
+    // when
+    List<VariableInstanceEntity> loadedVariables = getCommandExecutor().execute(commandContext -> {
+      ExecutionEntity execution = findProcessInstance(commandContext);
+      assertThat(execution.getVariable("a")).isEqualTo("valueA");
+      assertThat(execution.hasVariable("unknown")).isFalse();
+
+      return commandContext.getDbEntityManager().getCachedEntitiesByType(VariableInstanceEntity.class);
+    });
+
+    // then
+    assertThat(loadedVariables).extracting("name").containsExactly("a");
+  }
+
+  @Test
+  public void shouldLoadRemainingVariablesOnAccessOfAllVariables() {
+    // when
+    VariableMap variables = getCommandExecutor().execute(commandContext -> {
+      ExecutionEntity execution = findProcessInstance(commandContext);
+      execution.getVariable("a");
+
+      return execution.getVariables();
+    });
+
+    // then
+    assertThat(variables).containsOnlyKeys("a", "b", "c");
+  }
+
+  @Test
+  public void shouldKeepChangesOfVariablesLoadedByName() {
+    // when
+    VariableMap variables = getCommandExecutor().execute(commandContext -> {
+      ExecutionEntity execution = findProcessInstance(commandContext);
+      execution.setVariable("a", "newValueA");
+      execution.setVariable("d", "valueD");
+
+      return execution.getVariables();
+    });
+
+    // then
+    assertThat(variables)
+      .containsEntry("a", "newValueA")
+      .containsEntry("d", "valueD")
+      .containsOnlyKeys("a", "b", "c", "d");
+    assertThat(runtimeService.getVariables(processInstanceId)).isEqualTo(variables);
+  }
+
+  @Test
+  public void shouldRemoveVariableLoadedByName() {
+    // when
+    getCommandExecutor().execute(commandContext -> {
+      ExecutionEntity execution = findProcessInstance(commandContext);
+      execution.getVariable("a");
+      execution.removeVariable("a");
+
+      return null;
+    });
+
+    // then
+    assertThat(runtimeService.getVariables(processInstanceId)).containsOnlyKeys("b", "c");
+  }
+
+  protected CommandExecutor getCommandExecutor() {
+    return processEngineConfiguration.getCommandExecutorTxRequired();
+  }
+
+  protected ExecutionEntity findProcessInstance(CommandContext commandContext) {
+    return commandContext.getExecutionManager().findExecutionById(processInstanceId);
+  }
+
+}
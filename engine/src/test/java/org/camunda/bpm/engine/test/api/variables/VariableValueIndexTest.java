@@ -0,0 +1,340 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.RebuildVariableValueIndexCmd;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableValueIndexManager;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableValueIndexTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected static final Set<String> INDEXED_VARIABLE_NAMES = Collections.singleton("orderId");
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setIndexedVariableNames(INDEXED_VARIABLE_NAMES));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+
+    processEngineConfiguration.setIndexedVariableNames(INDEXED_VARIABLE_NAMES);
+    managementService.rebuildVariableValueIndex();
+  }
+
+  @After
+  public void resetConfiguration() {
+    // empties the index including the completion entries
+    processEngineConfiguration.setIndexedVariableNames(null);
+    managementService.rebuildVariableValueIndex();
+    processEngineConfiguration.setIndexedVariableNames(INDEXED_VARIABLE_NAMES);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldQueryByIndexedVariable() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-1"));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", Variables.putValue("orderId", "order-2"));
+
+    // when
+    List<ProcessInstance> processInstances = runtimeService.createProcessInstanceQuery()
+        .variableValueEquals("orderId", "order-1")
+        .list();
+
+    // then
+    assertThat(processInstances).extracting("id").containsExactly(processInstance.getId());
+    assertThat(taskService.createTaskQuery().processVariableValueEquals("orderId", "order-1").singleResult().getProcessInstanceId())
+      .isEqualTo(processInstance.getId());
+    assertThat(getIndexEntries()).extracting("value").containsExactlyInAnyOrder("order-1", "order-2");
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldUpdateIndexEntry() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-1"));
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "orderId", "order-2");
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-1").count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-2").count()).isEqualTo(1);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldDeleteIndexEntry() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-1"));
+    ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-2"));
+
+    // when
+    runtimeService.removeVariable(processInstance.getId(), "orderId");
+    runtimeService.deleteProcessInstance(otherProcessInstance.getId(), null);
+
+    // then
+    assertThat(getIndexEntries()).isEmpty();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldKeepIndexEntryOfVariableRemovedAndSetInSameCommand() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-1")).getId();
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      processInstance.removeVariable("orderId");
+      processInstance.setVariable("orderId", "order-2");
+      return null;
+    });
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-2").count()).isEqualTo(1);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldQueryByValueWhichIsNotIndexable() {
+    // given
+    String longValue = new String(new char[VariableValueIndexEntity.MAX_VALUE_LENGTH + 1]).replace('\0', 'a');
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", Variables.putValue("orderId", longValue));
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", Variables.putValue("orderId", 42));
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", longValue).count()).isEqualTo(1);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", 42).count()).isEqualTo(1);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "42").count()).isZero();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldRebuildIndex() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-1").putValue("customerId", "customer-1"));
+    processEngineConfiguration.setIndexedVariableNames(new HashSet<>(Arrays.asList("customerId")));
+
+    // when
+    int indexSize = managementService.rebuildVariableValueIndex();
+
+    // then
+    assertThat(indexSize).isEqualTo(1);
+    assertThat(getIndexEntries()).extracting("name", "value").containsExactly(
+        tuple("customerId", "customer-1"));
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").count()).isEqualTo(1);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldNotUseIndexBeforeRebuildIsCompleted() {
+    // given a variable created before its name was indexed
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("customerId", "customer-1"));
+
+    // when
+    processEngineConfiguration.setIndexedVariableNames(new HashSet<>(Arrays.asList("orderId", "customerId")));
+
+    // then the variable is found without index entry
+    assertThat(getIndexEntries()).isEmpty();
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").list())
+      .extracting("id").containsExactly(processInstance.getId());
+
+    // and by the index once the rebuild is completed
+    managementService.rebuildVariableValueIndex();
+    assertThat(getIndexEntries()).extracting("name", "value").containsExactly(tuple("customerId", "customer-1"));
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").list())
+      .extracting("id").containsExactly(processInstance.getId());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldNotUseIndexOfNameNotIndexedByAllProcessEngines() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", Variables.putValue("orderId", "order-1"));
+
+    // when a process engine without the indexed name starts
+    processEngineConfiguration.setIndexedVariableNames(null);
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      commandContext.getVariableValueIndexManager().deleteCompletionsOfNotIndexedNames();
+      return null;
+    });
+    processEngineConfiguration.setIndexedVariableNames(INDEXED_VARIABLE_NAMES);
+
+    // and the index entry gets out of date
+    deleteIndexEntries();
+
+    // then the index is not used until it is rebuilt
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-1").count()).isEqualTo(1);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldInsertMissingIndexEntryOnUpdate() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-1"));
+    deleteIndexEntries();
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "orderId", "order-2");
+
+    // then
+    assertThat(getIndexEntries()).extracting("name", "value").containsExactly(tuple("orderId", "order-2"));
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-2").count()).isEqualTo(1);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldRebuildIndexInBatches() {
+    // given
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess", Variables.putValue("orderId", "order-" + i));
+    }
+    deleteIndexEntries();
+
+    // when
+    Integer indexSize = processEngineConfiguration.getCommandExecutorTxRequired().execute(new RebuildVariableValueIndexCmd(2));
+
+    // then
+    assertThat(indexSize).isEqualTo(5);
+    assertThat(getIndexEntries()).extracting("value")
+      .containsExactlyInAnyOrder("order-0", "order-1", "order-2", "order-3", "order-4");
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-3").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotUseIndexIfProcessEngineWithOtherNamesIsRegistered() {
+    // given
+    assertThat(isQueryable("orderId")).isTrue();
+    String propertyName = VariableValueIndexManager.CONFIGURATION_PROPERTY_PREFIX + "other-node";
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      commandContext.getDbEntityManager().insert(new PropertyEntity(propertyName, "other"));
+      return null;
+    });
+
+    // then
+    try {
+      assertThat(isQueryable("orderId")).isFalse();
+    }
+    finally {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+        commandContext.getDbEntityManager().delete(commandContext.getPropertyManager().findPropertyById(propertyName));
+        return null;
+      });
+    }
+    assertThat(isQueryable("orderId")).isTrue();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFailUpdateOfVariableRebuiltConcurrently() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.putValue("orderId", "order-1")).getId();
+
+    // when the variable is updated based on the state before a rebuild
+    assertThatThrownBy(() -> processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      processInstance.getVariable("orderId");
+      managementService.rebuildVariableValueIndex();
+      processInstance.setVariable("orderId", "order-2");
+      return null;
+    }))
+
+    // then
+      .isInstanceOf(OptimisticLockingException.class);
+
+    assertThat(getIndexEntries()).extracting("value").containsExactly("order-1");
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-1").count()).isEqualTo(1);
+  }
+
+  protected boolean isQueryable(String variableName) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+        commandContext.getVariableValueIndexManager().isQueryable(variableName));
+  }
+
+  protected void deleteIndexEntries() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      for (VariableValueIndexEntity indexEntry : getIndexEntries()) {
+        commandContext.getDbEntityManager().delete(indexEntry);
+      }
+      return null;
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<VariableValueIndexEntity> getIndexEntries() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+        commandContext.getDbEntityManager().selectList("selectVariableValueIndexEntries"));
+  }
+
+}
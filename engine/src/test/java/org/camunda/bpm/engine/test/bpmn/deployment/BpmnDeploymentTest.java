@@ -24,6 +24,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -33,9 +35,11 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.ReadOnlyProcessDefinition;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.impl.util.ResourceUtil;
 import org.camunda.bpm.engine.repository.DeploymentHandlerFactory;
 import org.camunda.bpm.engine.repository.DeploymentWithDefinitions;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
@@ -140,6 +144,59 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTest {
     repositoryService.deleteDeployment(deploymentId);
   }
 
+  @Test
+  public void testDeployedResourceHasContentHash() {
+    // given
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+
+    // when
+    String deploymentId = testRule.deploy(repositoryService.createDeployment()
+        .addClasspathResource(bpmnResourceName))
+        .getId();
+
+    // then
+    ResourceEntity resource = (ResourceEntity) repositoryService.getDeploymentResources(deploymentId).get(0);
+    assertNotNull(resource.getHash());
+    assertEquals(ResourceUtil.calculateContentHash(resource.getBytes()), resource.getHash());
+  }
+
+  @Test
+  public void testDuplicateFilteringOfResourceWithoutHash() {
+    // given a resource deployed before content hashes were stored
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    final String deploymentId = testRule.deploy(repositoryService.createDeployment()
+        .enableDuplicateFiltering()
+        .addClasspathResource(bpmnResourceName)
+        .name("withoutHash"))
+        .getId();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        try (PreparedStatement statement = commandContext.getDbSqlSession().getSqlSession().getConnection()
+            .prepareStatement("update ACT_GE_BYTEARRAY set HASH_ = null where DEPLOYMENT_ID_ = ?")) {
+          statement.setString(1, deploymentId);
+          statement.executeUpdate();
+        }
+        catch (SQLException e) {
+          throw new ProcessEngineException(e);
+        }
+        return null;
+      }
+    });
+
+    // when
+    String redeploymentId = repositoryService.createDeployment()
+        .enableDuplicateFiltering()
+        .addClasspathResource(bpmnResourceName)
+        .name("withoutHash")
+        .deploy()
+        .getId();
+
+    // then
+    assertEquals(deploymentId, redeploymentId);
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+  }
+
   @Test
   public void testDuplicateFilteringDefaultBehavior() {
     // given
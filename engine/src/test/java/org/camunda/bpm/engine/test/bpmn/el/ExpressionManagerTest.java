@@ -29,6 +29,8 @@ import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.RequiredHistoryLevel;
 import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.junit.Test;
 
 /**
@@ -97,6 +99,25 @@ public class ExpressionManagerTest extends PluggableProcessEngineTest {
     assertEquals("johnny", task.getAssignee());
   }
 
+  @Test
+  public void testResolvesNullValuedVariable() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .userTask()
+          .camundaAssignee("${assignee == null ? 'nobody' : assignee}")
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process", Variables.putValue("assignee", null));
+
+    // then
+    Task task = taskService.createTaskQuery().singleResult();
+    assertEquals("nobody", task.getAssignee());
+  }
+
   @Deployment
   @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
   @Test
@@ -0,0 +1,195 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cmd.DeployCmd;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.repository.DeploymentBuilderImpl;
+import org.camunda.bpm.engine.impl.test.RequiredDatabase;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * <p>Tests deployments from two threads simultaneously if the deployment lock is acquired
+ * per definition key.</p>
+ *
+ * <p><b>Note:</b> the tests are not executed on H2 because it doesn't support the
+ * exclusive lock on the property table.</p>
+ */
+@RequiredDatabase(excludes = DbSqlSessionFactory.H2)
+public class ConcurrentDeploymentLockPerDefinitionKeyTest extends ConcurrencyTestHelper {
+
+  protected static final int STRIPES = 4;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+      configuration.setDeploymentLockPerDefinitionKey(true);
+      configuration.setDeploymentLockStripes(STRIPES);
+      configuration.setDeploymentSynchronized(false);
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+
+  protected ThreadControl thread1;
+  protected ThreadControl thread2;
+
+  @Before
+  public void initializeProcessEngine() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+  }
+
+  @After
+  public void tearDown() {
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  @Test
+  public void shouldIncrementVersionOfSameKey() throws InterruptedException {
+    // given
+    thread1 = executeControllableCommand(new ControllableDeployCommand(createDeploymentBuilder("process")));
+    thread1.reportInterrupts();
+    thread1.waitForSync();
+
+    thread2 = executeControllableCommand(new ControllableDeployCommand(createDeploymentBuilder("process")));
+    thread2.reportInterrupts();
+    thread2.waitForSync();
+
+    // thread 1 deploys but does not commit yet
+    thread1.makeContinue();
+    thread1.waitForSync();
+
+    // thread 2 blocks on the lock of the key
+    thread2.makeContinue();
+    Thread.sleep(2000);
+
+    // when
+    thread1.waitUntilDone();
+    thread2.waitForSync();
+    thread2.waitUntilDone();
+
+    // then
+    assertThat(thread1.getException()).isNull();
+    assertThat(thread2.getException()).isNull();
+
+    List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery()
+        .orderByProcessDefinitionVersion()
+        .asc()
+        .list();
+    assertThat(processDefinitions).hasSize(2);
+    assertThat(processDefinitions.get(0).getVersion()).isEqualTo(1);
+    assertThat(processDefinitions.get(1).getVersion()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotBlockDeploymentOfKeyWithOtherLock() {
+    // given
+    String processKey = "process";
+    String otherProcessKey = findKeyWithOtherLock(processKey);
+
+    thread1 = executeControllableCommand(new ControllableDeployCommand(createDeploymentBuilder(processKey)));
+    thread1.reportInterrupts();
+    thread1.waitForSync();
+
+    ControllableDeployCommand otherDeployCommand = new ControllableDeployCommand(createDeploymentBuilder(otherProcessKey));
+    thread2 = executeControllableCommand(otherDeployCommand);
+    thread2.reportInterrupts();
+    thread2.waitForSync();
+
+    // thread 1 deploys but does not commit yet
+    thread1.makeContinue();
+    thread1.waitForSync();
+
+    // when
+    thread2.makeContinue();
+    thread2.waitForSync(10000);
+
+    // then thread 2 has deployed while thread 1 still holds its lock
+    assertThat(otherDeployCommand.deployed).isTrue();
+
+    thread2.waitUntilDone();
+    thread1.waitUntilDone();
+
+    assertThat(thread1.getException()).isNull();
+    assertThat(thread2.getException()).isNull();
+    assertThat(repositoryService.createProcessDefinitionQuery().count()).isEqualTo(2L);
+  }
+
+  protected String findKeyWithOtherLock(String processKey) {
+    int stripe = Math.floorMod(processKey.hashCode(), STRIPES);
+    for (int i = 0; ; i++) {
+      String otherProcessKey = processKey + i;
+      if (Math.floorMod(otherProcessKey.hashCode(), STRIPES) != stripe) {
+        return otherProcessKey;
+      }
+    }
+  }
+
+  protected DeploymentBuilder createDeploymentBuilder(String processKey) {
+    return new DeploymentBuilderImpl(null)
+        .addModelInstance(processKey + ".bpmn", Bpmn.createExecutableProcess(processKey).startEvent().done());
+  }
+
+  protected static class ControllableDeployCommand extends ControllableCommand<Void> {
+
+    protected final DeploymentBuilder deploymentBuilder;
+
+    protected volatile boolean deployed = false;
+
+    public ControllableDeployCommand(DeploymentBuilder deploymentBuilder) {
+      this.deploymentBuilder = deploymentBuilder;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      monitor.sync();  // thread will block here until makeContinue() is called form main thread
+
+      new DeployCmd((DeploymentBuilderImpl) deploymentBuilder).execute(commandContext);
+      deployed = true;
+
+      monitor.sync();  // thread will block here until waitUntilDone() is called form main thread
+
+      return null;
+    }
+
+  }
+
+}
@@ -16,17 +16,30 @@
  */
 package org.camunda.bpm.engine.test.standalone.scripting;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.Callable;
+
+import javax.script.CompiledScript;
+
+import org.camunda.bpm.application.ProcessApplicationInterface;
+import org.camunda.bpm.application.impl.EmbeddedProcessApplication;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.scripting.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
+import org.camunda.bpm.engine.impl.util.ScriptUtil;
+import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
 import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,6 +51,7 @@ public class ScriptCompilationTest extends PluggableProcessEngineTest {
 
   protected static final String SCRIPT_LANGUAGE = "groovy";
   protected static final String EXAMPLE_SCRIPT = "println 'hello world'";
+  protected static final String PROCESS_PATH = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
 
   protected ScriptFactory scriptFactory;
 
@@ -138,6 +152,135 @@ public class ScriptCompilationTest extends PluggableProcessEngineTest {
     assertNotNull(script.getCompiledScript());
   }
 
+  @Test
+  public void testCompiledScriptIsSharedBetweenScriptsWithSameSource() {
+    // given a script which was executed and thereby compiled
+    SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+    executeScript(script);
+
+    // when another script with the same source is executed
+    SourceExecutableScript otherScript = createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+    executeScript(otherScript);
+
+    // then it reuses the compiled script
+    assertSame(script.getCompiledScript(), otherScript.getCompiledScript());
+  }
+
+  @Test
+  public void testCompiledScriptCacheIsBounded() {
+    // given a cache which can hold a single compiled script
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    processEngineConfiguration.setCompiledScriptCache(new CompiledScriptCache(1));
+
+    try {
+      // when two different scripts are executed
+      executeScript(createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT));
+      executeScript(createScript(SCRIPT_LANGUAGE, "println 'hello cache'"));
+
+      // then the first one was evicted
+      CompiledScriptCache boundedCache = processEngineConfiguration.getCompiledScriptCache();
+      assertEquals(1, boundedCache.size());
+      assertEquals(1, boundedCache.getEvictionCount());
+      assertEquals(2, boundedCache.getMissCount());
+    }
+    finally {
+      processEngineConfiguration.setCompiledScriptCache(compiledScriptCache);
+    }
+  }
+
+  @Test
+  public void testScriptPrecompilation() {
+    // given script pre-compilation is enabled
+    processEngineConfiguration.setEnableScriptPrecompilation(true);
+
+    try {
+      // when a script is created in the context of the engine
+      SourceExecutableScript script = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new Command<SourceExecutableScript>() {
+          public SourceExecutableScript execute(CommandContext commandContext) {
+            return (SourceExecutableScript) ScriptUtil.getScriptFromSource(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, scriptFactory);
+          }
+        });
+
+      // then it is compiled before its first execution
+      assertFalse(script.isShouldBeCompiled());
+      assertNotNull(script.getCompiledScript());
+    }
+    finally {
+      processEngineConfiguration.setEnableScriptPrecompilation(false);
+    }
+  }
+
+  @Test
+  public void testClearedCompiledScriptIsCompiledAgain() {
+    // given a script which was executed and thereby compiled
+    SourceExecutableScript script = createScript(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT);
+    executeScript(script);
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getCompiledScriptCache();
+    CompiledScript compiledScript = compiledScriptCache.get(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, null);
+
+    // when the cache is cleared and the script is executed again
+    compiledScriptCache.clear();
+    executeScript(script);
+
+    // then the script was compiled again
+    CompiledScript recompiledScript = compiledScriptCache.get(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, null);
+    assertNotNull(recompiledScript);
+    assertNotSame(compiledScript, recompiledScript);
+  }
+
+  @Test
+  public void testPrecompiledScriptIsCompiledWithScriptEngineOfProcessApplication() {
+    // given a script which was pre-compiled with the global script engine
+    processEngineConfiguration.setEnableScriptPrecompilation(true);
+    SourceExecutableScript script;
+    try {
+      script = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new Command<SourceExecutableScript>() {
+          public SourceExecutableScript execute(CommandContext commandContext) {
+            return (SourceExecutableScript) ScriptUtil.getScriptFromSource(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, scriptFactory);
+          }
+        });
+    }
+    finally {
+      processEngineConfiguration.setEnableScriptPrecompilation(false);
+    }
+
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+    ProcessApplicationDeployment deployment = repositoryService.createDeployment(processApplication.getReference())
+        .addClasspathResource(PROCESS_PATH)
+        .deploy();
+
+    try {
+      // when the script is executed within the process application
+      executeScriptInProcessApplication(script, processApplication);
+
+      // then it was compiled with the script engine of the process application
+      CompiledScript compiledScript = processEngineConfiguration.getCompiledScriptCache()
+          .get(SCRIPT_LANGUAGE, EXAMPLE_SCRIPT, processApplication.getProcessApplicationClassloader());
+      assertNotNull(compiledScript);
+      assertNotSame(script.getCompiledScript(), compiledScript);
+      assertSame(processApplication.getScriptEngineForName(SCRIPT_LANGUAGE, true), compiledScript.getEngine());
+    }
+    finally {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  protected Object executeScriptInProcessApplication(final ExecutableScript script, final ProcessApplicationInterface processApplication) {
+    final ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<Object>() {
+        public Object execute(CommandContext commandContext) {
+          return Context.executeWithinProcessApplication(new Callable<Object>() {
+            public Object call() throws Exception {
+              return scriptingEnvironment.execute(script, null);
+            }
+          }, processApplication.getReference());
+        }
+      });
+  }
+
   protected Object executeScript(final ExecutableScript script) {
     final ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
     return processEngineConfiguration.getCommandExecutorTxRequired()
@@ -0,0 +1,82 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.scripting;
+
+import static org.junit.Assert.assertEquals;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ScriptEnginePoolDecisionTest {
+
+  // the javascript engine does not declare to be thread-safe and is therefore pooled
+  protected static final String SCRIPT_LANGUAGE = "javascript";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+      configuration.setScriptEnginePoolSize(1);
+      configuration.setScriptEnginePoolMaxWaitMillis(1);
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected DecisionService decisionService;
+
+  @Before
+  public void init() {
+    decisionService = engineRule.getDecisionService();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/standalone/scripting/ScriptEnginePoolDecisionTest.dmn")
+  public void shouldReturnScriptEngineToPoolAfterDecisionEvaluation() {
+    // when
+    evaluateDecision(1);
+    DmnDecisionResult result = evaluateDecision(2);
+
+    // then
+    assertEquals(3, ((Number) result.getSingleResult().getSingleEntry()).intValue());
+
+    ScriptEnginePool scriptEnginePool = engineRule.getProcessEngineConfiguration()
+        .getScriptingEngines()
+        .getScriptEnginePool(SCRIPT_LANGUAGE);
+    assertEquals(0, scriptEnginePool.getLeasedCount());
+    assertEquals(2, scriptEnginePool.getLeaseCount());
+  }
+
+  protected DmnDecisionResult evaluateDecision(int input) {
+    return decisionService.evaluateDecisionByKey("scriptDecision")
+        .variables(Variables.createVariables().putValue("input", input))
+        .evaluate();
+  }
+
+}
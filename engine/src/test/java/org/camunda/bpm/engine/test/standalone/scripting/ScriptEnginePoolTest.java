@@ -0,0 +1,116 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.scripting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScriptEnginePoolTest {
+
+  // the javascript engine does not declare to be thread-safe and is therefore not cached
+  protected static final String SCRIPT_LANGUAGE = "javascript";
+
+  protected ScriptEngineResolver scriptEngineResolver;
+
+  @Before
+  public void setUp() {
+    scriptEngineResolver = new ScriptEngineResolver(new ScriptEngineManager());
+    scriptEngineResolver.setScriptEnginePoolSize(1);
+  }
+
+  @Test
+  public void shouldReuseReleasedScriptEngine() {
+    // given
+    ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+    assertNotNull(scriptEngine);
+
+    // when
+    scriptEngineResolver.releaseScriptEngine(SCRIPT_LANGUAGE, scriptEngine);
+
+    // then
+    assertSame(scriptEngine, scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true));
+
+    ScriptEnginePool scriptEnginePool = scriptEngineResolver.getScriptEnginePool(SCRIPT_LANGUAGE);
+    assertEquals(1, scriptEnginePool.getSize());
+    assertEquals(2, scriptEnginePool.getLeaseCount());
+    assertEquals(1, scriptEnginePool.getLeasedCount());
+  }
+
+  @Test
+  public void shouldResetBindingsOnRelease() throws ScriptException {
+    // given
+    ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+    scriptEngine.eval("var leaked = 42;");
+
+    // when
+    scriptEngineResolver.releaseScriptEngine(SCRIPT_LANGUAGE, scriptEngine);
+
+    // then
+    ScriptEngine reusedScriptEngine = scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+    assertSame(scriptEngine, reusedScriptEngine);
+    assertNull(reusedScriptEngine.get("leaked"));
+  }
+
+  @Test
+  public void shouldCreateUnpooledScriptEngineWhenPoolIsExhausted() {
+    // given
+    scriptEngineResolver.setScriptEnginePoolMaxWaitMillis(0);
+    ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+
+    // when
+    ScriptEngine otherScriptEngine = scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+
+    // then
+    assertNotNull(otherScriptEngine);
+    assertNotSame(scriptEngine, otherScriptEngine);
+
+    ScriptEnginePool scriptEnginePool = scriptEngineResolver.getScriptEnginePool(SCRIPT_LANGUAGE);
+    assertEquals(1, scriptEnginePool.getSize());
+    assertEquals(1, scriptEnginePool.getTimeoutCount());
+
+    // and the unpooled engine is not added to the pool on release
+    scriptEngineResolver.releaseScriptEngine(SCRIPT_LANGUAGE, otherScriptEngine);
+    assertEquals(0, scriptEnginePool.getIdleCount());
+  }
+
+  @Test
+  public void shouldNotPoolScriptEnginesByDefault() {
+    // given
+    scriptEngineResolver.setScriptEnginePoolSize(0);
+    ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true);
+
+    // when
+    scriptEngineResolver.releaseScriptEngine(SCRIPT_LANGUAGE, scriptEngine);
+
+    // then
+    assertNotSame(scriptEngine, scriptEngineResolver.getScriptEngine(SCRIPT_LANGUAGE, true));
+    assertNull(scriptEngineResolver.getScriptEnginePool(SCRIPT_LANGUAGE));
+  }
+
+}
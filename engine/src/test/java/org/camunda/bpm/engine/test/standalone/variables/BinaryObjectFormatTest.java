@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.variable.serializer.BinaryObjectFormat;
+import org.junit.Test;
+
+public class BinaryObjectFormatTest {
+
+  @Test
+  public void shouldWriteAndReadValues() {
+    // given
+    Map<String, Object> value = new LinkedHashMap<>();
+    value.put("null", null);
+    value.put("string", "camunda ä€");
+    value.put("boolean", true);
+    value.put("short", (short) -12);
+    value.put("integer", Integer.MIN_VALUE);
+    value.put("long", Long.MAX_VALUE);
+    value.put("float", 1.5f);
+    value.put("double", -0.25d);
+    value.put("date", new Date(1234567890L));
+    value.put("list", Arrays.asList(1, "two", Collections.singletonMap("three", 3L)));
+    value.put("emptyMap", Collections.emptyMap());
+
+    // when
+    Object result = BinaryObjectFormat.read(BinaryObjectFormat.write(value));
+
+    // then
+    assertThat(result).isEqualTo(value);
+    assertThat(((Map<?, ?>) result).keySet().toArray()).containsExactly(value.keySet().toArray());
+  }
+
+  @Test
+  public void shouldCopyByteArrayValues() {
+    // given
+    byte[] bytes = { 1, 2, 3 };
+    byte[] serialized = BinaryObjectFormat.write(Collections.singletonList(bytes));
+
+    // when
+    byte[] result = (byte[]) ((List<?>) BinaryObjectFormat.read(serialized)).get(0);
+    result[0] = 42;
+
+    // then
+    assertThat((byte[]) ((List<?>) BinaryObjectFormat.read(serialized)).get(0)).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void shouldWriteSmallNumbersCompactly() {
+    // when
+    byte[] serialized = BinaryObjectFormat.write(Arrays.asList(1, -1, 63L));
+
+    // then header, list tag, size and one tag and one byte per number
+    assertThat(serialized).hasSize(2 + 2 + 3 * 2);
+  }
+
+  @Test
+  public void shouldNotWriteUnsupportedValues() {
+    assertThat(BinaryObjectFormat.canWrite(Collections.singletonMap("key", "value"))).isTrue();
+    assertThat(BinaryObjectFormat.canWrite(new Object())).isFalse();
+    assertThat(BinaryObjectFormat.canWrite(Collections.singletonMap(1, "value"))).isFalse();
+    assertThat(BinaryObjectFormat.canWrite(Collections.singletonList(new Timestamp(0)))).isFalse();
+  }
+
+  @Test
+  public void shouldNotWriteCyclicValues() {
+    // given
+    Map<String, Object> value = new LinkedHashMap<>();
+    value.put("self", Collections.singletonList(value));
+
+    // when/then
+    assertThat(BinaryObjectFormat.canWrite(value)).isFalse();
+  }
+
+  @Test
+  public void shouldFailToReadTruncatedValue() {
+    // given
+    byte[] serialized = BinaryObjectFormat.write(Collections.singletonList("camunda"));
+
+    // when/then
+    assertThatThrownBy(() -> BinaryObjectFormat.read(Arrays.copyOf(serialized, serialized.length - 1)))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldFailToReadValueInOtherFormat() {
+    assertThatThrownBy(() -> BinaryObjectFormat.read("{}".getBytes()))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("not in binary object format");
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.DeflateVariableCompressionCodec;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.SerializedValueCompressor;
+import org.camunda.bpm.engine.impl.variable.serializer.compression.VariableCompressionCodec;
+import org.junit.Test;
+
+public class SerializedValueCompressorTest {
+
+  protected static final byte[] VALUE = repeat("{\"name\":\"camunda\",\"value\":42}", 100).getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void shouldCompressAndDecompressValue() {
+    // given
+    SerializedValueCompressor compressor = new SerializedValueCompressor(new DeflateVariableCompressionCodec(), 0);
+
+    // when
+    byte[] compressed = compressor.compress(VALUE);
+
+    // then
+    assertThat(SerializedValueCompressor.isCompressed(compressed)).isTrue();
+    assertThat(compressed.length).isLessThan(VALUE.length);
+    assertThat(compressor.decompress(compressed)).isEqualTo(VALUE);
+  }
+
+  @Test
+  public void shouldNotCompressValueBelowThreshold() {
+    // given
+    SerializedValueCompressor compressor = new SerializedValueCompressor(new DeflateVariableCompressionCodec(), VALUE.length + 1);
+
+    // when
+    byte[] compressed = compressor.compress(VALUE);
+
+    // then
+    assertThat(compressed).isSameAs(VALUE);
+  }
+
+  @Test
+  public void shouldNotCompressIfValueDoesNotGetSmaller() {
+    // given
+    SerializedValueCompressor compressor = new SerializedValueCompressor(new DeflateVariableCompressionCodec(), 0);
+    byte[] value = "{}".getBytes(StandardCharsets.UTF_8);
+
+    // when
+    byte[] compressed = compressor.compress(value);
+
+    // then
+    assertThat(compressed).isSameAs(value);
+  }
+
+  @Test
+  public void shouldReadUncompressedValue() {
+    // given
+    SerializedValueCompressor compressor = new SerializedValueCompressor(new DeflateVariableCompressionCodec(), 0);
+
+    // when
+    byte[] decompressed = compressor.decompress(VALUE);
+
+    // then
+    assertThat(decompressed).isSameAs(VALUE);
+  }
+
+  @Test
+  public void shouldDecompressDefaultCodecIfCompressionIsDisabled() {
+    // given
+    byte[] compressed = new SerializedValueCompressor(new DeflateVariableCompressionCodec(), 0).compress(VALUE);
+
+    // when
+    byte[] decompressed = SerializedValueCompressor.DEFAULT.decompress(compressed);
+
+    // then
+    assertThat(decompressed).isEqualTo(VALUE);
+  }
+
+  @Test
+  public void shouldFailToDecompressUnknownCodec() {
+    // given
+    byte[] compressed = new SerializedValueCompressor(new TruncatingCodec(), 0).compress(VALUE);
+
+    // when/then
+    assertThatThrownBy(() -> SerializedValueCompressor.DEFAULT.decompress(compressed))
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("no compression codec with id '16'");
+  }
+
+  protected static String repeat(String value, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(value);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Drops the second half of the value, so it is "compressed" in any case.
+   */
+  protected static class TruncatingCodec implements VariableCompressionCodec {
+
+    public byte getId() {
+      return 16;
+    }
+
+    public byte[] compress(byte[] bytes) {
+      byte[] result = new byte[bytes.length / 2];
+      System.arraycopy(bytes, 0, result, 0, result.length);
+      return result;
+    }
+
+    public byte[] decompress(byte[] bytes) {
+      return bytes;
+    }
+  }
+
+}
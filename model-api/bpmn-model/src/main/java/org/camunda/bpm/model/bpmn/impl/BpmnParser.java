@@ -24,10 +24,9 @@ import java.io.InputStream;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.xml.impl.ModelImpl;
 import org.camunda.bpm.model.xml.impl.parser.AbstractModelParser;
-import org.camunda.bpm.model.xml.impl.util.ReflectUtil;
 import org.camunda.bpm.model.xml.instance.DomDocument;
 
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 
 /**
@@ -38,21 +37,13 @@ import javax.xml.validation.SchemaFactory;
  */
 public class BpmnParser extends AbstractModelParser {
 
- private static final String JAXP_SCHEMA_SOURCE = "http://java.sun.com/xml/jaxp/properties/schemaSource";
- private static final String JAXP_SCHEMA_LANGUAGE = "http://java.sun.com/xml/jaxp/properties/schemaLanguage";
-
   private static final String W3C_XML_SCHEMA = "http://www.w3.org/2001/XMLSchema";
 
   public BpmnParser() {
     this.schemaFactory = SchemaFactory.newInstance(W3C_XML_SCHEMA);
-    addSchema(BPMN20_NS, createSchema(BPMN_20_SCHEMA_LOCATION, BpmnParser.class.getClassLoader()));
-  }
-
-  @Override
-  protected void configureFactory(DocumentBuilderFactory dbf) {
-    dbf.setAttribute(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
-    dbf.setAttribute(JAXP_SCHEMA_SOURCE, ReflectUtil.getResource(BPMN_20_SCHEMA_LOCATION, BpmnParser.class.getClassLoader()).toString());
-    super.configureFactory(dbf);
+    Schema schema = createSchema(BPMN_20_SCHEMA_LOCATION, BpmnParser.class.getClassLoader());
+    addSchema(BPMN20_NS, schema);
+    setParserSchema(schema);
   }
 
   @Override
@@ -28,10 +28,8 @@ import org.camunda.bpm.model.cmmn.CmmnModelException;
 import org.camunda.bpm.model.xml.ModelParseException;
 import org.camunda.bpm.model.xml.impl.ModelImpl;
 import org.camunda.bpm.model.xml.impl.parser.AbstractModelParser;
-import org.camunda.bpm.model.xml.impl.util.ReflectUtil;
 import org.camunda.bpm.model.xml.instance.DomDocument;
 
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.validation.SchemaFactory;
 
 /**
@@ -40,28 +38,16 @@ import javax.xml.validation.SchemaFactory;
  */
 public class CmmnParser extends AbstractModelParser {
 
-  private static final String JAXP_SCHEMA_SOURCE = "http://java.sun.com/xml/jaxp/properties/schemaSource";
-  private static final String JAXP_SCHEMA_LANGUAGE = "http://java.sun.com/xml/jaxp/properties/schemaLanguage";
-
   private static final String W3C_XML_SCHEMA = "http://www.w3.org/2001/XMLSchema";
 
   public CmmnParser() {
     this.schemaFactory = SchemaFactory.newInstance(W3C_XML_SCHEMA);
     addSchema(CMMN10_NS, createSchema(CMMN_10_SCHEMA_LOCATION, CmmnParser.class.getClassLoader()));
     addSchema(CMMN11_NS, createSchema(CMMN_11_SCHEMA_LOCATION, CmmnParser.class.getClassLoader()));
-  }
-
-  @Override
-  protected void configureFactory(DocumentBuilderFactory dbf) {
-    dbf.setAttribute(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
-
-    ClassLoader classLoader = CmmnParser.class.getClassLoader();
-    dbf.setAttribute(JAXP_SCHEMA_SOURCE, new String[] {
-        ReflectUtil.getResource(CMMN_10_SCHEMA_LOCATION, classLoader).toString(),
-        ReflectUtil.getResource(CMMN_11_SCHEMA_LOCATION, classLoader).toString() }
-    );
-
-    super.configureFactory(dbf);
+    setParserSchema(createSchema(new String[] {
+        CMMN_10_SCHEMA_LOCATION,
+        CMMN_11_SCHEMA_LOCATION },
+        CmmnParser.class.getClassLoader()));
   }
 
   @Override
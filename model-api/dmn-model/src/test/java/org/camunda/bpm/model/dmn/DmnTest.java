@@ -17,7 +17,12 @@
 package org.camunda.bpm.model.dmn;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.camunda.bpm.model.dmn.impl.DmnModelConstants;
 import org.junit.Test;
 
 public class DmnTest {
@@ -27,4 +32,28 @@ public class DmnTest {
     assertThat(Dmn.INSTANCE).isNotNull();
   }
 
+  @Test
+  public void shouldParseDocumentsOfAllVersions() {
+    String[] resources = { "Example.dmn", "Example-DMN-1.2.dmn", "Example-DMN-1.3.dmn" };
+
+    for (String resource : resources) {
+      assertThat(Dmn.readModelFromStream(getClass().getResourceAsStream(resource)).getDefinitions()).isNotNull();
+    }
+  }
+
+  @Test
+  public void shouldRejectInvalidDocumentsOfAllVersionsWhileParsing() {
+    String[] namespaces = { DmnModelConstants.DMN11_NS, DmnModelConstants.DMN11_ALTERNATIVE_NS,
+        DmnModelConstants.DMN12_NS, DmnModelConstants.DMN13_NS };
+
+    for (String namespace : namespaces) {
+      String document = "<definitions xmlns=\"" + namespace + "\" id=\"definitions\" name=\"definitions\" namespace=\"test\">"
+          + "<unknown/></definitions>";
+
+      assertThatThrownBy(() -> Dmn.readModelFromStream(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8))))
+          .isInstanceOf(DmnModelException.class)
+          .hasStackTraceContaining("unknown");
+    }
+  }
+
 }
@@ -19,12 +19,15 @@ package org.camunda.bpm.model.xml.impl.parser;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
@@ -45,6 +48,7 @@ public abstract class AbstractModelParser {
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA = "http://javax.xml.XMLConstants/property/accessExternalSchema";
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_SYSTEM_PROPERTY = "javax.xml.accessExternalSchema";
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_ALL = "all";
+  protected static final String XERCES_DEFER_NODE_EXPANSION = "http://apache.org/xml/features/dom/defer-node-expansion";
 
   private final DocumentBuilderFactory documentBuilderFactory;
   protected SchemaFactory schemaFactory;
@@ -67,6 +71,7 @@ public abstract class AbstractModelParser {
     dbf.setNamespaceAware(true);
     protectAgainstXxeAttacks(dbf);
     enableSecureProcessing(dbf);
+    disableDeferredNodeExpansion(dbf);
   }
 
   /**
@@ -107,6 +112,20 @@ public abstract class AbstractModelParser {
     }
   }
 
+  /**
+   * Builds the complete document while parsing instead of expanding nodes on first access,
+   * since model instances access all nodes of their document anyway.
+   * If the implementing parser does not support the feature, it is ignored.
+   *
+   * @param dbf The factory to configure.
+   */
+  private void disableDeferredNodeExpansion(final DocumentBuilderFactory dbf) {
+    try {
+      dbf.setFeature(XERCES_DEFER_NODE_EXPANSION, false);
+    } catch (ParserConfigurationException ignored) {
+    }
+  }
+
   /*
    * JAXP allows users to override the default value via system properties and
    * a central properties file (see https://docs.oracle.com/javase/tutorial/jaxp/properties/scope.html).
@@ -177,6 +196,21 @@ public abstract class AbstractModelParser {
     return schemas.get(namespaceURI);
   }
 
+  /**
+   * Validates documents against the given schema while parsing them. In contrast to
+   * setting the JAXP schema source on the {@link DocumentBuilderFactory}, the schema is
+   * compiled once by the caller and then used for all documents of this parser.
+   *
+   * @param schema the schema to validate parsed documents against
+   */
+  protected void setParserSchema(Schema schema) {
+    synchronized(documentBuilderFactory) {
+      // validate against the schema only, DTD validation would reject documents without a DTD
+      documentBuilderFactory.setValidating(false);
+      documentBuilderFactory.setSchema(schema);
+    }
+  }
+
   protected void addSchema(String namespaceURI, Schema schema) {
     schemas.put(namespaceURI, schema);
   }
@@ -190,6 +224,23 @@ public abstract class AbstractModelParser {
     }
   }
 
+  /**
+   * Creates a single schema from multiple schema documents, e.g. to validate documents
+   * of all supported versions of a model while parsing them.
+   */
+  protected Schema createSchema(String[] locations, ClassLoader classLoader) {
+    Source[] sources = new Source[locations.length];
+    for (int i = 0; i < locations.length; i++) {
+      URL schema = ReflectUtil.getResource(locations[i], classLoader);
+      sources[i] = new StreamSource(schema.toExternalForm());
+    }
+    try {
+      return schemaFactory.newSchema(sources);
+    } catch (SAXException e) {
+      throw new ModelValidationException("Unable to parse schemas:" + Arrays.toString(locations));
+    }
+  }
+
   protected abstract ModelInstance createModelInstance(DomDocument document);
 
 }
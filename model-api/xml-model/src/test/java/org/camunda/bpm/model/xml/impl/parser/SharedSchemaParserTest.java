@@ -0,0 +1,190 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.SchemaFactory;
+
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.ModelParseException;
+import org.camunda.bpm.model.xml.impl.ModelImpl;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.instance.DomDocument;
+import org.camunda.bpm.model.xml.testmodel.TestModel;
+import org.junit.Test;
+
+/**
+ * Documents are validated against the schema set by {@link AbstractModelParser#setParserSchema}
+ * while they are parsed.
+ */
+public class SharedSchemaParserTest {
+
+  protected static final String ANIMALS_SCHEMA = "org/camunda/bpm/model/xml/testmodel/Testmodel.xsd";
+  protected static final String ZOO_SCHEMA = "org/camunda/bpm/model/xml/impl/parser/Zoo.xsd";
+
+  protected static final String VALID_ANIMALS = "<animals xmlns=\"http://camunda.org/animals\"><description>valid</description></animals>";
+  protected static final String INVALID_ANIMALS = "<animals xmlns=\"http://camunda.org/animals\"><unknown/></animals>";
+  protected static final String VALID_ZOO = "<zoo xmlns=\"http://camunda.org/zoo\"><keeper name=\"Tom\"/></zoo>";
+  protected static final String INVALID_ZOO = "<zoo xmlns=\"http://camunda.org/zoo\"><keeper/></zoo>";
+
+  @Test
+  public void shouldParseValidDocument() {
+    // given
+    SchemaParser parser = new SchemaParser(getClass().getClassLoader(), ANIMALS_SCHEMA);
+
+    // when
+    ModelInstance modelInstance = parser.parseModelFromStream(toStream(VALID_ANIMALS));
+
+    // then
+    assertThat(modelInstance.getDocument().getRootElement().getLocalName()).isEqualTo("animals");
+  }
+
+  @Test
+  public void shouldRejectInvalidDocumentWhileParsing() {
+    // given
+    SchemaParser parser = new SchemaParser(getClass().getClassLoader(), ANIMALS_SCHEMA);
+
+    // when/then
+    assertThatThrownBy(() -> parser.parseModelFromStream(toStream(INVALID_ANIMALS)))
+        .isInstanceOf(ModelParseException.class)
+        .hasMessage("SAXException while parsing input stream")
+        .hasStackTraceContaining("unknown");
+  }
+
+  @Test
+  public void shouldValidateEveryDocumentAgainstSharedSchema() {
+    // given
+    SchemaParser parser = new SchemaParser(getClass().getClassLoader(), ANIMALS_SCHEMA);
+
+    // when/then the schema is applied to every parse, not only to the first one
+    for (int i = 0; i < 3; i++) {
+      assertThat(parser.parseModelFromStream(toStream(VALID_ANIMALS))).isNotNull();
+      assertThatThrownBy(() -> parser.parseModelFromStream(toStream(INVALID_ANIMALS)))
+          .isInstanceOf(ModelParseException.class);
+    }
+  }
+
+  @Test
+  public void shouldValidateAgainstMultipleSchemas() {
+    // given
+    SchemaParser parser = new SchemaParser(getClass().getClassLoader(), ANIMALS_SCHEMA, ZOO_SCHEMA);
+
+    // when/then
+    assertThat(parser.parseModelFromStream(toStream(VALID_ANIMALS))).isNotNull();
+    assertThat(parser.parseModelFromStream(toStream(VALID_ZOO))).isNotNull();
+
+    assertThatThrownBy(() -> parser.parseModelFromStream(toStream(INVALID_ANIMALS)))
+        .isInstanceOf(ModelParseException.class);
+    assertThatThrownBy(() -> parser.parseModelFromStream(toStream(INVALID_ZOO)))
+        .isInstanceOf(ModelParseException.class)
+        .hasStackTraceContaining("name");
+  }
+
+  @Test
+  public void shouldNotResolveSchemaWithContextClassLoader() {
+    // given a context class loader which cannot load the schemas
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[0], null));
+
+    try {
+      // when
+      SchemaParser parser = new SchemaParser(getClass().getClassLoader(), ANIMALS_SCHEMA, ZOO_SCHEMA);
+
+      // then
+      assertThat(parser.parseModelFromStream(toStream(VALID_ZOO))).isNotNull();
+      assertThatThrownBy(() -> parser.parseModelFromStream(toStream(INVALID_ZOO)))
+          .isInstanceOf(ModelParseException.class);
+    }
+    finally {
+      Thread.currentThread().setContextClassLoader(contextClassLoader);
+    }
+  }
+
+  @Test
+  public void shouldParseConcurrentlyWithSharedSchema() throws Exception {
+    // given
+    SchemaParser parser = new SchemaParser(getClass().getClassLoader(), ANIMALS_SCHEMA, ZOO_SCHEMA);
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    try {
+      // when
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        String document = i % 2 == 0 ? VALID_ZOO : INVALID_ZOO;
+        results.add(executorService.submit(isValid(parser, document)));
+      }
+
+      // then
+      for (int i = 0; i < results.size(); i++) {
+        assertThat(results.get(i).get()).isEqualTo(i % 2 == 0);
+      }
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  protected Callable<Boolean> isValid(SchemaParser parser, String document) {
+    return () -> {
+      try {
+        parser.parseModelFromStream(toStream(document));
+        return true;
+      }
+      catch (ModelParseException e) {
+        return false;
+      }
+    };
+  }
+
+  protected InputStream toStream(String document) {
+    return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+  }
+
+  protected static class SchemaParser extends AbstractModelParser {
+
+    public SchemaParser(ClassLoader classLoader, String... schemaLocations) {
+      this.schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+      if (schemaLocations.length == 1) {
+        setParserSchema(createSchema(schemaLocations[0], classLoader));
+      }
+      else {
+        setParserSchema(createSchema(schemaLocations, classLoader));
+      }
+    }
+
+    @Override
+    protected ModelInstance createModelInstance(DomDocument document) {
+      return new ModelInstanceImpl((ModelImpl) TestModel.getTestModel(), TestModel.getModelBuilder(), document);
+    }
+  }
+
+}
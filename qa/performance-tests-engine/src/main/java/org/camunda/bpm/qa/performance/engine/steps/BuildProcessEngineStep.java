@@ -0,0 +1,59 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.UUID;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Builds and closes an additional process engine on the database of the given engine,
+ * to measure the startup time of the process engine.
+ */
+public class BuildProcessEngineStep extends ProcessEngineAwareStep {
+
+  protected boolean parallelInitialization;
+  protected boolean lazyInitialization;
+
+  public BuildProcessEngineStep(ProcessEngine processEngine, boolean parallelInitialization, boolean lazyInitialization) {
+    super(processEngine);
+    this.parallelInitialization = parallelInitialization;
+    this.lazyInitialization = lazyInitialization;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    ProcessEngineConfigurationImpl existingConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+
+    ProcessEngineConfigurationImpl configuration = new StandaloneProcessEngineConfiguration();
+    configuration.setDataSource(existingConfiguration.getDataSource());
+    configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_FALSE);
+    configuration.setHistory(existingConfiguration.getHistory());
+    configuration.setJdbcBatchProcessing(existingConfiguration.isJdbcBatchProcessing());
+    configuration.setProcessEngineName("startup-" + UUID.randomUUID());
+    configuration
+      .setParallelInitialization(parallelInitialization)
+      .setLazyInitialization(lazyInitialization);
+
+    configuration.buildProcessEngine().close();
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.startup;
+
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.BuildProcessEngineStep;
+import org.junit.Test;
+
+/**
+ * Builds additional process engines with the different startup modes.
+ */
+public class ProcessEngineStartupPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  @Test
+  public void sequentialStartup() {
+    performanceTest()
+      .step(new BuildProcessEngineStep(engine, false, false))
+    .run();
+  }
+
+  @Test
+  public void parallelStartup() {
+    performanceTest()
+      .step(new BuildProcessEngineStep(engine, true, false))
+    .run();
+  }
+
+  @Test
+  public void lazyStartup() {
+    performanceTest()
+      .step(new BuildProcessEngineStep(engine, false, true))
+    .run();
+  }
+
+  @Test
+  public void parallelAndLazyStartup() {
+    performanceTest()
+      .step(new BuildProcessEngineStep(engine, true, true))
+    .run();
+  }
+
+}
@@ -120,7 +120,19 @@ public class Variables {
      * If you want to serialize objects using the Xml dataformat, you need to provide a serializer. The optinal
      * camunda Spin process engine plugin provides such a serializer.</p>
      */
-    XML("application/xml");
+    XML("application/xml"),
+
+    /**
+     * <p>The compact binary Serialization Data format. If this data format is used for serializing an object,
+     * the object is serialized in a schema-less binary format, similar to CBOR.</p>
+     *
+     * <p>The process engine provides a serializer for this dataformat out of the box. It supports
+     * <code>null</code>, {@link String}s, {@link Boolean}s, {@link Short}s, {@link Integer}s, {@link Long}s,
+     * {@link Float}s, {@link Double}s, {@link Date}s, <code>byte[]</code>s as well as
+     * {@link java.util.List}s and {@link Map}s with {@link String} keys of these values.
+     * Lists and maps are deserialized as {@link java.util.ArrayList} and {@link java.util.LinkedHashMap}.</p>
+     */
+    BINARY("application/x-camunda-binary-object");
 
     private final String name;
 
@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.variable.impl;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractCollection;
 import java.util.AbstractSet;
@@ -28,9 +30,17 @@ import java.util.Set;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.builder.TypedValueBuilder;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
 /**
+ * <p>Untyped values are stored as they are and only wrapped into a {@link TypedValue}
+ * when the typed value is requested, so that maps which are populated and read through
+ * the plain {@link Map} API do not create a wrapper per entry. Values which are
+ * {@link TypedValue typed}, a {@link TypedValueBuilder} or <code>null</code> are stored
+ * as typed values. The map is serialized with typed values only, as it was before untyped
+ * values were stored as they are.</p>
+ *
  * @author Daniel Meyer
  *
  */
@@ -38,10 +48,11 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
 
   private static final long serialVersionUID = 1L;
 
-  protected Map<String, TypedValue> variables = new HashMap<String, TypedValue>();
+  /** values are either {@link TypedValue typed values} or plain untyped values */
+  protected Map<String, Object> variables = new HashMap<String, Object>();
 
   public VariableMapImpl(VariableMapImpl map) {
-    variables = new HashMap<String, TypedValue>(map.variables);
+    variables = new HashMap<String, Object>(map.variables);
   }
 
   public VariableMapImpl(Map<String, Object> map) {
@@ -81,7 +92,25 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
 
   @SuppressWarnings("unchecked")
   public <T extends TypedValue> T getValueTyped(String name) {
-    return (T) variables.get(name);
+    Object value = variables.get(name);
+
+    if (value == null || value instanceof TypedValue) {
+      return (T) value;
+    }
+    else {
+      // the view is not stored, reading the map must not modify it
+      return (T) Variables.untypedValue(value);
+    }
+  }
+
+  /**
+   * Returns the value of the variable as it is stored in this map: a {@link TypedValue}
+   * if the variable was put as typed value, the plain value otherwise. In contrast to
+   * {@link #getValueTyped(String)}, no untyped value wrapper is created, so callers
+   * that wrap the value themselves do not allocate it twice.
+   */
+  public Object getStoredValue(String name) {
+    return variables.get(name);
   }
 
   // java.uitil Map<String, Object> implementation ////////////////////////////////////////
@@ -99,10 +128,11 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
   }
 
   public boolean containsValue(Object value) {
-    for (TypedValue varValue : variables.values()) {
-      if(value == varValue.getValue()) {
+    for (Object storedValue : variables.values()) {
+      Object varValue = unwrap(storedValue);
+      if(value == varValue) {
         return true;
-      } else if(value != null && value.equals(varValue.getValue())) {
+      } else if(value != null && value.equals(varValue)) {
         return true;
       }
     }
@@ -110,39 +140,16 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
   }
 
   public Object get(Object key) {
-    TypedValue typedValue = variables.get(key);
-
-    if(typedValue != null) {
-      return typedValue.getValue();
-    }
-    else {
-      return null;
-    }
+    return unwrap(variables.get(key));
   }
 
   public Object put(String key, Object value) {
-
-    TypedValue typedValue = Variables.untypedValue(value);
-
-    TypedValue prevValue = variables.put(key, typedValue);
-
-    if(prevValue != null) {
-      return prevValue.getValue();
-    }
-    else {
-      return null;
-    }
+    Object prevValue = variables.put(key, wrapIfTyped(value));
+    return unwrap(prevValue);
   }
 
   public Object remove(Object key) {
-    TypedValue prevValue = variables.remove(key);
-
-    if(prevValue != null) {
-      return prevValue.getValue();
-    }
-    else {
-      return null;
-    }
+    return unwrap(variables.remove(key));
   }
 
   public void putAll(Map<? extends String, ? extends Object> m) {
@@ -176,14 +183,14 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
       public Iterator<Object> iterator() {
 
         // wrapped iterator. Must be local to the iterator() method
-        final Iterator<TypedValue> iterator = variables.values().iterator();
+        final Iterator<Object> iterator = variables.values().iterator();
 
         return new Iterator<Object>() {
           public boolean hasNext() {
             return iterator.hasNext();
           }
           public Object next() {
-            return iterator.next().getValue();
+            return unwrap(iterator.next());
           }
           public void remove() {
             iterator.remove();
@@ -210,7 +217,7 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
         return new Iterator<Map.Entry<String,Object>>() {
 
           // wrapped iterator. Must be local to the iterator() method
-          final Iterator<java.util.Map.Entry<String, TypedValue>> iterator = variables.entrySet().iterator();
+          final Iterator<java.util.Map.Entry<String, Object>> iterator = variables.entrySet().iterator();
 
           public boolean hasNext() {
             return iterator.hasNext();
@@ -218,7 +225,7 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
 
           public java.util.Map.Entry<String, Object> next() {
 
-            final java.util.Map.Entry<String, TypedValue> underlyingEntry = iterator.next();
+            final java.util.Map.Entry<String, Object> underlyingEntry = iterator.next();
 
             // return wrapper backed by the underlying entry
             return new Entry<String, Object>() {
@@ -226,11 +233,11 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
                 return underlyingEntry.getKey();
               }
               public Object getValue() {
-                return underlyingEntry.getValue().getValue();
+                return unwrap(underlyingEntry.getValue());
               }
               public Object setValue(Object value) {
-                TypedValue typedValue = Variables.untypedValue(value);
-                return underlyingEntry.setValue(typedValue);
+                Object prevValue = underlyingEntry.setValue(wrapIfTyped(value));
+                return toTypedValue(prevValue);
               }
               public final boolean equals(Object o) {
                 if (!(o instanceof Map.Entry))
@@ -270,11 +277,11 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
   public String toString() {
     StringBuilder stringBuilder = new StringBuilder();
     stringBuilder.append("{\n");
-    for (Entry<String, TypedValue> variable : variables.entrySet()) {
+    for (Entry<String, Object> variable : variables.entrySet()) {
       stringBuilder.append("  ");
       stringBuilder.append(variable.getKey());
       stringBuilder.append(" => ");
-      stringBuilder.append(variable.getValue());
+      stringBuilder.append(toTypedValue(variable.getValue()));
       stringBuilder.append("\n");
     }
     stringBuilder.append("}");
@@ -305,4 +312,46 @@ public class VariableMapImpl implements VariableMap, Serializable, VariableConte
     return this;
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    Map<String, TypedValue> typedVariables = new HashMap<String, TypedValue>();
+    for (Entry<String, Object> variable : variables.entrySet()) {
+      typedVariables.put(variable.getKey(), toTypedValue(variable.getValue()));
+    }
+
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("variables", typedVariables);
+    out.writeFields();
+  }
+
+  /**
+   * @return the value as it is stored in the map: untyped values are kept as they are,
+   * everything else is converted into a typed value
+   */
+  protected static Object wrapIfTyped(Object value) {
+    if (value == null || value instanceof TypedValue || value instanceof TypedValueBuilder<?>) {
+      return Variables.untypedValue(value);
+    }
+    else {
+      return value;
+    }
+  }
+
+  protected static Object unwrap(Object storedValue) {
+    if (storedValue instanceof TypedValue) {
+      return ((TypedValue) storedValue).getValue();
+    }
+    else {
+      return storedValue;
+    }
+  }
+
+  protected static TypedValue toTypedValue(Object storedValue) {
+    if (storedValue == null || storedValue instanceof TypedValue) {
+      return (TypedValue) storedValue;
+    }
+    else {
+      return Variables.untypedValue(storedValue);
+    }
+  }
+
 }
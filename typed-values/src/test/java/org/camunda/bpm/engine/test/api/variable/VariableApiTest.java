@@ -19,10 +19,16 @@ package org.camunda.bpm.engine.test.api.variable;
 import static org.camunda.bpm.engine.variable.Variables.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.util.Collection;
 import java.util.Date;
@@ -34,6 +40,8 @@ import org.camunda.bpm.engine.variable.context.VariableContext;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
+import org.camunda.bpm.engine.variable.type.ValueType;
 import org.camunda.bpm.engine.variable.value.ObjectValue;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 import org.junit.Test;
@@ -193,4 +201,90 @@ public class VariableApiTest {
       assertTrue(value.isTransient());
     }
   }
+
+  @Test
+  public void testUntypedValuesAsTypedValues() {
+    VariableMap variables = createVariables()
+        .putValue("untyped", 42)
+        .putValue("typed", integerValue(42))
+        .putValue("null", null);
+
+    TypedValue untypedValue = variables.getValueTyped("untyped");
+    assertNull(untypedValue.getType());
+    assertEquals(42, untypedValue.getValue());
+    assertFalse(untypedValue.isTransient());
+
+    assertEquals(ValueType.INTEGER, variables.getValueTyped("typed").getType());
+    assertEquals(ValueType.NULL, variables.getValueTyped("null").getType());
+
+    assertEquals(42, variables.get("untyped"));
+    assertEquals(42, variables.get("typed"));
+    assertNull(variables.get("null"));
+    assertTrue(variables.containsKey("null"));
+  }
+
+  @Test
+  public void testJavaSerialization() throws Exception {
+    VariableMap variables = createVariables()
+        .putValue("untyped", "foo")
+        .putValue("typed", stringValue("bar"));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+    objectOutputStream.writeObject(variables);
+    objectOutputStream.close();
+
+    ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+    VariableMap deserializedVariables = (VariableMap) objectInputStream.readObject();
+
+    assertEquals(variables, deserializedVariables);
+    assertEquals(ValueType.STRING, deserializedVariables.getValueTyped("typed").getType());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testJavaSerializationWithTypedValuesOnly() throws Exception {
+    VariableMap variables = createVariables()
+        .putValue("untyped", "foo");
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+    objectOutputStream.writeObject(variables);
+    objectOutputStream.close();
+
+    ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+    VariableMapImpl deserializedVariables = (VariableMapImpl) objectInputStream.readObject();
+
+    Field field = VariableMapImpl.class.getDeclaredField("variables");
+    field.setAccessible(true);
+    Map<String, Object> storedValues = (Map<String, Object>) field.get(deserializedVariables);
+    assertTrue(storedValues.get("untyped") instanceof TypedValue);
+    assertEquals("foo", deserializedVariables.get("untyped"));
+  }
+
+  @Test
+  public void testGetValueTypedDoesNotModifyMap() throws Exception {
+    VariableMapImpl variables = (VariableMapImpl) createVariables()
+        .putValue("untyped", "foo");
+
+    Field field = VariableMapImpl.class.getDeclaredField("variables");
+    field.setAccessible(true);
+    Object storedValue = ((Map<?, ?>) field.get(variables)).get("untyped");
+
+    variables.getValueTyped("untyped");
+
+    assertSame(storedValue, ((Map<?, ?>) field.get(variables)).get("untyped"));
+  }
+
+  @Test
+  public void testGetStoredValue() {
+    TypedValue typedValue = stringValue("bar");
+    VariableMapImpl variables = (VariableMapImpl) createVariables()
+        .putValue("untyped", "foo")
+        .putValueTyped("typed", typedValue);
+
+    assertEquals("foo", variables.getStoredValue("untyped"));
+    assertSame(typedValue, variables.getStoredValue("typed"));
+    assertNull(variables.getStoredValue("unknown"));
+  }
 }